@@ -0,0 +1,31 @@
+package br.com.gerenciadoremprestimos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Sobe a aplicação para os benchmarks que precisam do contexto completo: perfil "treino" (H2 em memória), porta
+ * livre e sem o limite de requisições, que rejeitaria as medições por excesso de chamadas.
+ */
+public final class AplicacaoBenchmark {
+
+    private AplicacaoBenchmark() {
+    }
+
+    /**
+     * @param propriedades propriedades adicionais no formato {@code chave=valor}
+     */
+    public static ConfigurableApplicationContext subir(String... propriedades) {
+        List<String> todas = new ArrayList<>(List.of("server.port=0",
+                                                     "limite-requisicoes.habilitado=false",
+                                                     "logging.level.root=WARN"));
+        todas.addAll(List.of(propriedades));
+        return new SpringApplicationBuilder(GerenciadorEmprestimosApplication.class)
+                .profiles("treino")
+                .properties(todas.toArray(String[]::new))
+                .run();
+    }
+}
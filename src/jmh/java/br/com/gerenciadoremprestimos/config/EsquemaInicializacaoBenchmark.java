@@ -0,0 +1,139 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.hbm2ddl.SchemaValidator;
+import org.hibernate.tool.schema.TargetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Custo do esquema na inicialização com 50 tabelas de 10 colunas.
+ *
+ * Antes das migrações, cada subida fazia a atualização do Hibernate ({@code ddl-auto: update}), que introspecta e
+ * compara todas as tabelas; agora a subida apenas valida o histórico do Flyway. A validação do Hibernate
+ * ({@code ddl-auto: validate}) entra como referência. O banco é o H2 em memória, onde a introspecção não tem latência
+ * de rede; no PostgreSQL a diferença é maior, pois cada consulta de metadados é uma ida ao banco.
+ *
+ * Executar com {@code ./gradlew medirEsquema}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EsquemaInicializacaoBenchmark {
+
+    private static final int TABELAS = 50;
+    private static final int COLUNAS = 10;
+
+    private Path diretorio;
+    private StandardServiceRegistry registro;
+    private Metadata metadata;
+    private Flyway flyway;
+
+    @Setup
+    public void preparar() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:esquema50;DB_CLOSE_DELAY=-1", "sa", "");
+
+        diretorio = Files.createTempDirectory("esquema50");
+        Files.writeString(diretorio.resolve("V1__esquema.sql"), ddl(), StandardCharsets.UTF_8);
+        flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("filesystem:" + diretorio.toAbsolutePath())
+                .load();
+        flyway.migrate();
+
+        registro = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .build();
+        metadata = new MetadataSources(registro)
+                .addInputStream(new ByteArrayInputStream(mapeamento().getBytes(StandardCharsets.UTF_8)))
+                .buildMetadata();
+    }
+
+    @TearDown
+    public void encerrar() throws Exception {
+        StandardServiceRegistryBuilder.destroy(registro);
+        FileSystemUtils.deleteRecursively(diretorio);
+    }
+
+    /**
+     * Antes: {@code ddl-auto: update}.
+     */
+    @Benchmark
+    public void ddlAutoUpdate() {
+        new SchemaUpdate().execute(EnumSet.of(TargetType.DATABASE), metadata);
+    }
+
+    /**
+     * Referência: {@code ddl-auto: validate}.
+     */
+    @Benchmark
+    public void ddlAutoValidate() {
+        new SchemaValidator().validate(metadata);
+    }
+
+    /**
+     * Depois: validação do histórico de migrações, feita pela {@link MigracaoConfig}.
+     */
+    @Benchmark
+    public void flywayValidate() {
+        flyway.validate();
+    }
+
+    private static String ddl() {
+        StringBuilder ddl = new StringBuilder();
+        for (int t = 1; t <= TABELAS; t++) {
+            ddl.append("CREATE TABLE tabela_").append(t).append(" (id BIGINT NOT NULL PRIMARY KEY");
+            for (int c = 1; c <= COLUNAS; c++) {
+                ddl.append(", coluna_").append(c).append(" VARCHAR(255)");
+            }
+            ddl.append(");\n");
+        }
+        return ddl.toString();
+    }
+
+    /**
+     * Mapeamento das 50 tabelas como entidades dinâmicas, equivalente às tabelas criadas por {@link #ddl()}.
+     */
+    private static String mapeamento() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?>\n<hibernate-mapping>\n");
+        for (int t = 1; t <= TABELAS; t++) {
+            xml.append("  <class entity-name=\"Tabela").append(t).append("\" table=\"tabela_").append(t).append("\">\n")
+               .append("    <id name=\"id\" type=\"long\" column=\"id\"><generator class=\"assigned\"/></id>\n");
+            for (int c = 1; c <= COLUNAS; c++) {
+                xml.append("    <property name=\"coluna").append(c).append("\" type=\"string\" column=\"coluna_").append(c)
+                   .append("\" length=\"255\"/>\n");
+            }
+            xml.append("  </class>\n");
+        }
+        return xml.append("</hibernate-mapping>\n").toString();
+    }
+}
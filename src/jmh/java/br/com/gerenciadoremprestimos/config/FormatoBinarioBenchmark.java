@@ -0,0 +1,77 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+
+/**
+ * Tempo de serialização de uma página de 10 mil pagamentos em JSON, CBOR e Smile, com os mapeadores configurados pela
+ * {@link FormatoBinarioConfig}. O tamanho da página em cada formato é impresso na preparação.
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=FormatoBinarioBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FormatoBinarioBenchmark {
+
+    private static final int QUANTIDADE_PAGAMENTOS = 10_000;
+
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    private ObjectMapper mapper;
+    private List<PagamentoResponseDTO> pagamentos;
+
+    @Setup
+    public void preparar() throws Exception {
+        FormatoBinarioConfig config = new FormatoBinarioConfig();
+        mapper = switch (formato) {
+            case "cbor"  -> config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            case "smile" -> config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            default      -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        LocalDateTime agora = LocalDateTime.of(2024, 5, 1, 10, 30);
+        pagamentos = new ArrayList<>(QUANTIDADE_PAGAMENTOS);
+        for (long i = 1; i <= QUANTIDADE_PAGAMENTOS; i++) {
+            BeneficiarioResponseDTO beneficiario = new BeneficiarioResponseDTO(i % 100, "Beneficiário " + (i % 100), "81999990000",
+                                                                               agora, agora, 0L, null);
+            EmprestimoResponseDTO emprestimo = new EmprestimoResponseDTO(i % 1000, agora, agora.plusMonths(1), 1000.0, 30.0, false,
+                                                                         beneficiario, agora, agora, 1L, "Observação do empréstimo");
+            pagamentos.add(new PagamentoResponseDTO(i, agora.plusDays(i % 30), 130.0 + i % 7, TipoPagamento.JUROS, emprestimo,
+                                                    agora, agora, 0L, null));
+        }
+
+        System.out.printf("%s: %d pagamentos em %d bytes%n", formato, QUANTIDADE_PAGAMENTOS, serializar().length);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return mapper.writeValueAsBytes(pagamentos);
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.gerenciadoremprestimos.controller;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+import br.com.gerenciadoremprestimos.AplicacaoBenchmark;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.model.Usuario;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.repository.UsuarioRepository;
+import br.com.gerenciadoremprestimos.service.TokenService;
+
+/**
+ * Latência da tela de pagamentos do mês (5.000 pagamentos) pelo endpoint /api/pagamento, de ponta a ponta (HTTP,
+ * segurança, consulta e serialização): listagem completa, seleção de campos usada pela tela e somente IDs. O tamanho
+ * de cada resposta é impresso na preparação.
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=PagamentosDoMesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class PagamentosDoMesBenchmark {
+
+    private static final int QUANTIDADE_PAGAMENTOS = 5_000;
+
+    @Param({"completa", "selecao", "ids"})
+    private String variante;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private HttpRequest requisicao;
+
+    @Setup
+    public void preparar() throws Exception {
+        contexto = AplicacaoBenchmark.subir();
+
+        Usuario usuario = new Usuario();
+        usuario.setLogin("benchmark");
+        usuario.setPassword("");
+        usuario = contexto.getBean(UsuarioRepository.class).save(usuario);
+        String token = contexto.getBean(TokenService.class).gerarToken(usuario);
+
+        criarPagamentos();
+
+        String parametros = switch (variante) {
+            case "selecao" -> "?fields=" + codificar("dataPagamento,valorPago,tipoPagamento,emprestimo,emprestimo.beneficiario,emprestimo.beneficiario.nome")
+                              + "&expand=" + codificar("emprestimo.beneficiario");
+            case "ids"     -> "?fields=id&expand=";
+            default        -> "";
+        };
+        cliente = HttpClient.newHttpClient();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+                                                       + "/api/pagamento" + parametros))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .GET()
+                .build();
+
+        System.out.printf("Pagamentos do mês (%s): %d bytes%n", variante, buscar().length);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] buscar() throws Exception {
+        HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Status inesperado: " + resposta.statusCode());
+        }
+        return resposta.body();
+    }
+
+    private void criarPagamentos() {
+        LocalDateTime inicioMes = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+        Beneficiario beneficiario = new Beneficiario();
+        beneficiario.setNome("Erick Marques");
+        beneficiario.setNumeroTelefone("081988888888");
+        beneficiario = contexto.getBean(BeneficiarioRepository.class).save(beneficiario);
+
+        Emprestimo emprestimo = new Emprestimo();
+        emprestimo.setDataEmprestimo(inicioMes.minusMonths(1));
+        emprestimo.setDataPagamento(inicioMes.plusMonths(1));
+        emprestimo.setValorEmprestimo(1000.0);
+        emprestimo.setPorcentagem(30.0);
+        emprestimo.setQuitado(false);
+        emprestimo.setBeneficiario(beneficiario);
+        emprestimo = contexto.getBean(EmprestimoRepository.class).save(emprestimo);
+
+        List<Pagamento> pagamentos = new ArrayList<>(QUANTIDADE_PAGAMENTOS);
+        for (int i = 0; i < QUANTIDADE_PAGAMENTOS; i++) {
+            Pagamento pagamento = new Pagamento();
+            pagamento.setDataPagamento(inicioMes.plusDays(i % 20));
+            pagamento.setValorPago(1000.0);
+            pagamento.setTipoPagamento(TipoPagamento.JUROS);
+            pagamento.setEmprestimo(emprestimo);
+            pagamentos.add(pagamento);
+        }
+        contexto.getBean(PagamentoRepository.class).saveAll(pagamentos);
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.ReflectionUtils;
+
+import br.com.gerenciadoremprestimos.diario.RegistroDiario.TipoEntidade;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Base;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+
+/**
+ * Custo por alteração do diário, que deve ficar abaixo de 50 µs.
+ *
+ * {@code incluir} mede a inclusão de um registro com o tamanho típico de um pagamento (160 bytes) no
+ * {@link DiarioAlteracoes}; {@code registrarAlteracao} mede o caminho completo de um pagamento alterado pelo
+ * {@link RegistradorDiario}: codificação em CBOR, fila e inclusão pela thread de escrita. Como a fila é limitada, em
+ * regime a medição acompanha a vazão da escrita. Nos dois casos o diário é gravado em disco a cada 10 mil registros,
+ * como faz a sincronização periódica, e os segmentos têm o tamanho padrão (64 MB).
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=DiarioAlteracoesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DiarioAlteracoesBenchmark {
+
+    private static final int TAMANHO_SEGMENTO = 64 * 1024 * 1024;
+    private static final int CAPACIDADE_FILA = 65536;
+    private static final int REGISTROS_POR_SINCRONIZACAO = 10_000;
+
+    private Path diretorio;
+    private DiarioAlteracoes diario;
+    private RegistradorDiario registrador;
+    private byte[] dados;
+    private EntidadeAlteradaEvent alteracao;
+    private long registros;
+
+    @Setup
+    public void preparar() throws Exception {
+        diretorio = Files.createTempDirectory("diario");
+        diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO);
+        registrador = new RegistradorDiario(diario, CAPACIDADE_FILA);
+        dados = new byte[160];
+
+        Emprestimo emprestimo = new Emprestimo();
+        definirId(emprestimo, 10L);
+        Pagamento pagamento = new Pagamento();
+        definirId(pagamento, 1L);
+        pagamento.setDataPagamento(LocalDateTime.of(2024, 5, 1, 10, 30));
+        pagamento.setValorPago(130.0);
+        pagamento.setTipoPagamento(TipoPagamento.JUROS);
+        pagamento.setEmprestimo(emprestimo);
+        pagamento.setDataCriacao(LocalDateTime.of(2024, 5, 1, 10, 30));
+        pagamento.setDataAtualizacao(LocalDateTime.of(2024, 5, 1, 10, 30));
+        alteracao = new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, pagamento, null);
+    }
+
+    @TearDown
+    public void encerrar() throws Exception {
+        registrador.close();
+        diario.close();
+        FileSystemUtils.deleteRecursively(diretorio);
+    }
+
+    /**
+     * Inclusão direta no diário.
+     */
+    @Benchmark
+    public long incluir() {
+        long sequencia = diario.registrar(Operacao.ATUALIZACAO, TipoEntidade.PAGAMENTO, registros, 1L, dados);
+        sincronizarPeriodicamente();
+        return sequencia;
+    }
+
+    /**
+     * Alteração publicada por um serviço, do evento até a inclusão no diário.
+     */
+    @Benchmark
+    public void registrarAlteracao() {
+        registrador.aoAlterarEntidade(alteracao);
+        sincronizarPeriodicamente();
+    }
+
+    private void sincronizarPeriodicamente() {
+        if (++registros % REGISTROS_POR_SINCRONIZACAO == 0) {
+            diario.sincronizar();
+        }
+    }
+
+    private static void definirId(Base entidade, long id) {
+        Field campo = ReflectionUtils.findField(Base.class, "id");
+        ReflectionUtils.makeAccessible(campo);
+        ReflectionUtils.setField(campo, entidade, id);
+    }
+}
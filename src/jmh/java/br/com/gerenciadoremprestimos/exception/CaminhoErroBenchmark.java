@@ -0,0 +1,99 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.gerenciadoremprestimos.config.MessageSourceComCache;
+
+/**
+ * Custo das respostas 400 e 404: resolução da mensagem, criação da exceção e montagem do corpo pelo
+ * {@link ApplicationControllerAdvice}.
+ *
+ * Antes, os serviços lançavam {@link ResponseStatusException}, que captura a pilha de chamadas, com a mensagem
+ * resolvida pelo {@link ReloadableResourceBundleMessageSource}; agora lançam as exceções de negócio sem pilha, com a
+ * mensagem do {@link MessageSourceComCache}. Com o perfil gc (o padrão da tarefa jmh) o JMH informa também a
+ * alocação por resposta.
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=CaminhoErroBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CaminhoErroBenchmark {
+
+    private static final Locale LOCALE = Locale.getDefault();
+
+    private ReloadableResourceBundleMessageSource mensagensAntes;
+    private MessageSourceComCache mensagensDepois;
+    private ApplicationControllerAdvice adviceAntes;
+    private ApplicationControllerAdvice adviceDepois;
+    private long id;
+
+    @Setup
+    public void preparar() {
+        mensagensAntes = new ReloadableResourceBundleMessageSource();
+        mensagensAntes.setBasename("classpath:messages");
+        mensagensAntes.setDefaultEncoding("UTF-8");
+
+        mensagensDepois = new MessageSourceComCache();
+        mensagensDepois.setBasename("classpath:messages");
+        mensagensDepois.setDefaultEncoding("UTF-8");
+
+        adviceAntes = new ApplicationControllerAdvice(mensagensAntes);
+        adviceDepois = new ApplicationControllerAdvice(mensagensDepois);
+    }
+
+    /**
+     * Antes: 404 com {@link ResponseStatusException}.
+     */
+    @Benchmark
+    public ResponseEntity<?> naoEncontradoAntes() {
+        String mensagem = mensagensAntes.getMessage("pagamento.naoExiste", new Object[]{++id}, LOCALE);
+        return adviceAntes.handleResponseStatusException(new ResponseStatusException(HttpStatus.NOT_FOUND, mensagem));
+    }
+
+    /**
+     * Depois: 404 com {@link RecursoNaoEncontradoException}.
+     */
+    @Benchmark
+    public ResponseEntity<?> naoEncontradoDepois() {
+        String mensagem = mensagensDepois.getMessage("pagamento.naoExiste", new Object[]{++id}, LOCALE);
+        return adviceDepois.handleNegocioException(new RecursoNaoEncontradoException(mensagem));
+    }
+
+    /**
+     * Antes: 400 com {@link ResponseStatusException}.
+     */
+    @Benchmark
+    public ResponseEntity<?> requisicaoInvalidaAntes() {
+        String mensagem = mensagensAntes.getMessage("pagamento.idInvalido", new Object[]{"abc"}, LOCALE);
+        return adviceAntes.handleResponseStatusException(new ResponseStatusException(HttpStatus.BAD_REQUEST, mensagem));
+    }
+
+    /**
+     * Depois: 400 com {@link RequisicaoInvalidaException}.
+     */
+    @Benchmark
+    public ResponseEntity<?> requisicaoInvalidaDepois() {
+        String mensagem = mensagensDepois.getMessage("pagamento.idInvalido", new Object[]{"abc"}, LOCALE);
+        return adviceDepois.handleNegocioException(new RequisicaoInvalidaException(mensagem));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.gerenciadoremprestimos.limite;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo do limitador por requisição com 10 mil usuários distintos, que deve ficar abaixo de 1 µs.
+ *
+ * Cada operação consome um token do balde do próximo usuário, alternando entre dois grupos de rotas (20 mil baldes,
+ * criados na preparação). A capacidade é alta o bastante para que nenhuma requisição seja recusada. A variante
+ * concorrente usa quatro threads sobre os mesmos baldes.
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=LimitadorRequisicoesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LimitadorRequisicoesBenchmark {
+
+    private static final int USUARIOS = 10_000;
+    private static final int CAPACIDADE = 1_000_000;
+    private static final double POR_SEGUNDO = 1_000;
+    private static final String[] CAMINHOS = { "/api/pagamento", "/api/emprestimo/1" };
+
+    private LimitadorRequisicoes limitador;
+    private String[] usuarios;
+
+    /**
+     * Posição de cada thread na sequência de usuários.
+     */
+    @State(Scope.Thread)
+    public static class Posicao {
+        private int indice;
+
+        int proximo() {
+            return indice++ & Integer.MAX_VALUE;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        LimiteRequisicoesProperties properties = new LimiteRequisicoesProperties();
+        properties.setTempoOcioso(Duration.ofMinutes(10));
+        properties.getGrupos().add(new LimiteRequisicoesProperties.Grupo("pagamento", List.of("/api/pagamento"), CAPACIDADE, POR_SEGUNDO));
+        properties.getGrupos().add(new LimiteRequisicoesProperties.Grupo("emprestimo", List.of("/api/emprestimo"), CAPACIDADE, POR_SEGUNDO));
+        limitador = new LimitadorRequisicoes(properties);
+
+        usuarios = new String[USUARIOS];
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios[i] = "usuario" + i;
+            limitador.consumir(CAMINHOS[0], usuarios[i]);
+            limitador.consumir(CAMINHOS[1], usuarios[i]);
+        }
+    }
+
+    @Benchmark
+    public long consumir(Posicao posicao) {
+        int i = posicao.proximo();
+        return limitador.consumir(CAMINHOS[i & 1], usuarios[i % USUARIOS]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long consumirConcorrente(Posicao posicao) {
+        int i = posicao.proximo();
+        return limitador.consumir(CAMINHOS[i & 1], usuarios[i % USUARIOS]);
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.gerenciadoremprestimos.previsao;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tempo das consultas da previsão de recebimentos com 1 milhão de empréstimos em aberto, que deve ficar abaixo de
+ * 1 ms: a previsão diária e a semanal de 12 meses e o valor vencido, que são as somas feitas a cada chamada de
+ * /api/relatorio/previsaoRecebimento.
+ *
+ * Os vencimentos se espalham por dois anos a partir de um ano atrás, de modo que parte dos empréstimos está vencida.
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=MotorPrevisaoRecebimentoBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MotorPrevisaoRecebimentoBenchmark {
+
+    private static final int EMPRESTIMOS = 1_000_000;
+    private static final long HOJE = LocalDate.of(2024, 5, 1).toEpochDay();
+    private static final int DIAS_DOZE_MESES = 365;
+
+    private MotorPrevisaoRecebimento motor;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        motor = new MotorPrevisaoRecebimento();
+        for (long id = 1; id <= EMPRESTIMOS; id++) {
+            motor.registrarEmprestimo(id, HOJE - 365 + random.nextInt(730), 10_000L + random.nextInt(1_000_000), 30.0);
+            motor.definirRecebido(id, random.nextInt(5_000));
+        }
+    }
+
+    @Benchmark
+    public long[] previsaoDiaria() {
+        return motor.somarPorPeriodo(HOJE, 1, DIAS_DOZE_MESES);
+    }
+
+    @Benchmark
+    public long[] previsaoSemanal() {
+        return motor.somarPorPeriodo(HOJE, 7, (DIAS_DOZE_MESES + 6) / 7);
+    }
+
+    @Benchmark
+    public long vencido() {
+        return motor.somar(0, HOJE - 1);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.AplicacaoBenchmark;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+
+/**
+ * Vazão de atualizações concorrentes da mesma linha de empréstimo.
+ *
+ * O controle otimista ({@code @Version}) lê sem bloqueio e repete a transação quando outra confirmou antes; o
+ * pessimista ({@code SELECT ... FOR UPDATE}) serializa as transações na linha. Com poucos conflitos o otimista não
+ * espera por bloqueios; com a mesma linha disputada por todas as threads as repetições passam a pesar. O contador
+ * {@code conflitos} informa quantas transações otimistas foram repetidas por segundo.
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=ConcorrenciaBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcorrenciaBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private EmprestimoRepository emprestimoRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+    private Long id;
+
+    /**
+     * Transações otimistas repetidas por conflito de versão, por thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflitos {
+        public long conflitos;
+    }
+
+    @Setup
+    public void preparar() {
+        contexto = AplicacaoBenchmark.subir();
+        emprestimoRepository = contexto.getBean(EmprestimoRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        Beneficiario beneficiario = new Beneficiario();
+        beneficiario.setNome("Erick Marques");
+        beneficiario.setNumeroTelefone("081988888888");
+        beneficiario = contexto.getBean(BeneficiarioRepository.class).save(beneficiario);
+
+        Emprestimo emprestimo = new Emprestimo();
+        emprestimo.setDataEmprestimo(LocalDateTime.now());
+        emprestimo.setDataPagamento(LocalDateTime.now().plusMonths(1));
+        emprestimo.setValorEmprestimo(0.0);
+        emprestimo.setPorcentagem(30.0);
+        emprestimo.setQuitado(false);
+        emprestimo.setBeneficiario(beneficiario);
+        id = emprestimoRepository.save(emprestimo).getId();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    /**
+     * Controle otimista: repete a transação até confirmar sem conflito de versão.
+     */
+    @Benchmark
+    public void otimista(Conflitos conflitos) {
+        while (true) {
+            try {
+                transacao.executeWithoutResult(status -> incrementar(emprestimoRepository.findById(id).orElseThrow()));
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                conflitos.conflitos++;
+            }
+        }
+    }
+
+    /**
+     * Bloqueio pessimista: a leitura bloqueia a linha até o fim da transação.
+     */
+    @Benchmark
+    public void pessimista() {
+        transacao.executeWithoutResult(status ->
+                incrementar(entityManager.find(Emprestimo.class, id, LockModeType.PESSIMISTIC_WRITE)));
+    }
+
+    private static void incrementar(Emprestimo emprestimo) {
+        emprestimo.setValorEmprestimo(emprestimo.getValorEmprestimo() + 1);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.AplicacaoBenchmark;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+
+/**
+ * Memória e CPU para listar 10 mil empréstimos (com 100 beneficiários) em cada modo de leitura: transação de escrita,
+ * transação somente leitura e sessão sem estado ({@link EmprestimoRepository#listarSemContexto()}).
+ *
+ * O tempo médio por leitura, em uma única thread, corresponde ao tempo de CPU; a memória alocada por leitura é a
+ * métrica {@code gc.alloc.rate.norm} do perfil gc (o padrão da tarefa jmh).
+ *
+ * Executar com {@code ./gradlew jmh -Pbenchmarks=LeituraSomenteLeituraBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class LeituraSomenteLeituraBenchmark {
+
+    private static final int LINHAS = 10_000;
+    private static final int BENEFICIARIOS = 100;
+
+    private ConfigurableApplicationContext contexto;
+    private EmprestimoRepository emprestimoRepository;
+    private TransactionTemplate transacao;
+    private TransactionTemplate transacaoSomenteLeitura;
+
+    @Setup
+    public void preparar() {
+        contexto = AplicacaoBenchmark.subir();
+        emprestimoRepository = contexto.getBean(EmprestimoRepository.class);
+        BeneficiarioRepository beneficiarioRepository = contexto.getBean(BeneficiarioRepository.class);
+
+        PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+        transacao = new TransactionTemplate(transactionManager);
+        transacaoSomenteLeitura = new TransactionTemplate(transactionManager);
+        transacaoSomenteLeitura.setReadOnly(true);
+
+        transacao.executeWithoutResult(status -> {
+            List<Beneficiario> beneficiarios = new ArrayList<>();
+            for (int i = 0; i < BENEFICIARIOS; i++) {
+                Beneficiario beneficiario = new Beneficiario();
+                beneficiario.setNome("Erick Marques " + i);
+                beneficiario.setNumeroTelefone("081988888888");
+                beneficiarios.add(beneficiario);
+            }
+            beneficiarioRepository.saveAll(beneficiarios);
+
+            LocalDateTime data = LocalDateTime.of(2024, 5, 1, 10, 0);
+            List<Emprestimo> emprestimos = new ArrayList<>();
+            for (int i = 0; i < LINHAS; i++) {
+                Emprestimo emprestimo = new Emprestimo();
+                emprestimo.setDataEmprestimo(data);
+                emprestimo.setDataPagamento(data.plusMonths(1L));
+                emprestimo.setValorEmprestimo(1000.0);
+                emprestimo.setPorcentagem(20.0);
+                emprestimo.setQuitado(i % 2 == 0);
+                emprestimo.setBeneficiario(beneficiarios.get(i % BENEFICIARIOS));
+                emprestimos.add(emprestimo);
+            }
+            emprestimoRepository.saveAll(emprestimos);
+        });
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    /**
+     * Antes: entidades gerenciadas e com o estado guardado para comparação no flush.
+     */
+    @Benchmark
+    public List<Emprestimo> transacaoEscrita() {
+        return transacao.execute(status -> emprestimoRepository.findAll());
+    }
+
+    /**
+     * Entidades gerenciadas como somente leitura, sem o estado para comparação.
+     */
+    @Benchmark
+    public List<Emprestimo> transacaoSomenteLeitura() {
+        return transacaoSomenteLeitura.execute(status -> emprestimoRepository.findAll());
+    }
+
+    /**
+     * Sessão sem estado: nenhuma entidade no contexto de persistência.
+     */
+    @Benchmark
+    public List<Emprestimo> semContexto() {
+        return transacaoSomenteLeitura.execute(status -> emprestimoRepository.listarSemContexto());
+    }
+}
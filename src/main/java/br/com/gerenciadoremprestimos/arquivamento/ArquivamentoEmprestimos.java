@@ -0,0 +1,153 @@
+package br.com.gerenciadoremprestimos.arquivamento;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.event.EmprestimosArquivadosEvent;
+import br.com.gerenciadoremprestimos.repository.EmprestimoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoArquivadoRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Arquivamento dos empréstimos quitados e dos seus pagamentos.
+ *
+ * Empréstimos quitados cujas datas são anteriores a {@code arquivamento.idade-minima} são movidos, em lotes de
+ * {@code arquivamento.tamanho-lote} com uma transação por lote, para as tabelas {@code emprestimo_arquivo} e
+ * {@code pagamento_arquivo}. Assim as tabelas principais e seus índices guardam apenas a carteira ativa e o
+ * histórico recente, que é o que quase todas as consultas usam.
+ *
+ * As consultas históricas perguntam a {@link #precisaDoArquivo(LocalDateTime)} se o período pedido alcança dados
+ * arquivados e só então somam o arquivo; períodos recentes continuam consultando apenas as tabelas principais.
+ */
+@Slf4j
+@Component
+public class ArquivamentoEmprestimos {
+
+    private final EmprestimoRepository emprestimoRepository;
+    private final EmprestimoArquivadoRepository emprestimoArquivadoRepository;
+    private final PagamentoArquivadoRepository pagamentoArquivadoRepository;
+    private final ArquivamentoProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transacao;
+
+    /**
+     * Data mais recente que pode estar no arquivo (de um empréstimo ou de um pagamento); nula com o arquivo vazio.
+     */
+    private volatile LocalDateTime maiorDataArquivada;
+
+    public ArquivamentoEmprestimos(EmprestimoRepository emprestimoRepository,
+                                   EmprestimoArquivadoRepository emprestimoArquivadoRepository,
+                                   PagamentoArquivadoRepository pagamentoArquivadoRepository,
+                                   ArquivamentoProperties properties, ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.emprestimoRepository = emprestimoRepository;
+        this.emprestimoArquivadoRepository = emprestimoArquivadoRepository;
+        this.pagamentoArquivadoRepository = pagamentoArquivadoRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        maiorDataArquivada = consultarMaiorDataArquivada();
+    }
+
+    /**
+     * Indica se uma consulta a partir da data informada precisa incluir o arquivo.
+     *
+     * Com o arquivamento habilitado, outra instância pode ter arquivado empréstimos desde a última verificação; como
+     * só são arquivadas datas anteriores a agora menos a idade mínima, esse limite também é considerado.
+     *
+     * @param inicio Data inicial do período consultado
+     * @return {@code true} se o arquivo pode ter dados a partir da data informada
+     */
+    public boolean precisaDoArquivo(LocalDateTime inicio) {
+        LocalDateTime limite = maiorDataArquivada;
+        if (properties.isHabilitado()) {
+            limite = maior(limite, LocalDateTime.now().minus(properties.getIdadeMinima()));
+        }
+        return limite != null && !inicio.isAfter(limite);
+    }
+
+    /**
+     * Indica se o arquivo pode ter dados, para consultas sem período (que abrangem todo o histórico).
+     */
+    public boolean possuiArquivo() {
+        return maiorDataArquivada != null || properties.isHabilitado();
+    }
+
+    @Scheduled(fixedDelayString = "${arquivamento.intervalo:PT6H}", initialDelayString = "${arquivamento.atraso-inicial:PT10M}")
+    public void executar() {
+        if (properties.isHabilitado()) {
+            arquivar(LocalDateTime.now().minus(properties.getIdadeMinima()));
+        }
+    }
+
+    /**
+     * Arquiva os empréstimos quitados com todas as datas anteriores ao limite, um lote por transação.
+     *
+     * @param limite Data limite do arquivamento
+     * @return Quantidade de empréstimos arquivados
+     */
+    public int arquivar(LocalDateTime limite) {
+        // O limite é conhecido antes da movimentação para que nenhuma consulta deixe de olhar o arquivo enquanto os
+        // lotes são gravados; ao final ele é recalculado a partir do que foi de fato arquivado.
+        maiorDataArquivada = maior(maiorDataArquivada, limite);
+
+        int total = 0;
+        try {
+            long aposId = 0;
+            List<Long> ids;
+            while (!(ids = emprestimoRepository.idsArquivaveis(limite, aposId, PageRequest.ofSize(properties.getTamanhoLote()))).isEmpty()) {
+                aposId = ids.get(ids.size() - 1);
+                List<Long> lote = ids;
+                total += transacao.execute(status -> moverLote(lote, limite));
+            }
+        } finally {
+            maiorDataArquivada = consultarMaiorDataArquivada();
+        }
+
+        if (total > 0) {
+            log.info("{} empréstimos quitados anteriores a {} arquivados", total, limite);
+        }
+        return total;
+    }
+
+    private int moverLote(List<Long> ids, LocalDateTime limite) {
+        List<Long> bloqueados = emprestimoArquivadoRepository.bloquearArquivaveis(ids, limite);
+        if (bloqueados.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        emprestimoArquivadoRepository.copiar(bloqueados, agora);
+        pagamentoArquivadoRepository.copiar(bloqueados, agora);
+        pagamentoArquivadoRepository.removerOriginais(bloqueados);
+        emprestimoArquivadoRepository.removerOriginais(bloqueados);
+
+        eventPublisher.publishEvent(new EmprestimosArquivadosEvent(bloqueados));
+        return bloqueados.size();
+    }
+
+    private LocalDateTime consultarMaiorDataArquivada() {
+        return maior(emprestimoArquivadoRepository.maiorDataEmprestimo(), pagamentoArquivadoRepository.maiorDataPagamento());
+    }
+
+    private static LocalDateTime maior(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
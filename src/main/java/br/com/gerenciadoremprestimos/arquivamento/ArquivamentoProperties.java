@@ -0,0 +1,30 @@
+package br.com.gerenciadoremprestimos.arquivamento;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "arquivamento")
+@Data
+public class ArquivamentoProperties {
+
+    /**
+     * Quando desabilitado, nenhum empréstimo é movido; o que já estiver no arquivo continua nas consultas.
+     */
+    private boolean habilitado = true;
+
+    /**
+     * Idade mínima das datas de um empréstimo quitado (empréstimo, vencimento, pagamentos e última alteração) para
+     * que ele seja arquivado.
+     */
+    private Duration idadeMinima = Duration.ofDays(365);
+
+    /**
+     * Quantidade de empréstimos movidos por transação.
+     */
+    private int tamanhoLote = 500;
+}
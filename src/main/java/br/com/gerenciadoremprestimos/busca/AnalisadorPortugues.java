@@ -0,0 +1,39 @@
+package br.com.gerenciadoremprestimos.busca;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseLightStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Análise dos textos em português para o índice de busca: minúsculas, remoção das palavras vazias ("de", "para",
+ * "com"...), remoção dos acentos e redução ao radical (plural e gênero: "parcelas" encontra "parcela").
+ *
+ * Os acentos são removidos antes do radical: assim "jose" e "José", ou "conceicao" e "Conceição", chegam iguais ao
+ * redutor e sempre resultam no mesmo termo, com ou sem acento na digitação.
+ */
+public class AnalisadorPortugues extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String campo) {
+        Tokenizer origem = new StandardTokenizer();
+        TokenStream resultado = new LowerCaseFilter(origem);
+        resultado = new StopFilter(resultado, PortugueseAnalyzer.getDefaultStopSet());
+        resultado = new ASCIIFoldingFilter(resultado);
+        resultado = new PortugueseLightStemFilter(resultado);
+        return new TokenStreamComponents(origem, resultado);
+    }
+
+    /**
+     * Normalização dos termos que não passam pela análise completa, como os prefixos ("mar*").
+     */
+    @Override
+    protected TokenStream normalize(String campo, TokenStream entrada) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+    }
+}
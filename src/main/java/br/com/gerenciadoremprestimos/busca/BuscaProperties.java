@@ -0,0 +1,34 @@
+package br.com.gerenciadoremprestimos.busca;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "busca")
+@Data
+public class BuscaProperties {
+
+    /**
+     * Diretório do índice. Vazio mantém o índice apenas em memória, montado a partir do banco a cada subida.
+     */
+    private String diretorio = "indice-busca";
+
+    /**
+     * Intervalo máximo entre uma alteração e sua visibilidade na busca.
+     */
+    private Duration intervaloAtualizacao = Duration.ofSeconds(1);
+
+    /**
+     * Quantidade de resultados quando a requisição não informa o limite.
+     */
+    private int limitePadrao = 20;
+
+    /**
+     * Quantidade máxima de resultados que uma requisição pode pedir.
+     */
+    private int limiteMaximo = 100;
+}
@@ -0,0 +1,218 @@
+package br.com.gerenciadoremprestimos.busca;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+
+import br.com.gerenciadoremprestimos.dto.ResultadoBuscaDTO;
+
+/**
+ * Índice textual (Lucene) do nome dos beneficiários e das observações de beneficiários, empréstimos e pagamentos.
+ *
+ * Cada entidade é um documento identificado por tipo e ID; incluir de novo substitui o documento anterior, o que
+ * torna as atualizações idempotentes. As alterações ficam visíveis para a busca em {@link #confirmar()}, que também
+ * as grava em disco; até lá a busca continua vendo o estado anterior, pois ela lê apenas o conteúdo confirmado. As
+ * alterações ainda não confirmadas podem ser abandonadas com {@link #descartar()}.
+ *
+ * As escritas devem ser feitas por uma única thread, para que as alterações de uma entidade sejam aplicadas na
+ * ordem em que aconteceram; as buscas podem ser feitas por qualquer thread.
+ */
+public class IndiceBusca implements Closeable {
+
+    public static final String TIPO_BENEFICIARIO = "beneficiario";
+    public static final String TIPO_EMPRESTIMO = "emprestimo";
+    public static final String TIPO_PAGAMENTO = "pagamento";
+
+    private static final String CAMPO_CHAVE = "chave";
+    private static final String CAMPO_TIPO = "tipo";
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_NOME = "nome";
+    private static final String CAMPO_OBSERVACAO = "observacao";
+    private static final String CAMPO_EMPRESTIMO = "emprestimoId";
+
+    /**
+     * Peso de cada campo na pontuação: uma ocorrência no nome vale mais que uma na observação.
+     */
+    private static final Map<String, Float> PESOS = Map.of(CAMPO_NOME, 3.0f, CAMPO_OBSERVACAO, 1.0f);
+
+    private final Directory diretorio;
+    private final Analyzer analisador = new AnalisadorPortugues();
+    private final SearcherManager buscadores;
+    private final boolean novo;
+
+    /**
+     * Reaberto por {@link #descartar()}, que fecha o anterior; usado apenas pela thread de escrita.
+     */
+    private IndexWriter escritor;
+
+    public IndiceBusca(Directory diretorio) throws IOException {
+        this.diretorio = diretorio;
+        this.novo = !DirectoryReader.indexExists(diretorio);
+        this.escritor = abrirEscritor();
+        if (novo) {
+            // A busca lê o último conteúdo confirmado, que precisa existir
+            escritor.commit();
+        }
+        this.buscadores = new SearcherManager(diretorio, null);
+    }
+
+    /**
+     * @return {@code true} se o índice não existia ao ser aberto e precisa ser montado a partir do banco
+     */
+    public boolean isNovo() {
+        return novo;
+    }
+
+    /**
+     * Inclui ou substitui o documento de uma entidade. Sem nenhum texto a indexar, o documento é removido.
+     *
+     * @param tipo Tipo da entidade
+     * @param id ID da entidade
+     * @param nome Nome (apenas beneficiários), pode ser nulo
+     * @param observacao Observação, pode ser nula
+     * @param emprestimoId Empréstimo do pagamento, nulo nos demais tipos
+     */
+    public void atualizar(String tipo, long id, String nome, String observacao, Long emprestimoId) throws IOException {
+        Term chave = chave(tipo, id);
+        if (vazio(nome) && vazio(observacao)) {
+            escritor.deleteDocuments(chave);
+            return;
+        }
+
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_CHAVE, chave.text(), Field.Store.NO));
+        documento.add(new StringField(CAMPO_TIPO, tipo, Field.Store.YES));
+        documento.add(new StoredField(CAMPO_ID, id));
+        if (!vazio(nome)) {
+            documento.add(new TextField(CAMPO_NOME, nome, Field.Store.YES));
+        }
+        if (!vazio(observacao)) {
+            documento.add(new TextField(CAMPO_OBSERVACAO, observacao, Field.Store.YES));
+        }
+        if (emprestimoId != null) {
+            documento.add(new StringField(CAMPO_EMPRESTIMO, emprestimoId.toString(), Field.Store.NO));
+        }
+        escritor.updateDocument(chave, documento);
+    }
+
+    public void remover(String tipo, long id) throws IOException {
+        escritor.deleteDocuments(chave(tipo, id));
+    }
+
+    /**
+     * Remove os empréstimos informados e os seus pagamentos.
+     */
+    public void removerEmprestimos(Collection<Long> ids) throws IOException {
+        for (Long id : ids) {
+            escritor.deleteDocuments(chave(TIPO_EMPRESTIMO, id), new Term(CAMPO_EMPRESTIMO, id.toString()));
+        }
+    }
+
+    /**
+     * Remove todos os documentos, para montar o índice novamente. A busca continua vendo o conteúdo anterior até
+     * a próxima {@link #confirmar()}; se a montagem falhar, {@link #descartar()} recupera o conteúdo anterior.
+     */
+    public void limpar() throws IOException {
+        escritor.deleteAll();
+    }
+
+    /**
+     * Grava as alterações pendentes em disco e as torna visíveis para a busca.
+     */
+    public void confirmar() throws IOException {
+        if (escritor.hasUncommittedChanges()) {
+            escritor.commit();
+        }
+        buscadores.maybeRefresh();
+    }
+
+    /**
+     * Descarta as alterações feitas desde a última {@link #confirmar()}, por exemplo de uma montagem que falhou no
+     * meio, voltando ao conteúdo confirmado. A busca não é afetada, pois só enxerga o conteúdo confirmado.
+     */
+    public void descartar() throws IOException {
+        escritor.rollback();
+        escritor = abrirEscritor();
+    }
+
+    /**
+     * Busca os documentos que contêm todos os termos do texto, ordenados pela relevância.
+     *
+     * O texto aceita a sintaxe simples do Lucene: {@code "frase exata"}, {@code prefixo*}, {@code -excluido} e
+     * {@code termo1 | termo2}; caracteres especiais sem sentido são tratados como texto, sem erro.
+     *
+     * @param texto Texto da busca
+     * @param limite Quantidade máxima de resultados
+     * @return Resultados em ordem decrescente de pontuação
+     */
+    public List<ResultadoBuscaDTO> buscar(String texto, int limite) throws IOException {
+        SimpleQueryParser interpretador = new SimpleQueryParser(analisador, PESOS);
+        interpretador.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query consulta = interpretador.parse(texto);
+
+        List<ResultadoBuscaDTO> resultados = new ArrayList<>();
+        if (consulta == null) {
+            return resultados;
+        }
+
+        IndexSearcher buscador = buscadores.acquire();
+        try {
+            TopDocs encontrados = buscador.search(consulta, limite);
+            StoredFields campos = buscador.storedFields();
+            for (ScoreDoc encontrado : encontrados.scoreDocs) {
+                Document documento = campos.document(encontrado.doc);
+                resultados.add(new ResultadoBuscaDTO(documento.get(CAMPO_TIPO),
+                                                     documento.getField(CAMPO_ID).numericValue().longValue(),
+                                                     encontrado.score,
+                                                     documento.get(CAMPO_NOME),
+                                                     documento.get(CAMPO_OBSERVACAO)));
+            }
+        } finally {
+            buscadores.release(buscador);
+        }
+        return resultados;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buscadores.close();
+        escritor.close();
+        diretorio.close();
+    }
+
+    private IndexWriter abrirEscritor() throws IOException {
+        return new IndexWriter(diretorio, new IndexWriterConfig(analisador)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+    }
+
+    private static Term chave(String tipo, long id) {
+        return new Term(CAMPO_CHAVE, tipo + ":" + id);
+    }
+
+    private static boolean vazio(String texto) {
+        return texto == null || texto.isBlank();
+    }
+}
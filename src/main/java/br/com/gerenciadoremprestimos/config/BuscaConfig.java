@@ -0,0 +1,28 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.gerenciadoremprestimos.busca.BuscaProperties;
+import br.com.gerenciadoremprestimos.busca.IndiceBusca;
+
+/**
+ * Configura o índice da busca textual em busca.diretorio ou, com o diretório vazio, em memória.
+ */
+@Configuration
+public class BuscaConfig {
+
+    @Bean(destroyMethod = "close")
+    public IndiceBusca indiceBusca(BuscaProperties properties) throws IOException {
+        Directory diretorio = properties.getDiretorio() == null || properties.getDiretorio().isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(properties.getDiretorio()));
+        return new IndiceBusca(diretorio);
+    }
+}
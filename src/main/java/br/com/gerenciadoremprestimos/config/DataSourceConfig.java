@@ -0,0 +1,82 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import br.com.gerenciadoremprestimos.datasource.ReplicaProperties;
+import br.com.gerenciadoremprestimos.datasource.RoteamentoDataSource;
+import br.com.gerenciadoremprestimos.datasource.RoteamentoDataSource.Replica;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configura o roteamento das transações somente leitura para as réplicas quando datasource.replica.habilitado
+ * for verdadeiro. Caso contrário, vale o datasource padrão do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "habilitado", havingValue = "true")
+public class DataSourceConfig {
+
+    /**
+     * As migrações do esquema são sempre aplicadas e validadas no primário, nunca através do roteamento.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(RoteamentoDataSource.PRIMARIO);
+        return dataSource;
+    }
+
+    /**
+     * Os pools das réplicas não são beans: são fechados pelo próprio roteamento no encerramento e registram as
+     * métricas do Hikari (hikaricp.*, com o nome do pool) como o Spring Boot faz para o primário.
+     */
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(HikariDataSource dataSourcePrimario, DataSourceProperties properties,
+                                                     ReplicaProperties replicaProperties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        List<Replica> replicas = new ArrayList<>();
+
+        for (int i = 0; i < replicaProperties.getConexoes().size(); i++) {
+            ReplicaProperties.Conexao conexao = replicaProperties.getConexoes().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.getDriverClassName())
+                    .url(conexao.getUrl())
+                    .username(conexao.getUsername())
+                    .password(conexao.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + (i + 1));
+            dataSource.setMaximumPoolSize(conexao.getTamanhoPool());
+            dataSource.setReadOnly(true);
+            meterRegistry.ifAvailable(registro -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registro)));
+            replicas.add(new Replica(dataSource.getPoolName(), dataSource));
+        }
+
+        return new RoteamentoDataSource(dataSourcePrimario, replicas, replicaProperties.getAtrasoMaximo(),
+                                        replicaProperties.getConsultaAtraso());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.gerenciadoremprestimos.diario.DiarioAlteracoes;
+import br.com.gerenciadoremprestimos.diario.DiarioProperties;
+import br.com.gerenciadoremprestimos.diario.RegistradorDiario;
+
+/**
+ * Configura o diário de alterações quando diario.habilitado for verdadeiro.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "diario", name = "habilitado", havingValue = "true")
+public class DiarioConfig {
+
+    @Bean(destroyMethod = "close")
+    public DiarioAlteracoes diarioAlteracoes(DiarioProperties properties) throws IOException {
+        return new DiarioAlteracoes(Path.of(properties.getDiretorio()), Math.toIntExact(properties.getTamanhoSegmento().toBytes()));
+    }
+
+    @Bean(destroyMethod = "close")
+    public RegistradorDiario registradorDiario(DiarioAlteracoes diarioAlteracoes, DiarioProperties properties) {
+        return new RegistradorDiario(diarioAlteracoes, properties.getCapacidadeFila());
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.gerenciadoremprestimos.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Formatos binários das respostas da API, escolhidos pelo cabeçalho {@code Accept}: {@code application/cbor} e
+ * {@code application/x-jackson-smile}. Sem o cabeçalho a resposta continua em JSON.
+ *
+ * Os conversores usam o mesmo {@link Jackson2ObjectMapperBuilder} configurado pelo Spring Boot para o JSON, de modo
+ * que os três formatos têm exatamente a mesma estrutura (o esquema OpenAPI dos DTOs vale para todos). Como os beans
+ * têm o mesmo tipo dos conversores padrão do Spring MVC, eles os substituem em vez de serem registrados em dobro.
+ */
+@Configuration
+public class FormatoBinarioConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.build().copyWith(new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.build().copyWith(new SmileFactory()));
+    }
+
+    /**
+     * A mesma URL passa a ter mais de uma representação, então os caches intermediários precisam considerar o
+     * cabeçalho {@code Accept} (as ETags fracas continuam válidas, pois o conteúdo é equivalente).
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Inicialização tardia dos beans que não atendem a API, como a documentação (springdoc e Swagger UI).
+ *
+ * Os beans cuja classe, ou a classe de configuração que os declara, pertence a um dos pacotes de
+ * {@code inicializacao.pacotes-tardios} só são criados no primeiro uso, por exemplo no primeiro acesso a
+ * {@code /v3/api-docs}. Os demais continuam sendo criados na subida, de modo que erros de configuração da API ainda
+ * aparecem antes da primeira requisição (o que não aconteceria com {@code spring.main.lazy-initialization}).
+ */
+@Configuration
+public class InicializacaoConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor inicializacaoTardia(Environment environment) {
+        List<String> pacotes = Binder.get(environment)
+                .bind("inicializacao.pacotes-tardios", Bindable.listOf(String.class))
+                .orElse(List.of());
+
+        return beanFactory -> {
+            if (pacotes.isEmpty()) {
+                return;
+            }
+            for (String nome : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definicao = beanFactory.getBeanDefinition(nome);
+                String classe = classeDeOrigem(beanFactory, definicao);
+                if (classe != null && pacotes.stream().anyMatch(pacote -> classe.startsWith(pacote + "."))) {
+                    definicao.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Classe do bean ou, para beans declarados com {@code @Bean}, a classe de configuração que os declara.
+     */
+    private static String classeDeOrigem(ConfigurableListableBeanFactory beanFactory, BeanDefinition definicao) {
+        if (definicao.getBeanClassName() != null) {
+            return definicao.getBeanClassName();
+        }
+        String fabrica = definicao.getFactoryBeanName();
+        if (fabrica != null && beanFactory.containsBeanDefinition(fabrica)) {
+            return beanFactory.getBeanDefinition(fabrica).getBeanClassName();
+        }
+        return null;
+    }
+}
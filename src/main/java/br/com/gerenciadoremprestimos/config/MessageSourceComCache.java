@@ -0,0 +1,124 @@
+package br.com.gerenciadoremprestimos.config;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+/**
+ * MessageSource que mantém cada mensagem já resolvida e pré-processada por código e idioma, com o
+ * {@link MessageFormat} do idioma criado uma única vez.
+ *
+ * Mensagens simples (apenas parâmetros {0}, {1}... e sem aspas simples) com argumentos de texto são montadas por
+ * concatenação, que produz o mesmo resultado sem o bloqueio do MessageFormat. Os demais casos, como números e datas,
+ * que o MessageFormat formata conforme o idioma, usam o MessageFormat em cache, como a implementação padrão.
+ */
+public class MessageSourceComCache extends ReloadableResourceBundleMessageSource {
+
+    private static final Pattern PARAMETRO = Pattern.compile("\\{(\\d+)\\}");
+    private static final Pattern PARAMETRO_COMPLEXO = Pattern.compile("\\{(?!\\d+\\})");
+
+    private final Map<Locale, Map<String, Modelo>> modelos = new ConcurrentHashMap<>();
+
+    @Override
+    protected String getMessageInternal(String code, Object[] args, Locale locale) {
+        if (code == null || locale == null) {
+            return super.getMessageInternal(code, args, locale);
+        }
+
+        Map<String, Modelo> modelosDoIdioma = modelos.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+        Modelo modelo = modelosDoIdioma.get(code);
+        if (modelo == null) {
+            String texto = super.getMessageInternal(code, null, locale);
+            if (texto == null) {
+                return null;
+            }
+            modelo = Modelo.compilar(texto, locale);
+            modelosDoIdioma.put(code, modelo);
+        }
+
+        if (args == null || args.length == 0) {
+            return modelo.texto;
+        }
+        return modelo.formatar(resolveArguments(args, locale));
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        modelos.clear();
+    }
+
+    /**
+     * Mensagem com o seu MessageFormat e, quando simples, separada em trechos fixos e índices de parâmetros.
+     */
+    static final class Modelo {
+
+        private final String texto;
+        private final MessageFormat formato;
+        private final String[] trechos;
+        private final int[] parametros;
+
+        private Modelo(String texto, MessageFormat formato, String[] trechos, int[] parametros) {
+            this.texto = texto;
+            this.formato = formato;
+            this.trechos = trechos;
+            this.parametros = parametros;
+        }
+
+        static Modelo compilar(String texto, Locale locale) {
+            MessageFormat formato = new MessageFormat(texto, locale);
+            if (texto.indexOf('\'') >= 0 || PARAMETRO_COMPLEXO.matcher(texto).find()) {
+                return new Modelo(texto, formato, null, null);
+            }
+
+            List<String> trechos = new ArrayList<>();
+            List<Integer> parametros = new ArrayList<>();
+            Matcher matcher = PARAMETRO.matcher(texto);
+            int inicio = 0;
+            while (matcher.find()) {
+                trechos.add(texto.substring(inicio, matcher.start()));
+                parametros.add(Integer.parseInt(matcher.group(1)));
+                inicio = matcher.end();
+            }
+            trechos.add(texto.substring(inicio));
+
+            return new Modelo(texto, formato, trechos.toArray(new String[0]), parametros.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String formatar(Object[] args) {
+            if (trechos == null || !apenasTextos(args)) {
+                // O MessageFormat não é seguro para uso concorrente
+                synchronized (formato) {
+                    return formato.format(args);
+                }
+            }
+
+            StringBuilder mensagem = new StringBuilder(texto.length() + 16);
+            for (int i = 0; i < parametros.length; i++) {
+                mensagem.append(trechos[i]);
+                int indice = parametros[i];
+                mensagem.append(indice < args.length ? String.valueOf(args[indice]) : "{" + indice + "}");
+            }
+            return mensagem.append(trechos[parametros.length]).toString();
+        }
+
+        /**
+         * Argumentos que o MessageFormat escreveria sem formatação: textos e nulos.
+         */
+        private static boolean apenasTextos(Object[] args) {
+            for (Object arg : args) {
+                if (arg != null && !(arg instanceof CharSequence)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.gerenciadoremprestimos.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Inicialização das migrações do esquema (Flyway, em {@code db/migration}).
+ *
+ * Por padrão a subida da aplicação apenas valida o histórico de migrações: falha se houver migração pendente ou
+ * alterada depois de aplicada, sem introspectar nem alterar o esquema. As migrações são aplicadas no deploy, subindo
+ * a aplicação uma vez com {@code migracao.aplicar=true}; um banco criado antes das migrações é marcado na versão 1
+ * (o esquema inicial) e recebe apenas as seguintes. Com {@code migracao.validar=false} o histórico não é verificado,
+ * o que só faz sentido em bancos descartáveis (perfil {@code treino}).
+ */
+@Configuration
+public class MigracaoConfig {
+
+    @Bean
+    public FlywayMigrationStrategy estrategiaMigracao(@Value("${migracao.aplicar:false}") boolean aplicar,
+                                                      @Value("${migracao.validar:true}") boolean validar) {
+        return flyway -> {
+            if (aplicar) {
+                flyway.migrate();
+            } else if (validar) {
+                flyway.validate();
+            }
+        };
+    }
+}
@@ -7,12 +7,16 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import br.com.gerenciadoremprestimos.idempotencia.FiltroIdempotencia;
+import br.com.gerenciadoremprestimos.limite.FiltroLimiteRequisicoes;
+import br.com.gerenciadoremprestimos.security.CodificadorSenhaAdaptativo;
 import br.com.gerenciadoremprestimos.security.FilterToken;
+import br.com.gerenciadoremprestimos.security.LoginProperties;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -22,16 +26,21 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final FilterToken filter;
+    private final FiltroLimiteRequisicoes filtroLimiteRequisicoes;
+    private final FiltroIdempotencia filtroIdempotencia;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(
             auth -> auth
-                .requestMatchers("/login").permitAll()
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/login", "/login/atualizar").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll() 
                 .anyRequest().authenticated())
-        .addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(filtroLimiteRequisicoes, FilterToken.class)
+        .addFilterAfter(filtroIdempotencia, FiltroLimiteRequisicoes.class);
 
         return http.build();
     }
@@ -44,7 +53,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(LoginProperties loginProperties){
+        return new CodificadorSenhaAdaptativo(loginProperties.getCustoBcrypt());
     }
 }
\ No newline at end of file
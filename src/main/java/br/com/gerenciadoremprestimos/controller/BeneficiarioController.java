@@ -1,5 +1,7 @@
 package br.com.gerenciadoremprestimos.controller;
 
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -8,15 +10,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import br.com.gerenciadoremprestimos.dto.BeneficiarioRequestDTO;
 import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
+import br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO;
 import br.com.gerenciadoremprestimos.service.BeneficiarioService;
+import br.com.gerenciadoremprestimos.service.ResumoBeneficiarioService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 
 import java.io.IOException;
@@ -28,6 +37,7 @@ import java.util.List;
 public class BeneficiarioController {
     
     private final BeneficiarioService beneficiarioService;
+    private final ResumoBeneficiarioService resumoBeneficiarioService;
 
     @PostMapping
     public ResponseEntity<BeneficiarioResponseDTO> inserir(@Valid @RequestBody BeneficiarioRequestDTO requestDTO) {
@@ -37,8 +47,9 @@ public class BeneficiarioController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<BeneficiarioResponseDTO> atualizar(@PathVariable String id, @Valid @RequestBody BeneficiarioRequestDTO requestDTO) {
-        BeneficiarioResponseDTO responseDTO = beneficiarioService.atualizar(id, requestDTO);
+    public ResponseEntity<BeneficiarioResponseDTO> atualizar(@PathVariable String id, @Valid @RequestBody BeneficiarioRequestDTO requestDTO,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BeneficiarioResponseDTO responseDTO = beneficiarioService.atualizar(id, requestDTO, ifMatch);
         if (responseDTO != null) {
             return new ResponseEntity<>(responseDTO, HttpStatus.OK);
         } else {
@@ -53,7 +64,11 @@ public class BeneficiarioController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BeneficiarioResponseDTO> buscarPorId(@PathVariable String id) {
+    public ResponseEntity<BeneficiarioResponseDTO> buscarPorId(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(beneficiarioService.obterVersao(id).getEtag())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
         BeneficiarioResponseDTO beneficiario = beneficiarioService.buscarPorId(id);
         if (beneficiario != null) {
             return new ResponseEntity<>(beneficiario, HttpStatus.OK);
@@ -63,7 +78,12 @@ public class BeneficiarioController {
     }
 
     @GetMapping
-    public ResponseEntity<List<BeneficiarioResponseDTO>> buscarTodos() {
+    public ResponseEntity<List<BeneficiarioResponseDTO>> buscarTodos(WebRequest request) {
+        VersaoDTO versao = beneficiarioService.obterVersaoLista();
+        if (request.checkNotModified(versao.getEtag(), versao.getUltimaModificacao())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
         List<BeneficiarioResponseDTO> beneficiarios = beneficiarioService.buscarTodos();
         return new ResponseEntity<>(beneficiarios, HttpStatus.OK);
     }
@@ -80,4 +100,19 @@ public class BeneficiarioController {
         
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    @GetMapping("/{id}/resumo")
+    public ResponseEntity<ResumoBeneficiarioResponseDTO> resumo(@PathVariable String id) {
+        ResumoBeneficiarioResponseDTO resumo = resumoBeneficiarioService.resumoPorBeneficiario(id);
+        return new ResponseEntity<>(resumo, HttpStatus.OK);
+    }
+
+    @GetMapping("/resumo")
+    public ResponseEntity<Page<ResumoBeneficiarioResponseDTO>> resumoDeTodos(
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "{paginacao.pagina.minimo}") int pagina,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "{paginacao.tamanho.intervalo}")
+            @Max(value = 100, message = "{paginacao.tamanho.intervalo}") int tamanho) {
+        Page<ResumoBeneficiarioResponseDTO> resumos = resumoBeneficiarioService.resumoDeTodos(pagina, tamanho);
+        return new ResponseEntity<>(resumos, HttpStatus.OK);
+    }
 }
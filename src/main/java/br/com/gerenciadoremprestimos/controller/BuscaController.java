@@ -0,0 +1,39 @@
+package br.com.gerenciadoremprestimos.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.gerenciadoremprestimos.dto.ResultadoBuscaDTO;
+import br.com.gerenciadoremprestimos.service.BuscaService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/busca")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    private final BuscaService buscaService;
+
+    @GetMapping
+    public ResponseEntity<List<ResultadoBuscaDTO>> buscar(@RequestParam(required = false) String q,
+                                                          @RequestParam(required = false) Integer limite) {
+        List<ResultadoBuscaDTO> resultados = buscaService.buscar(q, limite);
+        return new ResponseEntity<>(resultados, HttpStatus.OK);
+    }
+
+    /**
+     * Monta novamente o índice a partir do banco, em segundo plano.
+     */
+    @PostMapping("/reconstruir")
+    public ResponseEntity<Void> reconstruir() {
+        buscaService.reconstruir();
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+}
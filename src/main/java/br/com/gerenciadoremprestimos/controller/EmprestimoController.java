@@ -2,6 +2,7 @@ package br.com.gerenciadoremprestimos.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,12 +11,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import br.com.gerenciadoremprestimos.dto.EmprestimoRequestDTO;
 import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
 import br.com.gerenciadoremprestimos.service.EmprestimoService;
+import br.com.gerenciadoremprestimos.service.VencimentoService;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
+import br.com.gerenciadoremprestimos.util.SerializacaoParcial;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +33,8 @@ import lombok.RequiredArgsConstructor;
 public class EmprestimoController {
     
     private final EmprestimoService emprestimoService;
+    private final SerializacaoParcial serializacaoParcial;
+    private final VencimentoService vencimentoService;
 
     @PostMapping
     public ResponseEntity<EmprestimoResponseDTO> inserir(@Valid @RequestBody EmprestimoRequestDTO requestDTO) {
@@ -34,8 +44,9 @@ public class EmprestimoController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<EmprestimoResponseDTO> atualizar(@PathVariable String id, @Valid @RequestBody EmprestimoRequestDTO requestDTO) {
-        EmprestimoResponseDTO responseDTO = emprestimoService.atualizar(id, requestDTO);
+    public ResponseEntity<EmprestimoResponseDTO> atualizar(@PathVariable String id, @Valid @RequestBody EmprestimoRequestDTO requestDTO,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmprestimoResponseDTO responseDTO = emprestimoService.atualizar(id, requestDTO, ifMatch);
         if (responseDTO != null) {
             return new ResponseEntity<>(responseDTO, HttpStatus.OK);
         } else {
@@ -50,7 +61,11 @@ public class EmprestimoController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmprestimoResponseDTO> buscarPorId(@PathVariable String id) {
+    public ResponseEntity<EmprestimoResponseDTO> buscarPorId(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(emprestimoService.obterVersao(id).getEtag())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
         EmprestimoResponseDTO beneficiario = emprestimoService.buscarPorId(id);
         if (beneficiario != null) {
             return new ResponseEntity<>(beneficiario, HttpStatus.OK);
@@ -60,8 +75,27 @@ public class EmprestimoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EmprestimoResponseDTO>> buscarTodos() {
-        List<EmprestimoResponseDTO> beneficiarios = emprestimoService.buscarTodos();
-        return new ResponseEntity<>(beneficiarios, HttpStatus.OK);
+    public ResponseEntity<Object> buscarTodos(@RequestParam(required = false) String fields,
+                                              @RequestParam(required = false) String expand, WebRequest request) {
+        VersaoDTO versao = emprestimoService.obterVersaoLista();
+        if (request.checkNotModified(versao.getEtag(), versao.getUltimaModificacao())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
+        SelecaoCampos selecao = SelecaoCampos.de(fields, expand);
+        List<EmprestimoResponseDTO> beneficiarios = emprestimoService.buscarTodos(selecao);
+        return new ResponseEntity<>(serializacaoParcial.aplicar(beneficiarios, selecao), HttpStatus.OK);
+    }
+
+    @GetMapping("/vencimentos")
+    public ResponseEntity<List<EmprestimoResponseDTO>> buscarVencimentos(@RequestParam String dataInicial, @RequestParam String dataFinal) {
+        List<EmprestimoResponseDTO> emprestimos = vencimentoService.buscarVencimentos(dataInicial, dataFinal);
+        return new ResponseEntity<>(emprestimos, HttpStatus.OK);
+    }
+
+    @GetMapping("/vencidos")
+    public ResponseEntity<List<EmprestimoResponseDTO>> buscarVencidos() {
+        List<EmprestimoResponseDTO> emprestimos = vencimentoService.buscarVencidos();
+        return new ResponseEntity<>(emprestimos, HttpStatus.OK);
     }
 }
@@ -0,0 +1,24 @@
+package br.com.gerenciadoremprestimos.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.gerenciadoremprestimos.service.EventoService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/eventos")
+@RequiredArgsConstructor
+public class EventoController {
+
+    private final EventoService eventoService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter inscrever(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return eventoService.inscrever(ultimoEventoId);
+    }
+}
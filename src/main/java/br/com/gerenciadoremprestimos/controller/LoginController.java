@@ -1,16 +1,21 @@
 package br.com.gerenciadoremprestimos.controller;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.gerenciadoremprestimos.dto.AtualizacaoTokenRequestDTO;
 import br.com.gerenciadoremprestimos.dto.LoginRequestDTO;
-import br.com.gerenciadoremprestimos.model.Usuario;
-import br.com.gerenciadoremprestimos.service.TokenService;
+import br.com.gerenciadoremprestimos.dto.TokenResponseDTO;
+import br.com.gerenciadoremprestimos.service.LoginService;
+import br.com.gerenciadoremprestimos.service.SessaoService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -18,22 +23,24 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LoginController {
 
-    private final AuthenticationManager authenticationManager;
-    private final TokenService tokenService;
+    private final LoginService loginService;
+    private final SessaoService sessaoService;
 
     @PostMapping
-    public String login(@RequestBody LoginRequestDTO login) {
-
-        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                new UsernamePasswordAuthenticationToken(login.getLogin(),
-                        login.getSenha());
-
-        Authentication authenticate = this.authenticationManager
-                .authenticate(usernamePasswordAuthenticationToken);
+    public CompletableFuture<TokenResponseDTO> login(@RequestBody LoginRequestDTO login) {
+        return loginService.autenticar(login);
+    }
 
-        var usuario = (Usuario) authenticate.getPrincipal();
+    @PostMapping("/atualizar")
+    public ResponseEntity<TokenResponseDTO> atualizar(@RequestBody AtualizacaoTokenRequestDTO requestDTO) {
+        TokenResponseDTO responseDTO = sessaoService.atualizar(requestDTO.getTokenAtualizacao());
+        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+    }
 
-        return tokenService.gerarToken(usuario);
-       
+    @PostMapping("/sair")
+    public ResponseEntity<Void> sair(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                     @RequestBody(required = false) AtualizacaoTokenRequestDTO requestDTO) {
+        sessaoService.sair(authorization.replace("Bearer ", ""), requestDTO != null ? requestDTO.getTokenAtualizacao() : null);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package br.com.gerenciadoremprestimos.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,12 +11,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import br.com.gerenciadoremprestimos.dto.PagamentoRequestDTO;
 import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
 import br.com.gerenciadoremprestimos.service.PagamentoService;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
+import br.com.gerenciadoremprestimos.util.SerializacaoParcial;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 public class PagamentoController {
     
     private final PagamentoService pagamentoService;
+    private final SerializacaoParcial serializacaoParcial;
 
     @PostMapping
     public ResponseEntity<PagamentoResponseDTO> inserir(@Valid @RequestBody PagamentoRequestDTO requestDTO) {
@@ -34,8 +42,9 @@ public class PagamentoController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<PagamentoResponseDTO> atualizar(@PathVariable String id, @Valid @RequestBody PagamentoRequestDTO requestDTO) {
-        PagamentoResponseDTO responseDTO = pagamentoService.atualizar(id, requestDTO);
+    public ResponseEntity<PagamentoResponseDTO> atualizar(@PathVariable String id, @Valid @RequestBody PagamentoRequestDTO requestDTO,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PagamentoResponseDTO responseDTO = pagamentoService.atualizar(id, requestDTO, ifMatch);
         if (responseDTO != null) {
             return new ResponseEntity<>(responseDTO, HttpStatus.OK);
         } else {
@@ -50,7 +59,11 @@ public class PagamentoController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PagamentoResponseDTO> buscarPorId(@PathVariable String id) {
+    public ResponseEntity<PagamentoResponseDTO> buscarPorId(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(pagamentoService.obterVersao(id).getEtag())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
         PagamentoResponseDTO pagamento = pagamentoService.buscarPorId(id);
         if (pagamento != null) {
             return new ResponseEntity<>(pagamento, HttpStatus.OK);
@@ -60,8 +73,15 @@ public class PagamentoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<PagamentoResponseDTO>> buscarTodos() {
-        List<PagamentoResponseDTO> pagamentos = pagamentoService.buscarTodos();
-        return new ResponseEntity<>(pagamentos, HttpStatus.OK);
+    public ResponseEntity<Object> buscarTodos(@RequestParam(required = false) String fields,
+                                              @RequestParam(required = false) String expand, WebRequest request) {
+        VersaoDTO versao = pagamentoService.obterVersaoLista();
+        if (request.checkNotModified(versao.getEtag(), versao.getUltimaModificacao())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
+        SelecaoCampos selecao = SelecaoCampos.de(fields, expand);
+        List<PagamentoResponseDTO> pagamentos = pagamentoService.buscarTodos(selecao);
+        return new ResponseEntity<>(serializacaoParcial.aplicar(pagamentos, selecao), HttpStatus.OK);
     }
 }
@@ -0,0 +1,38 @@
+package br.com.gerenciadoremprestimos.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.gerenciadoremprestimos.dto.PrevisaoRecebimentoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.ResumoMensalResponseDTO;
+import br.com.gerenciadoremprestimos.service.PrevisaoRecebimentoService;
+import br.com.gerenciadoremprestimos.service.RelatorioService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/relatorio")
+@RequiredArgsConstructor
+public class RelatorioController {
+
+    private final RelatorioService relatorioService;
+    private final PrevisaoRecebimentoService previsaoRecebimentoService;
+
+    @GetMapping("/serieMensal")
+    public ResponseEntity<List<ResumoMensalResponseDTO>> serieMensal(@RequestParam String inicio, @RequestParam String fim) {
+        List<ResumoMensalResponseDTO> serie = relatorioService.serieMensal(inicio, fim);
+        return new ResponseEntity<>(serie, HttpStatus.OK);
+    }
+
+    @GetMapping("/previsaoRecebimento")
+    public ResponseEntity<PrevisaoRecebimentoResponseDTO> previsaoRecebimento(@RequestParam(defaultValue = "3") int meses,
+                                                                              @RequestParam(defaultValue = "DIA") String agrupamento) {
+        PrevisaoRecebimentoResponseDTO previsao = previsaoRecebimentoService.previsao(meses, agrupamento);
+        return new ResponseEntity<>(previsao, HttpStatus.OK);
+    }
+}
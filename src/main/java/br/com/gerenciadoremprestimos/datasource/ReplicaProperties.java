@@ -0,0 +1,43 @@
+package br.com.gerenciadoremprestimos.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+@Data
+public class ReplicaProperties {
+
+    /**
+     * Quando desabilitado, todas as transações usam o datasource configurado em spring.datasource.
+     */
+    private boolean habilitado;
+
+    /**
+     * Atraso máximo de replicação aceito; acima dele a réplica deixa de receber leituras até se recuperar.
+     */
+    private Duration atrasoMaximo = Duration.ofSeconds(10);
+
+    /**
+     * Consulta executada na réplica que retorna o atraso de replicação em segundos (nulo equivale a zero).
+     * O padrão considera sem atraso a réplica do PostgreSQL que já aplicou todo o WAL recebido.
+     */
+    private String consultaAtraso = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) END";
+
+    private List<Conexao> conexoes = new ArrayList<>();
+
+    @Data
+    public static class Conexao {
+        private String url;
+        private String username;
+        private String password;
+        private int tamanhoPool = 10;
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.gerenciadoremprestimos.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Datasource que envia as transações somente leitura para as réplicas disponíveis e as demais para o primário.
+ *
+ * Deve ser usado atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o
+ * gerenciador de transações obtém a conexão antes de marcar a transação como somente leitura, e o proxy adia a
+ * escolha do destino até o primeiro comando SQL.
+ *
+ * O atraso de cada réplica é verificado periodicamente; réplicas atrasadas ou inacessíveis deixam de receber
+ * leituras e, sem nenhuma réplica disponível, as leituras voltam para o primário.
+ *
+ * Os pools das réplicas pertencem ao roteamento e são fechados com ele; o primário é um bean próprio.
+ */
+@Slf4j
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARIO = "primario";
+
+    private final List<Replica> replicas;
+    private final Duration atrasoMaximo;
+    private final String consultaAtraso;
+
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteamentoDataSource(DataSource primario, List<Replica> replicas, Duration atrasoMaximo, String consultaAtraso) {
+        this.replicas = replicas;
+        this.atrasoMaximo = atrasoMaximo;
+        this.consultaAtraso = consultaAtraso;
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        replicas.forEach(replica -> destinos.put(replica.getNome(), replica.getDataSource()));
+
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        verificarReplicas();
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao fechar a réplica {}: {}", replica.getNome(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARIO;
+        }
+
+        int total = replicas.size();
+        int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (replica.isDisponivel()) {
+                return replica.getNome();
+            }
+        }
+        return PRIMARIO;
+    }
+
+    /**
+     * Mede o atraso de replicação de cada réplica e atualiza quais podem receber leituras.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.intervalo-verificacao:PT5S}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            boolean disponivel;
+            try {
+                double atraso = medirAtraso(replica.getDataSource());
+                disponivel = atraso * 1000 <= atrasoMaximo.toMillis();
+                if (!disponivel && replica.isDisponivel()) {
+                    log.warn("Réplica {} com atraso de {} s; leituras redirecionadas", replica.getNome(), atraso);
+                }
+            } catch (Exception e) {
+                disponivel = false;
+                if (replica.isDisponivel()) {
+                    log.warn("Réplica {} inacessível; leituras redirecionadas: {}", replica.getNome(), e.getMessage());
+                }
+            }
+            if (disponivel && !replica.isDisponivel()) {
+                log.info("Réplica {} disponível para leituras", replica.getNome());
+            }
+            replica.disponivel = disponivel;
+        }
+    }
+
+    private double medirAtraso(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(consultaAtraso)) {
+            return resultSet.next() ? resultSet.getDouble(1) : 0.0;
+        }
+    }
+
+    @Getter
+    public static class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel;
+
+        public Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import br.com.gerenciadoremprestimos.diario.RegistroDiario.TipoEntidade;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Diário de alterações: arquivo somente de inclusão, dividido em segmentos de tamanho fixo mapeados em memória.
+ *
+ * Registrar uma alteração é uma cópia para a memória mapeada sob um lock curto, sem chamada de sistema: os dados
+ * ficam no cache de páginas do sistema operacional e sobrevivem a uma queda da aplicação. A gravação em disco é
+ * feita em grupo por {@link #sincronizar()}, chamado periodicamente, e na troca de segmento.
+ *
+ * O próximo segmento é criado e mapeado com antecedência, fora do lock; a troca sob o lock apenas renomeia o arquivo
+ * preparado para o nome definitivo. A gravação em disco e o fechamento do segmento cheio também ficam fora do lock.
+ *
+ * Na abertura, o último segmento é percorrido até o último registro válido, e as inclusões continuam a partir dele.
+ */
+@Slf4j
+public class DiarioAlteracoes implements Closeable {
+
+    private static final String PREFIXO_PREPARADO = "proximo-";
+    private static final String EXTENSAO_PREPARADO = ".tmp";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private FileChannel canal;
+    private MappedByteBuffer buffer;
+    private long proximaSequencia = 1;
+    private boolean pendente;
+
+    /**
+     * Segmento vazio já criado e mapeado, com nome temporário, usado na próxima troca.
+     */
+    private Segmento preparado;
+
+    public DiarioAlteracoes(Path diretorio, int tamanhoSegmento) throws IOException {
+        if (tamanhoSegmento <= FormatoRegistro.CABECALHO_SEGMENTO + FormatoRegistro.tamanho(0)) {
+            throw new IllegalArgumentException("Tamanho de segmento inválido: " + tamanhoSegmento);
+        }
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+
+        Files.createDirectories(diretorio);
+        removerPreparados();
+        List<Path> segmentos = FormatoRegistro.listarSegmentos(diretorio);
+        if (segmentos.isEmpty()) {
+            ativar(criarSegmento());
+        } else {
+            recuperar(segmentos.get(segmentos.size() - 1));
+        }
+        prepararProximoSegmento();
+    }
+
+    /**
+     * Inclui uma alteração no diário.
+     *
+     * @param operacao Operação realizada
+     * @param tipo Tipo da entidade
+     * @param id ID da entidade
+     * @param versao Versão da entidade após a operação (-1 quando não houver)
+     * @param dados Estado da entidade codificado
+     * @return Sequência do registro
+     */
+    public long registrar(Operacao operacao, TipoEntidade tipo, long id, long versao, byte[] dados) {
+        int tamanho = FormatoRegistro.tamanho(dados.length);
+        if (tamanho > tamanhoSegmento - FormatoRegistro.CABECALHO_SEGMENTO) {
+            throw new IllegalArgumentException("Registro de " + tamanho + " bytes maior que o segmento do diário");
+        }
+
+        Segmento cheio = null;
+        long sequencia;
+        lock.lock();
+        try {
+            if (buffer == null) {
+                throw new IllegalStateException("Diário de alterações fechado");
+            }
+            if (buffer.remaining() < tamanho) {
+                cheio = trocarSegmento();
+            }
+            sequencia = proximaSequencia++;
+            FormatoRegistro.escrever(buffer, sequencia, agora(), operacao, tipo, id, versao, dados);
+            pendente = true;
+        } finally {
+            lock.unlock();
+        }
+
+        if (cheio != null) {
+            fechar(cheio);
+            prepararProximoSegmento();
+        }
+        return sequencia;
+    }
+
+    /**
+     * Grava em disco os registros incluídos desde a última sincronização. A gravação é feita fora do lock, sem
+     * bloquear novas inclusões.
+     */
+    public void sincronizar() {
+        MappedByteBuffer atual;
+        lock.lock();
+        try {
+            if (!pendente || buffer == null) {
+                return;
+            }
+            pendente = false;
+            atual = buffer;
+        } finally {
+            lock.unlock();
+        }
+        atual.force();
+    }
+
+    public long ultimaSequencia() {
+        lock.lock();
+        try {
+            return proximaSequencia - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+                buffer = null;
+                canal.close();
+            }
+            if (preparado != null) {
+                preparado.canal().close();
+                Files.deleteIfExists(preparado.arquivo());
+                preparado = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Passa a escrever no segmento preparado (ou em um criado agora, se a preparação ainda não terminou) e devolve o
+     * segmento cheio, que deve ser gravado e fechado fora do lock.
+     */
+    private Segmento trocarSegmento() {
+        Segmento cheio = new Segmento(null, canal, buffer);
+        try {
+            Segmento novo = preparado != null ? preparado : criarSegmento();
+            preparado = null;
+            ativar(novo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao trocar o segmento do diário de alterações", e);
+        }
+        return cheio;
+    }
+
+    /**
+     * Dá ao segmento o nome definitivo, a partir da próxima sequência, e o torna o segmento atual.
+     */
+    private void ativar(Segmento segmento) throws IOException {
+        Files.move(segmento.arquivo(), diretorio.resolve(FormatoRegistro.nomeSegmento(proximaSequencia)), StandardCopyOption.ATOMIC_MOVE);
+        canal = segmento.canal();
+        buffer = segmento.buffer();
+        buffer.position(FormatoRegistro.CABECALHO_SEGMENTO);
+    }
+
+    /**
+     * Cria e mapeia, fora do lock, o segmento da próxima troca. Se a preparação falhar, a troca cria o segmento.
+     */
+    private void prepararProximoSegmento() {
+        Segmento segmento;
+        try {
+            segmento = criarSegmento();
+        } catch (IOException e) {
+            log.warn("Falha ao preparar o próximo segmento do diário de alterações", e);
+            return;
+        }
+
+        boolean descartar;
+        lock.lock();
+        try {
+            descartar = buffer == null || preparado != null;
+            if (!descartar) {
+                preparado = segmento;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (descartar) {
+            try {
+                segmento.canal().close();
+                Files.deleteIfExists(segmento.arquivo());
+            } catch (IOException e) {
+                log.warn("Falha ao remover o segmento preparado {}", segmento.arquivo(), e);
+            }
+        }
+    }
+
+    private Segmento criarSegmento() throws IOException {
+        Path arquivo = Files.createTempFile(diretorio, PREFIXO_PREPARADO, EXTENSAO_PREPARADO);
+        FileChannel novoCanal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer novoBuffer = novoCanal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+        FormatoRegistro.escreverCabecalho(novoBuffer, 0);
+        return new Segmento(arquivo, novoCanal, novoBuffer);
+    }
+
+    private void fechar(Segmento segmento) {
+        try {
+            segmento.buffer().force();
+            segmento.canal().close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar o segmento cheio do diário de alterações", e);
+        }
+    }
+
+    /**
+     * Remove os segmentos preparados e não usados antes de uma parada da aplicação.
+     */
+    private void removerPreparados() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                String nome = arquivo.getFileName().toString();
+                if (nome.startsWith(PREFIXO_PREPARADO) && nome.endsWith(EXTENSAO_PREPARADO)) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+        }
+    }
+
+    private void recuperar(Path arquivo) throws IOException {
+        canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(canal.size(), FormatoRegistro.CABECALHO_SEGMENTO));
+        if (FormatoRegistro.lerCabecalho(buffer, arquivo) < 0) {
+            FormatoRegistro.escreverCabecalho(buffer, 0);
+        }
+
+        proximaSequencia = Long.parseLong(arquivo.getFileName().toString().replace(FormatoRegistro.EXTENSAO, ""));
+        buffer.position(FormatoRegistro.CABECALHO_SEGMENTO);
+        int quantidade = 0;
+        for (RegistroDiario registro = FormatoRegistro.ler(buffer); registro != null; registro = FormatoRegistro.ler(buffer)) {
+            proximaSequencia = registro.getSequencia() + 1;
+            quantidade++;
+        }
+
+        log.info("Diário de alterações aberto em {}: {} registros no segmento atual, próxima sequência {}",
+                 arquivo, quantidade, proximaSequencia);
+    }
+
+    private record Segmento(Path arquivo, FileChannel canal, MappedByteBuffer buffer) {
+    }
+
+    private static long agora() {
+        Instant agora = Instant.now();
+        return agora.getEpochSecond() * 1_000_000L + agora.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "diario")
+@Data
+public class DiarioProperties {
+
+    /**
+     * Quando desabilitado, as alterações não são registradas no diário.
+     */
+    private boolean habilitado;
+
+    /**
+     * Diretório dos segmentos do diário.
+     */
+    private String diretorio = "diario";
+
+    /**
+     * Tamanho de cada segmento; ao encher, um novo segmento é criado.
+     */
+    private DataSize tamanhoSegmento = DataSize.ofMegabytes(64);
+
+    /**
+     * Alterações aguardando a thread de escrita; com a fila cheia, quem publica a alteração espera por espaço.
+     */
+    private int capacidadeFila = 65536;
+}
@@ -0,0 +1,70 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Ferramenta de linha de comando do diário de alterações. Com o jar da aplicação:
+ *
+ * <pre>
+ * java -cp gerenciador-emprestimos.jar -Dloader.main=br.com.gerenciadoremprestimos.diario.FerramentaDiario \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher &lt;comando&gt; &lt;diretorio&gt; [parametro]
+ * </pre>
+ *
+ * Comandos:
+ * <ul>
+ * <li>{@code listar <diretorio> [sequencia]}: lista os registros a partir da sequência, um por linha;</li>
+ * <li>{@code reproduzir <diretorio> [instante ISO-8601]}: lista o estado de cada entidade no instante (padrão: agora);</li>
+ * <li>{@code compactar <diretorio>}: compacta os segmentos fechados.</li>
+ * </ul>
+ */
+public class FerramentaDiario {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            uso();
+            return;
+        }
+
+        LeitorDiario leitor = new LeitorDiario(Path.of(args[1]));
+        switch (args[0]) {
+            case "listar" -> leitor.ler(args.length > 2 ? Long.parseLong(args[2]) : 0, FerramentaDiario::imprimir);
+            case "reproduzir" -> leitor.reproduzir(args.length > 2 ? micros(args[2]) : micros(Instant.now().toString()))
+                                       .values()
+                                       .forEach(FerramentaDiario::imprimir);
+            case "compactar" -> System.out.println("Registros descartados: " + leitor.compactar());
+            default -> uso();
+        }
+    }
+
+    private static void imprimir(RegistroDiario registro) {
+        String dados;
+        try {
+            dados = JSON.writeValueAsString(RegistradorDiario.CBOR.readTree(registro.getDados()));
+        } catch (IOException e) {
+            dados = "\"dados ilegíveis\"";
+        }
+        Instant instante = Instant.EPOCH.plusNanos(registro.getInstante() * 1_000);
+        System.out.printf("%d %s %s %s %d v%d %s%n", registro.getSequencia(), instante, registro.getOperacao(), registro.getTipo(),
+                          registro.getId(), registro.getVersao(), dados);
+    }
+
+    private static long micros(String instante) {
+        try {
+            Instant valor = Instant.parse(instante);
+            return valor.getEpochSecond() * 1_000_000L + valor.getNano() / 1_000;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Instante inválido, use o formato ISO-8601 (ex.: 2024-05-01T10:15:30Z): " + instante, e);
+        }
+    }
+
+    private static void uso() {
+        System.out.println("Uso: FerramentaDiario <listar|reproduzir|compactar> <diretorio> [sequencia|instante]");
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import br.com.gerenciadoremprestimos.diario.RegistroDiario.TipoEntidade;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+
+/**
+ * Formato binário dos segmentos do diário.
+ *
+ * Cada segmento começa com um cabeçalho de 16 bytes (identificador, versão do formato e, nos segmentos
+ * compactados, a última sequência coberta pela compactação) seguido dos registros:
+ *
+ * <pre>
+ * int    tamanho do restante do registro
+ * long   sequência
+ * long   instante (microssegundos)
+ * byte   operação
+ * byte   tipo da entidade
+ * long   ID da entidade
+ * long   versão da entidade (-1 quando não houver)
+ * int    tamanho dos dados
+ * byte[] dados (CBOR)
+ * int    CRC-32C de sequência até dados
+ * </pre>
+ *
+ * O arquivo é criado com o tamanho total do segmento e preenchido com zeros, então o fim dos registros é o primeiro
+ * tamanho zerado ou o primeiro registro com CRC inválido (escrita interrompida).
+ */
+final class FormatoRegistro {
+
+    static final int IDENTIFICADOR = 0x47454449;
+    static final int VERSAO = 1;
+    static final int CABECALHO_SEGMENTO = 16;
+    static final String EXTENSAO = ".diario";
+
+    private static final int CAMPOS_FIXOS = 8 + 8 + 1 + 1 + 8 + 8 + 4;
+    private static final int CRC = 4;
+
+    private static final Operacao[] OPERACOES = Operacao.values();
+    private static final TipoEntidade[] TIPOS = TipoEntidade.values();
+
+    private FormatoRegistro() {
+    }
+
+    /**
+     * Quantidade de bytes ocupados por um registro com dados do tamanho informado.
+     */
+    static int tamanho(int tamanhoDados) {
+        return 4 + CAMPOS_FIXOS + tamanhoDados + CRC;
+    }
+
+    static void escreverCabecalho(ByteBuffer destino, long sequenciaCompactada) {
+        destino.putInt(0, IDENTIFICADOR).putInt(4, VERSAO).putLong(8, sequenciaCompactada);
+    }
+
+    /**
+     * Valida o cabeçalho do segmento.
+     *
+     * @return Última sequência coberta pela compactação, 0 quando o segmento não foi compactado, ou -1 quando o
+     *         cabeçalho ainda não foi escrito
+     */
+    static long lerCabecalho(ByteBuffer origem, Path arquivo) {
+        int identificador = origem.getInt(0);
+        if (identificador == 0) {
+            return -1;
+        }
+        if (identificador != IDENTIFICADOR || origem.getInt(4) != VERSAO) {
+            throw new IllegalStateException("Arquivo não é um segmento do diário: " + arquivo);
+        }
+        return origem.getLong(8);
+    }
+
+    /**
+     * Escreve um registro na posição atual do buffer, que deve ter espaço para {@link #tamanho(int)} bytes.
+     */
+    static void escrever(ByteBuffer destino, long sequencia, long instante, Operacao operacao, TipoEntidade tipo, long id,
+                         long versao, byte[] dados) {
+        int inicio = destino.position();
+        destino.putInt(CAMPOS_FIXOS + dados.length + CRC)
+               .putLong(sequencia)
+               .putLong(instante)
+               .put((byte) operacao.ordinal())
+               .put((byte) tipo.ordinal())
+               .putLong(id)
+               .putLong(versao)
+               .putInt(dados.length)
+               .put(dados);
+        destino.putInt(crc(destino, inicio + 4, destino.position()));
+    }
+
+    /**
+     * Lê o registro da posição atual do buffer e avança a posição.
+     *
+     * @return Registro lido, ou nulo no fim dos registros válidos (a posição não é alterada)
+     */
+    static RegistroDiario ler(ByteBuffer origem) {
+        int inicio = origem.position();
+        if (origem.remaining() < 4) {
+            return null;
+        }
+
+        int tamanho = origem.getInt(inicio);
+        if (tamanho < CAMPOS_FIXOS + CRC || tamanho > origem.remaining() - 4) {
+            return null;
+        }
+        int fimDados = inicio + 4 + tamanho - CRC;
+        if (origem.getInt(fimDados) != crc(origem, inicio + 4, fimDados)) {
+            return null;
+        }
+
+        int operacao = origem.get(inicio + 20);
+        int tipo = origem.get(inicio + 21);
+        int tamanhoDados = origem.getInt(inicio + 38);
+        if (operacao < 0 || operacao >= OPERACOES.length || tipo < 0 || tipo >= TIPOS.length
+                || tamanhoDados != tamanho - CAMPOS_FIXOS - CRC) {
+            return null;
+        }
+
+        byte[] dados = new byte[tamanhoDados];
+        origem.get(inicio + 42, dados);
+        origem.position(inicio + 4 + tamanho);
+
+        return new RegistroDiario(origem.getLong(inicio + 4), origem.getLong(inicio + 12), OPERACOES[operacao], TIPOS[tipo],
+                                  origem.getLong(inicio + 22), origem.getLong(inicio + 30), dados);
+    }
+
+    static String nomeSegmento(long primeiraSequencia) {
+        return String.format("%020d%s", primeiraSequencia, EXTENSAO);
+    }
+
+    /**
+     * Lista os segmentos do diário na ordem em que foram escritos.
+     */
+    static List<Path> listarSegmentos(Path diretorio) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(EXTENSAO))
+                           .sorted()
+                           .collect(Collectors.toList());
+        }
+    }
+
+    private static int crc(ByteBuffer buffer, int inicio, int fim) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(fim).position(inicio));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+
+/**
+ * Leitura, reprodução e compactação do diário de alterações.
+ *
+ * Pode ser usado com a aplicação em execução: o segmento em escrita é lido apenas até o último registro completo e
+ * nunca é compactado.
+ */
+public class LeitorDiario {
+
+    private final Path diretorio;
+
+    public LeitorDiario(Path diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Percorre os registros em ordem de sequência.
+     *
+     * @param desdeSequencia Primeira sequência desejada
+     * @param consumidor Recebe cada registro
+     */
+    public void ler(long desdeSequencia, Consumer<RegistroDiario> consumidor) throws IOException {
+        ler(FormatoRegistro.listarSegmentos(diretorio), desdeSequencia, consumidor);
+    }
+
+    /**
+     * Reproduz o diário até um instante, obtendo o último estado de cada entidade existente naquele momento.
+     *
+     * @param ateInstante Instante limite (inclusivo) em microssegundos desde 1970-01-01T00:00Z
+     * @return Último registro de cada entidade não removida, pela chave {@link RegistroDiario#chave()}
+     */
+    public Map<String, RegistroDiario> reproduzir(long ateInstante) throws IOException {
+        Map<String, RegistroDiario> estado = new LinkedHashMap<>();
+        ler(0, registro -> {
+            if (registro.getInstante() <= ateInstante) {
+                aplicar(estado, registro);
+            }
+        });
+        return estado;
+    }
+
+    /**
+     * Compacta todos os segmentos fechados (todos, exceto o último) em um único segmento com apenas o último
+     * registro de cada entidade não removida. O histórico das alterações compactadas deixa de existir; deve ser
+     * executada depois de arquivar os segmentos quando o histórico completo precisar ser mantido.
+     *
+     * @return Quantidade de registros descartados
+     */
+    public long compactar() throws IOException {
+        List<Path> segmentos = FormatoRegistro.listarSegmentos(diretorio);
+        if (segmentos.size() < 2) {
+            return 0;
+        }
+        List<Path> fechados = segmentos.subList(0, segmentos.size() - 1);
+
+        Map<String, RegistroDiario> estado = new LinkedHashMap<>();
+        long[] lidos = new long[1];
+        long[] ultimaSequencia = new long[1];
+        ler(fechados, 0, registro -> {
+            aplicar(estado, registro);
+            lidos[0]++;
+            ultimaSequencia[0] = registro.getSequencia();
+        });
+        ultimaSequencia[0] = Math.max(ultimaSequencia[0], sequenciaCompactada(fechados.get(0)));
+
+        List<RegistroDiario> registros = new ArrayList<>(estado.values());
+        registros.sort(Comparator.comparingLong(RegistroDiario::getSequencia));
+
+        int tamanho = FormatoRegistro.CABECALHO_SEGMENTO;
+        for (RegistroDiario registro : registros) {
+            tamanho += FormatoRegistro.tamanho(registro.getDados().length);
+        }
+
+        Path temporario = diretorio.resolve(fechados.get(0).getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                  StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            FormatoRegistro.escreverCabecalho(buffer, ultimaSequencia[0]);
+            buffer.position(FormatoRegistro.CABECALHO_SEGMENTO);
+            for (RegistroDiario r : registros) {
+                FormatoRegistro.escrever(buffer, r.getSequencia(), r.getInstante(), r.getOperacao(), r.getTipo(), r.getId(),
+                                         r.getVersao(), r.getDados());
+            }
+            buffer.force();
+        }
+
+        // A troca é atômica; se a remoção dos demais for interrompida, a leitura ignora os registros já compactados
+        Files.move(temporario, fechados.get(0), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path segmento : fechados.subList(1, fechados.size())) {
+            Files.deleteIfExists(segmento);
+        }
+
+        return lidos[0] - registros.size();
+    }
+
+    private static void ler(List<Path> segmentos, long desdeSequencia, Consumer<RegistroDiario> consumidor) throws IOException {
+        long ultimaLida = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            if (i + 1 < segmentos.size() && primeiraSequencia(segmentos.get(i + 1)) <= desdeSequencia) {
+                continue;
+            }
+
+            try (FileChannel canal = FileChannel.open(segmentos.get(i), StandardOpenOption.READ)) {
+                if (canal.size() < FormatoRegistro.CABECALHO_SEGMENTO) {
+                    continue;
+                }
+                ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                long compactada = FormatoRegistro.lerCabecalho(buffer, segmentos.get(i));
+
+                buffer.position(FormatoRegistro.CABECALHO_SEGMENTO);
+                for (RegistroDiario registro = FormatoRegistro.ler(buffer); registro != null; registro = FormatoRegistro.ler(buffer)) {
+                    if (registro.getSequencia() > ultimaLida) {
+                        ultimaLida = registro.getSequencia();
+                        if (registro.getSequencia() >= desdeSequencia) {
+                            consumidor.accept(registro);
+                        }
+                    }
+                }
+                ultimaLida = Math.max(ultimaLida, compactada);
+            }
+        }
+    }
+
+    private static void aplicar(Map<String, RegistroDiario> estado, RegistroDiario registro) {
+        if (registro.getOperacao() == Operacao.REMOCAO) {
+            estado.remove(registro.chave());
+        } else {
+            estado.put(registro.chave(), registro);
+        }
+    }
+
+    private static long sequenciaCompactada(Path segmento) throws IOException {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(FormatoRegistro.CABECALHO_SEGMENTO);
+            canal.read(cabecalho, 0);
+            return Math.max(0, FormatoRegistro.lerCabecalho(cabecalho, segmento));
+        }
+    }
+
+    private static long primeiraSequencia(Path segmento) {
+        return Long.parseLong(segmento.getFileName().toString().replace(FormatoRegistro.EXTENSAO, ""));
+    }
+}
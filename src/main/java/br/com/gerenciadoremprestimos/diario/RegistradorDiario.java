@@ -0,0 +1,166 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.gerenciadoremprestimos.diario.RegistroDiario.TipoEntidade;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Base;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registra no diário as alterações feitas pelos serviços, após o commit e fora da transação, e grava o diário em
+ * disco periodicamente.
+ *
+ * A thread da requisição apenas codifica o estado da entidade e o coloca em uma fila; uma única thread de escrita
+ * inclui os registros no diário na ordem da fila. A fila é limitada: se a escrita não acompanhar, quem publica a
+ * alteração espera por espaço em vez de a alteração ser descartada.
+ */
+@Slf4j
+public class RegistradorDiario implements AutoCloseable {
+
+    /**
+     * Codificação do estado das entidades; as datas ficam como vetores numéricos, mais compactos que o texto ISO.
+     */
+    static final ObjectMapper CBOR = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+
+    private static final int TAMANHO_LOTE = 256;
+    private static final long ESPERA_FILA_MS = 100;
+
+    private final DiarioAlteracoes diario;
+
+    private final BlockingQueue<Alteracao> fila;
+
+    private final Thread escritor;
+
+    private volatile boolean ativo = true;
+
+    public RegistradorDiario(DiarioAlteracoes diario, int capacidadeFila) {
+        this.diario = diario;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.escritor = new Thread(this::escrever, "diario-alteracoes");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        Base entidade = event.getEntidade();
+        TipoEntidade tipo = TipoEntidade.de(entidade);
+        if (tipo == null) {
+            return;
+        }
+
+        try {
+            Alteracao alteracao = new Alteracao(event.getOperacao(), tipo, entidade.getId(),
+                                                entidade.getVersao() == null ? -1 : entidade.getVersao(),
+                                                CBOR.writeValueAsBytes(dados(entidade)));
+            if (!ativo) {
+                registrar(alteracao);
+            } else {
+                fila.put(alteracao);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrompido ao registrar no diário a alteração {} de {} {}", event.getOperacao(), tipo, entidade.getId());
+        } catch (Exception e) {
+            log.error("Falha ao registrar no diário a alteração {} de {} {}", event.getOperacao(), tipo, entidade.getId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${diario.intervalo-sincronizacao:PT0.2S}")
+    public void sincronizar() {
+        diario.sincronizar();
+    }
+
+    /**
+     * Para a thread de escrita e inclui no diário o que ainda estiver na fila. Deve ser chamado antes de fechar o
+     * diário.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        ativo = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<Alteracao> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        restantes.forEach(this::registrar);
+    }
+
+    /**
+     * Laço da thread de escrita. A thread não é interrompida no encerramento: a interrupção fecharia o canal do
+     * segmento em uma troca; por isso a espera na fila tem tempo limite e o laço confere se ainda está ativo.
+     */
+    private void escrever() {
+        List<Alteracao> lote = new ArrayList<>(TAMANHO_LOTE);
+        while (ativo) {
+            try {
+                Alteracao alteracao = fila.poll(ESPERA_FILA_MS, TimeUnit.MILLISECONDS);
+                if (alteracao == null) {
+                    continue;
+                }
+                lote.add(alteracao);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            fila.drainTo(lote, TAMANHO_LOTE - 1);
+            lote.forEach(this::registrar);
+            lote.clear();
+        }
+    }
+
+    private void registrar(Alteracao alteracao) {
+        try {
+            diario.registrar(alteracao.operacao(), alteracao.tipo(), alteracao.id(), alteracao.versao(), alteracao.dados());
+        } catch (Exception e) {
+            log.error("Falha ao registrar no diário a alteração {} de {} {}", alteracao.operacao(), alteracao.tipo(), alteracao.id(), e);
+        }
+    }
+
+    /**
+     * Estado da entidade gravado no diário. As relações são gravadas pelo ID e a imagem do beneficiário não é gravada.
+     */
+    static Map<String, Object> dados(Base entidade) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        if (entidade instanceof Beneficiario beneficiario) {
+            dados.put("nome", beneficiario.getNome());
+            dados.put("numeroTelefone", beneficiario.getNumeroTelefone());
+        } else if (entidade instanceof Emprestimo emprestimo) {
+            dados.put("beneficiarioId", emprestimo.getBeneficiario() == null ? null : emprestimo.getBeneficiario().getId());
+            dados.put("dataEmprestimo", emprestimo.getDataEmprestimo());
+            dados.put("dataPagamento", emprestimo.getDataPagamento());
+            dados.put("valorEmprestimo", emprestimo.getValorEmprestimo());
+            dados.put("porcentagem", emprestimo.getPorcentagem());
+            dados.put("quitado", emprestimo.getQuitado());
+        } else if (entidade instanceof Pagamento pagamento) {
+            dados.put("emprestimoId", pagamento.getEmprestimo() == null ? null : pagamento.getEmprestimo().getId());
+            dados.put("dataPagamento", pagamento.getDataPagamento());
+            dados.put("valorPago", pagamento.getValorPago());
+            dados.put("tipoPagamento", pagamento.getTipoPagamento());
+        }
+        dados.put("dataCriacao", entidade.getDataCriacao());
+        dados.put("dataAtualizacao", entidade.getDataAtualizacao());
+        dados.put("observacao", entidade.getObservacao());
+        return dados;
+    }
+
+    private record Alteracao(Operacao operacao, TipoEntidade tipo, long id, long versao, byte[] dados) {
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Base;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Registro de uma alteração no diário: a operação, a entidade alterada e o seu estado codificado em CBOR.
+ */
+@Data
+@AllArgsConstructor
+public class RegistroDiario {
+
+    private long sequencia;
+
+    /**
+     * Instante do registro em microssegundos desde 1970-01-01T00:00Z.
+     */
+    private long instante;
+
+    private Operacao operacao;
+    private TipoEntidade tipo;
+    private long id;
+    private long versao;
+    private byte[] dados;
+
+    /**
+     * Identifica a entidade do registro, usada na reprodução e na compactação.
+     */
+    public String chave() {
+        return tipo + ":" + id;
+    }
+
+    public enum TipoEntidade {
+        BENEFICIARIO,
+        EMPRESTIMO,
+        PAGAMENTO;
+
+        public static TipoEntidade de(Base entidade) {
+            if (entidade instanceof Beneficiario) {
+                return BENEFICIARIO;
+            } else if (entidade instanceof Emprestimo) {
+                return EMPRESTIMO;
+            } else if (entidade instanceof Pagamento) {
+                return PAGAMENTO;
+            }
+            return null;
+        }
+    }
+}
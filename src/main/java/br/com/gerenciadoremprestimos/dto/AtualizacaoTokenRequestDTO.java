@@ -0,0 +1,12 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizacaoTokenRequestDTO {
+    private String tokenAtualizacao;
+}
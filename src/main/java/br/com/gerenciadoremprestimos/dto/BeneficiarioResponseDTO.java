@@ -18,5 +18,6 @@ public class BeneficiarioResponseDTO {
     private String numeroTelefone;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
+    private Long versao;
     private String observacao;
 }
@@ -0,0 +1,42 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa os textos de uma entidade a indexar na busca textual, lidos diretamente do banco na montagem do índice.
+ */
+@Data
+@NoArgsConstructor
+public class DocumentoBuscaDTO {
+    private Long id;
+    private String nome;
+    private String observacao;
+    private Long emprestimoId;
+
+    /**
+     * Beneficiário.
+     */
+    public DocumentoBuscaDTO(Long id, String nome, String observacao) {
+        this.id = id;
+        this.nome = nome;
+        this.observacao = observacao;
+    }
+
+    /**
+     * Empréstimo.
+     */
+    public DocumentoBuscaDTO(Long id, String observacao) {
+        this.id = id;
+        this.observacao = observacao;
+    }
+
+    /**
+     * Pagamento.
+     */
+    public DocumentoBuscaDTO(Long id, Long emprestimoId, String observacao) {
+        this.id = id;
+        this.emprestimoId = emprestimoId;
+        this.observacao = observacao;
+    }
+}
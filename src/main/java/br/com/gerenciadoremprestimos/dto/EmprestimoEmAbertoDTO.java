@@ -0,0 +1,21 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa os dados mínimos de um empréstimo em aberto, com o total já recebido, usados na carga da previsão de recebimentos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmprestimoEmAbertoDTO {
+    private Long id;
+    private LocalDateTime dataPagamento;
+    private Double valorEmprestimo;
+    private Double porcentagem;
+    private Double valorRecebido;
+}
@@ -23,5 +23,17 @@ public class EmprestimoResponseDTO {
     private BeneficiarioResponseDTO beneficiario;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
+    private Long versao;
     private String observacao;
+
+    /**
+     * Construtor usado nas consultas sem o beneficiário expandido: o beneficiário é retornado apenas com o ID.
+     */
+    public EmprestimoResponseDTO(Long id, LocalDateTime dataEmprestimo, LocalDateTime dataPagamento, Double valorEmprestimo, Double porcentagem,
+                                 Boolean quitado, Long beneficiarioId, LocalDateTime dataCriacao, LocalDateTime dataAtualizacao, Long versao,
+                                 String observacao) {
+        this(id, dataEmprestimo, dataPagamento, valorEmprestimo, porcentagem, quitado, new BeneficiarioResponseDTO(), dataCriacao,
+             dataAtualizacao, versao, observacao);
+        this.beneficiario.setId(beneficiarioId);
+    }
 }
@@ -0,0 +1,38 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um evento de alteração enviado pelo fluxo de eventos (SSE). Os campos de valores só são preenchidos
+ * para os tipos em que se aplicam.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventoAlteracaoDTO {
+    private Long id;
+    private String tipo;
+    private Long entidadeId;
+    private Operacao operacao;
+    private Long versao;
+
+    /**
+     * Valor do empréstimo ou valor pago, após a operação.
+     */
+    private Double valor;
+
+    /**
+     * Valor antes da atualização, preenchido apenas quando o valor foi alterado.
+     */
+    private Double valorAnterior;
+
+    private Boolean quitado;
+    private Long beneficiarioId;
+    private Long emprestimoId;
+}
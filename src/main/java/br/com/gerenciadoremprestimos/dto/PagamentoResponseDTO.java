@@ -21,5 +21,15 @@ public class PagamentoResponseDTO {
     private EmprestimoResponseDTO emprestimo;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
+    private Long versao;
     private String observacao;
+
+    /**
+     * Construtor usado nas consultas sem o empréstimo expandido: o empréstimo é retornado apenas com o ID.
+     */
+    public PagamentoResponseDTO(Long id, LocalDateTime dataPagamento, Double valorPago, TipoPagamento tipoPagamento, Long emprestimoId,
+                                LocalDateTime dataCriacao, LocalDateTime dataAtualizacao, Long versao, String observacao) {
+        this(id, dataPagamento, valorPago, tipoPagamento, new EmprestimoResponseDTO(), dataCriacao, dataAtualizacao, versao, observacao);
+        this.emprestimo.setId(emprestimoId);
+    }
 }
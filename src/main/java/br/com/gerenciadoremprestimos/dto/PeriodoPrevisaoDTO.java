@@ -0,0 +1,19 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa o valor esperado de recebimento em um período (dia ou semana) da previsão.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodoPrevisaoDTO {
+    private LocalDate inicio;
+    private LocalDate fim;
+    private Double valor;
+}
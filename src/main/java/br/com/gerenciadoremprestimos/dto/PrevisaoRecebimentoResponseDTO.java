@@ -0,0 +1,21 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um DTO de retorno com a previsão de recebimentos dos empréstimos em aberto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PrevisaoRecebimentoResponseDTO {
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private Double valorVencido;
+    private List<PeriodoPrevisaoDTO> periodos;
+}
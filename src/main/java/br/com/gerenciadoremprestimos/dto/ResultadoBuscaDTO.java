@@ -0,0 +1,28 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um resultado da busca textual: a entidade encontrada (tipo e ID), a pontuação de relevância e os
+ * textos indexados.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoBuscaDTO {
+    private String tipo;
+    private Long id;
+    private Float pontuacao;
+
+    /**
+     * Nome do beneficiário; nulo nos demais tipos.
+     */
+    private String nome;
+
+    private String observacao;
+}
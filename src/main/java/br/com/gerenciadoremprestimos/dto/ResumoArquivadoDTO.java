@@ -0,0 +1,18 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa os totais dos empréstimos arquivados de um beneficiário, somados ao resumo da carteira.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoArquivadoDTO {
+    private Long beneficiarioId;
+    private Long quantidadeEmprestimos;
+    private Double valorEmprestado;
+    private Double valorRecebido;
+}
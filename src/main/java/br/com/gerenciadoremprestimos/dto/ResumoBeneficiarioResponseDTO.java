@@ -0,0 +1,36 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um DTO de retorno com o resumo da carteira de um Beneficiário.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoBeneficiarioResponseDTO {
+    private Long beneficiarioId;
+    private String nome;
+    private Long quantidadeEmprestimos;
+    private Long quantidadeEmAberto;
+    private Double valorEmprestado;
+    private Double valorRecebido;
+    private Double saldoDevedor;
+
+    /**
+     * Construtor utilizado pela consulta agrupada. O saldo devedor é o valor líquido (valor + juros) dos
+     * empréstimos em aberto menos o que já foi pago nesses empréstimos.
+     */
+    public ResumoBeneficiarioResponseDTO(Long beneficiarioId, String nome, Long quantidadeEmprestimos, Long quantidadeEmAberto,
+                                         Double valorEmprestado, Double valorLiquidoEmAberto, Double valorRecebido, Double valorRecebidoEmAberto) {
+        this.beneficiarioId = beneficiarioId;
+        this.nome = nome;
+        this.quantidadeEmprestimos = quantidadeEmprestimos;
+        this.quantidadeEmAberto = quantidadeEmAberto;
+        this.valorEmprestado = valorEmprestado;
+        this.valorRecebido = valorRecebido;
+        this.saldoDevedor = valorLiquidoEmAberto - valorRecebidoEmAberto;
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um DTO de retorno com os totais de um mês da série mensal.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoMensalResponseDTO {
+    private Integer ano;
+    private Integer mes;
+    private Double valorEmprestado;
+    private Double valorBrutoAReceber;
+    private Double valorLiquidoAReceber;
+    private Double valorRecebido;
+}
@@ -0,0 +1,13 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenResponseDTO {
+    private String token;
+    private String tokenAtualizacao;
+}
@@ -0,0 +1,18 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa os valores bruto e líquido a receber de um mês/ano, retornados pela consulta agrupada.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValorAReceberMensalDTO {
+    private Integer ano;
+    private Integer mes;
+    private Double valorBruto;
+    private Double valorLiquido;
+}
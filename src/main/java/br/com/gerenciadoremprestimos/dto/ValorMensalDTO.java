@@ -0,0 +1,17 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um valor agregado (soma) de um mês/ano, retornado pelas consultas agrupadas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValorMensalDTO {
+    private Integer ano;
+    private Integer mes;
+    private Double valor;
+}
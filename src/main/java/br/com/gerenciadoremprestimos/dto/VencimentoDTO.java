@@ -0,0 +1,18 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa o ID e a data de pagamento de um empréstimo em aberto, usados na carga do índice de vencimentos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VencimentoDTO {
+    private Long id;
+    private LocalDateTime dataPagamento;
+}
@@ -0,0 +1,70 @@
+package br.com.gerenciadoremprestimos.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versão de um recurso (ou de uma listagem) usada nas requisições condicionais, obtida sem carregar as entidades.
+ *
+ * A chave é o ID do recurso ou, nas listagens, a quantidade de registros. A versão é a da própria entidade ou,
+ * nas listagens, a soma das versões. A última alteração é a maior data de criação/atualização entre a entidade e
+ * as entidades incluídas na sua resposta (empréstimo e beneficiário).
+ */
+@Data
+@NoArgsConstructor
+public class VersaoDTO {
+    private Long chave;
+    private Long versao;
+    private LocalDateTime ultimaAlteracao;
+
+    /**
+     * Data da última remoção conhecida; considerada apenas no Last-Modified das listagens.
+     */
+    private LocalDateTime ultimaRemocao;
+
+    public VersaoDTO(Long chave, Long versao, LocalDateTime criacao, LocalDateTime atualizacao) {
+        this.chave = chave;
+        this.versao = versao;
+        this.ultimaAlteracao = maior(criacao, atualizacao);
+    }
+
+    public VersaoDTO(Long chave, Long versao, LocalDateTime criacao, LocalDateTime atualizacao,
+                     LocalDateTime criacaoBeneficiario, LocalDateTime atualizacaoBeneficiario) {
+        this.chave = chave;
+        this.versao = versao;
+        this.ultimaAlteracao = maior(criacao, atualizacao, criacaoBeneficiario, atualizacaoBeneficiario);
+    }
+
+    public VersaoDTO(Long chave, Long versao, LocalDateTime criacao, LocalDateTime atualizacao,
+                     LocalDateTime criacaoEmprestimo, LocalDateTime atualizacaoEmprestimo,
+                     LocalDateTime criacaoBeneficiario, LocalDateTime atualizacaoBeneficiario) {
+        this.chave = chave;
+        this.versao = versao;
+        this.ultimaAlteracao = maior(criacao, atualizacao, criacaoEmprestimo, atualizacaoEmprestimo, criacaoBeneficiario, atualizacaoBeneficiario);
+    }
+
+    /**
+     * @return ETag fraca formada pela chave, pela versão e pela última alteração em microssegundos
+     */
+    public String getEtag() {
+        long micros = ultimaAlteracao == null ? 0L : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), ultimaAlteracao);
+        return "W/\"" + chave + "-" + (versao == null ? 0L : versao) + "-" + Long.toString(micros, 36) + "\"";
+    }
+
+    /**
+     * @return Data para o cabeçalho Last-Modified em milissegundos, ou -1 quando não houver
+     */
+    public long getUltimaModificacao() {
+        LocalDateTime data = maior(ultimaAlteracao, ultimaRemocao);
+        return data == null ? -1L : data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime maior(LocalDateTime... datas) {
+        return Stream.of(datas).filter(data -> data != null).max(LocalDateTime::compareTo).orElse(null);
+    }
+}
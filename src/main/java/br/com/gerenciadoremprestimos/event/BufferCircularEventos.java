@@ -0,0 +1,70 @@
+package br.com.gerenciadoremprestimos.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.gerenciadoremprestimos.dto.EventoAlteracaoDTO;
+
+/**
+ * Buffer circular com os últimos eventos de alteração, usado para retomar o fluxo a partir do último evento
+ * recebido pelo cliente (cabeçalho {@code Last-Event-ID}).
+ *
+ * Os IDs são consecutivos e começam no instante de criação do buffer em microssegundos, para que um ID recebido
+ * antes de um reinício da aplicação não seja confundido com um evento atual.
+ */
+public class BufferCircularEventos {
+
+    private final EventoAlteracaoDTO[] eventos;
+    private final long primeiroId;
+    private long proximoId;
+
+    public BufferCircularEventos(int capacidade, long primeiroId) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        this.eventos = new EventoAlteracaoDTO[capacidade];
+        this.primeiroId = primeiroId;
+        this.proximoId = primeiroId;
+    }
+
+    /**
+     * Atribui o próximo ID ao evento e o inclui no buffer, descartando o mais antigo quando cheio.
+     */
+    public synchronized EventoAlteracaoDTO adicionar(EventoAlteracaoDTO evento) {
+        evento.setId(proximoId);
+        eventos[indice(proximoId)] = evento;
+        proximoId++;
+        return evento;
+    }
+
+    /**
+     * Obtém os eventos posteriores ao ID informado.
+     *
+     * @param ultimoId ID do último evento recebido pelo cliente
+     * @return Eventos posteriores em ordem, ou nulo quando algum deles não está mais no buffer (ou o ID não é
+     *         deste buffer) e o cliente precisa recarregar os dados
+     */
+    public synchronized List<EventoAlteracaoDTO> posteriores(long ultimoId) {
+        long maisAntigo = Math.max(primeiroId, proximoId - eventos.length);
+        if (ultimoId < maisAntigo - 1 || ultimoId >= proximoId) {
+            return null;
+        }
+
+        List<EventoAlteracaoDTO> posteriores = new ArrayList<>((int) (proximoId - ultimoId - 1));
+        for (long id = ultimoId + 1; id < proximoId; id++) {
+            posteriores.add(eventos[indice(id)]);
+        }
+        return posteriores;
+    }
+
+    /**
+     * ID do último evento incluído, ou o anterior ao primeiro quando o buffer está vazio.
+     */
+    public synchronized long ultimoId() {
+        return proximoId - 1;
+    }
+
+    private int indice(long id) {
+        return (int) Math.floorMod(id, (long) eventos.length);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.gerenciadoremprestimos.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado a cada lote de empréstimos quitados movidos para o arquivo. Os totais históricos não mudam, mas
+ * um cálculo feito durante a movimentação pode ter lido o lote nas duas tabelas ou em nenhuma; os ouvintes com cache
+ * devem descartá-lo usando {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+public class EmprestimosArquivadosEvent {
+
+    /**
+     * IDs dos empréstimos arquivados no lote.
+     */
+    private final List<Long> ids;
+}
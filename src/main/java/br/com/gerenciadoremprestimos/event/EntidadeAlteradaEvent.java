@@ -0,0 +1,32 @@
+package br.com.gerenciadoremprestimos.event;
+
+import br.com.gerenciadoremprestimos.model.Base;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado pelos serviços sempre que uma entidade é inserida, atualizada ou removida.
+ * Os ouvintes devem usar {@code @TransactionalEventListener} para reagir somente após o commit.
+ */
+@Getter
+@AllArgsConstructor
+public class EntidadeAlteradaEvent {
+
+    private final Operacao operacao;
+
+    /**
+     * Estado da entidade após a operação (na remoção, o último estado conhecido).
+     */
+    private final Base entidade;
+
+    /**
+     * Cópia do estado da entidade antes da atualização; nulo na inserção e na remoção.
+     */
+    private final Base anterior;
+
+    public enum Operacao {
+        INSERCAO,
+        ATUALIZACAO,
+        REMOCAO
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.gerenciadoremprestimos.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado quando a imagem original de um beneficiário é gravada, para o processamento em segundo plano
+ * após o commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ImagemEnviadaEvent {
+
+    private final Long beneficiarioId;
+
+    /**
+     * Hash SHA-256 da imagem enviada; o processamento é descartado se o beneficiário receber outra imagem antes.
+     */
+    private final String hash;
+}
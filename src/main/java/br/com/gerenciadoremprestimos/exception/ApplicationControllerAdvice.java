@@ -1,22 +1,32 @@
 package br.com.gerenciadoremprestimos.exception;
 
+import org.springframework.context.MessageSource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
+import lombok.RequiredArgsConstructor;
+
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 class ApplicationControllerAdvice {
 
+    private final MessageSource messageSource;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiErrors handleValidationErrors(MethodArgumentNotValidException ex) {
@@ -30,6 +40,27 @@ class ApplicationControllerAdvice {
         return new ApiErrors(erros);
     }
 
+    /**
+     * Parâmetros da requisição (não o corpo) fora das restrições declaradas no controller, como o tamanho da página.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrors handleMethodValidationErrors(HandlerMethodValidationException ex) {
+
+        List<String> erros = ex.getAllValidationResults()
+                .stream()
+                .flatMap(resultado -> resultado.getResolvableErrors().stream())
+                .map(obj -> obj.getDefaultMessage())
+                .collect(Collectors.toList());
+
+        return new ApiErrors(erros);
+    }
+
+    @ExceptionHandler(NegocioException.class)
+    public ResponseEntity<ApiErrors> handleNegocioException(NegocioException ex) {
+        return new ResponseEntity<>(new ApiErrors(ex.getReason()), ex.getHeaders(), ex.getStatusCode());
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity handleResponseStatusException(ResponseStatusException ex){
         String mensagemErro = ex.getReason();
@@ -38,4 +69,24 @@ class ApplicationControllerAdvice {
         return new ResponseEntity(apiErrors, codigoStatus);
     }
 
+    /**
+     * Login ou senha inválidos. O login é autenticado de forma assíncrona (fora da cadeia de filtros da requisição
+     * original), por isso a falha é tratada aqui com o mesmo status devolvido pelo Spring Security.
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ApiErrors handleAuthenticationException(AuthenticationException ex) {
+        return new ApiErrors(messageSource.getMessage("login.invalido", null, Locale.getDefault()));
+    }
+
+    /**
+     * O registro foi alterado ou removido por outra transação entre a leitura e a gravação (versão divergente no
+     * UPDATE/DELETE).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ApiErrors handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ApiErrors(messageSource.getMessage("registro.alteradoPorOutroUsuario", null, Locale.getDefault()));
+    }
+
 }
\ No newline at end of file
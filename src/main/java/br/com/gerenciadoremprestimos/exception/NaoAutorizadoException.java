@@ -0,0 +1,15 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Credencial ausente, inválida, expirada ou revogada (401).
+ */
+public class NaoAutorizadoException extends NegocioException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NaoAutorizadoException(String mensagem) {
+        super(HttpStatus.UNAUTHORIZED, mensagem);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Base das exceções de negócio (ID inválido, registro inexistente, etc.).
+ *
+ * São erros esperados, tratados pelo {@link ApplicationControllerAdvice} e devolvidos ao cliente como
+ * {@link ApiErrors}; por isso não capturam a pilha de chamadas, que é a parte mais cara de criar uma exceção e
+ * nunca é usada nesses casos.
+ */
+public abstract class NegocioException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected NegocioException(HttpStatus status, String mensagem) {
+        super(status, mensagem);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
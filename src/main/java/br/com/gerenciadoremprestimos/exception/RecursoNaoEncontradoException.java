@@ -0,0 +1,15 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Registro não encontrado (404).
+ */
+public class RecursoNaoEncontradoException extends NegocioException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RecursoNaoEncontradoException(String mensagem) {
+        super(HttpStatus.NOT_FOUND, mensagem);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Parâmetro da requisição inválido (400).
+ */
+public class RequisicaoInvalidaException extends NegocioException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RequisicaoInvalidaException(String mensagem) {
+        super(HttpStatus.BAD_REQUEST, mensagem);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Serviço temporariamente sobrecarregado (503); o cliente deve tentar novamente após o tempo do cabeçalho
+ * {@code Retry-After}.
+ */
+public class ServicoIndisponivelException extends NegocioException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSegundos;
+
+    public ServicoIndisponivelException(String mensagem, long retryAfterSegundos) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, mensagem);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        return headers;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Versão informada no cabeçalho If-Match diferente da versão atual do registro (412).
+ */
+public class VersaoDivergenteException extends NegocioException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VersaoDivergenteException(String mensagem) {
+        super(HttpStatus.PRECONDITION_FAILED, mensagem);
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.gerenciadoremprestimos.idempotencia;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.gerenciadoremprestimos.model.ChaveIdempotencia;
+import br.com.gerenciadoremprestimos.repository.ChaveIdempotenciaRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Armazenamento das chaves de idempotência em dois níveis.
+ *
+ * As respostas concluídas ficam em um mapa LRU limitado por {@code idempotencia.capacidade-memoria}, consultado sem
+ * acesso ao banco; a tabela {@code chave_idempotencia} é a fonte durável, usada após um reinício, quando a resposta
+ * foi descartada da memória ou quando a chave foi usada em outra instância. As chaves em processamento nesta
+ * instância ficam em um mapa concorrente, de modo que a segunda requisição com a mesma chave é recusada sem ir ao
+ * banco; entre instâncias, a chave primária da tabela garante que apenas uma reserve a chave. A reserva na tabela
+ * dura {@code idempotencia.bloqueio}; se a requisição não for concluída nesse prazo (por exemplo, porque a instância
+ * parou), uma nova tentativa com a mesma chave a assume, em vez de receber "em andamento" até o fim da retenção.
+ */
+@Slf4j
+@Service
+public class ArmazenamentoIdempotencia {
+
+    public enum Situacao {
+        /** A chave foi reservada e a requisição deve ser processada. */
+        NOVA,
+        /** A requisição já foi processada; a resposta deve ser repetida. */
+        CONCLUIDA,
+        /** Outra requisição com a mesma chave ainda está sendo processada. */
+        EM_ANDAMENTO,
+        /** A chave já foi usada com outro conteúdo. */
+        CONTEUDO_DIFERENTE
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Reserva {
+        private final Situacao situacao;
+        private final RespostaIdempotente resposta;
+    }
+
+    private static final Reserva NOVA = new Reserva(Situacao.NOVA, null);
+    private static final Reserva EM_ANDAMENTO = new Reserva(Situacao.EM_ANDAMENTO, null);
+    private static final Reserva CONTEUDO_DIFERENTE = new Reserva(Situacao.CONTEUDO_DIFERENTE, null);
+
+    private final ChaveIdempotenciaRepository repository;
+    private final IdempotenciaProperties properties;
+
+    /**
+     * Chaves reservadas por esta instância, com o hash do corpo da requisição que as reservou.
+     */
+    private final Map<String, String> emAndamento = new ConcurrentHashMap<>();
+
+    private final Map<String, RespostaIdempotente> respostas;
+
+    public ArmazenamentoIdempotencia(ChaveIdempotenciaRepository repository, IdempotenciaProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+
+        int capacidade = properties.getCapacidadeMemoria();
+        this.respostas = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RespostaIdempotente> maisAntiga) {
+                return size() > capacidade;
+            }
+        });
+    }
+
+    /**
+     * Tenta reservar a chave para a requisição.
+     *
+     * @param chave Chave já combinada com o usuário e a rota
+     * @param hashRequisicao Hash do corpo da requisição
+     * @return Reserva com a situação da chave e, se concluída, a resposta a repetir
+     */
+    public Reserva reservar(String chave, String hashRequisicao) {
+        LocalDateTime agora = LocalDateTime.now();
+
+        RespostaIdempotente resposta = respostas.get(chave);
+        if (resposta != null) {
+            if (!resposta.isExpirada(agora)) {
+                return repetir(resposta, hashRequisicao);
+            }
+            respostas.remove(chave);
+        }
+
+        String hashEmAndamento = emAndamento.putIfAbsent(chave, hashRequisicao);
+        if (hashEmAndamento != null) {
+            return hashEmAndamento.equals(hashRequisicao) ? EM_ANDAMENTO : CONTEUDO_DIFERENTE;
+        }
+
+        try {
+            Optional<ChaveIdempotencia> existente = repository.findById(chave);
+            if (existente.isPresent()) {
+                ChaveIdempotencia registro = existente.get();
+                if (registro.getExpiraEm().isAfter(agora)) {
+                    if (!registro.isConcluida() && registro.getHashRequisicao().equals(hashRequisicao) && reservaTerminada(registro, agora)
+                            && repository.assumir(chave, agora, agora.plus(properties.getBloqueio()), agora.plus(properties.getRetencao())) > 0) {
+                        // A requisição que reservou a chave não a concluiu dentro do prazo da reserva
+                        return NOVA;
+                    }
+                    emAndamento.remove(chave);
+                    if (!registro.getHashRequisicao().equals(hashRequisicao)) {
+                        return CONTEUDO_DIFERENTE;
+                    }
+                    if (!registro.isConcluida()) {
+                        return EM_ANDAMENTO;
+                    }
+                    resposta = new RespostaIdempotente(registro.getHashRequisicao(), registro.getStatus(),
+                            registro.getContentType(), registro.getCorpo(), registro.getExpiraEm());
+                    respostas.put(chave, resposta);
+                    return new Reserva(Situacao.CONCLUIDA, resposta);
+                }
+                repository.deleteById(chave);
+            }
+
+            ChaveIdempotencia reserva = new ChaveIdempotencia(chave, hashRequisicao, agora, agora.plus(properties.getRetencao()));
+            reserva.setBloqueadoAte(agora.plus(properties.getBloqueio()));
+            repository.saveAndFlush(reserva);
+            return NOVA;
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância reservou a mesma chave entre a consulta e a inserção
+            emAndamento.remove(chave);
+            return EM_ANDAMENTO;
+        } catch (RuntimeException e) {
+            emAndamento.remove(chave);
+            throw e;
+        }
+    }
+
+    /**
+     * Grava a resposta da requisição que reservou a chave. Erros internos (5xx) não são gravados: a chave é
+     * liberada para que o cliente possa tentar novamente.
+     */
+    public void concluir(String chave, String hashRequisicao, int status, String contentType, byte[] corpo) {
+        try {
+            if (status >= 500) {
+                repository.deleteById(chave);
+                return;
+            }
+            LocalDateTime expiraEm = LocalDateTime.now().plus(properties.getRetencao());
+            repository.concluir(chave, status, contentType, corpo, expiraEm);
+            respostas.put(chave, new RespostaIdempotente(hashRequisicao, status, contentType, corpo, expiraEm));
+        } finally {
+            emAndamento.remove(chave);
+        }
+    }
+
+    /**
+     * Libera a chave de uma requisição que terminou com exceção.
+     */
+    public void liberar(String chave) {
+        try {
+            repository.deleteById(chave);
+        } finally {
+            emAndamento.remove(chave);
+        }
+    }
+
+    /**
+     * Remove da memória e da tabela as chaves cujo prazo de retenção terminou.
+     */
+    @Scheduled(fixedDelayString = "${idempotencia.intervalo-limpeza:PT10M}")
+    public void removerExpiradas() {
+        LocalDateTime agora = LocalDateTime.now();
+        synchronized (respostas) {
+            respostas.values().removeIf(resposta -> resposta.isExpirada(agora));
+        }
+        int removidas = repository.removerExpiradas(agora);
+        if (removidas > 0) {
+            log.debug("{} chaves de idempotência expiradas removidas", removidas);
+        }
+    }
+
+    private static boolean reservaTerminada(ChaveIdempotencia registro, LocalDateTime agora) {
+        return registro.getBloqueadoAte() == null || !registro.getBloqueadoAte().isAfter(agora);
+    }
+
+    private static Reserva repetir(RespostaIdempotente resposta, String hashRequisicao) {
+        return resposta.getHashRequisicao().equals(hashRequisicao) ? new Reserva(Situacao.CONCLUIDA, resposta) : CONTEUDO_DIFERENTE;
+    }
+}
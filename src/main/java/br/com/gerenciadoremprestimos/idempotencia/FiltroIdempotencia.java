@@ -0,0 +1,220 @@
+package br.com.gerenciadoremprestimos.idempotencia;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gerenciadoremprestimos.exception.ApiErrors;
+import br.com.gerenciadoremprestimos.idempotencia.ArmazenamentoIdempotencia.Reserva;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Suporte ao cabeçalho {@code Idempotency-Key} nas inclusões (POST) configuradas em {@code idempotencia.caminhos}.
+ *
+ * A chave vale por usuário e rota. A primeira requisição com a chave é processada normalmente e sua resposta é
+ * armazenada; as repetições com o mesmo corpo recebem a mesma resposta (com o cabeçalho
+ * {@code Idempotent-Replayed: true}) sem chegar aos controllers. Enquanto a primeira ainda está em processamento, as
+ * repetições recebem 409 e a mesma chave com outro corpo recebe 422.
+ *
+ * Fica na cadeia do Spring Security logo após o {@link br.com.gerenciadoremprestimos.security.FilterToken}, pois
+ * depende do usuário autenticado.
+ */
+@Component
+@RequiredArgsConstructor
+public class FiltroIdempotencia extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final ArmazenamentoIdempotencia armazenamento;
+    private final IdempotenciaProperties properties;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(CABECALHO) == null) {
+            return true;
+        }
+        return !properties.getCaminhos().contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String chaveCliente = request.getHeader(CABECALHO);
+        if (chaveCliente.isBlank() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            escreverErro(response, HttpStatus.BAD_REQUEST, obterMensagem("idempotencia.chaveInvalida", TAMANHO_MAXIMO_CHAVE));
+            return;
+        }
+
+        byte[] corpo = StreamUtils.copyToByteArray(request.getInputStream());
+        String hashRequisicao = sha256(corpo);
+        String chave = sha256((authentication.getName() + '\n' + request.getRequestURI() + '\n' + chaveCliente)
+                .getBytes(StandardCharsets.UTF_8));
+
+        Reserva reserva = armazenamento.reservar(chave, hashRequisicao);
+        switch (reserva.getSituacao()) {
+            case CONCLUIDA -> {
+                RespostaIdempotente resposta = reserva.getResposta();
+                response.setStatus(resposta.getStatus());
+                response.setHeader(CABECALHO_REPETIDA, "true");
+                if (resposta.getContentType() != null) {
+                    response.setContentType(resposta.getContentType());
+                }
+                if (resposta.getCorpo() != null) {
+                    response.setContentLength(resposta.getCorpo().length);
+                    response.getOutputStream().write(resposta.getCorpo());
+                }
+            }
+            case EM_ANDAMENTO -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                escreverErro(response, HttpStatus.CONFLICT, obterMensagem("idempotencia.emAndamento"));
+            }
+            case CONTEUDO_DIFERENTE ->
+                escreverErro(response, HttpStatus.UNPROCESSABLE_ENTITY, obterMensagem("idempotencia.conteudoDiferente"));
+            case NOVA -> processar(new RequisicaoComCorpo(request, corpo), response, filterChain, chave, hashRequisicao);
+        }
+    }
+
+    private void processar(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                           String chave, String hashRequisicao) throws ServletException, IOException {
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, resposta);
+        } catch (ServletException | IOException | RuntimeException e) {
+            armazenamento.liberar(chave);
+            throw e;
+        }
+
+        armazenamento.concluir(chave, hashRequisicao, resposta.getStatus(), resposta.getContentType(), resposta.getContentAsByteArray());
+        resposta.copyBodyToResponse();
+    }
+
+    private void escreverErro(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ApiErrors(mensagem));
+    }
+
+    private static String sha256(byte[] dados) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(dados));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+
+    /**
+     * Requisição cujo corpo já foi lido para o cálculo do hash e é servido novamente a partir da memória.
+     */
+    private static class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * O corpo já está em memória, portanto todo ele está disponível assim que o listener é registrado.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.gerenciadoremprestimos.idempotencia;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "idempotencia")
+@Data
+public class IdempotenciaProperties {
+
+    /**
+     * Rotas (POST) que aceitam o cabeçalho {@code Idempotency-Key}.
+     */
+    private List<String> caminhos = List.of("/api/pagamento", "/api/emprestimo");
+
+    /**
+     * Por quanto tempo uma resposta pode ser repetida a partir da sua chave.
+     */
+    private Duration retencao = Duration.ofHours(24);
+
+    /**
+     * Por quanto tempo uma chave fica reservada pela requisição que a processa. Após esse prazo sem conclusão (por
+     * exemplo, se a instância parou), uma nova tentativa com a mesma chave pode assumi-la.
+     */
+    private Duration bloqueio = Duration.ofMinutes(1);
+
+    /**
+     * Quantidade máxima de respostas mantidas em memória; as menos usadas são descartadas e passam a ser lidas da
+     * tabela.
+     */
+    private int capacidadeMemoria = 10_000;
+}
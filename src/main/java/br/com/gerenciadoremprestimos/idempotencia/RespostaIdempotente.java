@@ -0,0 +1,24 @@
+package br.com.gerenciadoremprestimos.idempotencia;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resposta armazenada de uma requisição com {@code Idempotency-Key}, devolvida sem alterações às repetições.
+ */
+@Data
+@AllArgsConstructor
+public class RespostaIdempotente {
+
+    private String hashRequisicao;
+    private int status;
+    private String contentType;
+    private byte[] corpo;
+    private LocalDateTime expiraEm;
+
+    public boolean isExpirada(LocalDateTime agora) {
+        return !expiraEm.isAfter(agora);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Etapas da conversão de uma imagem enviada: leitura sem metadados, redução à dimensão máxima e recompressão.
+ */
+public final class ConversorImagem {
+
+    public static final String TIPO = "image/jpeg";
+
+    private ConversorImagem() {
+    }
+
+    /**
+     * Decodifica a imagem ignorando os metadados (EXIF, localização, miniaturas).
+     *
+     * Imagens muito maiores que a dimensão máxima são lidas por amostragem (uma a cada N linhas e colunas), para
+     * que a imagem decodificada em memória não passe de poucas vezes o tamanho final.
+     *
+     * @param conteudo Conteúdo da imagem
+     * @param dimensaoMaxima Maior dimensão da imagem final
+     * @return Imagem decodificada, ou nula se o formato não puder ser lido
+     */
+    public static BufferedImage ler(InputStream conteudo, int dimensaoMaxima) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(conteudo)) {
+            Iterator<ImageReader> leitores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (leitores == null || !leitores.hasNext()) {
+                return null;
+            }
+
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                int maior = Math.max(leitor.getWidth(0), leitor.getHeight(0));
+                ImageReadParam parametros = leitor.getDefaultReadParam();
+                int passo = maior / dimensaoMaxima;
+                if (passo > 1) {
+                    parametros.setSourceSubsampling(passo, passo, 0, 0);
+                }
+                return leitor.read(0, parametros);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz a imagem para caber na dimensão máxima, mantendo a proporção, e a converte para RGB sem transparência
+     * (as áreas transparentes ficam brancas). Imagens menores não são ampliadas.
+     */
+    public static BufferedImage redimensionar(BufferedImage imagem, int dimensaoMaxima) {
+        double escala = Math.min(1.0, (double) dimensaoMaxima / Math.max(imagem.getWidth(), imagem.getHeight()));
+        int largura = Math.max(1, (int) Math.round(imagem.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(imagem.getHeight() * escala));
+        if (escala == 1.0 && imagem.getType() == BufferedImage.TYPE_INT_RGB) {
+            return imagem;
+        }
+
+        BufferedImage resultado = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D grafico = resultado.createGraphics();
+        try {
+            grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            grafico.drawImage(imagem, 0, 0, largura, altura, Color.WHITE, null);
+        } finally {
+            grafico.dispose();
+        }
+        return resultado;
+    }
+
+    /**
+     * Comprime a imagem em JPEG com a qualidade informada, sem nenhum metadado além do cabeçalho do formato.
+     */
+    public static byte[] comprimir(BufferedImage imagem, float qualidade) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByMIMEType(TIPO).next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream destino = ImageIO.createImageOutputStream(saida)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(qualidade);
+            escritor.setOutput(destino);
+            escritor.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.tika.Tika;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifica o formato de um arquivo enviado pelos primeiros bytes (a assinatura do formato), sem ler o arquivo
+ * inteiro para a memória.
+ *
+ * O {@link Tika} é criado uma única vez: a criação carrega a base de tipos, e a instância pode ser usada por várias
+ * threads ao mesmo tempo.
+ */
+@Component
+public class DetectorImagem {
+
+    /**
+     * Quantidade de bytes lidos para identificar o formato. As assinaturas de imagem ficam nos primeiros bytes.
+     */
+    static final int TAMANHO_CABECALHO = 8 * 1024;
+
+    private static final String ALGORITMO_HASH = "SHA-256";
+
+    private final Tika tika = new Tika();
+
+    /**
+     * Identifica o formato do conteúdo e o devolve pronto para ser lido desde o início.
+     *
+     * Apenas o cabeçalho fica em memória; o restante é lido do fluxo original à medida que o conteúdo é consumido,
+     * calculando o hash no caminho.
+     *
+     * @param entrada Conteúdo do arquivo
+     * @return Conteúdo com o tipo identificado
+     */
+    public ImagemRecebida abrir(InputStream entrada) throws IOException {
+        BufferedInputStream buffer = new BufferedInputStream(entrada, TAMANHO_CABECALHO);
+        buffer.mark(TAMANHO_CABECALHO);
+        byte[] cabecalho = buffer.readNBytes(TAMANHO_CABECALHO);
+        buffer.reset();
+
+        return new ImagemRecebida(tika.detect(cabecalho), new DigestInputStream(buffer, novoHash()));
+    }
+
+    private static MessageDigest novoHash() {
+        try {
+            return MessageDigest.getInstance(ALGORITMO_HASH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "imagem")
+@Data
+public class ImagemProperties {
+
+    /**
+     * Quando desabilitado, as imagens enviadas ficam gravadas como chegaram.
+     */
+    private boolean habilitado = true;
+
+    /**
+     * Threads dedicadas ao processamento. Cada imagem em processamento ocupa em memória a imagem decodificada.
+     */
+    private int threads = 2;
+
+    /**
+     * Quantidade de imagens que podem aguardar uma thread livre; acima disso a imagem fica como foi enviada.
+     */
+    private int fila = 32;
+
+    /**
+     * Maior dimensão (largura ou altura) da imagem processada, em pixels; imagens maiores são reduzidas mantendo a
+     * proporção.
+     */
+    private int dimensaoMaxima = 1024;
+
+    /**
+     * Qualidade da recompressão em JPEG, de 0 a 1.
+     */
+    private float qualidade = 0.85f;
+}
@@ -0,0 +1,57 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.util.HexFormat;
+
+/**
+ * Conteúdo de um arquivo enviado, com o tipo identificado pelo {@link DetectorImagem}. O hash SHA-256 é calculado
+ * enquanto o conteúdo é lido.
+ */
+public class ImagemRecebida implements Closeable {
+
+    private final String tipo;
+    private final DigestInputStream conteudo;
+    private String hash;
+
+    ImagemRecebida(String tipo, DigestInputStream conteudo) {
+        this.tipo = tipo;
+        this.conteudo = conteudo;
+    }
+
+    /**
+     * @return Tipo MIME identificado pelo cabeçalho do arquivo
+     */
+    public String getTipo() {
+        return tipo;
+    }
+
+    public boolean isImagem() {
+        return tipo.startsWith("image/");
+    }
+
+    /**
+     * @return Conteúdo completo do arquivo, desde o primeiro byte; deve ser lido uma única vez
+     */
+    public InputStream getConteudo() {
+        return conteudo;
+    }
+
+    /**
+     * Hash do conteúdo em hexadecimal. Deve ser obtido depois que o conteúdo foi lido até o fim: a partir da
+     * primeira chamada o valor não muda mais.
+     */
+    public String hash() {
+        if (hash == null) {
+            hash = HexFormat.of().formatHex(conteudo.getMessageDigest().digest());
+        }
+        return hash;
+    }
+
+    @Override
+    public void close() throws IOException {
+        conteudo.close();
+    }
+}
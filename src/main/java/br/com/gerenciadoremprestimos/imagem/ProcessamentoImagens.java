@@ -0,0 +1,287 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.event.ImagemEnviadaEvent;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Imagem;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.ImagemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processamento em segundo plano das imagens enviadas para os beneficiários.
+ *
+ * Após o commit do envio, a imagem original é lida sem metadados, reduzida a {@code imagem.dimensao-maxima},
+ * recomprimida em JPEG e gravada em {@link Imagem}, identificada pelo hash do resultado: fotos iguais (ou que
+ * diferem apenas nos metadados) ficam gravadas uma única vez. Se a mesma foto já foi processada para outro
+ * beneficiário, a imagem processada é reaproveitada sem decodificar de novo. Ao final o beneficiário passa a
+ * apontar para a imagem processada e o original é descartado: o objeto grande dele é removido do banco pelo gatilho
+ * {@code lo_manage} (migração V12), na mesma transação que limpa a referência.
+ *
+ * O processamento roda em um pool próprio e limitado ({@code imagem.threads}) com fila limitada
+ * ({@code imagem.fila}); com a fila cheia, ou em caso de falha, a imagem continua como foi enviada. As leituras são
+ * feitas em transações de escrita, que vão ao banco principal: a réplica pode ainda não ter o envio que acabou de
+ * ser confirmado.
+ *
+ * Métricas: {@code imagem.etapa} (tempo de cada etapa: leitura, redimensionamento, compressao e gravacao),
+ * {@code imagem.espera} (tempo na fila), {@code imagem.fila}, {@code imagem.bytes.recebidos} e
+ * {@code imagem.bytes.gravados} (a diferença é a economia de armazenamento), {@code imagem.reaproveitadas},
+ * {@code imagem.rejeitadas} e {@code imagem.falhas}. Os bytes e as reaproveitadas são contados após o commit, quando
+ * o original já foi de fato removido.
+ */
+@Slf4j
+@Component
+public class ProcessamentoImagens {
+
+    private final BeneficiarioRepository beneficiarioRepository;
+    private final ImagemRepository imagemRepository;
+    private final ImagemProperties properties;
+    private final TransactionTemplate transacao;
+
+    private final ThreadPoolExecutor executor;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer tempoEspera;
+    private final Counter bytesRecebidos;
+    private final Counter bytesGravados;
+    private final Counter reaproveitadas;
+    private final Counter rejeitadas;
+    private final Counter falhas;
+
+    public ProcessamentoImagens(BeneficiarioRepository beneficiarioRepository, ImagemRepository imagemRepository,
+                                ImagemProperties properties, PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.beneficiarioRepository = beneficiarioRepository;
+        this.imagemRepository = imagemRepository;
+        this.properties = properties;
+        this.transacao = new TransactionTemplate(transactionManager);
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = runnable -> {
+            Thread thread = new Thread(runnable, "imagem-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getFila()), fabrica, new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry;
+        this.tempoEspera = Timer.builder("imagem.espera")
+                .description("Tempo de espera da imagem na fila de processamento")
+                .register(meterRegistry);
+        this.bytesRecebidos = Counter.builder("imagem.bytes.recebidos")
+                .description("Bytes das imagens originais descartadas após o processamento")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.bytesGravados = Counter.builder("imagem.bytes.gravados")
+                .description("Bytes gravados das imagens processadas, sem contar as reaproveitadas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.reaproveitadas = Counter.builder("imagem.reaproveitadas")
+                .description("Imagens que já estavam gravadas e foram reaproveitadas")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("imagem.rejeitadas")
+                .description("Imagens não processadas com a fila cheia")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("imagem.falhas")
+                .description("Imagens cujo processamento falhou")
+                .register(meterRegistry);
+        Gauge.builder("imagem.fila", executor, e -> e.getQueue().size())
+                .description("Imagens aguardando uma thread livre")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agenda o processamento da imagem após o commit do envio.
+     */
+    @TransactionalEventListener
+    public void aoEnviarImagem(ImagemEnviadaEvent event) {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+
+        long enfileirado = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                tempoEspera.record(System.nanoTime() - enfileirado, TimeUnit.NANOSECONDS);
+                try {
+                    processar(event.getBeneficiarioId(), event.getHash());
+                } catch (RuntimeException e) {
+                    falhas.increment();
+                    log.error("Falha ao processar a imagem do beneficiário {}", event.getBeneficiarioId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            log.warn("Fila de imagens cheia; a imagem do beneficiário {} fica como foi enviada", event.getBeneficiarioId());
+        }
+    }
+
+    /**
+     * Processa a imagem enviada para o beneficiário e passa o beneficiário para a imagem processada.
+     *
+     * @param beneficiarioId ID do beneficiário
+     * @param hash Hash da imagem enviada; se o beneficiário tiver outra imagem, nada é feito
+     */
+    void processar(Long beneficiarioId, String hash) {
+        List<String> existentes = transacao.execute(status -> beneficiarioRepository.imagensProcessadas(hash, PageRequest.ofSize(1)));
+        if (!existentes.isEmpty()) {
+            reaproveitadas.increment();
+            gravar(beneficiarioId, hash, existentes.get(0), null);
+            return;
+        }
+
+        BufferedImage original = etapa("leitura").record(() -> transacao.execute(status -> ler(beneficiarioId, hash)));
+        if (original == null) {
+            return;
+        }
+
+        BufferedImage redimensionada = etapa("redimensionamento")
+                .record(() -> ConversorImagem.redimensionar(original, properties.getDimensaoMaxima()));
+        byte[] conteudo = etapa("compressao").record(() -> comprimir(redimensionada));
+
+        Imagem imagem = new Imagem(sha256(conteudo), ConversorImagem.TIPO, redimensionada.getWidth(),
+                                   redimensionada.getHeight(), conteudo.length, BlobProxy.generateProxy(conteudo),
+                                   LocalDateTime.now());
+        gravar(beneficiarioId, hash, imagem.getHash(), imagem);
+    }
+
+    @PreDestroy
+    public void finalizar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Decodifica a imagem original do beneficiário, se ela ainda for a enviada.
+     */
+    private BufferedImage ler(Long beneficiarioId, String hash) {
+        Beneficiario beneficiario = beneficiarioRepository.findById(beneficiarioId).orElse(null);
+        if (beneficiario == null || !hash.equals(beneficiario.getImagemHash()) || beneficiario.getImagem() == null) {
+            return null;
+        }
+
+        try {
+            BufferedImage imagem = ConversorImagem.ler(beneficiario.getImagem().getBinaryStream(), properties.getDimensaoMaxima());
+            if (imagem == null) {
+                log.warn("Formato da imagem do beneficiário {} não suportado; a imagem fica como foi enviada", beneficiarioId);
+            }
+            return imagem;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Grava a imagem processada (se ainda não existir) e a associa ao beneficiário, descartando o original.
+     *
+     * Dois envios da mesma foto podem terminar ao mesmo tempo; a segunda inserção é barrada pela chave primária e a
+     * gravação é repetida, agora encontrando a imagem da primeira.
+     */
+    private void gravar(Long beneficiarioId, String hash, String hashProcessada, Imagem nova) {
+        etapa("gravacao").record(() -> {
+            Associacao associacao;
+            try {
+                associacao = transacao.execute(status -> associar(beneficiarioId, hash, hashProcessada, nova));
+            } catch (DataIntegrityViolationException e) {
+                associacao = transacao.execute(status -> associar(beneficiarioId, hash, hashProcessada, null));
+            }
+
+            if (associacao != null) {
+                bytesRecebidos.increment(associacao.bytesDescartados());
+                bytesGravados.increment(associacao.bytesGravados());
+                if (associacao.reaproveitada()) {
+                    reaproveitadas.increment();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return O que foi gravado e descartado, para as métricas, ou nulo se o beneficiário não foi alterado
+     */
+    private Associacao associar(Long beneficiarioId, String hash, String hashProcessada, Imagem nova) {
+        Beneficiario beneficiario = beneficiarioRepository.findById(beneficiarioId).orElse(null);
+        if (beneficiario == null || !hash.equals(beneficiario.getImagemHash())) {
+            return null;
+        }
+
+        Imagem imagem = imagemRepository.findById(hashProcessada).orElse(null);
+        long bytesGravados = 0;
+        if (imagem == null) {
+            if (nova == null) {
+                return null;
+            }
+            imagem = imagemRepository.saveAndFlush(nova);
+            bytesGravados = nova.getTamanho();
+        }
+
+        long bytesDescartados = tamanho(beneficiario);
+        beneficiario.setImagemProcessada(imagem);
+        beneficiario.setImagem(null);
+        return new Associacao(bytesDescartados, bytesGravados, nova != null && bytesGravados == 0);
+    }
+
+    private record Associacao(long bytesDescartados, long bytesGravados, boolean reaproveitada) {
+    }
+
+    private static long tamanho(Beneficiario beneficiario) {
+        try {
+            return beneficiario.getImagem() == null ? 0 : beneficiario.getImagem().length();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] comprimir(BufferedImage imagem) {
+        try {
+            return ConversorImagem.comprimir(imagem, properties.getQualidade());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Timer etapa(String nome) {
+        return Timer.builder("imagem.etapa")
+                .description("Tempo de cada etapa do processamento das imagens")
+                .tag("etapa", nome)
+                .register(meterRegistry);
+    }
+
+    private static String sha256(byte[] dados) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(dados));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.gerenciadoremprestimos.indice;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice ordenado em memória dos empréstimos em aberto pela data de pagamento.
+ *
+ * Cada entrada é uma chave primitiva {@code long} que combina o dia de vencimento (epoch-day) nos bits mais altos
+ * e o ID do empréstimo nos 40 bits mais baixos. Com o vetor ordenado, uma consulta por intervalo de dias é
+ * uma busca binária seguida da leitura sequencial dos k resultados: O(log n + k), sem objetos intermediários.
+ */
+public class IndiceVencimentos {
+
+    private static final int BITS_ID = 40;
+    private static final long MASCARA_ID = (1L << BITS_ID) - 1;
+    private static final long DIA_MAXIMO = (1L << (Long.SIZE - 1 - BITS_ID)) - 1;
+
+    private long[] chaves = new long[1024];
+    private int tamanho;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Monta a chave do índice para um empréstimo.
+     *
+     * @param id ID do empréstimo
+     * @param dia Data de pagamento em epoch-day
+     * @return Chave ordenável por dia e, dentro do mesmo dia, por ID
+     */
+    public static long chave(long id, long dia) {
+        if (id < 0 || id > MASCARA_ID) {
+            throw new IllegalArgumentException("ID fora do intervalo suportado pelo índice: " + id);
+        }
+        return (limitarDia(dia) << BITS_ID) | id;
+    }
+
+    /**
+     * Inclui um empréstimo no índice; não faz nada se ele já estiver presente com o mesmo dia.
+     */
+    public void adicionar(long id, long dia) {
+        long chave = chave(id, dia);
+        lock.writeLock().lock();
+        try {
+            int posicao = Arrays.binarySearch(chaves, 0, tamanho, chave);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            if (tamanho == chaves.length) {
+                chaves = Arrays.copyOf(chaves, chaves.length * 2);
+            }
+            System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+            chaves[posicao] = chave;
+            tamanho++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um empréstimo do índice; não faz nada se ele não estiver presente com o dia informado.
+     */
+    public void remover(long id, long dia) {
+        long chave = chave(id, dia);
+        lock.writeLock().lock();
+        try {
+            int posicao = Arrays.binarySearch(chaves, 0, tamanho, chave);
+            if (posicao < 0) {
+                return;
+            }
+            System.arraycopy(chaves, posicao + 1, chaves, posicao, tamanho - posicao - 1);
+            tamanho--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os IDs dos empréstimos que vencem entre os dias informados (inclusivos), ordenados por vencimento.
+     */
+    public long[] buscar(long diaInicial, long diaFinal) {
+        if (diaFinal < diaInicial) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            int inicio = primeiraPosicao(limitarDia(diaInicial) << BITS_ID);
+            int fim = limitarDia(diaFinal) == DIA_MAXIMO ? tamanho : primeiraPosicao((limitarDia(diaFinal) + 1) << BITS_ID);
+
+            long[] ids = new long[fim - inicio];
+            for (int i = inicio; i < fim; i++) {
+                ids[i - inicio] = chaves[i] & MASCARA_ID;
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice por um conjunto de chaves já montadas com {@link #chave(long, long)}.
+     *
+     * @param novasChaves Chaves (em qualquer ordem); o vetor passa a pertencer ao índice
+     * @param quantidade Quantidade de posições válidas do vetor
+     */
+    public void substituir(long[] novasChaves, int quantidade) {
+        Arrays.sort(novasChaves, 0, quantidade);
+        lock.writeLock().lock();
+        try {
+            chaves = novasChaves.length > 0 ? novasChaves : new long[1024];
+            tamanho = quantidade;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int quantidade() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int primeiraPosicao(long chave) {
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (chaves[meio] < chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static long limitarDia(long dia) {
+        return Math.max(0L, Math.min(DIA_MAXIMO, dia));
+    }
+}
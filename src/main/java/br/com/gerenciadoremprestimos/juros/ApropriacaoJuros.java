@@ -0,0 +1,282 @@
+package br.com.gerenciadoremprestimos.juros;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.dto.EmprestimoEmAbertoDTO;
+import br.com.gerenciadoremprestimos.model.DiaJuros;
+import br.com.gerenciadoremprestimos.model.JurosAtraso;
+import br.com.gerenciadoremprestimos.repository.DiaJurosRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.ParticaoJurosRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Apropriação diária dos juros de atraso dos empréstimos vencidos e não quitados.
+ *
+ * Toda noite ({@code juros.cron}) são apropriados, em ordem, os dias seguintes ao último dia concluído
+ * ({@link DiaJuros}) até o dia anterior, de modo que as noites em que a aplicação esteve parada também são
+ * apropriadas. Em cada dia, cada empréstimo vencido antes desse dia recebe um
+ * registro em {@link JurosAtraso} com {@code juros.taxa-diaria} sobre o saldo devedor (valor com a porcentagem,
+ * menos o recebido). Os juros de atraso não entram no saldo dos dias seguintes (juros simples).
+ *
+ * Os empréstimos são divididos em partições por faixa de IDs ({@code juros.tamanho-particao}), apropriadas em
+ * paralelo por {@code juros.threads} threads. Cada partição é lida com uma consulta e gravada em lotes JDBC de
+ * {@code juros.tamanho-lote}, na mesma transação do registro da partição concluída ({@code juros_particao}). Uma
+ * execução interrompida (queda da aplicação ou falha de uma partição) é retomada na subida seguinte, ou na próxima
+ * execução, apenas com as partições que ainda não foram concluídas; o dia só é registrado como concluído quando
+ * todas as partições terminam, e os dias seguintes esperam por ele.
+ *
+ * Progresso: {@code juros.particoes.total} e {@code juros.particoes.concluidas} da execução em andamento,
+ * {@code juros.particao} (tempo de cada partição), {@code juros.emprestimos} e {@code juros.falhas}, além do log.
+ */
+@Slf4j
+@Component
+public class ApropriacaoJuros {
+
+    private static final String INSERIR_JUROS = "INSERT INTO juros_atraso (emprestimo_id, data, saldo, taxa, valor) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERIR_DIA = "INSERT INTO juros_dia (data, concluido_em) VALUES (?, ?)";
+    private static final String INSERIR_PARTICAO = "INSERT INTO juros_particao (data, particao, id_inicial, id_final, emprestimos, concluida_em) " +
+                                                   "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final EmprestimoRepository emprestimoRepository;
+    private final ParticaoJurosRepository particaoJurosRepository;
+    private final DiaJurosRepository diaJurosRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JurosProperties properties;
+    private final TransactionTemplate transacao;
+
+    /**
+     * Executa uma apropriação por vez, fora das threads do agendador e da subida da aplicação.
+     */
+    private final ExecutorService coordenador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "juros-coordenador");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService executor;
+
+    private final AtomicInteger particoesTotal = new AtomicInteger();
+    private final AtomicInteger particoesConcluidas = new AtomicInteger();
+    private final Timer tempoParticao;
+    private final Counter emprestimos;
+    private final Counter falhas;
+
+    public ApropriacaoJuros(EmprestimoRepository emprestimoRepository, ParticaoJurosRepository particaoJurosRepository,
+                            DiaJurosRepository diaJurosRepository, JdbcTemplate jdbcTemplate, JurosProperties properties,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.emprestimoRepository = emprestimoRepository;
+        this.particaoJurosRepository = particaoJurosRepository;
+        this.diaJurosRepository = diaJurosRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transacao = new TransactionTemplate(transactionManager);
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = runnable -> {
+            Thread thread = new Thread(runnable, "juros-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), fabrica);
+
+        Gauge.builder("juros.particoes.total", particoesTotal, AtomicInteger::get)
+                .description("Partições pendentes no início da apropriação em andamento")
+                .register(meterRegistry);
+        Gauge.builder("juros.particoes.concluidas", particoesConcluidas, AtomicInteger::get)
+                .description("Partições concluídas na apropriação em andamento")
+                .register(meterRegistry);
+        this.tempoParticao = Timer.builder("juros.particao")
+                .description("Tempo de apropriação de cada partição")
+                .register(meterRegistry);
+        this.emprestimos = Counter.builder("juros.emprestimos")
+                .description("Empréstimos com juros de atraso apropriados")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("juros.falhas")
+                .description("Partições cuja apropriação falhou e será retomada")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retoma a apropriação dos dias pendentes, caso a aplicação estivesse parada no horário ou tenha caído no meio dela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomar() {
+        executar();
+    }
+
+    @Scheduled(cron = "${juros.cron:0 30 1 * * *}")
+    public void executar() {
+        if (properties.isHabilitado()) {
+            coordenador.execute(() -> apropriarPendentes(LocalDate.now().minusDays(1)));
+        }
+    }
+
+    /**
+     * Apropria, em ordem, os dias seguintes ao último dia concluído até o dia informado; sem nenhum dia concluído,
+     * apenas o dia informado. Para no primeiro dia que não for concluído, que é retomado na próxima execução.
+     *
+     * @param ate Último dia a apropriar, normalmente o dia anterior
+     * @return Quantidade de juros apropriados nesta execução, somando todos os dias
+     */
+    public int apropriarPendentes(LocalDate ate) {
+        LocalDate ultimo = diaJurosRepository.ultimoDia();
+        LocalDate dia = ultimo == null ? ate : ultimo.plusDays(1);
+        if (dia.isBefore(ate)) {
+            log.info("Apropriando os juros de atraso dos dias sem apropriação, de {} a {}", dia, ate);
+        }
+
+        int total = 0;
+        for (; !dia.isAfter(ate); dia = dia.plusDays(1)) {
+            total += apropriar(dia);
+            if (!diaJurosRepository.existsById(dia)) {
+                log.warn("Apropriação dos juros de {} não concluída; ela e os dias seguintes serão apropriados na próxima execução", dia);
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Apropria os juros de atraso do dia nas partições ainda não concluídas e, se todas terminarem, registra o dia
+     * como concluído.
+     *
+     * @param data Dia da apropriação
+     * @return Quantidade de empréstimos com juros apropriados nesta execução
+     */
+    public int apropriar(LocalDate data) {
+        LocalDateTime vencimento = data.atStartOfDay();
+        Long menorId = emprestimoRepository.menorIdEmAtraso(vencimento);
+        Long maiorId = emprestimoRepository.maiorIdEmAtraso(vencimento);
+        if (menorId == null) {
+            concluirDia(data);
+            return 0;
+        }
+
+        long tamanho = properties.getTamanhoParticao();
+        Set<Long> concluidas = particaoJurosRepository.concluidas(data);
+        List<Long> pendentes = new ArrayList<>();
+        for (long particao = menorId / tamanho; particao <= maiorId / tamanho; particao++) {
+            if (!concluidas.contains(particao)) {
+                pendentes.add(particao);
+            }
+        }
+        if (pendentes.isEmpty()) {
+            concluirDia(data);
+            return 0;
+        }
+
+        particoesTotal.set(pendentes.size());
+        particoesConcluidas.set(0);
+        if (!concluidas.isEmpty()) {
+            log.info("Retomando a apropriação de juros de {}: {} partições concluídas, {} pendentes", data, concluidas.size(), pendentes.size());
+        }
+
+        long inicio = System.currentTimeMillis();
+        List<CompletableFuture<Integer>> tarefas = pendentes.stream()
+                .map(particao -> CompletableFuture.supplyAsync(() -> apropriarParticao(data, particao), executor))
+                .toList();
+        int total = tarefas.stream().mapToInt(CompletableFuture::join).sum();
+        if (particaoJurosRepository.concluidas(data).containsAll(pendentes)) {
+            concluirDia(data);
+        }
+
+        log.info("Juros de atraso de {} apropriados para {} empréstimos em {}/{} partições ({} ms)", data, total,
+                 particoesConcluidas.get(), pendentes.size(), System.currentTimeMillis() - inicio);
+        return total;
+    }
+
+    @PreDestroy
+    public void finalizar() {
+        coordenador.shutdownNow();
+        executor.shutdown();
+    }
+
+    /**
+     * Apropria uma partição em uma transação. Em caso de falha nada da partição é gravado e ela fica pendente.
+     */
+    private int apropriarParticao(LocalDate data, long particao) {
+        long idInicial = particao * properties.getTamanhoParticao();
+        long idFinal = idInicial + properties.getTamanhoParticao();
+        try {
+            int quantidade = tempoParticao.record(() -> transacao.execute(status -> {
+                List<JurosAtraso> juros = calcular(data, idInicial, idFinal);
+                jdbcTemplate.batchUpdate(INSERIR_JUROS, juros, properties.getTamanhoLote(), (ps, j) -> {
+                    ps.setLong(1, j.getEmprestimoId());
+                    ps.setDate(2, Date.valueOf(j.getData()));
+                    ps.setDouble(3, j.getSaldo());
+                    ps.setDouble(4, j.getTaxa());
+                    ps.setDouble(5, j.getValor());
+                });
+                jdbcTemplate.update(INSERIR_PARTICAO, Date.valueOf(data), particao, idInicial, idFinal, juros.size(),
+                                    Timestamp.valueOf(LocalDateTime.now()));
+                return juros.size();
+            }));
+
+            emprestimos.increment(quantidade);
+            int concluidas = particoesConcluidas.incrementAndGet();
+            log.debug("Juros de {}: partição {} concluída com {} empréstimos ({}/{})", data, particao, quantidade,
+                      concluidas, particoesTotal.get());
+            return quantidade;
+        } catch (RuntimeException e) {
+            falhas.increment();
+            log.error("Falha ao apropriar os juros de {} da partição {} (IDs {} a {}); será retomada na próxima execução",
+                      data, particao, idInicial, idFinal - 1, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Registra o dia como concluído. Outra instância pode ter concluído o mesmo dia ao mesmo tempo.
+     */
+    private void concluirDia(LocalDate data) {
+        try {
+            jdbcTemplate.update(INSERIR_DIA, Date.valueOf(data), Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            log.debug("Apropriação de juros de {} já registrada como concluída", data);
+        }
+    }
+
+    private List<JurosAtraso> calcular(LocalDate data, long idInicial, long idFinal) {
+        double taxa = properties.getTaxaDiaria();
+        List<JurosAtraso> juros = new ArrayList<>();
+        for (EmprestimoEmAbertoDTO emprestimo : emprestimoRepository.emprestimosEmAtraso(data.atStartOfDay(), idInicial, idFinal)) {
+            double saldo = arredondar(emprestimo.getValorEmprestimo() * (1 + emprestimo.getPorcentagem() / 100)
+                                      - emprestimo.getValorRecebido());
+            if (saldo > 0) {
+                juros.add(new JurosAtraso(emprestimo.getId(), data, saldo, taxa, arredondar(saldo * taxa / 100)));
+            }
+        }
+        return juros;
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
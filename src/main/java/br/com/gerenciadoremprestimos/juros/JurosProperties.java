@@ -0,0 +1,38 @@
+package br.com.gerenciadoremprestimos.juros;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "juros")
+@Data
+public class JurosProperties {
+
+    /**
+     * Quando desabilitado, nenhum juro de atraso é apropriado automaticamente.
+     */
+    private boolean habilitado = true;
+
+    /**
+     * Taxa diária dos juros de atraso, em porcentagem do saldo devedor.
+     */
+    private double taxaDiaria = 0.033;
+
+    /**
+     * Quantidade de IDs de empréstimos por partição. Cada partição é apropriada em uma transação e é a unidade de
+     * retomada de uma execução interrompida; deve ser mantida entre as execuções de um mesmo dia.
+     */
+    private long tamanhoParticao = 10_000;
+
+    /**
+     * Threads que apropriam as partições em paralelo. Cada thread ocupa uma conexão do pool durante a partição.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Quantidade de registros de juros por lote de inserção (JDBC batch).
+     */
+    private int tamanhoLote = 500;
+}
@@ -0,0 +1,57 @@
+package br.com.gerenciadoremprestimos.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem bloqueio, implementado pelo algoritmo GCRA (generic cell rate algorithm).
+ *
+ * Em vez de guardar a quantidade de tokens e o instante da última reposição (dois valores que precisariam ser
+ * atualizados juntos), o balde guarda um único {@code long}: o instante teórico em que ele voltaria a estar cheio
+ * ({@code tat}). Cada requisição avança esse instante em um intervalo de emissão ({@code 1 / vazão}) e é recusada se
+ * ele ficar mais adiante do que a tolerância de rajada ({@code (capacidade - 1) * intervalo}). O comportamento é o
+ * mesmo de um balde com {@code capacidade} tokens repostos à vazão configurada, com um único compare-and-set.
+ */
+public class BaldeTokens {
+
+    private final AtomicLong tat;
+    private final long intervalo;
+    private final long tolerancia;
+
+    /**
+     * @param capacidade Quantidade máxima de requisições em rajada
+     * @param porSegundo Requisições por segundo repostas
+     * @param agora Instante atual em nanossegundos ({@link System#nanoTime()}); o balde começa cheio
+     */
+    public BaldeTokens(int capacidade, double porSegundo, long agora) {
+        this.intervalo = Math.max(1L, (long) (1_000_000_000L / porSegundo));
+        this.tolerancia = intervalo * (Math.max(1, capacidade) - 1L);
+        this.tat = new AtomicLong(agora);
+    }
+
+    /**
+     * Consome um token.
+     *
+     * @param agora Instante atual em nanossegundos
+     * @return 0 se o token foi consumido; caso contrário, o tempo em nanossegundos até haver um token disponível
+     */
+    public long consumir(long agora) {
+        while (true) {
+            long atual = tat.get();
+            long inicio = Math.max(atual, agora);
+            long espera = inicio - tolerancia - agora;
+            if (espera > 0) {
+                return espera;
+            }
+            if (tat.compareAndSet(atual, inicio + intervalo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Indica se o balde está cheio há mais tempo que o informado, podendo ser descartado sem alterar o limite.
+     */
+    public boolean isOcioso(long agora, long tempoOcioso) {
+        return agora - tat.get() > tempoOcioso;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.gerenciadoremprestimos.limite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gerenciadoremprestimos.exception.ApiErrors;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Limita as requisições de cada usuário autenticado por grupo de rotas, respondendo 429 com {@code Retry-After}
+ * quando o balde do usuário está vazio. Fica na cadeia do Spring Security logo após o
+ * {@link br.com.gerenciadoremprestimos.security.FilterToken}, antes de qualquer acesso ao banco feito pelos
+ * controllers.
+ */
+@Component
+@RequiredArgsConstructor
+public class FiltroLimiteRequisicoes extends OncePerRequestFilter {
+
+    private final LimitadorRequisicoes limitador;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            long espera = limitador.consumir(request.getRequestURI(), authentication.getName());
+            if (espera > 0) {
+                long segundos = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                objectMapper.writeValue(response.getOutputStream(),
+                        new ApiErrors(messageSource.getMessage("limite.excedido", null, Locale.getDefault())));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
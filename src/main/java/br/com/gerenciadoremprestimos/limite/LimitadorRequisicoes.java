@@ -0,0 +1,85 @@
+package br.com.gerenciadoremprestimos.limite;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limites de requisições por usuário e por grupo de rotas ({@code limite-requisicoes.grupos}).
+ *
+ * Cada grupo tem seu próprio {@link ConcurrentHashMap} de baldes indexado pelo login: as leituras não bloqueiam e as
+ * inclusões bloqueiam apenas o compartimento da chave, de modo que usuários diferentes não disputam o mesmo bloqueio;
+ * o consumo do token é um compare-and-set no próprio balde. Os baldes ociosos são descartados periodicamente para
+ * que a memória acompanhe os usuários ativos, não todos os que já acessaram a API.
+ */
+@Component
+public class LimitadorRequisicoes {
+
+    private final Grupo[] grupos;
+    private final long tempoOcioso;
+
+    private record Grupo(String[] caminhos, int capacidade, double porSegundo, Map<String, BaldeTokens> baldes) {
+    }
+
+    public LimitadorRequisicoes(LimiteRequisicoesProperties properties) {
+        List<LimiteRequisicoesProperties.Grupo> configurados = properties.isHabilitado() ? properties.getGrupos() : List.of();
+        this.grupos = configurados.stream()
+                .map(g -> new Grupo(g.getCaminhos().toArray(String[]::new), g.getCapacidade(), g.getPorSegundo(), new ConcurrentHashMap<>()))
+                .toArray(Grupo[]::new);
+        this.tempoOcioso = properties.getTempoOcioso().toNanos();
+    }
+
+    /**
+     * Consome um token do balde do usuário no grupo da rota.
+     *
+     * @param caminho Caminho da requisição
+     * @param usuario Login do usuário
+     * @return 0 se a requisição pode seguir; caso contrário, o tempo em nanossegundos até haver um token disponível
+     */
+    public long consumir(String caminho, String usuario) {
+        Grupo grupo = grupo(caminho);
+        if (grupo == null) {
+            return 0;
+        }
+
+        long agora = System.nanoTime();
+        BaldeTokens balde = grupo.baldes().get(usuario);
+        if (balde == null) {
+            balde = grupo.baldes().computeIfAbsent(usuario, u -> new BaldeTokens(grupo.capacidade(), grupo.porSegundo(), agora));
+        }
+        return balde.consumir(agora);
+    }
+
+    /**
+     * Descarta os baldes sem uso há mais de {@code limite-requisicoes.tempo-ocioso}.
+     */
+    @Scheduled(fixedDelayString = "${limite-requisicoes.intervalo-limpeza:PT1M}")
+    public void removerOciosos() {
+        long agora = System.nanoTime();
+        for (Grupo grupo : grupos) {
+            grupo.baldes().values().removeIf(balde -> balde.isOcioso(agora, tempoOcioso));
+        }
+    }
+
+    public int quantidadeBaldes() {
+        int quantidade = 0;
+        for (Grupo grupo : grupos) {
+            quantidade += grupo.baldes().size();
+        }
+        return quantidade;
+    }
+
+    private Grupo grupo(String caminho) {
+        for (Grupo grupo : grupos) {
+            for (String prefixo : grupo.caminhos()) {
+                if (caminho.startsWith(prefixo)) {
+                    return grupo;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.gerenciadoremprestimos.limite;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Component
+@ConfigurationProperties(prefix = "limite-requisicoes")
+@Data
+public class LimiteRequisicoesProperties {
+
+    /**
+     * Quando desabilitado, nenhuma requisição é limitada.
+     */
+    private boolean habilitado = true;
+
+    /**
+     * Tempo sem requisições após o qual o balde de um usuário é descartado (ele já estaria cheio de novo).
+     */
+    private Duration tempoOcioso = Duration.ofMinutes(10);
+
+    /**
+     * Grupos de rotas com limite próprio por usuário; rotas fora dos grupos não são limitadas.
+     */
+    private List<Grupo> grupos = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Grupo {
+
+        private String nome;
+
+        /**
+         * Prefixos das rotas do grupo, por exemplo {@code /api/pagamento}.
+         */
+        private List<String> caminhos = new ArrayList<>();
+
+        /**
+         * Quantidade máxima de requisições em rajada (tamanho do balde).
+         */
+        private int capacidade = 100;
+
+        /**
+         * Requisições por segundo repostas no balde (vazão sustentada).
+         */
+        private double porSegundo = 50;
+    }
+}
@@ -3,6 +3,7 @@ package br.com.gerenciadoremprestimos.mapper;
 import br.com.gerenciadoremprestimos.dto.BeneficiarioRequestDTO;
 import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -45,8 +46,34 @@ public class BeneficiarioMapper {
         dto.setNumeroTelefone(beneficiario.getNumeroTelefone());
         dto.setDataCriacao(beneficiario.getDataCriacao());
         dto.setDataAtualizacao(beneficiario.getDataAtualizacao());
+        dto.setVersao(beneficiario.getVersao());
         dto.setObservacao(beneficiario.getObservacao());
 
         return dto;
     }
+
+    /**
+     * Remove do DTO os campos que não foram selecionados; o ID é sempre mantido.
+     */
+    public BeneficiarioResponseDTO selecionarCampos(BeneficiarioResponseDTO dto, SelecaoCampos selecao) {
+        if (!selecao.inclui("nome")) {
+            dto.setNome(null);
+        }
+        if (!selecao.inclui("numeroTelefone")) {
+            dto.setNumeroTelefone(null);
+        }
+        if (!selecao.inclui("dataCriacao")) {
+            dto.setDataCriacao(null);
+        }
+        if (!selecao.inclui("dataAtualizacao")) {
+            dto.setDataAtualizacao(null);
+        }
+        if (!selecao.inclui("versao")) {
+            dto.setVersao(null);
+        }
+        if (!selecao.inclui("observacao")) {
+            dto.setObservacao(null);
+        }
+        return dto;
+    }
 }
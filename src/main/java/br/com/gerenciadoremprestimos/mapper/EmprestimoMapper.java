@@ -2,15 +2,15 @@ package br.com.gerenciadoremprestimos.mapper;
 
 import br.com.gerenciadoremprestimos.dto.EmprestimoRequestDTO;
 import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
 import br.com.gerenciadoremprestimos.util.Utils;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.context.MessageSource;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.server.ResponseStatusException;
 import java.util.Locale;
 
 @Component
@@ -43,7 +43,7 @@ public class EmprestimoMapper {
             emprestimo.setDataEmprestimo(Utils.convertStringToLocalDateTime(dto.getDataEmprestimo()));
             emprestimo.setDataPagamento(Utils.convertStringToLocalDateTime(dto.getDataPagamento()));
         } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("data.invalida"));
+            throw new RequisicaoInvalidaException(obterMensagem("data.invalida"));
         }
 
         emprestimo.setValorEmprestimo(dto.getValorEmprestimo());
@@ -69,11 +69,49 @@ public class EmprestimoMapper {
         dto.setBeneficiario(beneficiarioMapper.paraDto(emprestimo.getBeneficiario()));
         dto.setDataCriacao(emprestimo.getDataCriacao());
         dto.setDataAtualizacao(emprestimo.getDataAtualizacao());
+        dto.setVersao(emprestimo.getVersao());
         dto.setObservacao(emprestimo.getObservacao());
 
         return dto;
     }
 
+    /**
+     * Remove do DTO os campos que não foram selecionados; o ID é sempre mantido.
+     */
+    public EmprestimoResponseDTO selecionarCampos(EmprestimoResponseDTO dto, SelecaoCampos selecao) {
+        if (!selecao.inclui("dataEmprestimo")) {
+            dto.setDataEmprestimo(null);
+        }
+        if (!selecao.inclui("dataPagamento")) {
+            dto.setDataPagamento(null);
+        }
+        if (!selecao.inclui("valorEmprestimo")) {
+            dto.setValorEmprestimo(null);
+        }
+        if (!selecao.inclui("porcentagem")) {
+            dto.setPorcentagem(null);
+        }
+        if (!selecao.inclui("quitado")) {
+            dto.setQuitado(null);
+        }
+        if (!selecao.inclui("beneficiario")) {
+            dto.setBeneficiario(null);
+        }
+        if (!selecao.inclui("dataCriacao")) {
+            dto.setDataCriacao(null);
+        }
+        if (!selecao.inclui("dataAtualizacao")) {
+            dto.setDataAtualizacao(null);
+        }
+        if (!selecao.inclui("versao")) {
+            dto.setVersao(null);
+        }
+        if (!selecao.inclui("observacao")) {
+            dto.setObservacao(null);
+        }
+        return dto;
+    }
+
     private String obterMensagem(String code, Object... args) {
         return messageSource.getMessage(code, args, Locale.getDefault());
     }
@@ -3,15 +3,15 @@ package br.com.gerenciadoremprestimos.mapper;
 import java.util.Locale;
 
 import org.springframework.context.MessageSource;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.server.ResponseStatusException;
 
 import br.com.gerenciadoremprestimos.dto.PagamentoRequestDTO;
 import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 import br.com.gerenciadoremprestimos.model.Pagamento;
 import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
 import br.com.gerenciadoremprestimos.util.Utils;
 import lombok.RequiredArgsConstructor;
 
@@ -44,7 +44,7 @@ public class PagamentoMapper {
         try {
             pagamento.setDataPagamento(Utils.convertStringToLocalDateTime(dto.getDataPagamento()));
         } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("data.invalida"));
+            throw new RequisicaoInvalidaException(obterMensagem("data.invalida"));
         }
 
         pagamento.setValorPago(dto.getValorPago());
@@ -58,7 +58,7 @@ public class PagamentoMapper {
         try {
             return TipoPagamento.valueOf(tipoPagamentoStr);
         } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("pagamento.tipoPagamento.invalido"));
+            throw new RequisicaoInvalidaException(obterMensagem("pagamento.tipoPagamento.invalido"));
         }
     }
 
@@ -75,11 +75,43 @@ public class PagamentoMapper {
         dto.setEmprestimo(emprestimoMapper.paraDto(pagamento.getEmprestimo()));
         dto.setDataCriacao(pagamento.getDataCriacao());
         dto.setDataAtualizacao(pagamento.getDataAtualizacao());
+        dto.setVersao(pagamento.getVersao());
         dto.setObservacao(pagamento.getObservacao());
 
         return dto;
     }
 
+    /**
+     * Remove do DTO os campos que não foram selecionados; o ID é sempre mantido.
+     */
+    public PagamentoResponseDTO selecionarCampos(PagamentoResponseDTO dto, SelecaoCampos selecao) {
+        if (!selecao.inclui("dataPagamento")) {
+            dto.setDataPagamento(null);
+        }
+        if (!selecao.inclui("valorPago")) {
+            dto.setValorPago(null);
+        }
+        if (!selecao.inclui("tipoPagamento")) {
+            dto.setTipoPagamento(null);
+        }
+        if (!selecao.inclui("emprestimo")) {
+            dto.setEmprestimo(null);
+        }
+        if (!selecao.inclui("dataCriacao")) {
+            dto.setDataCriacao(null);
+        }
+        if (!selecao.inclui("dataAtualizacao")) {
+            dto.setDataAtualizacao(null);
+        }
+        if (!selecao.inclui("versao")) {
+            dto.setVersao(null);
+        }
+        if (!selecao.inclui("observacao")) {
+            dto.setObservacao(null);
+        }
+        return dto;
+    }
+
     private String obterMensagem(String code, Object... args) {
         return messageSource.getMessage(code, args, Locale.getDefault());
     }
@@ -3,6 +3,7 @@ package br.com.gerenciadoremprestimos.model;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -13,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -38,6 +40,16 @@ public abstract class Base implements Serializable {
     @Setter(AccessLevel.NONE)
     private Long id;
 
+    /**
+     * Versão do registro para o controle de concorrência otimista: toda atualização é feita com
+     * {@code UPDATE ... WHERE id = ? AND versao = ?}, sem bloqueio prévio da linha.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Long versao;
+
     @CreatedDate
     @Column(name = "data_criacao")
     private LocalDateTime dataCriacao;
@@ -1,8 +1,17 @@
 package br.com.gerenciadoremprestimos.model;
 
+import java.sql.Blob;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,6 +21,11 @@ import lombok.ToString;
 
 /**
  * Entidade representando um beneficiário.
+ *
+ * Fica no cache de segundo nível sem a imagem: o atributo é carregado sob demanda e {@code includeLazy = false}
+ * mantém o LOB fora das entradas do cache. A imagem é um {@link Blob} para que o envio seja gravado a partir do
+ * arquivo recebido, sem montar o conteúdo inteiro em memória; depois de processada, ela passa para
+ * {@link #imagemProcessada} e o original é descartado.
  */
 @Data
 @AllArgsConstructor
@@ -20,6 +34,7 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "beneficiario", schema = "public")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "beneficiario", includeLazy = false)
 public class Beneficiario extends Base {
 
     private static final long serialVersionUID = 1L;
@@ -31,6 +46,25 @@ public class Beneficiario extends Base {
     private String numeroTelefone;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "imagem", nullable = true)
-    private byte[] imagem;
+    private Blob imagem;
+
+    /**
+     * Hash SHA-256 (hexadecimal) da imagem enviada, calculado enquanto ela é gravada. Continua preenchido depois do
+     * processamento, para reaproveitar a imagem processada quando a mesma foto for enviada de novo.
+     */
+    @Column(name = "imagem_hash", length = 64)
+    private String imagemHash;
+
+    /**
+     * Imagem processada a partir do envio, possivelmente compartilhada com outros beneficiários.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "imagem_processada")
+    private Imagem imagemProcessada;
 }
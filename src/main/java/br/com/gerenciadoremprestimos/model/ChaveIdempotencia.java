@@ -0,0 +1,100 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa uma chave de idempotência ({@code Idempotency-Key}) e a resposta da requisição que a usou.
+ *
+ * Não estende {@link Base}: o identificador é o hash do usuário, da rota e da chave informada pelo cliente, para que
+ * a inserção concorrente da mesma chave seja barrada pela chave primária. Por isso a entidade é sempre gravada com
+ * {@code persist} (ver {@link #isNew()}), nunca com {@code merge}, que atualizaria a reserva de outra requisição.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "chave_idempotencia", schema = "public", indexes = @Index(name = "idx_chave_idempotencia_expira_em", columnList = "expira_em"))
+public class ChaveIdempotencia implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "chave", length = 64, updatable = false, nullable = false)
+    private String chave;
+
+    /**
+     * Hash SHA-256 do corpo da requisição original, para recusar a mesma chave com outro conteúdo.
+     */
+    @Column(name = "hash_requisicao", length = 64, nullable = false)
+    private String hashRequisicao;
+
+    /**
+     * Indica se a requisição original já terminou; enquanto falso, a chave está reservada por quem a processa, até
+     * {@link #bloqueadoAte}.
+     */
+    @Column(name = "concluida", nullable = false)
+    private boolean concluida;
+
+    @Column(name = "status")
+    private Integer status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "corpo", length = 1_048_576)
+    private byte[] corpo;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    /**
+     * Fim da reserva de uma requisição em processamento. Se a instância que a reservou parar antes de concluir, a
+     * chave pode ser assumida por uma nova tentativa após esse instante, sem esperar a retenção da resposta.
+     */
+    @Column(name = "bloqueado_ate")
+    private LocalDateTime bloqueadoAte;
+
+    @Transient
+    private boolean nova = true;
+
+    public ChaveIdempotencia(String chave, String hashRequisicao, LocalDateTime dataCriacao, LocalDateTime expiraEm) {
+        this.chave = chave;
+        this.hashRequisicao = hashRequisicao;
+        this.dataCriacao = dataCriacao;
+        this.expiraEm = expiraEm;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void onLoad() {
+        this.nova = false;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dia cuja apropriação de juros de atraso foi concluída em todas as partições. O último dia registrado indica a
+ * partir de quando a apropriação deve continuar, de modo que os dias em que a aplicação esteve parada no horário
+ * agendado também são apropriados.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "juros_dia", schema = "public")
+public class DiaJuros implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "data", updatable = false, nullable = false)
+    private LocalDate data;
+
+    @Column(name = "concluido_em", nullable = false)
+    private LocalDateTime concluidoEm;
+}
@@ -0,0 +1,84 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Empréstimo quitado movido da tabela {@code emprestimo} para o arquivo (ver
+ * {@link br.com.gerenciadoremprestimos.arquivamento.ArquivamentoEmprestimos}).
+ *
+ * Mantém o ID e os metadados originais. O beneficiário é gravado pelo ID e continua protegido por chave estrangeira,
+ * como nos empréstimos ativos: o beneficiário com empréstimos arquivados não pode ser removido. Os registros são
+ * somente leitura: só entram no arquivo pela cópia feita no arquivamento.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "emprestimo_arquivo", schema = "public", indexes = {
+        @Index(name = "idx_emprestimo_arquivo_data_emprestimo", columnList = "data_emprestimo"),
+        @Index(name = "idx_emprestimo_arquivo_beneficiario", columnList = "beneficiario_id")
+})
+public class EmprestimoArquivado implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "observacao")
+    private String observacao;
+
+    @Column(name = "data_emprestimo", nullable = false)
+    private LocalDateTime dataEmprestimo;
+
+    @Column(name = "data_pagamento", nullable = false)
+    private LocalDateTime dataPagamento;
+
+    @Column(name = "valor_emprestimo", nullable = false)
+    private Double valorEmprestimo;
+
+    @Column(name = "porcentagem", nullable = false)
+    private Double porcentagem;
+
+    @Column(name = "quitado", nullable = false)
+    private Boolean quitado;
+
+    @Column(name = "beneficiario_id", nullable = false)
+    private Long beneficiarioId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "beneficiario_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_emprestimo_arquivo_beneficiario"))
+    private Beneficiario beneficiario;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+}
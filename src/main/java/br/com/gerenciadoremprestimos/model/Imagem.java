@@ -0,0 +1,97 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.sql.Blob;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Entidade que representa uma imagem já processada (sem metadados, redimensionada e recomprimida), compartilhada
+ * pelos beneficiários que enviaram a mesma foto.
+ *
+ * O identificador é o hash SHA-256 do conteúdo processado: a mesma imagem é gravada uma única vez e a inserção
+ * concorrente do mesmo conteúdo é barrada pela chave primária. O conteúdo nunca muda, por isso a entidade é sempre
+ * gravada com {@code persist} (ver {@link #isNew()}).
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "imagem", schema = "public")
+public class Imagem implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "hash", length = 64, updatable = false, nullable = false)
+    private String hash;
+
+    @Column(name = "tipo", nullable = false)
+    private String tipo;
+
+    @Column(name = "largura", nullable = false)
+    private int largura;
+
+    @Column(name = "altura", nullable = false)
+    private int altura;
+
+    /**
+     * Tamanho do conteúdo em bytes.
+     */
+    @Column(name = "tamanho", nullable = false)
+    private long tamanho;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Column(name = "conteudo", nullable = false)
+    private Blob conteudo;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Transient
+    private boolean nova = true;
+
+    public Imagem(String hash, String tipo, int largura, int altura, long tamanho, Blob conteudo, LocalDateTime dataCriacao) {
+        this.hash = hash;
+        this.tipo = tipo;
+        this.largura = largura;
+        this.altura = altura;
+        this.tamanho = tamanho;
+        this.conteudo = conteudo;
+        this.dataCriacao = dataCriacao;
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void onLoad() {
+        this.nova = false;
+    }
+}
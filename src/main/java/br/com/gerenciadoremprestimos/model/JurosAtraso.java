@@ -0,0 +1,64 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Juros de atraso apropriados para um empréstimo em um dia.
+ *
+ * O empréstimo é referenciado apenas pelo ID, sem chave estrangeira: um empréstimo quitado pode ser movido para o
+ * arquivo e os juros apropriados continuam como histórico.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "juros_atraso", schema = "public")
+@IdClass(JurosAtraso.Chave.class)
+public class JurosAtraso implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "emprestimo_id", updatable = false, nullable = false)
+    private Long emprestimoId;
+
+    @Id
+    @Column(name = "data", updatable = false, nullable = false)
+    private LocalDate data;
+
+    /**
+     * Saldo devedor sobre o qual os juros foram calculados.
+     */
+    @Column(name = "saldo", nullable = false)
+    private Double saldo;
+
+    /**
+     * Taxa diária, em porcentagem, vigente na apropriação.
+     */
+    @Column(name = "taxa", nullable = false)
+    private Double taxa;
+
+    @Column(name = "valor", nullable = false)
+    private Double valor;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long emprestimoId;
+        private LocalDate data;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pagamento de um empréstimo arquivado, movido da tabela {@code pagamento} junto com o empréstimo (ver
+ * {@link EmprestimoArquivado}).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "pagamento_arquivo", schema = "public", indexes = {
+        @Index(name = "idx_pagamento_arquivo_data_pagamento", columnList = "data_pagamento"),
+        @Index(name = "idx_pagamento_arquivo_emprestimo", columnList = "emprestimo_id")
+})
+public class PagamentoArquivado implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "observacao")
+    private String observacao;
+
+    @Column(name = "data_pagamento", nullable = false)
+    private LocalDateTime dataPagamento;
+
+    @Column(name = "valor_pago", nullable = false)
+    private Double valorPago;
+
+    @Column(name = "tipo_pagamento", nullable = false)
+    private Pagamento.TipoPagamento tipoPagamento;
+
+    @Column(name = "emprestimo_id", nullable = false)
+    private Long emprestimoId;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+}
@@ -0,0 +1,67 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partição (faixa de IDs de empréstimos) cuja apropriação de juros de um dia foi concluída. É gravada na mesma
+ * transação dos juros da partição, de modo que uma execução interrompida é retomada a partir das partições que
+ * ainda não têm registro, sem apropriar nenhum empréstimo duas vezes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "juros_particao", schema = "public")
+@IdClass(ParticaoJuros.Chave.class)
+public class ParticaoJuros implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "data", updatable = false, nullable = false)
+    private LocalDate data;
+
+    /**
+     * Número da partição: os IDs de {@code particao * tamanho} (inclusive) a {@code (particao + 1) * tamanho}.
+     */
+    @Id
+    @Column(name = "particao", updatable = false, nullable = false)
+    private Long particao;
+
+    @Column(name = "id_inicial", nullable = false)
+    private Long idInicial;
+
+    @Column(name = "id_final", nullable = false)
+    private Long idFinal;
+
+    /**
+     * Quantidade de empréstimos com juros apropriados na partição.
+     */
+    @Column(name = "emprestimos", nullable = false)
+    private Integer emprestimos;
+
+    @Column(name = "concluida_em", nullable = false)
+    private LocalDateTime concluidaEm;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate data;
+        private Long particao;
+    }
+}
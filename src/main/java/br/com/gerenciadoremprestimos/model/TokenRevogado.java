@@ -0,0 +1,63 @@
+package br.com.gerenciadoremprestimos.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa um token JWT revogado (logout ou token de atualização já utilizado), identificado pelo
+ * {@code jti}. O registro só é necessário até a expiração do próprio token.
+ *
+ * A revogação é sempre gravada com {@code persist} (ver {@link #isNew()}), nunca com {@code merge}: assim a chave
+ * primária recusa a segunda revogação do mesmo token, mesmo quando feita por outra instância.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "token_revogado", schema = "public")
+public class TokenRevogado implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "jti", length = 36, updatable = false, nullable = false)
+    private String jti;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    @Transient
+    private boolean nova = true;
+
+    public TokenRevogado(String jti, Instant expiraEm) {
+        this.jti = jti;
+        this.expiraEm = expiraEm;
+    }
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void onLoad() {
+        this.nova = false;
+    }
+}
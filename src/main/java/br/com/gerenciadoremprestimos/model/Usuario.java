@@ -2,6 +2,10 @@ package br.com.gerenciadoremprestimos.model;
 
 import java.util.Collection;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +21,9 @@ import java.util.List;
 
 /**
  * Entidade que representa um usuário (acesso ao sistema).
+ *
+ * O login é o identificador natural e tem cache próprio, de modo que a busca por login feita a cada requisição
+ * autenticada é resolvida pelo cache de segundo nível.
  */
 @Data
 @AllArgsConstructor
@@ -25,8 +32,11 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "usuario", schema = "public")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
+@NaturalIdCache(region = "usuario-login")
 public class Usuario extends Base implements UserDetails{
     
+    @NaturalId
     private String login;
     private String password;
     private String role;
@@ -0,0 +1,114 @@
+package br.com.gerenciadoremprestimos.previsao;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de ID do empréstimo para a posição dele nos vetores do {@link MotorPrevisaoRecebimento}.
+ *
+ * Usa endereçamento aberto com sondagem linear sobre dois vetores primitivos, sem criar um {@code Long}, um
+ * {@code Integer} e uma entrada por empréstimo como um {@code HashMap}. As posições são sempre positivas ou zero,
+ * por isso {@link #AUSENTE} marca tanto a chave inexistente quanto o espaço vazio. Não é thread-safe: o acesso é
+ * protegido pelo lock do motor.
+ */
+final class MapaPosicoes {
+
+    static final int AUSENTE = -1;
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private long[] chaves = new long[CAPACIDADE_INICIAL];
+    private int[] posicoes = novasPosicoes(CAPACIDADE_INICIAL);
+    private int mascara = CAPACIDADE_INICIAL - 1;
+    private int quantidade;
+
+    int obter(long id) {
+        for (int i = indice(id); ; i = (i + 1) & mascara) {
+            if (posicoes[i] == AUSENTE) {
+                return AUSENTE;
+            }
+            if (chaves[i] == id) {
+                return posicoes[i];
+            }
+        }
+    }
+
+    void incluir(long id, int posicao) {
+        if ((quantidade + 1) * 2 > posicoes.length) {
+            redimensionar(posicoes.length * 2);
+        }
+        int i = indice(id);
+        while (posicoes[i] != AUSENTE && chaves[i] != id) {
+            i = (i + 1) & mascara;
+        }
+        if (posicoes[i] == AUSENTE) {
+            quantidade++;
+        }
+        chaves[i] = id;
+        posicoes[i] = posicao;
+    }
+
+    /**
+     * Remove o ID e devolve a posição que ele ocupava, ou {@link #AUSENTE}. As entradas seguintes do mesmo
+     * agrupamento são deslocadas para trás, para que nenhuma busca pare antes de encontrá-las.
+     */
+    int remover(long id) {
+        int i = indice(id);
+        while (posicoes[i] != AUSENTE && chaves[i] != id) {
+            i = (i + 1) & mascara;
+        }
+        int removida = posicoes[i];
+        if (removida == AUSENTE) {
+            return AUSENTE;
+        }
+
+        int vazio = i;
+        for (int j = (i + 1) & mascara; posicoes[j] != AUSENTE; j = (j + 1) & mascara) {
+            int ideal = indice(chaves[j]);
+            boolean alcancavel = vazio <= j ? ideal <= vazio || ideal > j : ideal <= vazio && ideal > j;
+            if (alcancavel) {
+                chaves[vazio] = chaves[j];
+                posicoes[vazio] = posicoes[j];
+                vazio = j;
+            }
+        }
+        posicoes[vazio] = AUSENTE;
+        quantidade--;
+        return removida;
+    }
+
+    int quantidade() {
+        return quantidade;
+    }
+
+    void limpar() {
+        Arrays.fill(posicoes, AUSENTE);
+        quantidade = 0;
+    }
+
+    private void redimensionar(int capacidade) {
+        long[] chavesAntigas = chaves;
+        int[] posicoesAntigas = posicoes;
+
+        chaves = new long[capacidade];
+        posicoes = novasPosicoes(capacidade);
+        mascara = capacidade - 1;
+        quantidade = 0;
+
+        for (int i = 0; i < posicoesAntigas.length; i++) {
+            if (posicoesAntigas[i] != AUSENTE) {
+                incluir(chavesAntigas[i], posicoesAntigas[i]);
+            }
+        }
+    }
+
+    private int indice(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+
+    private static int[] novasPosicoes(int capacidade) {
+        int[] posicoes = new int[capacidade];
+        Arrays.fill(posicoes, AUSENTE);
+        return posicoes;
+    }
+}
@@ -0,0 +1,241 @@
+package br.com.gerenciadoremprestimos.previsao;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Estrutura em memória com os empréstimos em aberto, usada para calcular a previsão de recebimentos.
+ *
+ * Cada empréstimo ocupa uma posição em vetores primitivos (dia de vencimento em epoch-day, valor em centavos,
+ * taxa e valor já recebido em centavos). O valor esperado de cada empréstimo é acumulado em uma árvore de Fenwick
+ * indexada pelo dia de vencimento, o que permite somar qualquer intervalo de dias em O(log n), independente da
+ * quantidade de empréstimos.
+ */
+public class MotorPrevisaoRecebimento {
+
+    /**
+     * Quantidade de dias representados na árvore, a partir de 1970-01-01 (epoch-day 0), cobrindo até o ano 2328.
+     */
+    public static final int CAPACIDADE_DIAS = 1 << 17;
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final long[] arvore = new long[CAPACIDADE_DIAS + 1];
+
+    private int[] dias = new int[CAPACIDADE_INICIAL];
+    private long[] valores = new long[CAPACIDADE_INICIAL];
+    private double[] taxas = new double[CAPACIDADE_INICIAL];
+    private long[] recebidos = new long[CAPACIDADE_INICIAL];
+    private long[] contribuicoes = new long[CAPACIDADE_INICIAL];
+
+    private int[] posicoesLivres = new int[CAPACIDADE_INICIAL];
+    private int quantidadeLivres;
+    private int proximaPosicao;
+
+    private final MapaPosicoes posicoes = new MapaPosicoes();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Inclui ou atualiza um empréstimo em aberto, preservando o valor já recebido quando ele já existir.
+     *
+     * @param id ID do empréstimo
+     * @param diaVencimento Data de pagamento em epoch-day
+     * @param valorCentavos Valor emprestado em centavos
+     * @param taxa Porcentagem de juros
+     */
+    public void registrarEmprestimo(long id, long diaVencimento, long valorCentavos, double taxa) {
+        lock.writeLock().lock();
+        try {
+            int i = posicoes.obter(id);
+            if (i == MapaPosicoes.AUSENTE) {
+                i = alocarPosicao();
+                posicoes.incluir(id, i);
+                recebidos[i] = 0;
+            } else {
+                adicionarNaArvore(dias[i], -contribuicoes[i]);
+            }
+
+            dias[i] = limitarDia(diaVencimento);
+            valores[i] = valorCentavos;
+            taxas[i] = taxa;
+            atualizarContribuicao(i);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Define o valor já recebido de um empréstimo (usado na carga inicial e na reabertura de um empréstimo).
+     */
+    public void definirRecebido(long id, long recebidoCentavos) {
+        lock.writeLock().lock();
+        try {
+            int posicao = posicoes.obter(id);
+            if (posicao != MapaPosicoes.AUSENTE) {
+                adicionarNaArvore(dias[posicao], -contribuicoes[posicao]);
+                recebidos[posicao] = recebidoCentavos;
+                atualizarContribuicao(posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Soma (ou subtrai, se negativo) um pagamento ao valor recebido do empréstimo. Empréstimos que não estão
+     * em aberto são ignorados.
+     */
+    public void registrarPagamento(long emprestimoId, long valorCentavos) {
+        lock.writeLock().lock();
+        try {
+            int posicao = posicoes.obter(emprestimoId);
+            if (posicao != MapaPosicoes.AUSENTE) {
+                adicionarNaArvore(dias[posicao], -contribuicoes[posicao]);
+                recebidos[posicao] += valorCentavos;
+                atualizarContribuicao(posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um empréstimo (quitado ou excluído) da previsão.
+     */
+    public void removerEmprestimo(long id) {
+        lock.writeLock().lock();
+        try {
+            int posicao = posicoes.remover(id);
+            if (posicao != MapaPosicoes.AUSENTE) {
+                adicionarNaArvore(dias[posicao], -contribuicoes[posicao]);
+                contribuicoes[posicao] = 0;
+                liberarPosicao(posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contem(long id) {
+        lock.readLock().lock();
+        try {
+            return posicoes.obter(id) != MapaPosicoes.AUSENTE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int quantidade() {
+        lock.readLock().lock();
+        try {
+            return posicoes.quantidade();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Soma o valor esperado, em centavos, dos empréstimos que vencem entre os dias informados (inclusivos).
+     */
+    public long somar(long diaInicial, long diaFinal) {
+        lock.readLock().lock();
+        try {
+            return somarSemLock(diaInicial, diaFinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Soma o valor esperado, em centavos, de períodos consecutivos de mesmo tamanho a partir de um dia.
+     *
+     * @param diaInicial Primeiro dia do primeiro período (epoch-day)
+     * @param diasPorPeriodo Quantidade de dias de cada período
+     * @param quantidadePeriodos Quantidade de períodos
+     * @return Valor esperado de cada período em centavos
+     */
+    public long[] somarPorPeriodo(long diaInicial, int diasPorPeriodo, int quantidadePeriodos) {
+        long[] totais = new long[quantidadePeriodos];
+        lock.readLock().lock();
+        try {
+            for (int p = 0; p < quantidadePeriodos; p++) {
+                long inicio = diaInicial + (long) p * diasPorPeriodo;
+                totais[p] = somarSemLock(inicio, inicio + diasPorPeriodo - 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return totais;
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(arvore, 0L);
+            posicoes.limpar();
+            quantidadeLivres = 0;
+            proximaPosicao = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long somarSemLock(long diaInicial, long diaFinal) {
+        if (diaFinal < diaInicial || diaFinal < 0 || diaInicial >= CAPACIDADE_DIAS) {
+            return 0L;
+        }
+        int fim = limitarDia(diaFinal);
+        int inicio = limitarDia(diaInicial);
+        return prefixo(fim) - (inicio > 0 ? prefixo(inicio - 1) : 0L);
+    }
+
+    private void atualizarContribuicao(int i) {
+        long liquido = valores[i] + Math.round(valores[i] * taxas[i] / 100.0);
+        contribuicoes[i] = Math.max(0L, liquido - recebidos[i]);
+        adicionarNaArvore(dias[i], contribuicoes[i]);
+    }
+
+    private void adicionarNaArvore(int dia, long valor) {
+        if (valor == 0) {
+            return;
+        }
+        for (int i = dia + 1; i <= CAPACIDADE_DIAS; i += i & -i) {
+            arvore[i] += valor;
+        }
+    }
+
+    private long prefixo(int dia) {
+        long soma = 0;
+        for (int i = dia + 1; i > 0; i -= i & -i) {
+            soma += arvore[i];
+        }
+        return soma;
+    }
+
+    private int alocarPosicao() {
+        if (quantidadeLivres > 0) {
+            return posicoesLivres[--quantidadeLivres];
+        }
+        if (proximaPosicao == dias.length) {
+            int novaCapacidade = dias.length * 2;
+            dias = Arrays.copyOf(dias, novaCapacidade);
+            valores = Arrays.copyOf(valores, novaCapacidade);
+            taxas = Arrays.copyOf(taxas, novaCapacidade);
+            recebidos = Arrays.copyOf(recebidos, novaCapacidade);
+            contribuicoes = Arrays.copyOf(contribuicoes, novaCapacidade);
+        }
+        return proximaPosicao++;
+    }
+
+    private void liberarPosicao(int posicao) {
+        if (quantidadeLivres == posicoesLivres.length) {
+            posicoesLivres = Arrays.copyOf(posicoesLivres, posicoesLivres.length * 2);
+        }
+        posicoesLivres[quantidadeLivres++] = posicao;
+    }
+
+    private static int limitarDia(long dia) {
+        return (int) Math.max(0L, Math.min(CAPACIDADE_DIAS - 1L, dia));
+    }
+}
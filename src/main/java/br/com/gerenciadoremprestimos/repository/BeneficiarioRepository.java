@@ -1,19 +1,127 @@
 package br.com.gerenciadoremprestimos.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO;
+import br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface BeneficiarioRepository extends JpaRepository<Beneficiario, Long> {
+public interface BeneficiarioRepository extends JpaRepository<Beneficiario, Long>, BeneficiarioRepositoryCustom {
+
+    String SELECT_RESUMO = "SELECT new br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO(b.id, b.nome, " +
+            "COUNT(e), COUNT(CASE WHEN e.quitado = false THEN 1 END), " +
+            "COALESCE(SUM(e.valorEmprestimo), 0.0), " +
+            "COALESCE(SUM(CASE WHEN e.quitado = false THEN e.valorEmprestimo + ((e.porcentagem / 100) * e.valorEmprestimo) ELSE 0.0 END), 0.0), " +
+            "(SELECT COALESCE(SUM(p.valorPago), 0.0) FROM Pagamento p WHERE p.emprestimo.beneficiario.id = b.id), " +
+            "(SELECT COALESCE(SUM(p.valorPago), 0.0) FROM Pagamento p WHERE p.emprestimo.beneficiario.id = b.id AND p.emprestimo.quitado = false)) " +
+            "FROM Beneficiario b LEFT JOIN Emprestimo e ON e.beneficiario = b ";
     
     /**
      * Pesquisar por nome parcialmente e ignorando letra maisculas e minusculas de beneficiários 
      *
+     * Os beneficiários vêm como somente leitura e a consulta não provoca flush do contexto de persistência.
+     *
      * @param nome Nome do beneficiário
      * @return Lista de Beneficiários
      */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
     List<Beneficiario> findByNomeContainingIgnoreCase(String nome);
-}
\ No newline at end of file
+
+    /**
+     * Resume a carteira de um beneficiário (quantidades, valor emprestado, recebido e saldo devedor) em uma única consulta agrupada.
+     *
+     * @param id ID do beneficiário
+     * @return Resumo do beneficiário, vazio se o beneficiário não existir
+     */
+    @Query(SELECT_RESUMO + "WHERE b.id = :id GROUP BY b.id, b.nome")
+    Optional<ResumoBeneficiarioResponseDTO> resumoPorBeneficiario(@Param("id") Long id);
+
+    /**
+     * Resume a carteira de todos os beneficiários de forma paginada, ordenados pelo nome.
+     *
+     * @param pageable Paginação
+     * @return Página de resumos dos beneficiários
+     */
+    @Query(value = SELECT_RESUMO + "GROUP BY b.id, b.nome ORDER BY b.nome, b.id",
+           countQuery = "SELECT COUNT(b) FROM Beneficiario b")
+    Page<ResumoBeneficiarioResponseDTO> resumoDeTodos(Pageable pageable);
+
+    /**
+     * Obtém a versão de um beneficiário sem carregar a entidade.
+     *
+     * @param id ID do beneficiário
+     * @return Versão do beneficiário, vazia se não existir
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VersaoDTO(b.id, b.versao, b.dataCriacao, b.dataAtualizacao) FROM Beneficiario b WHERE b.id = :id")
+    Optional<VersaoDTO> versao(@Param("id") Long id);
+
+    /**
+     * Obtém a versão da listagem de beneficiários: quantidade e última alteração.
+     *
+     * @return Versão da listagem
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VersaoDTO(COUNT(b), SUM(b.versao), MAX(b.dataCriacao), MAX(b.dataAtualizacao)) FROM Beneficiario b")
+    VersaoDTO versaoLista();
+
+    /**
+     * Lista os beneficiários informados sem carregar as entidades (e a imagem).
+     *
+     * @param ids IDs dos beneficiários
+     * @return Lista de beneficiários
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO(b.id, b.nome, b.numeroTelefone, b.dataCriacao, " +
+           "b.dataAtualizacao, b.versao, b.observacao) FROM Beneficiario b WHERE b.id IN :ids")
+    List<BeneficiarioResponseDTO> listarPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lista o nome e a observação de todos os beneficiários para montar o índice da busca textual.
+     * Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream com os textos dos beneficiários
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO(b.id, b.nome, b.observacao) FROM Beneficiario b")
+    Stream<DocumentoBuscaDTO> documentosBusca();
+
+    /**
+     * Grava o hash da imagem, conhecido apenas depois que o conteúdo foi gravado. A atualização é feita direto no
+     * banco para que a entidade não seja gravada de novo com o conteúdo já consumido.
+     *
+     * @param id ID do beneficiário
+     * @param hash Hash SHA-256 da imagem
+     * @return Quantidade de beneficiários atualizados
+     */
+    @Modifying
+    @Query("UPDATE Beneficiario b SET b.imagemHash = :hash WHERE b.id = :id")
+    int atualizarHashImagem(@Param("id") Long id, @Param("hash") String hash);
+
+    /**
+     * Imagem processada de algum beneficiário que enviou a mesma foto, para reaproveitá-la sem processar de novo.
+     *
+     * @param hash Hash SHA-256 da imagem enviada
+     * @param pagina Quantidade de resultados
+     * @return Hashes das imagens processadas
+     */
+    @Query("SELECT b.imagemProcessada.hash FROM Beneficiario b WHERE b.imagemHash = :hash AND b.imagemProcessada IS NOT NULL")
+    List<String> imagensProcessadas(@Param("hash") String hash, Pageable pagina);
+}
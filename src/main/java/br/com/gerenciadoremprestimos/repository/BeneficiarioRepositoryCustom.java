@@ -0,0 +1,25 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+
+public interface BeneficiarioRepositoryCustom {
+
+    /**
+     * Lista todos os beneficiários, em uma sessão sem estado: as entidades não são gerenciadas e não
+     * devem ser alteradas.
+     *
+     * @return Lista de beneficiários ordenada pelo ID
+     */
+    List<Beneficiario> listarSemContexto();
+
+    /**
+     * Busca o beneficiário pelo ID como somente leitura, sem snapshot para a verificação de alterações.
+     *
+     * @param id ID do beneficiário
+     * @return Beneficiário, vazio se não existir
+     */
+    Optional<Beneficiario> buscarSomenteLeitura(Long id);
+}
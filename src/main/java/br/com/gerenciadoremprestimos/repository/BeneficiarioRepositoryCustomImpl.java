@@ -0,0 +1,29 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementação das consultas somente leitura de Beneficiario via {@link LeituraSomenteLeitura}.
+ */
+class BeneficiarioRepositoryCustomImpl implements BeneficiarioRepositoryCustom {
+
+    private static final String LISTAR_TODOS = "SELECT b FROM Beneficiario b ORDER BY b.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Beneficiario> listarSemContexto() {
+        return LeituraSomenteLeitura.listarSemEstado(entityManager, LISTAR_TODOS, Beneficiario.class);
+    }
+
+    @Override
+    public Optional<Beneficiario> buscarSomenteLeitura(Long id) {
+        return LeituraSomenteLeitura.buscarPorId(entityManager, Beneficiario.class, id);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.gerenciadoremprestimos.model.ChaveIdempotencia;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Assume a reserva de uma chave não concluída cuja reserva anterior terminou, por exemplo porque a instância que
+     * a processava parou. A condição na própria atualização garante que apenas uma tentativa assuma a chave.
+     *
+     * @return Quantidade de chaves assumidas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.dataCriacao = :agora, c.bloqueadoAte = :bloqueadoAte, c.expiraEm = :expiraEm " +
+           "WHERE c.chave = :chave AND c.concluida = false AND (c.bloqueadoAte IS NULL OR c.bloqueadoAte <= :agora)")
+    int assumir(@Param("chave") String chave, @Param("agora") LocalDateTime agora,
+                @Param("bloqueadoAte") LocalDateTime bloqueadoAte, @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Grava a resposta da requisição que reservou a chave.
+     *
+     * @return Quantidade de chaves atualizadas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.concluida = true, c.status = :status, c.contentType = :contentType, " +
+           "c.corpo = :corpo, c.expiraEm = :expiraEm WHERE c.chave = :chave")
+    int concluir(@Param("chave") String chave, @Param("status") Integer status, @Param("contentType") String contentType,
+                 @Param("corpo") byte[] corpo, @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Remove as chaves cujo prazo de retenção terminou.
+     *
+     * @param agora Data e hora atual
+     * @return Quantidade de chaves removidas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.expiraEm < :agora")
+    int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,19 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import br.com.gerenciadoremprestimos.model.DiaJuros;
+
+@Repository
+public interface DiaJurosRepository extends JpaRepository<DiaJuros, LocalDate> {
+
+    /**
+     * @return Último dia com a apropriação concluída, ou nulo se nenhum dia foi apropriado
+     */
+    @Query("SELECT MAX(d.data) FROM DiaJuros d")
+    LocalDate ultimoDia();
+}
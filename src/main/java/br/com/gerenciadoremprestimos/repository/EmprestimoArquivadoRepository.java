@@ -0,0 +1,94 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.gerenciadoremprestimos.dto.ResumoArquivadoDTO;
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
+import br.com.gerenciadoremprestimos.model.EmprestimoArquivado;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Consultas e movimentação do arquivo de empréstimos. As instruções nativas informam a tabela alterada para que o
+ * Hibernate não invalide todo o cache de segundo nível a cada lote.
+ */
+@Repository
+public interface EmprestimoArquivadoRepository extends JpaRepository<EmprestimoArquivado, Long> {
+
+    /**
+     * Bloqueia os empréstimos informados que ainda podem ser arquivados, conferindo novamente os critérios: entre a
+     * seleção e o lote o empréstimo pode ter sido reaberto, alterado ou recebido um pagamento.
+     *
+     * @param ids IDs selecionados para o lote
+     * @param limite Data limite do arquivamento
+     * @return IDs bloqueados até o fim da transação
+     */
+    @Query(value = "SELECT e.id FROM emprestimo e WHERE e.id IN (:ids) AND e.quitado = true " +
+           "AND (e.data_atualizacao IS NULL OR e.data_atualizacao < :limite) " +
+           "AND NOT EXISTS (SELECT 1 FROM pagamento p WHERE p.emprestimo_id = e.id AND p.data_pagamento >= :limite) " +
+           "FOR UPDATE", nativeQuery = true)
+    List<Long> bloquearArquivaveis(@Param("ids") Collection<Long> ids, @Param("limite") LocalDateTime limite);
+
+    /**
+     * Copia os empréstimos informados para o arquivo.
+     *
+     * @return Quantidade de empréstimos copiados
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "emprestimo_arquivo"))
+    @Query(value = "INSERT INTO emprestimo_arquivo (id, versao, data_criacao, data_atualizacao, observacao, data_emprestimo, " +
+           "data_pagamento, valor_emprestimo, porcentagem, quitado, beneficiario_id, data_arquivamento) " +
+           "SELECT id, versao, data_criacao, data_atualizacao, observacao, data_emprestimo, data_pagamento, valor_emprestimo, " +
+           "porcentagem, quitado, beneficiario_id, :agora FROM emprestimo WHERE id IN (:ids)", nativeQuery = true)
+    int copiar(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove os empréstimos informados da tabela principal, após a cópia e a remoção dos pagamentos.
+     *
+     * @return Quantidade de empréstimos removidos
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "emprestimo"))
+    @Query(value = "DELETE FROM emprestimo WHERE id IN (:ids)", nativeQuery = true)
+    int removerOriginais(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Soma o valor dos empréstimos arquivados agrupado por mês e ano do empréstimo, dentro de um período.
+     *
+     * @param inicio Data inicial (inclusiva)
+     * @param fim Data final (exclusiva)
+     * @return Lista com a soma dos valores emprestados por mês
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.ValorMensalDTO(YEAR(e.dataEmprestimo), MONTH(e.dataEmprestimo), SUM(e.valorEmprestimo)) " +
+           "FROM EmprestimoArquivado e WHERE e.dataEmprestimo >= :inicio AND e.dataEmprestimo < :fim " +
+           "GROUP BY YEAR(e.dataEmprestimo), MONTH(e.dataEmprestimo)")
+    List<ValorMensalDTO> valorTotalEmprestadoAgrupadoPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Resume os empréstimos arquivados (quantidade, valor emprestado e recebido) dos beneficiários informados.
+     * Empréstimos arquivados estão quitados, portanto não entram no saldo devedor.
+     *
+     * @param ids IDs dos beneficiários
+     * @return Resumos dos beneficiários que possuem empréstimos arquivados
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.ResumoArquivadoDTO(e.beneficiarioId, COUNT(e), COALESCE(SUM(e.valorEmprestimo), 0.0), " +
+           "(SELECT COALESCE(SUM(p.valorPago), 0.0) FROM PagamentoArquivado p WHERE p.emprestimoId IN " +
+           "(SELECT a.id FROM EmprestimoArquivado a WHERE a.beneficiarioId = e.beneficiarioId))) " +
+           "FROM EmprestimoArquivado e WHERE e.beneficiarioId IN :ids GROUP BY e.beneficiarioId")
+    List<ResumoArquivadoDTO> resumoPorBeneficiarios(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return Data do empréstimo arquivado mais recente, nula se o arquivo estiver vazio
+     */
+    @Query("SELECT MAX(e.dataEmprestimo) FROM EmprestimoArquivado e")
+    LocalDateTime maiorDataEmprestimo();
+}
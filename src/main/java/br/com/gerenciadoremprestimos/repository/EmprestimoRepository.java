@@ -1,17 +1,33 @@
 package br.com.gerenciadoremprestimos.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO;
+import br.com.gerenciadoremprestimos.dto.EmprestimoEmAbertoDTO;
+import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.ValorAReceberMensalDTO;
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
+import br.com.gerenciadoremprestimos.dto.VencimentoDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 
 @Repository
-public interface EmprestimoRepository extends JpaRepository<Emprestimo, Long> {
+public interface EmprestimoRepository extends JpaRepository<Emprestimo, Long>, EmprestimoRepositoryCustom {
+
+    String SELECT_SEM_RELACOES = "SELECT new br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO(e.id, e.dataEmprestimo, e.dataPagamento, " +
+            "e.valorEmprestimo, e.porcentagem, e.quitado, e.beneficiario.id, e.dataCriacao, e.dataAtualizacao, e.versao, e.observacao) " +
+            "FROM Emprestimo e ";
 
     /**
      * Encontra empréstimos entre duas datas de empréstimo.
@@ -94,4 +110,140 @@ public interface EmprestimoRepository extends JpaRepository<Emprestimo, Long> {
      */
     @Query("SELECT SUM((e.porcentagem / 100) * e.valorEmprestimo) FROM Emprestimo e WHERE YEAR(e.dataPagamento) = :year AND MONTH(e.dataPagamento) = :month AND e.quitado = false")
     Double valorTotalBrutoAReceberPorMes(@Param("year") Integer year, @Param("month") Integer month);
+
+    /**
+     * Soma o valor dos empréstimos agrupado por mês e ano do empréstimo, dentro de um período.
+     *
+     * @param inicio Data inicial (inclusiva)
+     * @param fim Data final (exclusiva)
+     * @return Lista com a soma dos valores emprestados por mês
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.ValorMensalDTO(YEAR(e.dataEmprestimo), MONTH(e.dataEmprestimo), SUM(e.valorEmprestimo)) " +
+           "FROM Emprestimo e WHERE e.dataEmprestimo >= :inicio AND e.dataEmprestimo < :fim " +
+           "GROUP BY YEAR(e.dataEmprestimo), MONTH(e.dataEmprestimo)")
+    List<ValorMensalDTO> valorTotalEmprestadoAgrupadoPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Soma os valores bruto e líquido a receber dos empréstimos não quitados, agrupados por mês e ano de pagamento, dentro de um período.
+     *
+     * @param inicio Data inicial (inclusiva)
+     * @param fim Data final (exclusiva)
+     * @return Lista com as somas dos valores bruto e líquido a receber por mês
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.ValorAReceberMensalDTO(YEAR(e.dataPagamento), MONTH(e.dataPagamento), " +
+           "SUM((e.porcentagem / 100) * e.valorEmprestimo), SUM(e.valorEmprestimo + ((e.porcentagem / 100) * e.valorEmprestimo))) " +
+           "FROM Emprestimo e WHERE e.dataPagamento >= :inicio AND e.dataPagamento < :fim AND e.quitado = false " +
+           "GROUP BY YEAR(e.dataPagamento), MONTH(e.dataPagamento)")
+    List<ValorAReceberMensalDTO> valorTotalAReceberAgrupadoPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Lista os empréstimos não quitados com o total já recebido de cada um, sem carregar as entidades.
+     * Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream com os empréstimos em aberto
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.EmprestimoEmAbertoDTO(e.id, e.dataPagamento, e.valorEmprestimo, e.porcentagem, " +
+           "(SELECT COALESCE(SUM(p.valorPago), 0.0) FROM Pagamento p WHERE p.emprestimo = e)) " +
+           "FROM Emprestimo e WHERE e.quitado = false")
+    Stream<EmprestimoEmAbertoDTO> emprestimosEmAberto();
+
+    /**
+     * Lista os empréstimos não quitados vencidos antes da data informada, em uma faixa de IDs, com o total já
+     * recebido de cada um.
+     *
+     * @param vencimento Empréstimos com vencimento anterior a esta data
+     * @param idInicial Menor ID da faixa (inclusive)
+     * @param idFinal Maior ID da faixa (exclusive)
+     * @return Empréstimos em atraso ordenados pelo ID
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.EmprestimoEmAbertoDTO(e.id, e.dataPagamento, e.valorEmprestimo, e.porcentagem, " +
+           "(SELECT COALESCE(SUM(p.valorPago), 0.0) FROM Pagamento p WHERE p.emprestimo = e)) " +
+           "FROM Emprestimo e WHERE e.quitado = false AND e.dataPagamento < :vencimento " +
+           "AND e.id >= :idInicial AND e.id < :idFinal ORDER BY e.id")
+    List<EmprestimoEmAbertoDTO> emprestimosEmAtraso(@Param("vencimento") LocalDateTime vencimento,
+                                                    @Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal);
+
+    /**
+     * @param vencimento Empréstimos com vencimento anterior a esta data
+     * @return Menor ID dos empréstimos não quitados vencidos, ou nulo se não houver
+     */
+    @Query("SELECT MIN(e.id) FROM Emprestimo e WHERE e.quitado = false AND e.dataPagamento < :vencimento")
+    Long menorIdEmAtraso(@Param("vencimento") LocalDateTime vencimento);
+
+    /**
+     * @param vencimento Empréstimos com vencimento anterior a esta data
+     * @return Maior ID dos empréstimos não quitados vencidos, ou nulo se não houver
+     */
+    @Query("SELECT MAX(e.id) FROM Emprestimo e WHERE e.quitado = false AND e.dataPagamento < :vencimento")
+    Long maiorIdEmAtraso(@Param("vencimento") LocalDateTime vencimento);
+
+    /**
+     * Lista o ID e a data de pagamento dos empréstimos não quitados, sem carregar as entidades.
+     * Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream com os vencimentos dos empréstimos em aberto
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VencimentoDTO(e.id, e.dataPagamento) FROM Emprestimo e WHERE e.quitado = false")
+    Stream<VencimentoDTO> vencimentosEmAberto();
+
+    /**
+     * Obtém a versão de um empréstimo (incluindo o beneficiário da resposta) sem carregar a entidade.
+     *
+     * @param id ID do empréstimo
+     * @return Versão do empréstimo, vazia se não existir
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VersaoDTO(e.id, e.versao, e.dataCriacao, e.dataAtualizacao, b.dataCriacao, b.dataAtualizacao) " +
+           "FROM Emprestimo e JOIN e.beneficiario b WHERE e.id = :id")
+    Optional<VersaoDTO> versao(@Param("id") Long id);
+
+    /**
+     * Obtém a versão da listagem de empréstimos: quantidade e última alteração entre empréstimos e beneficiários.
+     *
+     * @return Versão da listagem
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VersaoDTO(COUNT(e), SUM(e.versao), MAX(e.dataCriacao), MAX(e.dataAtualizacao), " +
+           "MAX(b.dataCriacao), MAX(b.dataAtualizacao)) FROM Emprestimo e JOIN e.beneficiario b")
+    VersaoDTO versaoLista();
+
+    /**
+     * Lista os empréstimos com o beneficiário apenas pelo ID, sem junção com a tabela de beneficiários.
+     *
+     * @return Lista de empréstimos ordenada pelo ID
+     */
+    @Query(SELECT_SEM_RELACOES + "ORDER BY e.id")
+    List<EmprestimoResponseDTO> listarSemRelacoes();
+
+    /**
+     * Lista os empréstimos informados com o beneficiário apenas pelo ID, sem junção com a tabela de beneficiários.
+     *
+     * @param ids IDs dos empréstimos
+     * @return Lista de empréstimos
+     */
+    @Query(SELECT_SEM_RELACOES + "WHERE e.id IN :ids")
+    List<EmprestimoResponseDTO> listarSemRelacoesPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lista os IDs dos empréstimos que podem ser arquivados: quitados, sem alteração e com todas as datas (do
+     * empréstimo, do vencimento e dos pagamentos) anteriores ao limite, em ordem de ID a partir do último lote.
+     *
+     * @param limite Data limite do arquivamento
+     * @param aposId Último ID do lote anterior
+     * @param pageable Tamanho do lote
+     * @return IDs do próximo lote
+     */
+    @Query("SELECT e.id FROM Emprestimo e WHERE e.id > :aposId AND e.quitado = true " +
+           "AND e.dataEmprestimo < :limite AND e.dataPagamento < :limite " +
+           "AND (e.dataAtualizacao IS NULL OR e.dataAtualizacao < :limite) " +
+           "AND NOT EXISTS (SELECT p FROM Pagamento p WHERE p.emprestimo = e AND p.dataPagamento >= :limite) " +
+           "ORDER BY e.id")
+    List<Long> idsArquivaveis(@Param("limite") LocalDateTime limite, @Param("aposId") Long aposId, Pageable pageable);
+
+    /**
+     * Lista a observação dos empréstimos que a têm preenchida para montar o índice da busca textual.
+     * Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream com os textos dos empréstimos
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO(e.id, e.observacao) FROM Emprestimo e WHERE e.observacao IS NOT NULL")
+    Stream<DocumentoBuscaDTO> documentosBusca();
 }
@@ -0,0 +1,25 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+
+public interface EmprestimoRepositoryCustom {
+
+    /**
+     * Lista todos os empréstimos, com o beneficiário, em uma sessão sem estado: as entidades não são gerenciadas e não
+     * devem ser alteradas.
+     *
+     * @return Lista de empréstimos ordenada pelo ID
+     */
+    List<Emprestimo> listarSemContexto();
+
+    /**
+     * Busca o empréstimo pelo ID como somente leitura, sem snapshot para a verificação de alterações.
+     *
+     * @param id ID do empréstimo
+     * @return Empréstimo, vazio se não existir
+     */
+    Optional<Emprestimo> buscarSomenteLeitura(Long id);
+}
@@ -0,0 +1,29 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementação das consultas somente leitura de Emprestimo via {@link LeituraSomenteLeitura}.
+ */
+class EmprestimoRepositoryCustomImpl implements EmprestimoRepositoryCustom {
+
+    private static final String LISTAR_TODOS = "SELECT e FROM Emprestimo e JOIN FETCH e.beneficiario ORDER BY e.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Emprestimo> listarSemContexto() {
+        return LeituraSomenteLeitura.listarSemEstado(entityManager, LISTAR_TODOS, Emprestimo.class);
+    }
+
+    @Override
+    public Optional<Emprestimo> buscarSomenteLeitura(Long id) {
+        return LeituraSomenteLeitura.buscarPorId(entityManager, Emprestimo.class, id);
+    }
+}
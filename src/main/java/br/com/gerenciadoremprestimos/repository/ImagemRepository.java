@@ -0,0 +1,10 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import br.com.gerenciadoremprestimos.model.Imagem;
+
+@Repository
+public interface ImagemRepository extends JpaRepository<Imagem, String> {
+}
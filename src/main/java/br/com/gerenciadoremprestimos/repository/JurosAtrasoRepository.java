@@ -0,0 +1,29 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.gerenciadoremprestimos.model.JurosAtraso;
+
+@Repository
+public interface JurosAtrasoRepository extends JpaRepository<JurosAtraso, JurosAtraso.Chave> {
+
+    /**
+     * Lista os juros de atraso apropriados para o empréstimo, do dia mais antigo para o mais recente.
+     *
+     * @param emprestimoId ID do empréstimo
+     * @return Juros apropriados por dia
+     */
+    List<JurosAtraso> findByEmprestimoIdOrderByDataAsc(Long emprestimoId);
+
+    /**
+     * @param emprestimoId ID do empréstimo
+     * @return Total dos juros de atraso apropriados para o empréstimo
+     */
+    @Query("SELECT COALESCE(SUM(j.valor), 0.0) FROM JurosAtraso j WHERE j.emprestimoId = :emprestimoId")
+    Double totalPorEmprestimo(@Param("emprestimoId") Long emprestimoId);
+}
@@ -0,0 +1,55 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Apoio às consultas somente leitura dos repositórios.
+ *
+ * Uma entidade carregada normalmente fica no contexto de persistência com uma cópia do estado (snapshot) para a
+ * verificação de alterações no flush. As transações {@code readOnly} do Spring já marcam a sessão como somente
+ * leitura, mas só quando iniciam a transação; aqui a marcação vale também quando a consulta participa de uma
+ * transação de escrita.
+ */
+final class LeituraSomenteLeitura {
+
+    /**
+     * Quantidade de linhas trazidas do banco a cada ida nas listagens completas.
+     */
+    static final int TAMANHO_BUSCA = 500;
+
+    private LeituraSomenteLeitura() {
+    }
+
+    /**
+     * Carrega a entidade pelo ID como somente leitura: continua passando pelo cache de segundo nível, mas sem
+     * snapshot, e as alterações feitas nela nunca são gravadas.
+     */
+    static <T> Optional<T> buscarPorId(EntityManager entityManager, Class<T> tipo, Long id) {
+        return entityManager.unwrap(Session.class).byId(tipo).withReadOnly(true).loadOptional(id);
+    }
+
+    /**
+     * Executa a consulta em uma sessão sem estado ({@link StatelessSession}) sobre a conexão da transação atual:
+     * as entidades não entram no contexto de persistência, nem no cache de segundo nível, e são liberadas assim que
+     * a lista deixa de ser usada. As relações devem vir na própria consulta (JOIN FETCH), pois não há carregamento
+     * sob demanda fora da sessão.
+     */
+    static <T> List<T> listarSemEstado(EntityManager entityManager, String consulta, Class<T> tipo) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(conexao -> {
+            try (StatelessSession sessaoSemEstado = session.getSessionFactory().withStatelessOptions()
+                    .connection(conexao)
+                    .openStatelessSession()) {
+                return sessaoSemEstado.createSelectionQuery(consulta, tipo)
+                        .setFetchSize(TAMANHO_BUSCA)
+                        .getResultList();
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
+import br.com.gerenciadoremprestimos.model.PagamentoArquivado;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface PagamentoArquivadoRepository extends JpaRepository<PagamentoArquivado, Long> {
+
+    /**
+     * Copia os pagamentos dos empréstimos informados para o arquivo.
+     *
+     * @return Quantidade de pagamentos copiados
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "pagamento_arquivo"))
+    @Query(value = "INSERT INTO pagamento_arquivo (id, versao, data_criacao, data_atualizacao, observacao, data_pagamento, " +
+           "valor_pago, tipo_pagamento, emprestimo_id, data_arquivamento) " +
+           "SELECT id, versao, data_criacao, data_atualizacao, observacao, data_pagamento, valor_pago, tipo_pagamento, " +
+           "emprestimo_id, :agora FROM pagamento WHERE emprestimo_id IN (:ids)", nativeQuery = true)
+    int copiar(@Param("ids") Collection<Long> emprestimoIds, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove da tabela principal os pagamentos dos empréstimos informados, após a cópia.
+     *
+     * @return Quantidade de pagamentos removidos
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "pagamento"))
+    @Query(value = "DELETE FROM pagamento WHERE emprestimo_id IN (:ids)", nativeQuery = true)
+    int removerOriginais(@Param("ids") Collection<Long> emprestimoIds);
+
+    /**
+     * Soma o valor dos pagamentos arquivados agrupado por mês e ano, dentro de um período.
+     *
+     * @param inicio Data inicial (inclusiva)
+     * @param fim Data final (exclusiva)
+     * @return Lista com a soma dos valores recebidos por mês
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.ValorMensalDTO(YEAR(p.dataPagamento), MONTH(p.dataPagamento), SUM(p.valorPago)) " +
+           "FROM PagamentoArquivado p WHERE p.dataPagamento >= :inicio AND p.dataPagamento < :fim " +
+           "GROUP BY YEAR(p.dataPagamento), MONTH(p.dataPagamento)")
+    List<ValorMensalDTO> valorTotalRecebidoAgrupadoPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * @return Data do pagamento arquivado mais recente, nula se o arquivo estiver vazio
+     */
+    @Query("SELECT MAX(p.dataPagamento) FROM PagamentoArquivado p")
+    LocalDateTime maiorDataPagamento();
+}
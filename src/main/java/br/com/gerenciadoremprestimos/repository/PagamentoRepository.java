@@ -1,17 +1,24 @@
 package br.com.gerenciadoremprestimos.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO;
+import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 import br.com.gerenciadoremprestimos.model.Pagamento;
 
 @Repository
-public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
+public interface PagamentoRepository extends JpaRepository<Pagamento, Long>, PagamentoRepositoryCustom {
 
     /**
      * Encontra pagamentos para um empréstimo ordenados pela data de pagamento ascendente.
@@ -40,6 +47,54 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
     @Query("SELECT SUM(p.valorPago) FROM Pagamento p WHERE YEAR(p.dataPagamento) = :ano AND MONTH(p.dataPagamento) = :mes")
     Double valorTotalRecebidoPorMes(@Param("ano") int ano, @Param("mes") int mes);
 
+    /**
+     * Soma o valor dos pagamentos agrupado por mês e ano, dentro de um período.
+     *
+     * @param inicio Data inicial (inclusiva)
+     * @param fim Data final (exclusiva)
+     * @return Lista com a soma dos valores recebidos por mês
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.ValorMensalDTO(YEAR(p.dataPagamento), MONTH(p.dataPagamento), SUM(p.valorPago)) " +
+           "FROM Pagamento p WHERE p.dataPagamento >= :inicio AND p.dataPagamento < :fim " +
+           "GROUP BY YEAR(p.dataPagamento), MONTH(p.dataPagamento)")
+    List<ValorMensalDTO> valorTotalRecebidoAgrupadoPorMes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
-}                    
+    /**
+     * Obtém a versão de um pagamento (incluindo o empréstimo e o beneficiário da resposta) sem carregar a entidade.
+     *
+     * @param id ID do pagamento
+     * @return Versão do pagamento, vazia se não existir
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VersaoDTO(p.id, p.versao, p.dataCriacao, p.dataAtualizacao, e.dataCriacao, e.dataAtualizacao, " +
+           "b.dataCriacao, b.dataAtualizacao) FROM Pagamento p JOIN p.emprestimo e JOIN e.beneficiario b WHERE p.id = :id")
+    Optional<VersaoDTO> versao(@Param("id") Long id);
 
+    /**
+     * Obtém a versão da listagem de pagamentos: quantidade e última alteração entre pagamentos, empréstimos e beneficiários.
+     *
+     * @return Versão da listagem
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.VersaoDTO(COUNT(p), SUM(p.versao), MAX(p.dataCriacao), MAX(p.dataAtualizacao), " +
+           "MAX(e.dataCriacao), MAX(e.dataAtualizacao), MAX(b.dataCriacao), MAX(b.dataAtualizacao)) " +
+           "FROM Pagamento p JOIN p.emprestimo e JOIN e.beneficiario b")
+    VersaoDTO versaoLista();
+
+    /**
+     * Lista os pagamentos com o empréstimo apenas pelo ID, sem junção com as tabelas de empréstimos e beneficiários.
+     *
+     * @return Lista de pagamentos ordenada pelo ID
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO(p.id, p.dataPagamento, p.valorPago, p.tipoPagamento, " +
+           "p.emprestimo.id, p.dataCriacao, p.dataAtualizacao, p.versao, p.observacao) FROM Pagamento p ORDER BY p.id")
+    List<PagamentoResponseDTO> listarSemRelacoes();
+
+    /**
+     * Lista a observação dos pagamentos que a têm preenchida para montar o índice da busca textual.
+     * Deve ser consumido dentro de uma transação.
+     *
+     * @return Stream com os textos dos pagamentos
+     */
+    @Query("SELECT new br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO(p.id, p.emprestimo.id, p.observacao) FROM Pagamento p " +
+           "WHERE p.observacao IS NOT NULL")
+    Stream<DocumentoBuscaDTO> documentosBusca();
+}
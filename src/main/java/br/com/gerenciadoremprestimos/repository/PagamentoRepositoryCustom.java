@@ -0,0 +1,25 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Pagamento;
+
+public interface PagamentoRepositoryCustom {
+
+    /**
+     * Lista todos os pagamentos, com o empréstimo e o beneficiário, em uma sessão sem estado: as entidades não são gerenciadas e não
+     * devem ser alteradas.
+     *
+     * @return Lista de pagamentos ordenada pelo ID
+     */
+    List<Pagamento> listarSemContexto();
+
+    /**
+     * Busca o pagamento pelo ID como somente leitura, sem snapshot para a verificação de alterações.
+     *
+     * @param id ID do pagamento
+     * @return Pagamento, vazio se não existir
+     */
+    Optional<Pagamento> buscarSomenteLeitura(Long id);
+}
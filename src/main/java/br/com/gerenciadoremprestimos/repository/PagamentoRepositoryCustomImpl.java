@@ -0,0 +1,29 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementação das consultas somente leitura de Pagamento via {@link LeituraSomenteLeitura}.
+ */
+class PagamentoRepositoryCustomImpl implements PagamentoRepositoryCustom {
+
+    private static final String LISTAR_TODOS = "SELECT p FROM Pagamento p JOIN FETCH p.emprestimo e JOIN FETCH e.beneficiario ORDER BY p.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Pagamento> listarSemContexto() {
+        return LeituraSomenteLeitura.listarSemEstado(entityManager, LISTAR_TODOS, Pagamento.class);
+    }
+
+    @Override
+    public Optional<Pagamento> buscarSomenteLeitura(Long id) {
+        return LeituraSomenteLeitura.buscarPorId(entityManager, Pagamento.class, id);
+    }
+}
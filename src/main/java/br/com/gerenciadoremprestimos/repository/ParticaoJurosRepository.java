@@ -0,0 +1,22 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.gerenciadoremprestimos.model.ParticaoJuros;
+
+@Repository
+public interface ParticaoJurosRepository extends JpaRepository<ParticaoJuros, ParticaoJuros.Chave> {
+
+    /**
+     * @param data Dia da apropriação
+     * @return Números das partições já concluídas no dia
+     */
+    @Query("SELECT p.particao FROM ParticaoJuros p WHERE p.data = :data")
+    Set<Long> concluidas(@Param("data") LocalDate data);
+}
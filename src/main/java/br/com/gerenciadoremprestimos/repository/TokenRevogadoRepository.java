@@ -0,0 +1,37 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.gerenciadoremprestimos.model.TokenRevogado;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    /**
+     * Lista os tokens revogados que ainda não expiraram.
+     *
+     * @param agora Instante atual
+     * @return Tokens revogados vigentes
+     */
+    @Query("SELECT t FROM TokenRevogado t WHERE t.expiraEm > :agora")
+    List<TokenRevogado> listarVigentes(@Param("agora") Instant agora);
+
+    /**
+     * Remove os tokens revogados já expirados, que não seriam aceitos de qualquer forma.
+     *
+     * @param agora Instante atual
+     * @return Quantidade de registros removidos
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+    int removerExpirados(@Param("agora") Instant agora);
+}
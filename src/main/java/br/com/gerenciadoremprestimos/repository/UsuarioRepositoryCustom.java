@@ -0,0 +1,16 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.Optional;
+
+import br.com.gerenciadoremprestimos.model.Usuario;
+
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Busca o usuário pelo login (identificador natural), usando o cache de identificadores naturais.
+     *
+     * @param login Login do usuário
+     * @return Usuário, vazio se não existir
+     */
+    Optional<Usuario> findByLogin(String login);
+}
@@ -0,0 +1,29 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.gerenciadoremprestimos.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementação da busca por login via {@link Session#bySimpleNaturalId(Class)}. Uma consulta derivada
+ * (findByLogin) iria sempre ao banco; a busca por identificador natural passa pelo cache de segundo nível.
+ */
+class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Usuario> findByLogin(String login) {
+        if (login == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Usuario.class).loadOptional(login);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.gerenciadoremprestimos.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * {@link BCryptPasswordEncoder} que pede o recálculo da senha sempre que o custo gravado no hash for diferente do
+ * configurado, e não apenas quando for menor. Assim o custo pode ser ajustado nos dois sentidos conforme o tempo de
+ * login medido (métrica {@code login.hash}): o {@code DaoAuthenticationProvider} grava o novo hash pelo
+ * {@link org.springframework.security.core.userdetails.UserDetailsPasswordService} no próximo login de cada usuário.
+ */
+public class CodificadorSenhaAdaptativo extends BCryptPasswordEncoder {
+
+    private static final Pattern CUSTO = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int custo;
+
+    public CodificadorSenhaAdaptativo(int custo) {
+        super(custo);
+        this.custo = custo;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = CUSTO.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != custo;
+    }
+
+    public int getCusto() {
+        return custo;
+    }
+}
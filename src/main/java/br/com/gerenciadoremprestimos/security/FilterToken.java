@@ -23,6 +23,7 @@ public class FilterToken extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UsuarioRepository usuarioRepository;
+    private final RevogacaoTokens revogacaoTokens;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -34,15 +35,18 @@ public class FilterToken extends OncePerRequestFilter {
 
         if(authorizationHeader != null && !authorizationHeader.isEmpty()) {
             token = authorizationHeader.replace("Bearer ", "");
-            var subject = this.tokenService.getSubject(token);
+            var jwt = this.tokenService.verificarAcesso(token);
 
-            Usuario usuario = this.usuarioRepository.findByLogin(subject)
-                                .orElseThrow(() -> new UsernameNotFoundException("Login/Senha inválidos!"));
+            // Token revogado (logout): a requisição segue sem autenticação e é recusada pela autorização
+            if (!this.revogacaoTokens.isRevogado(jwt.getId())) {
+                Usuario usuario = this.usuarioRepository.findByLogin(jwt.getSubject())
+                                    .orElseThrow(() -> new UsernameNotFoundException("Login/Senha inválidos!"));
 
-            var authentication = new UsernamePasswordAuthenticationToken(usuario,
-                    null, usuario.getAuthorities());
+                var authentication = new UsernamePasswordAuthenticationToken(usuario,
+                        null, usuario.getAuthorities());
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,84 @@
+package br.com.gerenciadoremprestimos.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para cadeias de caracteres: responde "certamente ausente" ou "talvez presente" sem alocar objetos.
+ *
+ * O tamanho do vetor de bits e a quantidade de funções de hash são calculados a partir da capacidade esperada e da
+ * taxa de falsos positivos desejada. As posições são obtidas por hash duplo ({@code h1 + i * h2}) a partir de um
+ * único hash de 64 bits (FNV-1a seguido da mistura do SplitMix64). As leituras não usam bloqueio; as inclusões usam
+ * compare-and-set por palavra e podem ser feitas por várias threads.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+
+    /**
+     * @param capacidade Quantidade de elementos esperada
+     * @param taxaFalsosPositivos Taxa de falsos positivos desejada com a capacidade atingida, por exemplo 0.01
+     */
+    public FiltroBloom(int capacidade, double taxaFalsosPositivos) {
+        int n = Math.max(1, capacidade);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.quantidadeBits = Math.max(Long.SIZE, m);
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((quantidadeBits + Long.SIZE - 1) / Long.SIZE));
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash(valor);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, quantidadeBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+            } while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    /**
+     * @return {@code false} se o valor certamente não foi adicionado; {@code true} se talvez tenha sido
+     */
+    public boolean podeConter(String valor) {
+        long hash = hash(valor);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, quantidadeBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    private static long hash(String valor) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return misturar(hash);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
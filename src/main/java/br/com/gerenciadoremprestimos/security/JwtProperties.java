@@ -1,5 +1,7 @@
 package br.com.gerenciadoremprestimos.security;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -10,4 +12,31 @@ import lombok.Data;
 @Data
 public class JwtProperties {
     private String secret;
-}
\ No newline at end of file
+
+    /**
+     * Validade do token de acesso.
+     */
+    private Duration validadeAcesso = Duration.ofMinutes(30);
+
+    /**
+     * Validade do token de atualização, usado para obter um novo token de acesso sem informar a senha.
+     */
+    private Duration validadeAtualizacao = Duration.ofDays(7);
+
+    private Revogacao revogacao = new Revogacao();
+
+    @Data
+    public static class Revogacao {
+
+        /**
+         * Quantidade esperada de tokens revogados vigentes, usada no dimensionamento do filtro de Bloom.
+         */
+        private int capacidade = 100_000;
+
+        /**
+         * Taxa de falsos positivos do filtro de Bloom com a capacidade atingida; os positivos são confirmados no
+         * conjunto exato.
+         */
+        private double taxaFalsosPositivos = 0.01;
+    }
+}
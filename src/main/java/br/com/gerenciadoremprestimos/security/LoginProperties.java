@@ -0,0 +1,35 @@
+package br.com.gerenciadoremprestimos.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "login")
+@Data
+public class LoginProperties {
+
+    /**
+     * Custo (log2 das rodadas) do BCrypt para as novas senhas. Ao alterá-lo, as senhas gravadas com outro custo são
+     * recalculadas no próximo login de cada usuário.
+     */
+    private int custoBcrypt = 10;
+
+    /**
+     * Threads dedicadas à verificação das senhas no login.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Quantidade de logins que podem aguardar uma thread livre; acima disso o login é recusado com 503.
+     */
+    private int fila = 64;
+
+    /**
+     * Tempo sugerido ao cliente (cabeçalho {@code Retry-After}) quando o login é recusado por sobrecarga.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,106 @@
+package br.com.gerenciadoremprestimos.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.gerenciadoremprestimos.model.TokenRevogado;
+import br.com.gerenciadoremprestimos.repository.TokenRevogadoRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de tokens revogados consultada pelo {@link FilterToken} a cada requisição autenticada.
+ *
+ * A consulta passa primeiro por um {@link FiltroBloom}: para a quase totalidade dos tokens, que nunca foram
+ * revogados, a resposta sai do filtro em nanossegundos, sem bloqueio nem alocação. Só os positivos (revogados ou
+ * falsos positivos) são confirmados no conjunto exato. A tabela {@code token_revogado} é a fonte durável: o estado
+ * é montado a partir dela na inicialização e recarregado periodicamente, o que também descarta os tokens já expirados
+ * (que não podem ser removidos de um filtro de Bloom) e traz as revogações feitas em outras instâncias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevogacaoTokens {
+
+    private final TokenRevogadoRepository repository;
+    private final JwtProperties jwtProperties;
+
+    private volatile Estado estado;
+
+    private record Estado(FiltroBloom filtro, Set<String> revogados) {
+    }
+
+    @PostConstruct
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * @param jti Identificador do token
+     * @return {@code true} se o token foi revogado
+     */
+    public boolean isRevogado(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Estado atual = estado;
+        return atual.filtro().podeConter(jti) && atual.revogados().contains(jti);
+    }
+
+    /**
+     * Revoga o token até a sua expiração. A inserção na tabela falha se o token já foi revogado, inclusive por outra
+     * instância que ainda não aparece no estado local, de modo que apenas uma revogação é aceita.
+     *
+     * @param jti Identificador do token
+     * @param expiraEm Expiração do token
+     * @return {@code false} se o token já estava revogado
+     */
+    public synchronized boolean revogar(String jti, Instant expiraEm) {
+        if (isRevogado(jti)) {
+            return false;
+        }
+        try {
+            repository.saveAndFlush(new TokenRevogado(jti, expiraEm));
+        } catch (DataIntegrityViolationException e) {
+            // Revogado por outra instância desde a última recarga: é uma reutilização do token
+            adicionar(jti);
+            return false;
+        }
+        adicionar(jti);
+        return true;
+    }
+
+    /**
+     * Remonta o filtro e o conjunto exato a partir da tabela, sem os tokens já expirados.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revogacao.intervalo-recarga:PT1M}")
+    public synchronized void recarregar() {
+        Instant agora = Instant.now();
+        repository.removerExpirados(agora);
+        List<TokenRevogado> vigentes = repository.listarVigentes(agora);
+
+        JwtProperties.Revogacao configuracao = jwtProperties.getRevogacao();
+        FiltroBloom filtro = new FiltroBloom(Math.max(configuracao.getCapacidade(), vigentes.size() * 2),
+                configuracao.getTaxaFalsosPositivos());
+        Set<String> revogados = ConcurrentHashMap.newKeySet(vigentes.size());
+        for (TokenRevogado token : vigentes) {
+            filtro.adicionar(token.getJti());
+            revogados.add(token.getJti());
+        }
+
+        estado = new Estado(filtro, revogados);
+        log.debug("Lista de tokens revogados recarregada com {} tokens", revogados.size());
+    }
+
+    private void adicionar(String jti) {
+        estado.revogados().add(jti);
+        estado.filtro().adicionar(jti);
+    }
+}
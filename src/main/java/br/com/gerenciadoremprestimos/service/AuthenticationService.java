@@ -1,6 +1,7 @@
 package br.com.gerenciadoremprestimos.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -8,10 +9,12 @@ import org.springframework.stereotype.Service;
 import br.com.gerenciadoremprestimos.model.Usuario;
 import br.com.gerenciadoremprestimos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class AuthenticationService implements UserDetailsService  {
+public class AuthenticationService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -24,4 +27,16 @@ public class AuthenticationService implements UserDetailsService  {
         
         return usuario;
     }
+
+    /**
+     * Grava a senha recalculada no login quando o custo do BCrypt configurado é diferente do custo do hash gravado.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = (Usuario) user;
+        usuario.setPassword(newPassword);
+
+        log.info("Senha do usuário {} recalculada com o custo do BCrypt configurado", usuario.getLogin());
+        return usuarioRepository.save(usuario);
+    }
 }
@@ -2,23 +2,38 @@ package br.com.gerenciadoremprestimos.service;
 
 import br.com.gerenciadoremprestimos.dto.BeneficiarioRequestDTO;
 import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.event.ImagemEnviadaEvent;
+import br.com.gerenciadoremprestimos.exception.RecursoNaoEncontradoException;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.exception.VersaoDivergenteException;
+import br.com.gerenciadoremprestimos.imagem.DetectorImagem;
+import br.com.gerenciadoremprestimos.imagem.ImagemRecebida;
+import br.com.gerenciadoremprestimos.imagem.ProcessamentoImagens;
 import br.com.gerenciadoremprestimos.mapper.BeneficiarioMapper;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
 import br.com.gerenciadoremprestimos.util.Utils;
 import lombok.RequiredArgsConstructor;
 
-import org.apache.tika.Tika;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Locale;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,25 +43,38 @@ public class BeneficiarioService {
     private final BeneficiarioRepository beneficiarioRepository;
     private final MessageSource messageSource;
     private final BeneficiarioMapper beneficiarioMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DetectorImagem detectorImagem;
+
+    /**
+     * Data da última remoção, usada no Last-Modified da listagem. Começa com a subida da aplicação porque
+     * remoções anteriores não são conhecidas.
+     */
+    private volatile LocalDateTime ultimaRemocao = LocalDateTime.now();
     
     @Transactional
     public BeneficiarioResponseDTO inserir(BeneficiarioRequestDTO requestDTO) {
         Beneficiario beneficiario = beneficiarioMapper.paraEntidade(requestDTO);
 
         beneficiarioRepository.save(beneficiario);
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.INSERCAO, beneficiario, null));
         
         return beneficiarioMapper.paraDto(beneficiario);
     }
 
     @Transactional
-    public BeneficiarioResponseDTO atualizar(String id, BeneficiarioRequestDTO requestDTO) {
+    public BeneficiarioResponseDTO atualizar(String id, BeneficiarioRequestDTO requestDTO, String ifMatch) {
 
         validarId(id);
         
         Beneficiario beneficiario = obterBeneficiario(id);
+        validarVersao(beneficiario, ifMatch);
+        Beneficiario anterior = copiar(beneficiario);
         beneficiario = beneficiarioMapper.paraEntidadeAtualizar(beneficiario, requestDTO);
 
         beneficiarioRepository.save(beneficiario);
+        beneficiarioRepository.flush();
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, beneficiario, anterior));
         
         return beneficiarioMapper.paraDto(beneficiario);
     }
@@ -56,23 +84,64 @@ public class BeneficiarioService {
         validarId(id);
         Beneficiario beneficiario = obterBeneficiario(id);
         beneficiarioRepository.delete(beneficiario);
+        ultimaRemocao = LocalDateTime.now();
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.REMOCAO, beneficiario, null));
     }
 
+    /**
+     * Lista todos os beneficiários em uma sessão sem estado: as entidades só existem até virarem DTO.
+     */
     @Transactional(readOnly = true)
     public List<BeneficiarioResponseDTO> buscarTodos() {
-        return beneficiarioRepository.findAll()
+        return beneficiarioRepository.listarSemContexto()
                 .stream()
                 .map(beneficiarioMapper::paraDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca os beneficiários informados para montar a relação expandida de outras listagens.
+     *
+     * @param ids IDs dos beneficiários
+     * @param selecao Seleção de campos relativa ao beneficiário
+     * @return Beneficiários pelo ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BeneficiarioResponseDTO> buscarPorIds(Collection<Long> ids, SelecaoCampos selecao) {
+        return Utils.buscarEmLotes(ids, beneficiarioRepository::listarPorIds)
+                .stream()
+                .map(beneficiario -> beneficiarioMapper.selecionarCampos(beneficiario, selecao))
+                .collect(Collectors.toMap(BeneficiarioResponseDTO::getId, Function.identity()));
+    }
+
     @Transactional(readOnly = true)
     public BeneficiarioResponseDTO buscarPorId(String id) {
         validarId(id);
-        Beneficiario beneficiario = obterBeneficiario(id);
+        Beneficiario beneficiario = beneficiarioRepository.buscarSomenteLeitura(Long.valueOf(id))
+                .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("beneficiario.naoExiste", id)));
         return beneficiarioMapper.paraDto(beneficiario);
     }
 
+    /**
+     * Obtém a versão do beneficiario para requisições condicionais, sem carregar a entidade.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO obterVersao(String id) {
+        validarId(id);
+        return beneficiarioRepository.versao(Long.valueOf(id))
+        .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("beneficiario.naoExiste", id)));
+    }
+
+    /**
+     * Obtém a versão da listagem de beneficiarios para requisições condicionais.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO obterVersaoLista() {
+        VersaoDTO versao = beneficiarioRepository.versaoLista();
+        versao.setUltimaRemocao(ultimaRemocao);
+        return versao;
+    }
+
     
     @Transactional(readOnly = true)
     public List<BeneficiarioResponseDTO> buscarPorNome(String nome) {
@@ -82,41 +151,59 @@ public class BeneficiarioService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Grava a imagem do beneficiário sem carregar o arquivo em memória: o formato é identificado pelo cabeçalho e o
+     * conteúdo segue do arquivo recebido direto para o banco, calculando o hash no caminho. Após o commit, a imagem
+     * é processada em segundo plano por {@link ProcessamentoImagens}.
+     */
+    @Transactional
     public void salvarImagem(String id, MultipartFile file)   {
         validarId(id);
 
-        try {
-            Beneficiario beneficiario = obterBeneficiario(id);
+        Beneficiario beneficiario = obterBeneficiario(id);
 
-            if (!isImage(file)) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("beneficiario.arquivoDeveSerImagem"));
+        try (ImagemRecebida imagem = detectorImagem.abrir(file.getInputStream())) {
+            if (!imagem.isImagem()) {
+                throw new RequisicaoInvalidaException(obterMensagem("beneficiario.arquivoDeveSerImagem"));
             }
 
-            beneficiario.setImagem(file.getBytes());
+            beneficiario.setImagem(BlobProxy.generateProxy(imagem.getConteudo(), file.getSize()));
+            beneficiario.setImagemProcessada(null);
+            beneficiarioRepository.saveAndFlush(beneficiario);
 
-            beneficiarioRepository.save(beneficiario);
+            beneficiarioRepository.atualizarHashImagem(beneficiario.getId(), imagem.hash());
+            eventPublisher.publishEvent(new ImagemEnviadaEvent(beneficiario.getId(), imagem.hash()));
         } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("beneficiario.falhaAoSalvarImagem"));
+            throw new RequisicaoInvalidaException(obterMensagem("beneficiario.falhaAoSalvarImagem"));
         }
 
     }
-    
-    private boolean isImage(MultipartFile file) throws IOException {
-        Tika tika = new Tika();
-
-        String mimeType = tika.detect(file.getBytes());
-        return mimeType.startsWith("image/");
-    }
 
     private void validarId(String id){
         if (!Utils.contemApenasNumeros(id)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("beneficiario.idInvalido", id));
+            throw new RequisicaoInvalidaException(obterMensagem("beneficiario.idInvalido", id));
+        }
+    }
+
+    /**
+     * Confere a versão informada no If-Match com a versão atual, evitando sobrescrever uma alteração feita por
+     * outro usuário depois da consulta.
+     */
+    private void validarVersao(Beneficiario beneficiario, String ifMatch) {
+        if (!Utils.etagCorrespondeAVersao(ifMatch, beneficiario.getVersao())) {
+            throw new VersaoDivergenteException(obterMensagem("registro.versaoDivergente", beneficiario.getId()));
         }
     }
 
     public Beneficiario obterBeneficiario(String id){
         return beneficiarioRepository.findById(Long.valueOf(id))
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, obterMensagem("beneficiario.naoExiste", id)));
+        .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("beneficiario.naoExiste", id)));
+    }
+
+    private Beneficiario copiar(Beneficiario beneficiario) {
+        Beneficiario copia = new Beneficiario();
+        BeanUtils.copyProperties(beneficiario, copia, "imagem");
+        return copia;
     }
 
     private String obterMensagem(String code, Object... args) {
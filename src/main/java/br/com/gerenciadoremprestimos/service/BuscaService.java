@@ -0,0 +1,234 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.busca.BuscaProperties;
+import br.com.gerenciadoremprestimos.busca.IndiceBusca;
+import br.com.gerenciadoremprestimos.dto.DocumentoBuscaDTO;
+import br.com.gerenciadoremprestimos.dto.ResultadoBuscaDTO;
+import br.com.gerenciadoremprestimos.event.EmprestimosArquivadosEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.model.Base;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual no nome dos beneficiários e nas observações de beneficiários, empréstimos e pagamentos.
+ *
+ * O índice é atualizado após o commit, fora da requisição que fez a alteração: os textos são copiados da entidade
+ * no evento e aplicados por uma única thread, na ordem em que chegam, e ficam visíveis para a busca em até
+ * {@code busca.intervalo-atualizacao}. Na primeira subida (ou com o índice em memória) o índice é montado a partir
+ * do banco, e pode ser montado novamente a qualquer momento por {@link #reconstruir()}.
+ */
+@Slf4j
+@Service
+public class BuscaService {
+
+    private final IndiceBusca indice;
+    private final BeneficiarioRepository beneficiarioRepository;
+    private final EmprestimoRepository emprestimoRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final BuscaProperties properties;
+    private final MessageSource messageSource;
+
+    /**
+     * Transação da montagem do índice, no banco principal (não é somente leitura): a montagem limpa o índice, e uma
+     * alteração confirmada pouco antes, cujo evento já foi aplicado, ficaria fora dele até a próxima montagem se a
+     * leitura viesse de uma réplica atrasada.
+     */
+    private final TransactionTemplate transacao;
+
+    private final ExecutorService atualizacao = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "indice-busca");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BuscaService(IndiceBusca indice, BeneficiarioRepository beneficiarioRepository,
+                        EmprestimoRepository emprestimoRepository, PagamentoRepository pagamentoRepository,
+                        BuscaProperties properties, MessageSource messageSource,
+                        PlatformTransactionManager transactionManager) {
+        this.indice = indice;
+        this.beneficiarioRepository = beneficiarioRepository;
+        this.emprestimoRepository = emprestimoRepository;
+        this.pagamentoRepository = pagamentoRepository;
+        this.properties = properties;
+        this.messageSource = messageSource;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Monta o índice a partir do banco quando ele ainda não existe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (indice.isNovo()) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Busca as entidades que contêm todos os termos do texto, da mais para a menos relevante.
+     *
+     * @param texto Texto da busca
+     * @param limite Quantidade máxima de resultados; nulo usa {@code busca.limite-padrao}
+     * @return Resultados ordenados pela relevância
+     */
+    public List<ResultadoBuscaDTO> buscar(String texto, Integer limite) {
+        if (texto == null || texto.isBlank()) {
+            throw new RequisicaoInvalidaException(obterMensagem("busca.textoObrigatorio"));
+        }
+        int quantidade = limite == null ? properties.getLimitePadrao() : limite;
+        if (quantidade < 1 || quantidade > properties.getLimiteMaximo()) {
+            throw new RequisicaoInvalidaException(obterMensagem("busca.limiteInvalido", properties.getLimiteMaximo()));
+        }
+
+        try {
+            return indice.buscar(texto, quantidade);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Agenda a montagem do índice a partir do banco. As alterações recebidas durante a montagem são aplicadas em
+     * seguida; até o fim dela a busca continua respondendo com o índice anterior, que é mantido se a montagem falhar.
+     */
+    public void reconstruir() {
+        atualizacao.execute(() -> executar("reconstruir o índice", () -> {
+            long inicio = System.currentTimeMillis();
+            // Confirma as alterações já aplicadas, para que uma falha descarte apenas a própria montagem
+            indice.confirmar();
+            indice.limpar();
+            int quantidade;
+            try {
+                quantidade = transacao.execute(status -> {
+                    int total = 0;
+                    total += indexar(IndiceBusca.TIPO_BENEFICIARIO, beneficiarioRepository.documentosBusca());
+                    total += indexar(IndiceBusca.TIPO_EMPRESTIMO, emprestimoRepository.documentosBusca());
+                    total += indexar(IndiceBusca.TIPO_PAGAMENTO, pagamentoRepository.documentosBusca());
+                    return total;
+                });
+            } catch (RuntimeException e) {
+                indice.descartar();
+                throw e;
+            }
+            indice.confirmar();
+            log.info("Índice da busca montado com {} registros em {} ms", quantidade, System.currentTimeMillis() - inicio);
+        }));
+    }
+
+    /**
+     * Atualiza o índice após o commit das alterações de beneficiários, empréstimos e pagamentos.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        Base entidade = event.getEntidade();
+        String tipo;
+        String nome = null;
+        Long emprestimoId = null;
+        if (entidade instanceof Beneficiario beneficiario) {
+            tipo = IndiceBusca.TIPO_BENEFICIARIO;
+            nome = beneficiario.getNome();
+        } else if (entidade instanceof Emprestimo) {
+            tipo = IndiceBusca.TIPO_EMPRESTIMO;
+        } else if (entidade instanceof Pagamento pagamento) {
+            tipo = IndiceBusca.TIPO_PAGAMENTO;
+            emprestimoId = pagamento.getEmprestimo() == null ? null : pagamento.getEmprestimo().getId();
+        } else {
+            return;
+        }
+
+        long id = entidade.getId();
+        if (event.getOperacao() == Operacao.REMOCAO) {
+            atualizacao.execute(() -> executar("remover do índice", () -> indice.remover(tipo, id)));
+        } else {
+            String texto = nome;
+            String observacao = entidade.getObservacao();
+            Long emprestimo = emprestimoId;
+            atualizacao.execute(() -> executar("atualizar o índice", () -> indice.atualizar(tipo, id, texto, observacao, emprestimo)));
+        }
+    }
+
+    /**
+     * Remove do índice os empréstimos movidos para o arquivo, com os seus pagamentos.
+     */
+    @TransactionalEventListener
+    public void aoArquivarEmprestimos(EmprestimosArquivadosEvent event) {
+        List<Long> ids = List.copyOf(event.getIds());
+        atualizacao.execute(() -> executar("remover os empréstimos arquivados do índice", () -> indice.removerEmprestimos(ids)));
+    }
+
+    /**
+     * Torna visíveis para a busca as alterações aplicadas desde a última confirmação.
+     */
+    @Scheduled(fixedDelayString = "${busca.intervalo-atualizacao:PT1S}")
+    public void confirmar() {
+        atualizacao.execute(() -> executar("confirmar o índice", indice::confirmar));
+    }
+
+    @PreDestroy
+    public void finalizar() throws InterruptedException {
+        confirmar();
+        atualizacao.shutdown();
+        atualizacao.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private int indexar(String tipo, Stream<DocumentoBuscaDTO> documentos) {
+        int quantidade = 0;
+        try (documentos) {
+            for (DocumentoBuscaDTO documento : (Iterable<DocumentoBuscaDTO>) documentos::iterator) {
+                indice.atualizar(tipo, documento.getId(), documento.getNome(), documento.getObservacao(), documento.getEmprestimoId());
+                quantidade++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Executa uma escrita no índice registrando a falha sem interromper a thread de atualização; o índice pode ser
+     * corrigido com {@link #reconstruir()}.
+     */
+    private void executar(String descricao, EscritaIndice escrita) {
+        try {
+            escrita.executar();
+        } catch (Exception e) {
+            log.error("Falha ao {} da busca", descricao, e);
+        }
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+
+    @FunctionalInterface
+    private interface EscritaIndice {
+        void executar() throws IOException;
+    }
+}
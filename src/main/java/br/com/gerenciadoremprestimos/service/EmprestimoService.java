@@ -1,23 +1,35 @@
 package br.com.gerenciadoremprestimos.service;
 
+import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
 import br.com.gerenciadoremprestimos.dto.EmprestimoRequestDTO;
 import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.exception.RecursoNaoEncontradoException;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.exception.VersaoDivergenteException;
 import br.com.gerenciadoremprestimos.mapper.EmprestimoMapper;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
 import br.com.gerenciadoremprestimos.util.Utils;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Locale;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +40,13 @@ public class EmprestimoService {
     private final MessageSource messageSource;
     private final EmprestimoMapper emprestimoMapper;
     private final BeneficiarioService beneficiarioService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Data da última remoção, usada no Last-Modified da listagem. Começa com a subida da aplicação porque
+     * remoções anteriores não são conhecidas.
+     */
+    private volatile LocalDateTime ultimaRemocao = LocalDateTime.now();
 
     @Transactional
     public EmprestimoResponseDTO inserir(EmprestimoRequestDTO requestDTO) {
@@ -37,20 +56,25 @@ public class EmprestimoService {
         Emprestimo emprestimo = emprestimoMapper.paraEntidade(requestDTO, beneficiario);
 
         emprestimoRepository.save(emprestimo);
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.INSERCAO, emprestimo, null));
         
         return emprestimoMapper.paraDto(emprestimo);
     }
 
     @Transactional
-    public EmprestimoResponseDTO atualizar(String id, EmprestimoRequestDTO requestDTO) {
+    public EmprestimoResponseDTO atualizar(String id, EmprestimoRequestDTO requestDTO, String ifMatch) {
 
         validarId(id);
 
         Beneficiario beneficiario = beneficiarioService.obterBeneficiario(String.valueOf(requestDTO.getBeneficiarioId()));
         Emprestimo emprestimo     = obterEmprestimo(id);
+        validarVersao(emprestimo, ifMatch);
+        Emprestimo anterior       = copiar(emprestimo);
         emprestimo                = emprestimoMapper.paraEntidadeAtualizar(emprestimo, requestDTO, beneficiario);
 
         emprestimoRepository.save(emprestimo);
+        emprestimoRepository.flush();
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, emprestimo, anterior));
         
         return emprestimoMapper.paraDto(emprestimo);
     }
@@ -60,32 +84,111 @@ public class EmprestimoService {
         validarId(id);
         Emprestimo emprestimo = obterEmprestimo(id);
         emprestimoRepository.delete(emprestimo);
+        ultimaRemocao = LocalDateTime.now();
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.REMOCAO, emprestimo, null));
     }
 
+    /**
+     * Lista todos os empréstimos em uma sessão sem estado: as entidades só existem até virarem DTO.
+     */
     @Transactional(readOnly = true)
     public List<EmprestimoResponseDTO> buscarTodos() {
-        return emprestimoRepository.findAll()
+        return emprestimoRepository.listarSemContexto()
                 .stream()
                 .map(emprestimoMapper::paraDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista os empréstimos com a seleção de campos e relações informada. Sem seleção a listagem é a completa;
+     * com seleção o beneficiário só é consultado quando expandido, em uma única consulta pelos IDs distintos.
+     */
+    @Transactional(readOnly = true)
+    public List<EmprestimoResponseDTO> buscarTodos(SelecaoCampos selecao) {
+        if (selecao.isCompleta()) {
+            return buscarTodos();
+        }
+        return completar(emprestimoRepository.listarSemRelacoes(), selecao);
+    }
+
+    /**
+     * Busca os empréstimos informados para montar a relação expandida de outras listagens.
+     *
+     * @param ids IDs dos empréstimos
+     * @param selecao Seleção de campos relativa ao empréstimo
+     * @return Empréstimos pelo ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, EmprestimoResponseDTO> buscarPorIds(Collection<Long> ids, SelecaoCampos selecao) {
+        return completar(Utils.buscarEmLotes(ids, emprestimoRepository::listarSemRelacoesPorIds), selecao)
+                .stream()
+                .collect(Collectors.toMap(EmprestimoResponseDTO::getId, Function.identity()));
+    }
+
+    private List<EmprestimoResponseDTO> completar(List<EmprestimoResponseDTO> emprestimos, SelecaoCampos selecao) {
+        if (selecao.expande("beneficiario") && selecao.inclui("beneficiario")) {
+            Map<Long, BeneficiarioResponseDTO> beneficiarios = beneficiarioService.buscarPorIds(
+                    emprestimos.stream().map(emprestimo -> emprestimo.getBeneficiario().getId()).collect(Collectors.toSet()),
+                    selecao.relativa("beneficiario"));
+            emprestimos.forEach(emprestimo -> emprestimo.setBeneficiario(beneficiarios.get(emprestimo.getBeneficiario().getId())));
+        }
+        emprestimos.forEach(emprestimo -> emprestimoMapper.selecionarCampos(emprestimo, selecao));
+        return emprestimos;
+    }
+
     @Transactional(readOnly = true)
     public EmprestimoResponseDTO buscarPorId(String id) {
         validarId(id);
-        Emprestimo emprestimo = obterEmprestimo(id);
+        Emprestimo emprestimo = emprestimoRepository.buscarSomenteLeitura(Long.valueOf(id))
+                .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("emprestimo.naoExiste", id)));
         return emprestimoMapper.paraDto(emprestimo);
     }
 
+    /**
+     * Obtém a versão do emprestimo para requisições condicionais, sem carregar a entidade.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO obterVersao(String id) {
+        validarId(id);
+        return emprestimoRepository.versao(Long.valueOf(id))
+        .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("emprestimo.naoExiste", id)));
+    }
+
+    /**
+     * Obtém a versão da listagem de emprestimos para requisições condicionais.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO obterVersaoLista() {
+        VersaoDTO versao = emprestimoRepository.versaoLista();
+        versao.setUltimaRemocao(ultimaRemocao);
+        return versao;
+    }
+
     public void validarId(String id){
         if (!Utils.contemApenasNumeros(id)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("emprestimo.idInvalido", id));
+            throw new RequisicaoInvalidaException(obterMensagem("emprestimo.idInvalido", id));
+        }
+    }
+
+    /**
+     * Confere a versão informada no If-Match com a versão atual, evitando sobrescrever uma alteração feita por
+     * outro usuário depois da consulta.
+     */
+    private void validarVersao(Emprestimo emprestimo, String ifMatch) {
+        if (!Utils.etagCorrespondeAVersao(ifMatch, emprestimo.getVersao())) {
+            throw new VersaoDivergenteException(obterMensagem("registro.versaoDivergente", emprestimo.getId()));
         }
     }
 
     public Emprestimo obterEmprestimo(String id){
         return emprestimoRepository.findById(Long.valueOf(id))
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, obterMensagem("emprestimo.naoExiste", id)));
+        .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("emprestimo.naoExiste", id)));
+    }
+
+    private Emprestimo copiar(Emprestimo emprestimo) {
+        Emprestimo copia = new Emprestimo();
+        BeanUtils.copyProperties(emprestimo, copia);
+        return copia;
     }
 
     private String obterMensagem(String code, Object... args) {
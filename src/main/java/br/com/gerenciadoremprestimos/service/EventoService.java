@@ -0,0 +1,326 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.dto.EventoAlteracaoDTO;
+import br.com.gerenciadoremprestimos.event.BufferCircularEventos;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.util.Utils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fluxo de eventos de alteração (Server-Sent Events) para os painéis manterem suas listas atualizadas sem refazer
+ * as consultas completas.
+ *
+ * Os eventos são gerados após o commit e guardados em um buffer circular, que atribui o ID e guarda o evento sob o
+ * mesmo lock. Uma única thread distribui os eventos (retomada, novos eventos e heartbeat), colocando na fila de cada
+ * inscrição os eventos do buffer a partir do último enviado; assim os eventos saem na ordem dos IDs mesmo quando
+ * commits concorrentes agendam o envio fora de ordem. A escrita na conexão, que bloqueia enquanto o cliente não lê,
+ * é feita por outra thread, uma por inscrição com eventos pendentes: um cliente lento não atrasa a requisição que
+ * fez a alteração nem os demais clientes, e é descartado quando a fila dele enche.
+ */
+@Slf4j
+@Service
+public class EventoService {
+
+    static final String EVENTO_ALTERACAO = "alteracao";
+    static final String EVENTO_CONECTADO = "conectado";
+    static final String EVENTO_REINICIO = "reinicio";
+
+    private final MessageSource messageSource;
+    private final BufferCircularEventos buffer;
+    private final long tempoLimite;
+    private final int capacidadeFila;
+
+    private final ExecutorService envio = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "eventos-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Escrita dos eventos nas conexões; no máximo uma tarefa por inscrição.
+     */
+    private final ExecutorService escrita = Executors.newCachedThreadPool(tarefa -> {
+        Thread thread = new Thread(tarefa, "eventos-sse-escrita");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Inscrições ativas; acessada apenas pela thread de distribuição.
+     */
+    private final List<Inscricao> inscricoes = new ArrayList<>();
+
+    /**
+     * Indica que já há um envio dos novos eventos agendado; os commits seguintes não agendam outro, pois o envio
+     * agendado entregará também os eventos deles.
+     */
+    private final AtomicBoolean envioAgendado = new AtomicBoolean();
+
+    public EventoService(MessageSource messageSource,
+                         @Value("${eventos.capacidade:1024}") int capacidade,
+                         @Value("${eventos.tempo-limite:PT30M}") Duration tempoLimite) {
+        Instant agora = Instant.now();
+        this.messageSource = messageSource;
+        this.buffer = new BufferCircularEventos(capacidade, agora.getEpochSecond() * 1_000_000L + agora.getNano() / 1_000);
+        this.tempoLimite = tempoLimite.toMillis();
+        // a fila comporta o buffer inteiro (mais o evento de conexão e um heartbeat), de modo que a retomada caiba
+        // nela; um cliente que deixou de ler um buffer inteiro receberia "reinicio" de qualquer forma ao reconectar
+        this.capacidadeFila = capacidade + 2;
+    }
+
+    /**
+     * Inscreve um cliente no fluxo. Com o ID do último evento recebido, os eventos posteriores ainda no buffer são
+     * reenviados; se algum já foi descartado, o cliente recebe o evento "reinicio" e deve recarregar as listas.
+     *
+     * @param ultimoEventoId Valor do cabeçalho Last-Event-ID, nulo na primeira conexão
+     * @return Emissor do fluxo
+     */
+    public SseEmitter inscrever(String ultimoEventoId) {
+        Long ultimoId = converterUltimoId(ultimoEventoId);
+
+        Inscricao inscricao = new Inscricao(new SseEmitter(tempoLimite), capacidadeFila);
+        inscricao.emissor.onCompletion(() -> {
+            inscricao.encerrada = true;
+            envio.execute(() -> inscricoes.remove(inscricao));
+        });
+        inscricao.emissor.onTimeout(inscricao.emissor::complete);
+        inscricao.emissor.onError(erro -> inscricao.emissor.complete());
+
+        envio.execute(() -> {
+            inscricoes.add(inscricao);
+            if (ultimoId == null) {
+                inscricao.ultimoEnviado = buffer.ultimoId();
+                enviar(inscricao, SseEmitter.event().id(String.valueOf(inscricao.ultimoEnviado)).name(EVENTO_CONECTADO).data(""));
+            } else {
+                List<EventoAlteracaoDTO> posteriores = buffer.posteriores(ultimoId);
+                if (posteriores == null) {
+                    inscricao.ultimoEnviado = buffer.ultimoId();
+                    enviar(inscricao, SseEmitter.event().id(String.valueOf(inscricao.ultimoEnviado)).name(EVENTO_REINICIO).data(""));
+                } else {
+                    inscricao.ultimoEnviado = ultimoId;
+                    posteriores.forEach(evento -> enviar(inscricao, evento));
+                }
+            }
+        });
+
+        return inscricao.emissor;
+    }
+
+    /**
+     * Gera o evento de alteração após o commit e agenda o envio dos eventos pendentes às inscrições ativas.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        EventoAlteracaoDTO evento = criarEvento(event);
+        if (evento == null) {
+            return;
+        }
+        buffer.adicionar(evento);
+        if (envioAgendado.compareAndSet(false, true)) {
+            envio.execute(this::enviarNovosEventos);
+        }
+    }
+
+    /**
+     * Envia um comentário às inscrições para manter as conexões abertas e descartar as que foram encerradas.
+     */
+    @Scheduled(fixedDelayString = "${eventos.intervalo-heartbeat:PT15S}")
+    public void enviarHeartbeat() {
+        envio.execute(() -> List.copyOf(inscricoes).forEach(inscricao -> enviar(inscricao, SseEmitter.event().comment(""))));
+    }
+
+    @PreDestroy
+    public void finalizar() {
+        envio.execute(() -> {
+            List.copyOf(inscricoes).forEach(this::descartar);
+            escrita.shutdown();
+        });
+        envio.shutdown();
+    }
+
+    /**
+     * Entrega a cada inscrição os eventos do buffer posteriores ao último enviado a ela. Se o cliente ficou tão
+     * atrasado que algum evento já foi descartado, ele recebe o evento "reinicio".
+     */
+    private void enviarNovosEventos() {
+        envioAgendado.set(false);
+        for (Inscricao inscricao : List.copyOf(inscricoes)) {
+            List<EventoAlteracaoDTO> posteriores = buffer.posteriores(inscricao.ultimoEnviado);
+            if (posteriores == null) {
+                inscricao.ultimoEnviado = buffer.ultimoId();
+                enviar(inscricao, SseEmitter.event().id(String.valueOf(inscricao.ultimoEnviado)).name(EVENTO_REINICIO).data(""));
+            } else {
+                posteriores.forEach(evento -> enviar(inscricao, evento));
+            }
+        }
+    }
+
+    private void enviar(Inscricao inscricao, EventoAlteracaoDTO evento) {
+        if (evento.getId() <= inscricao.ultimoEnviado) {
+            return;
+        }
+        inscricao.ultimoEnviado = evento.getId();
+        enviar(inscricao, SseEmitter.event().id(String.valueOf(evento.getId())).name(EVENTO_ALTERACAO).data(evento, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Coloca o evento na fila da inscrição e agenda a escrita, se ainda não houver uma em andamento. Com a fila
+     * cheia o cliente não está acompanhando o fluxo (a escrita está bloqueada) e a inscrição é descartada; ao
+     * reconectar com o último ID recebido, ele recebe os eventos que ainda estiverem no buffer.
+     */
+    private void enviar(Inscricao inscricao, SseEmitter.SseEventBuilder evento) {
+        if (inscricao.encerrada) {
+            inscricoes.remove(inscricao);
+            return;
+        }
+        if (!inscricao.fila.offer(evento)) {
+            log.warn("Inscrição no fluxo de eventos descartada: o cliente não acompanhou os últimos {} eventos", capacidadeFila);
+            descartar(inscricao);
+            return;
+        }
+        if (inscricao.escrevendo.compareAndSet(false, true)) {
+            escrita.execute(() -> escrever(inscricao));
+        }
+    }
+
+    /**
+     * Remove a inscrição do fluxo. O emissor é encerrado pela tarefa de escrita, pois o encerramento espera o fim
+     * de uma escrita bloqueada e não pode prender a thread de distribuição.
+     */
+    private void descartar(Inscricao inscricao) {
+        inscricoes.remove(inscricao);
+        inscricao.encerrada = true;
+        inscricao.fila.clear();
+        if (inscricao.escrevendo.compareAndSet(false, true)) {
+            escrita.execute(() -> escrever(inscricao));
+        }
+    }
+
+    /**
+     * Escreve os eventos da fila na conexão, na thread de escrita. Termina quando a fila esvazia; um evento que
+     * chegue logo depois agenda outra escrita.
+     */
+    private void escrever(Inscricao inscricao) {
+        do {
+            SseEmitter.SseEventBuilder evento;
+            while (!inscricao.encerrada && (evento = inscricao.fila.poll()) != null) {
+                try {
+                    inscricao.emissor.send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    inscricao.encerrada = true;
+                }
+            }
+            if (inscricao.encerrada) {
+                inscricao.fila.clear();
+                inscricao.emissor.complete();
+                return;
+            }
+            inscricao.escrevendo.set(false);
+        } while (!inscricao.fila.isEmpty() && inscricao.escrevendo.compareAndSet(false, true));
+    }
+
+    /**
+     * Converte o cabeçalho Last-Event-ID, recusando valores que não sejam um ID válido (não numéricos ou além do
+     * maior long).
+     */
+    private Long converterUltimoId(String ultimoEventoId) {
+        if (ultimoEventoId == null) {
+            return null;
+        }
+        if (Utils.contemApenasNumeros(ultimoEventoId)) {
+            try {
+                return Long.parseLong(ultimoEventoId);
+            } catch (NumberFormatException e) {
+                // mais dígitos do que cabem em um long
+            }
+        }
+        throw new RequisicaoInvalidaException(obterMensagem("evento.idInvalido", ultimoEventoId));
+    }
+
+    private EventoAlteracaoDTO criarEvento(EntidadeAlteradaEvent event) {
+        EventoAlteracaoDTO evento = new EventoAlteracaoDTO();
+        evento.setEntidadeId(event.getEntidade().getId());
+        evento.setOperacao(event.getOperacao());
+        evento.setVersao(event.getEntidade().getVersao());
+
+        if (event.getEntidade() instanceof Emprestimo emprestimo) {
+            evento.setTipo("emprestimo");
+            evento.setValor(emprestimo.getValorEmprestimo());
+            evento.setQuitado(emprestimo.getQuitado());
+            evento.setBeneficiarioId(emprestimo.getBeneficiario() == null ? null : emprestimo.getBeneficiario().getId());
+            if (event.getAnterior() instanceof Emprestimo anterior && !Objects.equals(anterior.getValorEmprestimo(), emprestimo.getValorEmprestimo())) {
+                evento.setValorAnterior(anterior.getValorEmprestimo());
+            }
+        } else if (event.getEntidade() instanceof Pagamento pagamento) {
+            evento.setTipo("pagamento");
+            evento.setValor(pagamento.getValorPago());
+            evento.setEmprestimoId(pagamento.getEmprestimo() == null ? null : pagamento.getEmprestimo().getId());
+            if (event.getAnterior() instanceof Pagamento anterior && !Objects.equals(anterior.getValorPago(), pagamento.getValorPago())) {
+                evento.setValorAnterior(anterior.getValorPago());
+            }
+        } else if (event.getEntidade() instanceof Beneficiario) {
+            evento.setTipo("beneficiario");
+        } else {
+            return null;
+        }
+        return evento;
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+
+    private static class Inscricao {
+
+        private final SseEmitter emissor;
+
+        /**
+         * Eventos aguardando a escrita na conexão.
+         */
+        private final BlockingQueue<SseEmitter.SseEventBuilder> fila;
+
+        /**
+         * Indica que há uma tarefa de escrita agendada ou em andamento para a inscrição.
+         */
+        private final AtomicBoolean escrevendo = new AtomicBoolean();
+
+        private volatile boolean encerrada;
+
+        /**
+         * ID do último evento enviado; evita reenviar um evento que entrou no buffer durante a retomada. Acessado
+         * apenas pela thread de distribuição.
+         */
+        private long ultimoEnviado;
+
+        Inscricao(SseEmitter emissor, int capacidadeFila) {
+            this.emissor = emissor;
+            this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        }
+    }
+}
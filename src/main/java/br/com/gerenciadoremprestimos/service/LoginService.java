@@ -0,0 +1,119 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.dto.LoginRequestDTO;
+import br.com.gerenciadoremprestimos.dto.TokenResponseDTO;
+import br.com.gerenciadoremprestimos.exception.ServicoIndisponivelException;
+import br.com.gerenciadoremprestimos.model.Usuario;
+import br.com.gerenciadoremprestimos.security.LoginProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.context.MessageSource;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Autenticação do login fora das threads de requisição do Tomcat.
+ *
+ * A verificação da senha (BCrypt) é propositalmente lenta; executada na thread da requisição, uma rajada de logins
+ * ocupa todas as threads e trava a API inteira. Aqui ela roda em um pool próprio e limitado ({@code login.threads})
+ * com fila limitada ({@code login.fila}): a requisição é liberada enquanto aguarda o resultado e, com a fila cheia,
+ * o login é recusado na hora com 503 em vez de acumular espera.
+ *
+ * Métricas: {@code login.hash} (tempo de verificação), {@code login.espera} (tempo na fila), {@code login.fila}
+ * (logins aguardando), {@code login.ativos} e {@code login.rejeitados}.
+ */
+@Service
+public class LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+    private final MessageSource messageSource;
+    private final LoginProperties properties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer tempoHash;
+    private final Timer tempoEspera;
+    private final Counter rejeitados;
+
+    public LoginService(AuthenticationManager authenticationManager, TokenService tokenService, MessageSource messageSource,
+                        LoginProperties properties, MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+        this.messageSource = messageSource;
+        this.properties = properties;
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = runnable -> {
+            Thread thread = new Thread(runnable, "login-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getFila()), fabrica, new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoHash = Timer.builder("login.hash")
+                .description("Tempo de verificação da senha no login")
+                .register(meterRegistry);
+        this.tempoEspera = Timer.builder("login.espera")
+                .description("Tempo de espera do login na fila")
+                .register(meterRegistry);
+        this.rejeitados = Counter.builder("login.rejeitados")
+                .description("Logins recusados com a fila cheia")
+                .register(meterRegistry);
+        Gauge.builder("login.fila", executor, e -> e.getQueue().size())
+                .description("Logins aguardando uma thread livre")
+                .register(meterRegistry);
+        Gauge.builder("login.ativos", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins em verificação")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Autentica o usuário no pool de login.
+     *
+     * @param login Login e senha
+     * @return Tokens de acesso e de atualização, concluído quando a senha for verificada
+     * @throws ServicoIndisponivelException se a fila de logins estiver cheia
+     */
+    public CompletableFuture<TokenResponseDTO> autenticar(LoginRequestDTO login) {
+        long enfileirado = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                tempoEspera.record(System.nanoTime() - enfileirado, TimeUnit.NANOSECONDS);
+
+                Authentication authenticate = tempoHash.record(() -> authenticationManager
+                        .authenticate(new UsernamePasswordAuthenticationToken(login.getLogin(), login.getSenha())));
+
+                return tokenService.gerarTokens((Usuario) authenticate.getPrincipal());
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejeitados.increment();
+            throw new ServicoIndisponivelException(obterMensagem("login.sobrecarregado"), properties.getRetryAfter().toSeconds());
+        }
+    }
+
+    @PreDestroy
+    public void finalizar() {
+        executor.shutdown();
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+}
@@ -1,21 +1,31 @@
 package br.com.gerenciadoremprestimos.service;
 
 import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
 
+import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
 import br.com.gerenciadoremprestimos.dto.PagamentoRequestDTO;
 import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VersaoDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.exception.RecursoNaoEncontradoException;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.exception.VersaoDivergenteException;
 import br.com.gerenciadoremprestimos.mapper.PagamentoMapper;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 import br.com.gerenciadoremprestimos.model.Pagamento;
 import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.util.SelecaoCampos;
 import br.com.gerenciadoremprestimos.util.Utils;
 import lombok.RequiredArgsConstructor;
 
@@ -27,6 +37,13 @@ public class PagamentoService {
     private final EmprestimoService emprestimoService;
     private final PagamentoMapper pagamentoMapper;
     private final MessageSource messageSource;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Data da última remoção, usada no Last-Modified da listagem. Começa com a subida da aplicação porque
+     * remoções anteriores não são conhecidas.
+     */
+    private volatile LocalDateTime ultimaRemocao = LocalDateTime.now();
     
    @Transactional
     public PagamentoResponseDTO inserir(PagamentoRequestDTO requestDTO) {
@@ -36,20 +53,25 @@ public class PagamentoService {
         Pagamento pagamento = pagamentoMapper.paraEntidade(requestDTO, emprestimo);
 
         pagamentoRepository.save(pagamento);
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.INSERCAO, pagamento, null));
         
         return pagamentoMapper.paraDto(pagamento);
     }
 
     @Transactional
-    public PagamentoResponseDTO atualizar(String id, PagamentoRequestDTO requestDTO) {
+    public PagamentoResponseDTO atualizar(String id, PagamentoRequestDTO requestDTO, String ifMatch) {
 
         validarId(id);
 
         Emprestimo emprestimo = emprestimoService.obterEmprestimo(String.valueOf(requestDTO.getEmprestimoId()));
         Pagamento pagamento   = obterPagamento(id);
+        validarVersao(pagamento, ifMatch);
+        Pagamento anterior    = copiar(pagamento);
         pagamento             = pagamentoMapper.paraEntidadeAtualizar(pagamento, requestDTO, emprestimo);
 
         pagamentoRepository.save(pagamento);
+        pagamentoRepository.flush();
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, pagamento, anterior));
         
         return pagamentoMapper.paraDto(pagamento);
     }
@@ -59,32 +81,95 @@ public class PagamentoService {
         validarId(id);
         Pagamento pagamento = obterPagamento(id);
         pagamentoRepository.delete(pagamento);
+        ultimaRemocao = LocalDateTime.now();
+        eventPublisher.publishEvent(new EntidadeAlteradaEvent(Operacao.REMOCAO, pagamento, null));
     }
 
+    /**
+     * Lista todos os pagamentos em uma sessão sem estado: as entidades só existem até virarem DTO.
+     */
     @Transactional(readOnly = true)
     public List<PagamentoResponseDTO> buscarTodos() {
-        return pagamentoRepository.findAll()
+        return pagamentoRepository.listarSemContexto()
                 .stream()
                 .map(pagamentoMapper::paraDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista os pagamentos com a seleção de campos e relações informada. Sem seleção a listagem é a completa;
+     * com seleção cada relação expandida é consultada uma única vez pelos IDs distintos, sem junções.
+     */
+    @Transactional(readOnly = true)
+    public List<PagamentoResponseDTO> buscarTodos(SelecaoCampos selecao) {
+        if (selecao.isCompleta()) {
+            return buscarTodos();
+        }
+
+        List<PagamentoResponseDTO> pagamentos = pagamentoRepository.listarSemRelacoes();
+        if (selecao.expande("emprestimo") && selecao.inclui("emprestimo")) {
+            Map<Long, EmprestimoResponseDTO> emprestimos = emprestimoService.buscarPorIds(
+                    pagamentos.stream().map(pagamento -> pagamento.getEmprestimo().getId()).collect(Collectors.toSet()),
+                    selecao.relativa("emprestimo"));
+            pagamentos.forEach(pagamento -> pagamento.setEmprestimo(emprestimos.get(pagamento.getEmprestimo().getId())));
+        }
+        pagamentos.forEach(pagamento -> pagamentoMapper.selecionarCampos(pagamento, selecao));
+        return pagamentos;
+    }
+
     @Transactional(readOnly = true)
     public PagamentoResponseDTO buscarPorId(String id) {
         validarId(id);
-        Pagamento pagamento = obterPagamento(id);
+        Pagamento pagamento = pagamentoRepository.buscarSomenteLeitura(Long.valueOf(id))
+                .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("pagamento.naoExiste", id)));
         return pagamentoMapper.paraDto(pagamento);
     }
 
+    /**
+     * Obtém a versão do pagamento para requisições condicionais, sem carregar a entidade.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO obterVersao(String id) {
+        validarId(id);
+        return pagamentoRepository.versao(Long.valueOf(id))
+        .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("pagamento.naoExiste", id)));
+    }
+
+    /**
+     * Obtém a versão da listagem de pagamentos para requisições condicionais.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO obterVersaoLista() {
+        VersaoDTO versao = pagamentoRepository.versaoLista();
+        versao.setUltimaRemocao(ultimaRemocao);
+        return versao;
+    }
+
     public void validarId(String id){
         if (!Utils.contemApenasNumeros(id)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, obterMensagem("pagamento.idInvalido", id));
+            throw new RequisicaoInvalidaException(obterMensagem("pagamento.idInvalido", id));
+        }
+    }
+
+    /**
+     * Confere a versão informada no If-Match com a versão atual, evitando sobrescrever uma alteração feita por
+     * outro usuário depois da consulta.
+     */
+    private void validarVersao(Pagamento pagamento, String ifMatch) {
+        if (!Utils.etagCorrespondeAVersao(ifMatch, pagamento.getVersao())) {
+            throw new VersaoDivergenteException(obterMensagem("registro.versaoDivergente", pagamento.getId()));
         }
     }
 
     public Pagamento obterPagamento(String id){
         return pagamentoRepository.findById(Long.valueOf(id))
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, obterMensagem("pagamento.naoExiste", id)));
+        .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("pagamento.naoExiste", id)));
+    }
+
+    private Pagamento copiar(Pagamento pagamento) {
+        Pagamento copia = new Pagamento();
+        BeanUtils.copyProperties(pagamento, copia);
+        return copia;
     }
 
     private String obterMensagem(String code, Object... args) {
@@ -0,0 +1,228 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.dto.EmprestimoEmAbertoDTO;
+import br.com.gerenciadoremprestimos.dto.PeriodoPrevisaoDTO;
+import br.com.gerenciadoremprestimos.dto.PrevisaoRecebimentoResponseDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.exception.ServicoIndisponivelException;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.previsao.MotorPrevisaoRecebimento;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrevisaoRecebimentoService {
+
+    private static final int MAXIMO_MESES = 120;
+
+    /**
+     * Tempo sugerido ao cliente, no cabeçalho Retry-After, para consultar de novo enquanto a carga inicial não termina.
+     */
+    private static final long RETRY_AFTER_CARGA_SEGUNDOS = 5;
+
+    private final EmprestimoRepository emprestimoRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final MessageSource messageSource;
+
+    private final MotorPrevisaoRecebimento motor = new MotorPrevisaoRecebimento();
+
+    /**
+     * Alterações recebidas enquanto a previsão está sendo carregada; são reaplicadas ao final da carga.
+     */
+    private final List<EntidadeAlteradaEvent> pendentes = new ArrayList<>();
+
+    private volatile boolean carregado;
+
+    public enum Agrupamento {
+        DIA(1),
+        SEMANA(7);
+
+        private final int dias;
+
+        Agrupamento(int dias) {
+            this.dias = dias;
+        }
+    }
+
+    /**
+     * Carrega os empréstimos em aberto para a memória assim que a aplicação fica pronta.
+     *
+     * Executado no banco principal (transação que não é somente leitura): a partir da carga a previsão só é mantida
+     * pelas alterações confirmadas, então uma réplica atrasada deixaria de fora, sem correção posterior, o que foi
+     * confirmado pouco antes. A releitura dos pagamentos alterados durante a carga usa a mesma transação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        long inicio = System.nanoTime();
+        motor.limpar();
+
+        try (Stream<EmprestimoEmAbertoDTO> emprestimos = emprestimoRepository.emprestimosEmAberto()) {
+            emprestimos.forEach(e -> {
+                motor.registrarEmprestimo(e.getId(), diaEpoch(e.getDataPagamento()), centavos(e.getValorEmprestimo()), e.getPorcentagem());
+                motor.definirRecebido(e.getId(), centavos(e.getValorRecebido()));
+            });
+        }
+
+        synchronized (pendentes) {
+            reaplicar(pendentes);
+            pendentes.clear();
+            carregado = true;
+        }
+        log.info("Previsão de recebimentos carregada com {} empréstimos em aberto em {} ms",
+                 motor.quantidade(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    public PrevisaoRecebimentoResponseDTO previsao(int meses, String agrupamento) {
+        if (!carregado) {
+            throw new ServicoIndisponivelException(obterMensagem("previsao.carregando"), RETRY_AFTER_CARGA_SEGUNDOS);
+        }
+        if (meses < 1 || meses > MAXIMO_MESES) {
+            throw new RequisicaoInvalidaException(obterMensagem("previsao.mesesInvalido", MAXIMO_MESES));
+        }
+
+        Agrupamento tipo = converterAgrupamento(agrupamento);
+        LocalDate dataInicial = LocalDate.now();
+        LocalDate dataFinal = dataInicial.plusMonths(meses).minusDays(1);
+
+        long diaInicial = dataInicial.toEpochDay();
+        int quantidadePeriodos = (int) ((ChronoUnit.DAYS.between(dataInicial, dataFinal) + tipo.dias) / tipo.dias);
+
+        long[] totais = motor.somarPorPeriodo(diaInicial, tipo.dias, quantidadePeriodos);
+        long vencido = motor.somar(0, diaInicial - 1);
+
+        List<PeriodoPrevisaoDTO> periodos = new ArrayList<>(quantidadePeriodos);
+        for (int p = 0; p < quantidadePeriodos; p++) {
+            LocalDate inicio = dataInicial.plusDays((long) p * tipo.dias);
+            LocalDate fim = inicio.plusDays(tipo.dias - 1L);
+            periodos.add(new PeriodoPrevisaoDTO(inicio, fim.isAfter(dataFinal) ? dataFinal : fim, reais(totais[p])));
+        }
+
+        return new PrevisaoRecebimentoResponseDTO(dataInicial, dataFinal, reais(vencido), periodos);
+    }
+
+    /**
+     * Mantém a previsão atualizada após o commit das alterações de empréstimos e pagamentos.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        if (!(event.getEntidade() instanceof Emprestimo) && !(event.getEntidade() instanceof Pagamento)) {
+            return;
+        }
+        synchronized (pendentes) {
+            if (!carregado) {
+                pendentes.add(event);
+                return;
+            }
+        }
+        aplicar(event);
+    }
+
+    /**
+     * Reaplica as alterações recebidas durante a carga. Os empréstimos são simplesmente registrados de novo; já os
+     * pagamentos não podem ser somados outra vez, pois a consulta da carga pode ou não tê-los visto, então o valor
+     * recebido de cada empréstimo afetado é lido novamente do banco.
+     */
+    private void reaplicar(List<EntidadeAlteradaEvent> alteracoes) {
+        Map<Long, Emprestimo> recalcular = new LinkedHashMap<>();
+        for (EntidadeAlteradaEvent event : alteracoes) {
+            if (event.getEntidade() instanceof Emprestimo) {
+                aplicar(event);
+            } else if (event.getEntidade() instanceof Pagamento pagamento && pagamento.getEmprestimo() != null
+                    && pagamento.getEmprestimo().getId() != null) {
+                recalcular.put(pagamento.getEmprestimo().getId(), pagamento.getEmprestimo());
+            }
+        }
+        recalcular.forEach((id, emprestimo) -> {
+            if (motor.contem(id)) {
+                motor.definirRecebido(id, centavos(pagamentoRepository.valorTotalRecebidoPorEmprestimo(emprestimo)));
+            }
+        });
+    }
+
+    private void aplicar(EntidadeAlteradaEvent event) {
+        if (event.getEntidade() instanceof Emprestimo emprestimo) {
+            atualizarEmprestimo(event.getOperacao(), emprestimo);
+        } else if (event.getEntidade() instanceof Pagamento pagamento) {
+            if (event.getOperacao() == Operacao.REMOCAO) {
+                registrarPagamento(pagamento, -1);
+            } else {
+                if (event.getAnterior() instanceof Pagamento anterior) {
+                    registrarPagamento(anterior, -1);
+                }
+                registrarPagamento(pagamento, 1);
+            }
+        }
+    }
+
+    private void atualizarEmprestimo(Operacao operacao, Emprestimo emprestimo) {
+        long id = emprestimo.getId();
+
+        if (operacao == Operacao.REMOCAO || Boolean.TRUE.equals(emprestimo.getQuitado())) {
+            motor.removerEmprestimo(id);
+            return;
+        }
+
+        boolean reaberto = operacao == Operacao.ATUALIZACAO && !motor.contem(id);
+        motor.registrarEmprestimo(id, diaEpoch(emprestimo.getDataPagamento()), centavos(emprestimo.getValorEmprestimo()), emprestimo.getPorcentagem());
+
+        if (reaberto) {
+            motor.definirRecebido(id, centavos(pagamentoRepository.valorTotalRecebidoPorEmprestimo(emprestimo)));
+        }
+    }
+
+    private void registrarPagamento(Pagamento pagamento, int sinal) {
+        if (pagamento.getEmprestimo() != null && pagamento.getEmprestimo().getId() != null) {
+            motor.registrarPagamento(pagamento.getEmprestimo().getId(), sinal * centavos(pagamento.getValorPago()));
+        }
+    }
+
+    private Agrupamento converterAgrupamento(String agrupamento) {
+        try {
+            return Agrupamento.valueOf(agrupamento.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new RequisicaoInvalidaException(obterMensagem("previsao.agrupamentoInvalido"));
+        }
+    }
+
+    private static long diaEpoch(LocalDateTime data) {
+        return data.toLocalDate().toEpochDay();
+    }
+
+    private static long centavos(Double valor) {
+        return valor == null ? 0L : Math.round(valor * 100);
+    }
+
+    private static Double reais(long centavos) {
+        return centavos / 100.0;
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+}
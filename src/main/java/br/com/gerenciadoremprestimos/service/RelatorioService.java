@@ -0,0 +1,277 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.arquivamento.ArquivamentoEmprestimos;
+import br.com.gerenciadoremprestimos.dto.ResumoMensalResponseDTO;
+import br.com.gerenciadoremprestimos.dto.ValorAReceberMensalDTO;
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
+import br.com.gerenciadoremprestimos.event.EmprestimosArquivadosEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.repository.EmprestimoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class RelatorioService {
+
+    /**
+     * Quantidade máxima de meses de uma série.
+     */
+    static final int MESES_MAXIMO = 120;
+
+    /**
+     * Quantidade máxima de meses fechados no cache; os menos consultados são descartados primeiro.
+     */
+    static final int CAPACIDADE_CACHE = 600;
+
+    private final EmprestimoRepository emprestimoRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final EmprestimoArquivadoRepository emprestimoArquivadoRepository;
+    private final PagamentoArquivadoRepository pagamentoArquivadoRepository;
+    private final ArquivamentoEmprestimos arquivamento;
+    private final MessageSource messageSource;
+
+    /**
+     * Transação de leitura no banco principal: os meses fechados ficam no cache sem prazo de validade, então não
+     * podem ser calculados a partir de uma réplica atrasada.
+     */
+    private final TransactionTemplate leituraPrimario;
+
+    /**
+     * Transação somente leitura, encaminhada à réplica quando ela está habilitada; usada para os meses que não vão
+     * para o cache.
+     */
+    private final TransactionTemplate leituraReplica;
+
+    /**
+     * Meses já fechados (anteriores ao mês corrente) não mudam a não ser por lançamentos retroativos,
+     * que removem o mês afetado do cache através de {@link #aoAlterarEntidade(EntidadeAlteradaEvent)}. Limitado
+     * a {@link #CAPACIDADE_CACHE} meses (LRU).
+     */
+    private final Map<YearMonth, ResumoMensalResponseDTO> cacheMesesFechados = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<YearMonth, ResumoMensalResponseDTO> maisAntigo) {
+            return size() > CAPACIDADE_CACHE;
+        }
+    });
+
+    /**
+     * Incrementada a cada invalidação, evita que um cálculo iniciado antes da alteração grave dados antigos no cache.
+     */
+    private final AtomicLong geracaoCache = new AtomicLong();
+
+    public RelatorioService(EmprestimoRepository emprestimoRepository, PagamentoRepository pagamentoRepository,
+                            EmprestimoArquivadoRepository emprestimoArquivadoRepository,
+                            PagamentoArquivadoRepository pagamentoArquivadoRepository,
+                            ArquivamentoEmprestimos arquivamento, MessageSource messageSource,
+                            PlatformTransactionManager transactionManager) {
+        this.emprestimoRepository = emprestimoRepository;
+        this.pagamentoRepository = pagamentoRepository;
+        this.emprestimoArquivadoRepository = emprestimoArquivadoRepository;
+        this.pagamentoArquivadoRepository = pagamentoArquivadoRepository;
+        this.arquivamento = arquivamento;
+        this.messageSource = messageSource;
+        this.leituraPrimario = new TransactionTemplate(transactionManager);
+        this.leituraReplica = new TransactionTemplate(transactionManager);
+        this.leituraReplica.setReadOnly(true);
+    }
+
+    /**
+     * Os meses fechados que ainda não estão no cache são calculados no banco principal e guardados; o mês corrente
+     * e os futuros, que são sempre recalculados, podem vir da réplica. O período é limitado a
+     * {@link #MESES_MAXIMO} meses.
+     */
+    public List<ResumoMensalResponseDTO> serieMensal(String inicio, String fim) {
+        YearMonth mesInicial = converterMes(inicio);
+        YearMonth mesFinal   = converterMes(fim);
+
+        if (mesFinal.isBefore(mesInicial)) {
+            throw new RequisicaoInvalidaException(obterMensagem("relatorio.periodoInvalido"));
+        }
+        if (mesInicial.until(mesFinal, ChronoUnit.MONTHS) >= MESES_MAXIMO) {
+            throw new RequisicaoInvalidaException(obterMensagem("relatorio.periodoLongo", MESES_MAXIMO));
+        }
+
+        YearMonth mesAtual = YearMonth.now();
+        YearMonth primeiroFechadoPendente = null;
+        YearMonth ultimoFechadoPendente = null;
+
+        for (YearMonth mes = mesInicial; mes.isBefore(mesAtual) && !mes.isAfter(mesFinal); mes = mes.plusMonths(1)) {
+            if (!cacheMesesFechados.containsKey(mes)) {
+                if (primeiroFechadoPendente == null) {
+                    primeiroFechadoPendente = mes;
+                }
+                ultimoFechadoPendente = mes;
+            }
+        }
+
+        long geracao = geracaoCache.get();
+        Map<YearMonth, ResumoMensalResponseDTO> calculados = new HashMap<>();
+        if (primeiroFechadoPendente != null) {
+            YearMonth primeiro = primeiroFechadoPendente;
+            YearMonth ultimo = ultimoFechadoPendente;
+            calculados.putAll(leituraPrimario.execute(status -> calcularPeriodo(primeiro, ultimo)));
+        }
+        if (!mesFinal.isBefore(mesAtual)) {
+            YearMonth primeiro = mesInicial.isAfter(mesAtual) ? mesInicial : mesAtual;
+            calculados.putAll(leituraReplica.execute(status -> calcularPeriodo(primeiro, mesFinal)));
+        }
+
+        List<ResumoMensalResponseDTO> serie = new ArrayList<>();
+        for (YearMonth mes = mesInicial; !mes.isAfter(mesFinal); mes = mes.plusMonths(1)) {
+            ResumoMensalResponseDTO resumo = mes.isBefore(mesAtual) ? cacheMesesFechados.get(mes) : null;
+
+            if (resumo == null) {
+                resumo = calculados.getOrDefault(mes, resumoVazio(mes));
+                if (mes.isBefore(mesAtual)) {
+                    armazenar(mes, resumo, geracao);
+                }
+            }
+            serie.add(resumo);
+        }
+
+        return serie;
+    }
+
+    /**
+     * Guarda o mês calculado, a não ser que o cache tenha sido invalidado desde o início do cálculo. A geração é
+     * conferida de novo depois de gravar: como a invalidação incrementa a geração antes de remover os meses, uma
+     * invalidação que ocorra entre a primeira conferência e a gravação é sempre percebida aqui ou remove o mês
+     * gravado.
+     */
+    private void armazenar(YearMonth mes, ResumoMensalResponseDTO resumo, long geracao) {
+        if (geracao != geracaoCache.get()) {
+            return;
+        }
+        cacheMesesFechados.putIfAbsent(mes, resumo);
+        if (geracao != geracaoCache.get()) {
+            cacheMesesFechados.remove(mes, resumo);
+        }
+    }
+
+    /**
+     * Remove do cache os meses afetados por uma alteração de empréstimo ou pagamento, considerando o estado
+     * anterior e o atual da entidade.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        if (event.getEntidade() instanceof Emprestimo emprestimo) {
+            invalidarMeses(emprestimo.getDataEmprestimo(), emprestimo.getDataPagamento());
+            if (event.getAnterior() instanceof Emprestimo anterior) {
+                invalidarMeses(anterior.getDataEmprestimo(), anterior.getDataPagamento());
+            }
+        } else if (event.getEntidade() instanceof Pagamento pagamento) {
+            invalidarMeses(pagamento.getDataPagamento());
+            if (event.getAnterior() instanceof Pagamento anterior) {
+                invalidarMeses(anterior.getDataPagamento());
+            }
+        }
+    }
+
+    /**
+     * Descarta o cache a cada lote arquivado: um cálculo feito durante a movimentação pode ter contado o lote nas
+     * tabelas principais e no arquivo, ou em nenhuma delas.
+     */
+    @TransactionalEventListener
+    public void aoArquivarEmprestimos(EmprestimosArquivadosEvent event) {
+        geracaoCache.incrementAndGet();
+        cacheMesesFechados.clear();
+    }
+
+    private void invalidarMeses(LocalDateTime... datas) {
+        geracaoCache.incrementAndGet();
+        for (LocalDateTime data : datas) {
+            if (data != null) {
+                cacheMesesFechados.remove(YearMonth.from(data));
+            }
+        }
+    }
+
+    /**
+     * Calcula todos os meses do período com uma consulta agrupada por tabela, em vez de uma consulta por mês. O
+     * arquivo só é consultado quando o período alcança empréstimos arquivados; como eles estão quitados, entram
+     * apenas nos valores emprestado e recebido.
+     */
+    private Map<YearMonth, ResumoMensalResponseDTO> calcularPeriodo(YearMonth mesInicial, YearMonth mesFinal) {
+        LocalDateTime inicio = mesInicial.atDay(1).atStartOfDay();
+        LocalDateTime fim    = mesFinal.plusMonths(1).atDay(1).atStartOfDay();
+
+        Map<YearMonth, ResumoMensalResponseDTO> resumos = new HashMap<>();
+
+        for (ValorMensalDTO valor : emprestimoRepository.valorTotalEmprestadoAgrupadoPorMes(inicio, fim)) {
+            obterResumo(resumos, valor.getAno(), valor.getMes()).setValorEmprestado(valor.getValor());
+        }
+
+        for (ValorAReceberMensalDTO valor : emprestimoRepository.valorTotalAReceberAgrupadoPorMes(inicio, fim)) {
+            ResumoMensalResponseDTO resumo = obterResumo(resumos, valor.getAno(), valor.getMes());
+            resumo.setValorBrutoAReceber(valor.getValorBruto());
+            resumo.setValorLiquidoAReceber(valor.getValorLiquido());
+        }
+
+        for (ValorMensalDTO valor : pagamentoRepository.valorTotalRecebidoAgrupadoPorMes(inicio, fim)) {
+            obterResumo(resumos, valor.getAno(), valor.getMes()).setValorRecebido(valor.getValor());
+        }
+
+        if (arquivamento.precisaDoArquivo(inicio)) {
+            for (ValorMensalDTO valor : emprestimoArquivadoRepository.valorTotalEmprestadoAgrupadoPorMes(inicio, fim)) {
+                ResumoMensalResponseDTO resumo = obterResumo(resumos, valor.getAno(), valor.getMes());
+                resumo.setValorEmprestado(somar(resumo.getValorEmprestado(), valor.getValor()));
+            }
+
+            for (ValorMensalDTO valor : pagamentoArquivadoRepository.valorTotalRecebidoAgrupadoPorMes(inicio, fim)) {
+                ResumoMensalResponseDTO resumo = obterResumo(resumos, valor.getAno(), valor.getMes());
+                resumo.setValorRecebido(somar(resumo.getValorRecebido(), valor.getValor()));
+            }
+        }
+
+        return resumos;
+    }
+
+    private ResumoMensalResponseDTO obterResumo(Map<YearMonth, ResumoMensalResponseDTO> resumos, Integer ano, Integer mes) {
+        return resumos.computeIfAbsent(YearMonth.of(ano, mes), this::resumoVazio);
+    }
+
+    private static Double somar(Double a, Double b) {
+        return (a == null ? 0.0 : a) + (b == null ? 0.0 : b);
+    }
+
+    private ResumoMensalResponseDTO resumoVazio(YearMonth mes) {
+        return new ResumoMensalResponseDTO(mes.getYear(), mes.getMonthValue(), 0.0, 0.0, 0.0, 0.0);
+    }
+
+    private YearMonth converterMes(String mes) {
+        try {
+            return YearMonth.parse(mes);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new RequisicaoInvalidaException(obterMensagem("relatorio.mesInvalido"));
+        }
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+}
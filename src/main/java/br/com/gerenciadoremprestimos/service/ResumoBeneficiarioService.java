@@ -0,0 +1,175 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.arquivamento.ArquivamentoEmprestimos;
+import br.com.gerenciadoremprestimos.dto.ResumoArquivadoDTO;
+import br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.event.EmprestimosArquivadosEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.exception.RecursoNaoEncontradoException;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoArquivadoRepository;
+import br.com.gerenciadoremprestimos.util.Utils;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ResumoBeneficiarioService {
+
+    private final BeneficiarioRepository beneficiarioRepository;
+    private final EmprestimoArquivadoRepository emprestimoArquivadoRepository;
+    private final ArquivamentoEmprestimos arquivamento;
+    private final MessageSource messageSource;
+
+    @Value("${beneficiario.resumo.cache-habilitado:true}")
+    private boolean cacheHabilitado;
+
+    /**
+     * Resumos por ID do beneficiário; uma entrada é removida sempre que um empréstimo ou pagamento do
+     * beneficiário é alterado (ver {@link #aoAlterarEntidade(EntidadeAlteradaEvent)}).
+     */
+    private final Map<Long, ResumoBeneficiarioResponseDTO> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Incrementada a cada invalidação, evita que um cálculo iniciado antes da alteração grave dados antigos no cache.
+     */
+    private final AtomicLong geracaoCache = new AtomicLong();
+
+    /**
+     * Executado no banco principal (transação que não é somente leitura): o resumo fica no cache até a próxima
+     * alteração do beneficiário e não pode ser calculado a partir de uma réplica atrasada.
+     */
+    @Transactional
+    public ResumoBeneficiarioResponseDTO resumoPorBeneficiario(String id) {
+        validarId(id);
+        Long beneficiarioId = Long.valueOf(id);
+
+        ResumoBeneficiarioResponseDTO resumo = cacheHabilitado ? cache.get(beneficiarioId) : null;
+        if (resumo != null) {
+            return resumo;
+        }
+
+        long geracao = geracaoCache.get();
+        resumo = beneficiarioRepository.resumoPorBeneficiario(beneficiarioId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException(obterMensagem("beneficiario.naoExiste", id)));
+        incluirArquivo(List.of(resumo));
+
+        if (cacheHabilitado) {
+            armazenar(beneficiarioId, resumo, geracao);
+        }
+        return resumo;
+    }
+
+    /**
+     * Guarda o resumo, a não ser que o cache tenha sido invalidado desde o início do cálculo. A geração é conferida
+     * de novo depois de gravar, pois uma invalidação entre a primeira conferência e a gravação removeria a entrada
+     * antes de ela existir.
+     */
+    private void armazenar(Long beneficiarioId, ResumoBeneficiarioResponseDTO resumo, long geracao) {
+        if (geracao != geracaoCache.get()) {
+            return;
+        }
+        cache.putIfAbsent(beneficiarioId, resumo);
+        if (geracao != geracaoCache.get()) {
+            cache.remove(beneficiarioId, resumo);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ResumoBeneficiarioResponseDTO> resumoDeTodos(int pagina, int tamanho) {
+        Page<ResumoBeneficiarioResponseDTO> resumos = beneficiarioRepository.resumoDeTodos(PageRequest.of(pagina, tamanho));
+        incluirArquivo(resumos.getContent());
+        return resumos;
+    }
+
+    /**
+     * Soma aos resumos a quantidade e os valores dos empréstimos arquivados, em uma única consulta para todos os
+     * beneficiários informados. O saldo devedor e a quantidade em aberto não mudam: só empréstimos quitados são
+     * arquivados.
+     */
+    private void incluirArquivo(List<ResumoBeneficiarioResponseDTO> resumos) {
+        if (resumos.isEmpty() || !arquivamento.possuiArquivo()) {
+            return;
+        }
+
+        Map<Long, ResumoArquivadoDTO> arquivados = emprestimoArquivadoRepository
+                .resumoPorBeneficiarios(resumos.stream().map(ResumoBeneficiarioResponseDTO::getBeneficiarioId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ResumoArquivadoDTO::getBeneficiarioId, Function.identity()));
+
+        for (ResumoBeneficiarioResponseDTO resumo : resumos) {
+            ResumoArquivadoDTO arquivado = arquivados.get(resumo.getBeneficiarioId());
+            if (arquivado != null) {
+                resumo.setQuantidadeEmprestimos(resumo.getQuantidadeEmprestimos() + arquivado.getQuantidadeEmprestimos());
+                resumo.setValorEmprestado(resumo.getValorEmprestado() + arquivado.getValorEmprestado());
+                resumo.setValorRecebido(resumo.getValorRecebido() + arquivado.getValorRecebido());
+            }
+        }
+    }
+
+    /**
+     * Remove do cache os beneficiários afetados por uma alteração, considerando o estado anterior e o atual da entidade.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        invalidar(obterBeneficiarioId(event.getEntidade()));
+        invalidar(obterBeneficiarioId(event.getAnterior()));
+    }
+
+    /**
+     * Descarta o cache a cada lote arquivado, pelo mesmo motivo do relatório mensal: um resumo calculado durante a
+     * movimentação pode ter contado o lote duas vezes ou nenhuma.
+     */
+    @TransactionalEventListener
+    public void aoArquivarEmprestimos(EmprestimosArquivadosEvent event) {
+        geracaoCache.incrementAndGet();
+        cache.clear();
+    }
+
+    private Long obterBeneficiarioId(Object entidade) {
+        if (entidade instanceof Beneficiario beneficiario) {
+            return beneficiario.getId();
+        } else if (entidade instanceof Emprestimo emprestimo && emprestimo.getBeneficiario() != null) {
+            return emprestimo.getBeneficiario().getId();
+        } else if (entidade instanceof Pagamento pagamento && pagamento.getEmprestimo() != null) {
+            return obterBeneficiarioId(pagamento.getEmprestimo());
+        }
+        return null;
+    }
+
+    private void invalidar(Long beneficiarioId) {
+        if (beneficiarioId != null) {
+            geracaoCache.incrementAndGet();
+            cache.remove(beneficiarioId);
+        }
+    }
+
+    private void validarId(String id){
+        if (!Utils.contemApenasNumeros(id)) {
+            throw new RequisicaoInvalidaException(obterMensagem("beneficiario.idInvalido", id));
+        }
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+}
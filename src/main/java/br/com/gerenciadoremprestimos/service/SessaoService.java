@@ -0,0 +1,83 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.dto.TokenResponseDTO;
+import br.com.gerenciadoremprestimos.exception.NaoAutorizadoException;
+import br.com.gerenciadoremprestimos.model.Usuario;
+import br.com.gerenciadoremprestimos.repository.UsuarioRepository;
+import br.com.gerenciadoremprestimos.security.RevogacaoTokens;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import java.util.Locale;
+
+/**
+ * Renovação e encerramento das sessões (tokens JWT) sem passar pela verificação da senha.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessaoService {
+
+    private final TokenService tokenService;
+    private final RevogacaoTokens revogacaoTokens;
+    private final UsuarioRepository usuarioRepository;
+    private final MessageSource messageSource;
+
+    /**
+     * Troca um token de atualização válido por um novo par de tokens. O token usado é revogado, de modo que cada
+     * token de atualização vale uma única vez.
+     *
+     * @param tokenAtualizacao Token de atualização
+     * @return Novo par de tokens
+     */
+    public TokenResponseDTO atualizar(String tokenAtualizacao) {
+        DecodedJWT jwt = verificar(tokenAtualizacao);
+        if (jwt == null || jwt.getId() == null) {
+            throw new NaoAutorizadoException(obterMensagem("login.tokenInvalido"));
+        }
+
+        Usuario usuario = usuarioRepository.findByLogin(jwt.getSubject())
+                .orElseThrow(() -> new NaoAutorizadoException(obterMensagem("login.tokenInvalido")));
+
+        // A revogação é atômica: de duas renovações simultâneas com o mesmo token, apenas uma é aceita
+        if (!revogacaoTokens.revogar(jwt.getId(), jwt.getExpiresAtAsInstant())) {
+            throw new NaoAutorizadoException(obterMensagem("login.tokenInvalido"));
+        }
+        return tokenService.gerarTokens(usuario);
+    }
+
+    /**
+     * Encerra a sessão revogando o token de acesso e, se informado, o token de atualização.
+     *
+     * @param tokenAcesso Token de acesso da requisição
+     * @param tokenAtualizacao Token de atualização, opcional
+     */
+    public void sair(String tokenAcesso, String tokenAtualizacao) {
+        revogar(tokenService.verificarAcesso(tokenAcesso));
+        if (tokenAtualizacao != null && !tokenAtualizacao.isBlank()) {
+            revogar(verificar(tokenAtualizacao));
+        }
+    }
+
+    private void revogar(DecodedJWT jwt) {
+        if (jwt != null && jwt.getId() != null) {
+            revogacaoTokens.revogar(jwt.getId(), jwt.getExpiresAtAsInstant());
+        }
+    }
+
+    private DecodedJWT verificar(String tokenAtualizacao) {
+        try {
+            return tokenAtualizacao == null ? null : tokenService.verificarAtualizacao(tokenAtualizacao);
+        } catch (JWTVerificationException e) {
+            return null;
+        }
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+}
@@ -1,39 +1,96 @@
 package br.com.gerenciadoremprestimos.service;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.time.Instant;
+import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 
+import br.com.gerenciadoremprestimos.dto.TokenResponseDTO;
 import br.com.gerenciadoremprestimos.model.Usuario;
 import br.com.gerenciadoremprestimos.security.JwtProperties;
-import lombok.RequiredArgsConstructor;
 
+/**
+ * Emissão e verificação dos tokens JWT.
+ *
+ * Cada token tem um identificador ({@code jti}), usado na revogação, e um tipo: o token de acesso autentica as
+ * requisições e o token de atualização só serve para obter um novo par de tokens em {@code /login/atualizar}. O
+ * algoritmo e os verificadores são criados uma única vez, pois a verificação é feita a cada requisição.
+ */
 @Service
-@RequiredArgsConstructor
 public class TokenService {
 
+    public static final String TIPO_ACESSO = "acesso";
+    public static final String TIPO_ATUALIZACAO = "atualizacao";
+
+    private static final String EMISSOR = "GerenciadorEmprestimo";
+    private static final String CLAIM_TIPO = "tipo";
+
     private final JwtProperties jwtProperties;
+    private final Algorithm algoritmo;
+    private final JWTVerifier verificadorAcesso;
+    private final JWTVerifier verificadorAtualizacao;
+
+    public TokenService(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.algoritmo = Algorithm.HMAC256(jwtProperties.getSecret());
+        this.verificadorAcesso = criarVerificador(TIPO_ACESSO);
+        this.verificadorAtualizacao = criarVerificador(TIPO_ATUALIZACAO);
+    }
 
     public String gerarToken(Usuario usuario) {
-        return JWT.create()
-                .withIssuer("GerenciadorEmprestimo")
-                .withSubject(usuario.getUsername())
-                .withClaim("id", usuario.getId())
-                .withExpiresAt(LocalDateTime.now()
-                        .plusMinutes(30)
-                        .toInstant(ZoneOffset.of("-03:00"))
-                ).sign(Algorithm.HMAC256(jwtProperties.getSecret()));
+        return gerar(usuario, TIPO_ACESSO, jwtProperties.getValidadeAcesso().toSeconds());
+    }
+
+    /**
+     * Gera o par de tokens (acesso e atualização) do usuário.
+     */
+    public TokenResponseDTO gerarTokens(Usuario usuario) {
+        return new TokenResponseDTO(gerarToken(usuario),
+                gerar(usuario, TIPO_ATUALIZACAO, jwtProperties.getValidadeAtualizacao().toSeconds()));
     }
 
+    /**
+     * Verifica a assinatura, a expiração e o tipo do token de acesso.
+     *
+     * @throws com.auth0.jwt.exceptions.JWTVerificationException se o token for inválido
+     */
+    public DecodedJWT verificarAcesso(String token) {
+        return verificadorAcesso.verify(token);
+    }
+
+    /**
+     * Verifica a assinatura, a expiração e o tipo do token de atualização.
+     *
+     * @throws com.auth0.jwt.exceptions.JWTVerificationException se o token for inválido
+     */
+    public DecodedJWT verificarAtualizacao(String token) {
+        return verificadorAtualizacao.verify(token);
+    }
 
     public String getSubject(String token) {
-        return JWT.require(Algorithm.HMAC256(jwtProperties.getSecret()))
-                .withIssuer("GerenciadorEmprestimo")
-                .build().verify(token).getSubject();
+        return verificarAcesso(token).getSubject();
+    }
+
+    private String gerar(Usuario usuario, String tipo, long validadeSegundos) {
+        return JWT.create()
+                .withIssuer(EMISSOR)
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(usuario.getUsername())
+                .withClaim("id", usuario.getId())
+                .withClaim(CLAIM_TIPO, tipo)
+                .withExpiresAt(Instant.now().plusSeconds(validadeSegundos))
+                .sign(algoritmo);
+    }
 
+    private JWTVerifier criarVerificador(String tipo) {
+        return JWT.require(algoritmo)
+                .withIssuer(EMISSOR)
+                .withClaim(CLAIM_TIPO, tipo)
+                .build();
     }
-}
\ No newline at end of file
+}
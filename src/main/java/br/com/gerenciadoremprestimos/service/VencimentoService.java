@@ -0,0 +1,175 @@
+package br.com.gerenciadoremprestimos.service;
+
+import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VencimentoDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.indice.IndiceVencimentos;
+import br.com.gerenciadoremprestimos.mapper.EmprestimoMapper;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.util.Utils;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class VencimentoService {
+
+    private final EmprestimoRepository emprestimoRepository;
+    private final EmprestimoMapper emprestimoMapper;
+    private final MessageSource messageSource;
+
+    private final IndiceVencimentos indice = new IndiceVencimentos();
+
+    /**
+     * Alterações recebidas enquanto o índice está sendo carregado; são reaplicadas ao final da carga.
+     */
+    private final List<EntidadeAlteradaEvent> pendentes = new ArrayList<>();
+
+    private volatile boolean pronto;
+
+    /**
+     * Carrega o índice com os empréstimos em aberto assim que a aplicação fica pronta. Até o fim da carga as
+     * consultas são atendidas diretamente pelo repositório.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        long[] chaves = new long[1024];
+        int quantidade = 0;
+
+        try (Stream<VencimentoDTO> vencimentos = emprestimoRepository.vencimentosEmAberto()) {
+            for (VencimentoDTO vencimento : (Iterable<VencimentoDTO>) vencimentos::iterator) {
+                if (quantidade == chaves.length) {
+                    chaves = Arrays.copyOf(chaves, chaves.length * 2);
+                }
+                chaves[quantidade++] = IndiceVencimentos.chave(vencimento.getId(), diaEpoch(vencimento.getDataPagamento()));
+            }
+        }
+
+        synchronized (pendentes) {
+            indice.substituir(chaves, quantidade);
+            pendentes.forEach(this::aplicar);
+            pendentes.clear();
+            pronto = true;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmprestimoResponseDTO> buscarVencimentos(String dataInicial, String dataFinal) {
+        LocalDate inicio = converterData(dataInicial);
+        LocalDate fim = converterData(dataFinal);
+
+        if (!pronto) {
+            return emprestimoRepository.findByDataPagamentoBetween(inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay().minusNanos(1))
+                    .stream()
+                    .filter(emprestimo -> !Boolean.TRUE.equals(emprestimo.getQuitado()))
+                    .sorted(Comparator.comparing(Emprestimo::getDataPagamento))
+                    .map(emprestimoMapper::paraDto)
+                    .collect(Collectors.toList());
+        }
+
+        return buscarPorIds(indice.buscar(inicio.toEpochDay(), fim.toEpochDay()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmprestimoResponseDTO> buscarVencidos() {
+        LocalDate hoje = LocalDate.now();
+
+        if (!pronto) {
+            return emprestimoRepository.findByDataPagamentoBeforeAndQuitado(hoje.atStartOfDay(), false)
+                    .stream()
+                    .sorted(Comparator.comparing(Emprestimo::getDataPagamento))
+                    .map(emprestimoMapper::paraDto)
+                    .collect(Collectors.toList());
+        }
+
+        return buscarPorIds(indice.buscar(0, hoje.toEpochDay() - 1));
+    }
+
+    /**
+     * Mantém o índice atualizado após o commit das alterações de empréstimos. Pagamentos não alteram a data de
+     * pagamento nem o status de quitação do empréstimo, por isso não são tratados aqui.
+     */
+    @TransactionalEventListener
+    public void aoAlterarEntidade(EntidadeAlteradaEvent event) {
+        if (!(event.getEntidade() instanceof Emprestimo)) {
+            return;
+        }
+        synchronized (pendentes) {
+            if (!pronto) {
+                pendentes.add(event);
+                return;
+            }
+        }
+        aplicar(event);
+    }
+
+    private void aplicar(EntidadeAlteradaEvent event) {
+        Emprestimo emprestimo = (Emprestimo) event.getEntidade();
+        long id = emprestimo.getId();
+
+        if (event.getAnterior() instanceof Emprestimo anterior && anterior.getDataPagamento() != null) {
+            indice.remover(id, diaEpoch(anterior.getDataPagamento()));
+        }
+
+        if (event.getOperacao() == Operacao.REMOCAO || Boolean.TRUE.equals(emprestimo.getQuitado())) {
+            indice.remover(id, diaEpoch(emprestimo.getDataPagamento()));
+        } else {
+            indice.adicionar(id, diaEpoch(emprestimo.getDataPagamento()));
+        }
+    }
+
+    private List<EmprestimoResponseDTO> buscarPorIds(long[] ids) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        List<Long> listaIds = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Emprestimo> emprestimos = Utils.buscarEmLotes(listaIds, emprestimoRepository::findAllById)
+                .stream()
+                .collect(Collectors.toMap(Emprestimo::getId, Function.identity()));
+
+        return listaIds.stream()
+                .map(emprestimos::get)
+                .filter(emprestimo -> emprestimo != null)
+                .map(emprestimoMapper::paraDto)
+                .collect(Collectors.toList());
+    }
+
+    private LocalDate converterData(String data) {
+        try {
+            return Utils.convertStringToLocalDateTime(data).toLocalDate();
+        } catch (Exception e) {
+            throw new RequisicaoInvalidaException(obterMensagem("data.invalida"));
+        }
+    }
+
+    private static long diaEpoch(LocalDateTime data) {
+        return data.toLocalDate().toEpochDay();
+    }
+
+    private String obterMensagem(String code, Object... args) {
+        return messageSource.getMessage(code, args, Locale.getDefault());
+    }
+}
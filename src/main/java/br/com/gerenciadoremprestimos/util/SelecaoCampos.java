@@ -0,0 +1,138 @@
+package br.com.gerenciadoremprestimos.util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Seleção de campos ({@code ?fields=}) e de relações expandidas ({@code ?expand=}) de uma listagem.
+ *
+ * Os nomes são separados por vírgula e as relações aninhadas usam ponto, por exemplo
+ * {@code fields=valorPago,emprestimo.valorEmprestimo&expand=emprestimo}. Sem {@code fields} todos os campos são
+ * retornados; sem {@code expand} todas as relações são expandidas, como antes. Uma relação não expandida é
+ * retornada apenas com o ID, e o ID de cada objeto é sempre retornado.
+ */
+public class SelecaoCampos {
+
+    public static final SelecaoCampos COMPLETA = new SelecaoCampos(null, null);
+
+    /**
+     * Campos selecionados, nulo quando todos os campos devem ser retornados.
+     */
+    private final Set<String> campos;
+
+    /**
+     * Objetos (raiz vazia ou caminho de uma relação) que têm ao menos um campo selecionado.
+     */
+    private final Set<String> objetosComCampos;
+
+    /**
+     * Relações expandidas, nulo quando todas devem ser expandidas.
+     */
+    private final Set<String> expansoes;
+
+    private SelecaoCampos(Set<String> campos, Set<String> expansoes) {
+        this.campos = campos;
+        this.expansoes = expansoes;
+        this.objetosComCampos = new HashSet<>();
+        if (campos != null) {
+            campos.forEach(campo -> objetosComCampos.add(objeto(campo)));
+        }
+    }
+
+    /**
+     * Cria a seleção a partir dos parâmetros da requisição.
+     *
+     * @param fields Campos separados por vírgula, nulo para todos
+     * @param expand Relações separadas por vírgula, nulo para todas e vazio para nenhuma
+     * @return Seleção de campos
+     */
+    public static SelecaoCampos de(String fields, String expand) {
+        if (fields == null && expand == null) {
+            return COMPLETA;
+        }
+
+        Set<String> expansoes = null;
+        if (expand != null) {
+            expansoes = new HashSet<>();
+            for (String relacao : separar(expand)) {
+                // Expandir "emprestimo.beneficiario" implica expandir "emprestimo"
+                for (int ponto = relacao.indexOf('.'); ponto > 0; ponto = relacao.indexOf('.', ponto + 1)) {
+                    expansoes.add(relacao.substring(0, ponto));
+                }
+                expansoes.add(relacao);
+            }
+        }
+
+        return new SelecaoCampos(fields == null ? null : separar(fields), expansoes);
+    }
+
+    /**
+     * Indica se a seleção corresponde à resposta completa, sem filtros de campos ou de relações.
+     */
+    public boolean isCompleta() {
+        return campos == null && expansoes == null;
+    }
+
+    /**
+     * Indica se a relação deve ser expandida.
+     *
+     * @param relacao Caminho da relação, por exemplo {@code emprestimo.beneficiario}
+     */
+    public boolean expande(String relacao) {
+        return expansoes == null || expansoes.contains(relacao);
+    }
+
+    /**
+     * Indica se o campo deve ser retornado. Quando nenhum campo do mesmo objeto foi selecionado, todos são retornados.
+     *
+     * @param campo Caminho do campo, por exemplo {@code emprestimo.valorEmprestimo}
+     */
+    public boolean inclui(String campo) {
+        return campos == null || !objetosComCampos.contains(objeto(campo)) || campos.contains(campo);
+    }
+
+    /**
+     * Obtém a seleção relativa a uma relação, usada para montar os objetos dessa relação.
+     *
+     * @param relacao Caminho da relação
+     * @return Seleção com os caminhos a partir da relação
+     */
+    public SelecaoCampos relativa(String relacao) {
+        if (isCompleta()) {
+            return this;
+        }
+        return new SelecaoCampos(relativos(campos, relacao + "."), relativos(expansoes, relacao + "."));
+    }
+
+    private static Set<String> relativos(Set<String> caminhos, String prefixo) {
+        if (caminhos == null) {
+            return null;
+        }
+        Set<String> relativos = new HashSet<>();
+        for (String caminho : caminhos) {
+            if (caminho.startsWith(prefixo)) {
+                relativos.add(caminho.substring(prefixo.length()));
+            }
+        }
+        return relativos;
+    }
+
+    private static Set<String> separar(String valor) {
+        if (valor.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> nomes = new HashSet<>();
+        for (String nome : valor.split(",")) {
+            if (!nome.isBlank()) {
+                nomes.add(nome.trim());
+            }
+        }
+        return nomes;
+    }
+
+    private static String objeto(String campo) {
+        int ponto = campo.lastIndexOf('.');
+        return ponto < 0 ? "" : campo.substring(0, ponto);
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.gerenciadoremprestimos.util;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização das listagens com seleção de campos ({@link SelecaoCampos}): os campos não selecionados, que ficam
+ * nulos nos DTOs, são omitidos. A resposta completa não passa por aqui e continua com os campos nulos, como antes.
+ */
+@Component
+public class SerializacaoParcial {
+
+    private final ObjectMapper semNulos;
+
+    public SerializacaoParcial(ObjectMapper objectMapper) {
+        this.semNulos = objectMapper.copy().setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    /**
+     * @param resposta Resposta montada com a seleção
+     * @param selecao Seleção de campos da requisição
+     * @return A própria resposta, se a seleção for completa; caso contrário, a resposta sem os campos nulos
+     */
+    public Object aplicar(Object resposta, SelecaoCampos selecao) {
+        return selecao.isCompleta() ? resposta : semNulos.valueToTree(resposta);
+    }
+}
@@ -5,9 +5,15 @@ import java.time.format.DateTimeFormatter;
 
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 public class Utils {
 
+    private static final int TAMANHO_LOTE = 1000;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public static LocalDateTime convertStringToLocalDateTime(String dateString) {
@@ -29,4 +35,56 @@ public class Utils {
 
         return true;
     }
+
+    /**
+     * Verifica se a condição do cabeçalho If-Match corresponde à versão do registro. Aceita "*", a versão entre
+     * aspas ("3") ou a ETag retornada na consulta (W/"id-versao-alteracao").
+     *
+     * @param ifMatch Valor do cabeçalho If-Match, nulo quando não informado
+     * @param versao Versão atual do registro
+     * @return true quando não há condição ou alguma das ETags informadas corresponde à versão
+     */
+    public static boolean etagCorrespondeAVersao(String ifMatch, Long versao) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+
+        for (String etag : ifMatch.split(",")) {
+            String valor = etag.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            valor = valor.replace("\"", "");
+
+            String[] partes = valor.split("-");
+            String versaoInformada = partes.length == 3 ? partes[1] : partes[0];
+            if (contemApenasNumeros(versaoInformada) && String.valueOf(versao).equals(versaoInformada)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executa uma consulta por IDs em lotes, mantendo a quantidade de parâmetros do IN dentro do limite do banco.
+     *
+     * @param ids IDs a consultar
+     * @param consulta Consulta que recebe um lote de IDs
+     * @return Resultados de todos os lotes
+     */
+    public static <T> List<T> buscarEmLotes(Collection<Long> ids, Function<Collection<Long>, List<T>> consulta) {
+        List<T> resultado = new ArrayList<>(ids.size());
+        List<Long> lote = new ArrayList<>(Math.min(ids.size(), TAMANHO_LOTE));
+        for (Long id : ids) {
+            lote.add(id);
+            if (lote.size() == TAMANHO_LOTE) {
+                resultado.addAll(consulta.apply(lote));
+                lote = new ArrayList<>(TAMANHO_LOTE);
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultado.addAll(consulta.apply(lote));
+        }
+        return resultado;
+    }
 }
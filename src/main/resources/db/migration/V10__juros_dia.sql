@@ -0,0 +1,16 @@
+-- Dias com a apropriação de juros concluída em todas as partições. A apropriação continua a partir do dia seguinte
+-- ao último registrado, recuperando os dias em que a aplicação esteve parada no horário agendado.
+
+CREATE TABLE IF NOT EXISTS juros_dia (
+    data             DATE         NOT NULL,
+    concluido_em     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT juros_dia_pkey PRIMARY KEY (data)
+);
+
+-- Dias apropriados antes desta versão. O último fica de fora porque pode ter sido interrompido; ele é apropriado de
+-- novo na próxima execução, que conclui apenas as partições pendentes.
+INSERT INTO juros_dia (data, concluido_em)
+SELECT data, MAX(concluida_em)
+FROM juros_particao
+WHERE data < (SELECT MAX(data) FROM juros_particao)
+GROUP BY data;
@@ -0,0 +1,21 @@
+-- Coluna de versão do controle de concorrência otimista (@Version em Base) e login único, que não existiam no
+-- esquema publicado. Bancos que subiram com ddl-auto: update depois dessas mudanças já podem ter a coluna, talvez
+-- sem valor padrão e aceitando nulos, por isso IF NOT EXISTS e o ajuste das linhas e da coluna em seguida.
+
+ALTER TABLE beneficiario ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE emprestimo ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE pagamento ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE beneficiario SET versao = 0 WHERE versao IS NULL;
+UPDATE emprestimo SET versao = 0 WHERE versao IS NULL;
+UPDATE pagamento SET versao = 0 WHERE versao IS NULL;
+UPDATE usuario SET versao = 0 WHERE versao IS NULL;
+
+ALTER TABLE beneficiario ALTER COLUMN versao SET DEFAULT 0, ALTER COLUMN versao SET NOT NULL;
+ALTER TABLE emprestimo ALTER COLUMN versao SET DEFAULT 0, ALTER COLUMN versao SET NOT NULL;
+ALTER TABLE pagamento ALTER COLUMN versao SET DEFAULT 0, ALTER COLUMN versao SET NOT NULL;
+ALTER TABLE usuario ALTER COLUMN versao SET DEFAULT 0, ALTER COLUMN versao SET NOT NULL;
+
+-- O login é o identificador natural do usuário (@NaturalId)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_usuario_login ON usuario (login);
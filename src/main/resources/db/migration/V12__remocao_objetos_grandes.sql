@@ -0,0 +1,20 @@
+-- As imagens ficam em objetos grandes (pg_largeobject) e as colunas guardam apenas o OID. Trocar ou limpar a
+-- referência não remove o objeto, de modo que os originais descartados após o processamento e as imagens
+-- substituídas por um novo envio continuavam ocupando espaço. O gatilho lo_manage remove o objeto anterior na
+-- mesma transação que troca a referência ou exclui a linha.
+
+CREATE EXTENSION IF NOT EXISTS lo;
+
+CREATE TRIGGER trg_beneficiario_imagem_lo
+    BEFORE UPDATE OF imagem OR DELETE ON beneficiario
+    FOR EACH ROW EXECUTE FUNCTION lo_manage(imagem);
+
+CREATE TRIGGER trg_imagem_conteudo_lo
+    BEFORE UPDATE OF conteudo OR DELETE ON imagem
+    FOR EACH ROW EXECUTE FUNCTION lo_manage(conteudo);
+
+-- Objetos já órfãos: os originais descartados e as imagens substituídas antes desta versão
+SELECT lo_unlink(objeto.oid)
+FROM pg_largeobject_metadata objeto
+WHERE NOT EXISTS (SELECT 1 FROM beneficiario WHERE beneficiario.imagem = objeto.oid)
+  AND NOT EXISTS (SELECT 1 FROM imagem WHERE imagem.conteudo = objeto.oid);
@@ -0,0 +1,58 @@
+-- Esquema inicial: o da versão publicada, criado pelo Hibernate (ddl-auto: update) antes da adoção das migrações.
+-- Bancos já existentes são marcados nesta versão (baseline-on-migrate) e seguem a partir da V2, por isso este
+-- arquivo não pode receber colunas nem restrições novas.
+
+CREATE SEQUENCE beneficiario_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE emprestimo_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE pagamento_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE usuario_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE beneficiario (
+    id               BIGINT           NOT NULL,
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    observacao       VARCHAR(255),
+    nome             VARCHAR(255)     NOT NULL,
+    numero_telefone  VARCHAR(255)     NOT NULL,
+    imagem           OID,
+    CONSTRAINT beneficiario_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE emprestimo (
+    id               BIGINT           NOT NULL,
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    observacao       VARCHAR(255),
+    data_emprestimo  TIMESTAMP(6)     NOT NULL,
+    data_pagamento   TIMESTAMP(6)     NOT NULL,
+    valor_emprestimo FLOAT(53)        NOT NULL,
+    porcentagem      FLOAT(53)        NOT NULL,
+    quitado          BOOLEAN          NOT NULL,
+    beneficiario_id  BIGINT           NOT NULL,
+    CONSTRAINT emprestimo_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_emprestimo_beneficiario FOREIGN KEY (beneficiario_id) REFERENCES beneficiario (id)
+);
+
+CREATE TABLE pagamento (
+    id               BIGINT           NOT NULL,
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    observacao       VARCHAR(255),
+    data_pagamento   TIMESTAMP(6)     NOT NULL,
+    valor_pago       FLOAT(53)        NOT NULL,
+    tipo_pagamento   SMALLINT         NOT NULL CHECK (tipo_pagamento BETWEEN 0 AND 2),
+    emprestimo_id    BIGINT           NOT NULL,
+    CONSTRAINT pagamento_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_pagamento_emprestimo FOREIGN KEY (emprestimo_id) REFERENCES emprestimo (id)
+);
+
+CREATE TABLE usuario (
+    id               BIGINT           NOT NULL,
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    observacao       VARCHAR(255),
+    login            VARCHAR(255),
+    password         VARCHAR(255),
+    role             VARCHAR(255),
+    CONSTRAINT usuario_pkey PRIMARY KEY (id)
+);
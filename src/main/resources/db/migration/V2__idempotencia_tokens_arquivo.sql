@@ -0,0 +1,58 @@
+-- Tabelas criadas pelo Hibernate depois do esquema inicial. Bancos marcados na V1 podem já tê-las, por isso
+-- IF NOT EXISTS.
+
+CREATE TABLE IF NOT EXISTS chave_idempotencia (
+    chave            VARCHAR(64)  NOT NULL,
+    hash_requisicao  VARCHAR(64)  NOT NULL,
+    concluida        BOOLEAN      NOT NULL,
+    status           INTEGER,
+    content_type     VARCHAR(255),
+    corpo            BYTEA,
+    data_criacao     TIMESTAMP(6) NOT NULL,
+    expira_em        TIMESTAMP(6) NOT NULL,
+    CONSTRAINT chave_idempotencia_pkey PRIMARY KEY (chave)
+);
+
+CREATE INDEX IF NOT EXISTS idx_chave_idempotencia_expira_em ON chave_idempotencia (expira_em);
+
+CREATE TABLE IF NOT EXISTS token_revogado (
+    jti              VARCHAR(36)                 NOT NULL,
+    expira_em        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT token_revogado_pkey PRIMARY KEY (jti)
+);
+
+CREATE TABLE IF NOT EXISTS emprestimo_arquivo (
+    id                BIGINT       NOT NULL,
+    versao            BIGINT       NOT NULL,
+    data_criacao      TIMESTAMP(6),
+    data_atualizacao  TIMESTAMP(6),
+    observacao        VARCHAR(255),
+    data_emprestimo   TIMESTAMP(6) NOT NULL,
+    data_pagamento    TIMESTAMP(6) NOT NULL,
+    valor_emprestimo  FLOAT(53)    NOT NULL,
+    porcentagem       FLOAT(53)    NOT NULL,
+    quitado           BOOLEAN      NOT NULL,
+    beneficiario_id   BIGINT       NOT NULL,
+    data_arquivamento TIMESTAMP(6) NOT NULL,
+    CONSTRAINT emprestimo_arquivo_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_emprestimo_arquivo_data_emprestimo ON emprestimo_arquivo (data_emprestimo);
+CREATE INDEX IF NOT EXISTS idx_emprestimo_arquivo_beneficiario ON emprestimo_arquivo (beneficiario_id);
+
+CREATE TABLE IF NOT EXISTS pagamento_arquivo (
+    id                BIGINT       NOT NULL,
+    versao            BIGINT       NOT NULL,
+    data_criacao      TIMESTAMP(6),
+    data_atualizacao  TIMESTAMP(6),
+    observacao        VARCHAR(255),
+    data_pagamento    TIMESTAMP(6) NOT NULL,
+    valor_pago        FLOAT(53)    NOT NULL,
+    tipo_pagamento    SMALLINT     NOT NULL CHECK (tipo_pagamento BETWEEN 0 AND 2),
+    emprestimo_id     BIGINT       NOT NULL,
+    data_arquivamento TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pagamento_arquivo_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_pagamento_arquivo_data_pagamento ON pagamento_arquivo (data_pagamento);
+CREATE INDEX IF NOT EXISTS idx_pagamento_arquivo_emprestimo ON pagamento_arquivo (emprestimo_id);
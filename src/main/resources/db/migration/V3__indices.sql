@@ -0,0 +1,17 @@
+-- Índices das consultas frequentes. O Hibernate não cria índices para chaves estrangeiras, de modo que as junções
+-- e os filtros por empréstimo e beneficiário percorriam as tabelas inteiras.
+
+-- Resumo da carteira e busca de empréstimos por beneficiário
+CREATE INDEX IF NOT EXISTS idx_emprestimo_beneficiario ON emprestimo (beneficiario_id);
+
+-- Série mensal (valor emprestado por mês)
+CREATE INDEX IF NOT EXISTS idx_emprestimo_data_emprestimo ON emprestimo (data_emprestimo);
+
+-- Vencimentos, valores a receber e previsão de recebimento: apenas os empréstimos em aberto
+CREATE INDEX IF NOT EXISTS idx_emprestimo_aberto_data_pagamento ON emprestimo (data_pagamento) WHERE quitado = false;
+
+-- Pagamentos de um empréstimo (total recebido, arquivamento)
+CREATE INDEX IF NOT EXISTS idx_pagamento_emprestimo ON pagamento (emprestimo_id, data_pagamento);
+
+-- Série mensal (valor recebido por mês)
+CREATE INDEX IF NOT EXISTS idx_pagamento_data_pagamento ON pagamento (data_pagamento);
@@ -0,0 +1,9 @@
+-- Restrições equivalentes às validações dos DTOs, para que cargas e correções feitas direto no banco também as
+-- respeitem. NOT VALID evita a verificação (e o bloqueio) das linhas já existentes; apenas as novas são verificadas.
+
+ALTER TABLE emprestimo ADD CONSTRAINT ck_emprestimo_valor_positivo CHECK (valor_emprestimo > 0) NOT VALID;
+ALTER TABLE emprestimo ADD CONSTRAINT ck_emprestimo_porcentagem_nao_negativa CHECK (porcentagem >= 0) NOT VALID;
+ALTER TABLE pagamento ADD CONSTRAINT ck_pagamento_valor_positivo CHECK (valor_pago > 0) NOT VALID;
+
+-- O login é o identificador natural do usuário e é buscado a cada requisição autenticada
+ALTER TABLE usuario ALTER COLUMN login SET NOT NULL;
@@ -0,0 +1,3 @@
+-- Hash SHA-256 da imagem do beneficiário, calculado durante o envio. As imagens já gravadas ficam sem hash até
+-- serem enviadas novamente.
+ALTER TABLE beneficiario ADD COLUMN IF NOT EXISTS imagem_hash VARCHAR(64);
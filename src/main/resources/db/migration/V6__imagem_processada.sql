@@ -0,0 +1,20 @@
+-- Imagens processadas (sem metadados, redimensionadas e recomprimidas), identificadas pelo hash do conteúdo e
+-- compartilhadas pelos beneficiários que enviaram a mesma foto.
+
+CREATE TABLE IF NOT EXISTS imagem (
+    hash             VARCHAR(64)  NOT NULL,
+    tipo             VARCHAR(255) NOT NULL,
+    largura          INTEGER      NOT NULL,
+    altura           INTEGER      NOT NULL,
+    tamanho          BIGINT       NOT NULL,
+    conteudo         OID          NOT NULL,
+    data_criacao     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT imagem_pkey PRIMARY KEY (hash)
+);
+
+ALTER TABLE beneficiario ADD COLUMN IF NOT EXISTS imagem_processada VARCHAR(64);
+ALTER TABLE beneficiario ADD CONSTRAINT fk_beneficiario_imagem_processada
+    FOREIGN KEY (imagem_processada) REFERENCES imagem (hash);
+
+-- Reaproveitamento de uma imagem já processada quando a mesma foto é enviada de novo
+CREATE INDEX IF NOT EXISTS idx_beneficiario_imagem_hash ON beneficiario (imagem_hash);
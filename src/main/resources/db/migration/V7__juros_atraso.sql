@@ -0,0 +1,22 @@
+-- Juros de atraso apropriados por empréstimo e por dia, e as partições concluídas de cada dia, usadas para retomar
+-- uma apropriação interrompida. Sem chave estrangeira para o empréstimo: os juros continuam após o arquivamento.
+
+CREATE TABLE IF NOT EXISTS juros_atraso (
+    emprestimo_id    BIGINT       NOT NULL,
+    data             DATE         NOT NULL,
+    saldo            FLOAT(53)    NOT NULL,
+    taxa             FLOAT(53)    NOT NULL,
+    valor            FLOAT(53)    NOT NULL,
+    CONSTRAINT juros_atraso_pkey PRIMARY KEY (emprestimo_id, data)
+);
+
+CREATE TABLE IF NOT EXISTS juros_particao (
+    data             DATE         NOT NULL,
+    particao         BIGINT       NOT NULL,
+    id_inicial       BIGINT       NOT NULL,
+    id_final         BIGINT       NOT NULL,
+    emprestimos      INTEGER      NOT NULL,
+    concluida_em     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT juros_particao_pkey PRIMARY KEY (data, particao)
+);
+
@@ -0,0 +1,5 @@
+-- Prazo da reserva de uma chave de idempotência em processamento, separado da retenção da resposta, para que uma
+-- nova tentativa possa assumir a chave se a instância que a reservou parar antes de concluir. As reservas existentes
+-- ficam sem prazo e podem ser assumidas.
+
+ALTER TABLE chave_idempotencia ADD COLUMN IF NOT EXISTS bloqueado_ate TIMESTAMP(6);
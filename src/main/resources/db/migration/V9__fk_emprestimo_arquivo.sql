@@ -0,0 +1,6 @@
+-- Os empréstimos arquivados continuam referenciando o beneficiário, com o mesmo comportamento da chave estrangeira
+-- de emprestimo: o beneficiário com empréstimos arquivados não pode ser removido. NOT VALID evita a verificação (e o
+-- bloqueio) das linhas já arquivadas; apenas as novas são verificadas.
+
+ALTER TABLE emprestimo_arquivo ADD CONSTRAINT fk_emprestimo_arquivo_beneficiario
+    FOREIGN KEY (beneficiario_id) REFERENCES beneficiario (id) NOT VALID;
@@ -0,0 +1,151 @@
+package br.com.gerenciadoremprestimos.arquivamento;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.ResumoMensalResponseDTO;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.service.RelatorioService;
+import br.com.gerenciadoremprestimos.service.ResumoBeneficiarioService;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o ArquivamentoEmprestimos. Os empréstimos são de 2015 para que o arquivamento não alcance os
+ * dados criados pelos demais testes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ArquivamentoEmprestimosTest {
+
+    private static final LocalDateTime LIMITE = LocalDateTime.of(2016, 1, 1, 0, 0);
+    private static final LocalDateTime DATA_EMPRESTIMO = LocalDateTime.of(2015, 3, 1, 0, 0);
+
+    @Autowired
+    private ArquivamentoEmprestimos arquivamento;
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private EmprestimoArquivadoRepository emprestimoArquivadoRepository;
+
+    @Autowired
+    private PagamentoArquivadoRepository pagamentoArquivadoRepository;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private ResumoBeneficiarioService resumoBeneficiarioService;
+
+    private Beneficiario beneficiario;
+    private Emprestimo quitado;
+    private Emprestimo pagoAposLimite;
+    private Emprestimo emAberto;
+
+    @BeforeEach
+    void setUp() {
+        beneficiario = beneficiarioRepository.save(BeneficiarioUtil.criarBeneficiarioPadrao());
+
+        quitado = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR1000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DATA_EMPRESTIMO.plusMonths(1), true));
+        pagamentoRepository.save(PagamentoUtil.criarPagamento(quitado, 200.0, DATA_EMPRESTIMO.plusDays(15), TipoPagamento.JUROS));
+        pagamentoRepository.save(PagamentoUtil.criarPagamento(quitado, TestUtils.VALOR1000, DATA_EMPRESTIMO.plusMonths(1), TipoPagamento.TOTAL));
+
+        pagoAposLimite = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR2000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DATA_EMPRESTIMO.plusMonths(1), true));
+        pagamentoRepository.save(PagamentoUtil.criarPagamento(pagoAposLimite, 2400.0, LIMITE.plusMonths(1), TipoPagamento.TOTAL));
+
+        emAberto = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR3000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DATA_EMPRESTIMO.plusMonths(1), false));
+    }
+
+    /**
+     * Testa que apenas os empréstimos quitados com todas as datas anteriores ao limite são movidos, com os pagamentos.
+     */
+    @Test
+    @DisplayName("Deve mover para o arquivo apenas os empréstimos quitados anteriores ao limite, com seus pagamentos")
+    void arquivar_DeveMoverQuitadosAnterioresAoLimite() {
+        arquivamento.arquivar(LIMITE);
+
+        assertFalse(emprestimoRepository.existsById(quitado.getId()), "O empréstimo quitado deve sair da tabela principal");
+        assertTrue(emprestimoArquivadoRepository.existsById(quitado.getId()), "O empréstimo quitado deve estar no arquivo");
+        assertTrue(pagamentoRepository.findByEmprestimoOrderByDataPagamentoAsc(quitado).isEmpty(),
+                "Os pagamentos devem sair da tabela principal");
+        assertEquals(2, pagamentoArquivadoRepository.findAll().stream()
+                .filter(pagamento -> pagamento.getEmprestimoId().equals(quitado.getId())).count(),
+                "Os pagamentos devem estar no arquivo");
+
+        assertTrue(emprestimoRepository.existsById(pagoAposLimite.getId()), "Empréstimo com pagamento após o limite deve permanecer");
+        assertTrue(emprestimoRepository.existsById(emAberto.getId()), "Empréstimo em aberto deve permanecer");
+    }
+
+    /**
+     * Testa que relatórios e resumos continuam iguais depois do arquivamento.
+     */
+    @Test
+    @DisplayName("Deve manter os valores do relatório mensal e do resumo do beneficiário após o arquivamento")
+    void arquivar_DeveManterConsultasHistoricas() {
+        List<ResumoMensalResponseDTO> serieAntes = relatorioService.serieMensal("2015-01", "2015-12");
+        ResumoBeneficiarioResponseDTO resumoAntes = resumoBeneficiarioService.resumoPorBeneficiario(String.valueOf(beneficiario.getId()));
+
+        assertEquals(1, arquivamento.arquivar(LIMITE), "Apenas um empréstimo deve ser arquivado");
+        assertTrue(arquivamento.precisaDoArquivo(LocalDateTime.of(2015, 1, 1, 0, 0)), "O período de 2015 deve incluir o arquivo");
+
+        List<ResumoMensalResponseDTO> serieDepois = relatorioService.serieMensal("2015-01", "2015-12");
+        ResumoBeneficiarioResponseDTO resumoDepois = resumoBeneficiarioService.resumoPorBeneficiario(String.valueOf(beneficiario.getId()));
+
+        assertEquals(serieAntes, serieDepois, "A série mensal deve ser a mesma");
+        assertEquals(resumoAntes.getQuantidadeEmprestimos(), resumoDepois.getQuantidadeEmprestimos(), "A quantidade deve ser a mesma");
+        assertEquals(resumoAntes.getValorEmprestado(), resumoDepois.getValorEmprestado(), "O valor emprestado deve ser o mesmo");
+        assertEquals(resumoAntes.getValorRecebido(), resumoDepois.getValorRecebido(), "O valor recebido deve ser o mesmo");
+        assertEquals(resumoAntes.getSaldoDevedor(), resumoDepois.getSaldoDevedor(), "O saldo devedor deve ser o mesmo");
+    }
+
+    /**
+     * Testa que o beneficiário com empréstimos arquivados não pode ser removido, como ocorre com os empréstimos
+     * ativos, para que o arquivo não fique com empréstimos sem beneficiário.
+     */
+    @Test
+    @DisplayName("Não deve remover o beneficiário que possui empréstimos arquivados")
+    void remover_BeneficiarioComEmprestimosArquivados_DeveSerRecusado() {
+        arquivamento.arquivar(LIMITE);
+
+        pagamentoRepository.deleteAll(pagamentoRepository.findByEmprestimoOrderByDataPagamentoAsc(pagoAposLimite));
+        emprestimoRepository.deleteAll(List.of(pagoAposLimite, emAberto));
+
+        assertThrows(DataIntegrityViolationException.class, () -> beneficiarioRepository.deleteById(beneficiario.getId()),
+                "A chave estrangeira do arquivo deve impedir a remoção");
+        assertTrue(beneficiarioRepository.existsById(beneficiario.getId()), "O beneficiário deve permanecer");
+    }
+}
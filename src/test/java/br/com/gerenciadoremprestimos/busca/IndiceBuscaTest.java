@@ -0,0 +1,138 @@
+package br.com.gerenciadoremprestimos.busca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.gerenciadoremprestimos.dto.ResultadoBuscaDTO;
+
+/**
+ * Classe de teste para o IndiceBusca.
+ */
+class IndiceBuscaTest {
+
+    private IndiceBusca indice;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        indice = new IndiceBusca(new ByteBuffersDirectory());
+        indice.atualizar(IndiceBusca.TIPO_BENEFICIARIO, 1L, "José da Conceição", "Cliente antigo, paga sempre em dia", null);
+        indice.atualizar(IndiceBusca.TIPO_BENEFICIARIO, 2L, "Maria Souza", "Indicada pelo José", null);
+        indice.atualizar(IndiceBusca.TIPO_EMPRESTIMO, 10L, null, "Empréstimo para a reforma da casa, parcelas mensais", null);
+        indice.atualizar(IndiceBusca.TIPO_PAGAMENTO, 20L, null, "Parcela paga em dinheiro", 10L);
+        indice.atualizar(IndiceBusca.TIPO_PAGAMENTO, 21L, null, "Acordo de renegociação", 11L);
+        indice.confirmar();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        indice.close();
+    }
+
+    /**
+     * Testa que a busca ignora acentos e maiúsculas e reduz as palavras ao radical.
+     */
+    @Test
+    @DisplayName("Deve encontrar sem acento, em minúsculas e pelo singular ou plural")
+    void buscar_DeveIgnorarAcentosEPlural() throws IOException {
+        assertEquals(List.of("beneficiario:1"), chaves(indice.buscar("conceicao", 10)), "Deve encontrar sem acento");
+        assertEquals(List.of("beneficiario:1"), chaves(indice.buscar("JOSE conceição", 10)), "Deve encontrar com todos os termos");
+        assertEquals(List.of("emprestimo:10", "pagamento:20").stream().sorted().collect(Collectors.toList()),
+                     chaves(indice.buscar("parcela", 10)).stream().sorted().collect(Collectors.toList()),
+                     "Deve encontrar o singular e o plural");
+        assertEquals(List.of("pagamento:21"), chaves(indice.buscar("renegociacao", 10)), "Deve encontrar na observação do pagamento");
+    }
+
+    /**
+     * Testa que uma ocorrência no nome pesa mais que uma na observação.
+     */
+    @Test
+    @DisplayName("Deve ordenar pela relevância, com o nome acima da observação")
+    void buscar_DeveOrdenarPelaRelevancia() throws IOException {
+        List<ResultadoBuscaDTO> resultados = indice.buscar("jose", 10);
+
+        assertEquals(List.of("beneficiario:1", "beneficiario:2"), chaves(resultados), "O nome deve ficar à frente da observação");
+        assertTrue(resultados.get(0).getPontuacao() > resultados.get(1).getPontuacao(), "A pontuação deve ser decrescente");
+        assertEquals("José da Conceição", resultados.get(0).getNome(), "Deve retornar o nome indexado");
+    }
+
+    /**
+     * Testa a substituição e a remoção de documentos, visíveis apenas após a confirmação.
+     */
+    @Test
+    @DisplayName("Deve substituir e remover documentos após a confirmação")
+    void atualizar_DeveSubstituirERemoverAposConfirmar() throws IOException {
+        indice.atualizar(IndiceBusca.TIPO_EMPRESTIMO, 10L, null, "Capital de giro", null);
+        indice.remover(IndiceBusca.TIPO_BENEFICIARIO, 2L);
+
+        assertEquals(1, indice.buscar("reforma", 10).size(), "Antes da confirmação a busca vê o estado anterior");
+
+        indice.confirmar();
+
+        assertTrue(indice.buscar("reforma", 10).isEmpty(), "O texto anterior não deve ser encontrado");
+        assertEquals(List.of("emprestimo:10"), chaves(indice.buscar("giro", 10)), "O texto novo deve ser encontrado");
+        assertEquals(List.of("beneficiario:1"), chaves(indice.buscar("jose", 10)), "O beneficiário removido não deve ser encontrado");
+
+        indice.atualizar(IndiceBusca.TIPO_EMPRESTIMO, 10L, null, " ", null);
+        indice.confirmar();
+        assertTrue(indice.buscar("giro", 10).isEmpty(), "Sem texto o documento deve ser removido");
+    }
+
+    /**
+     * Testa que uma montagem interrompida pode ser descartada, mantendo o conteúdo confirmado anteriormente.
+     */
+    @Test
+    @DisplayName("Deve manter o conteúdo confirmado ao descartar uma montagem interrompida")
+    void descartar_DeveManterConteudoConfirmado() throws IOException {
+        indice.limpar();
+        indice.atualizar(IndiceBusca.TIPO_EMPRESTIMO, 30L, null, "Capital de giro", null);
+
+        indice.descartar();
+        indice.confirmar();
+
+        assertEquals(List.of("emprestimo:10"), chaves(indice.buscar("reforma", 10)), "O conteúdo anterior deve ser mantido");
+        assertTrue(indice.buscar("giro", 10).isEmpty(), "O documento da montagem descartada não deve ser encontrado");
+
+        indice.atualizar(IndiceBusca.TIPO_EMPRESTIMO, 30L, null, "Capital de giro", null);
+        indice.confirmar();
+        assertEquals(List.of("emprestimo:30"), chaves(indice.buscar("giro", 10)), "O índice deve continuar aceitando alterações");
+    }
+
+    /**
+     * Testa a remoção dos empréstimos arquivados junto com os seus pagamentos.
+     */
+    @Test
+    @DisplayName("Deve remover os empréstimos e os seus pagamentos")
+    void removerEmprestimos_DeveRemoverPagamentos() throws IOException {
+        indice.removerEmprestimos(List.of(10L));
+        indice.confirmar();
+
+        assertTrue(indice.buscar("parcela", 10).isEmpty(), "O empréstimo e o pagamento devem ser removidos");
+        assertFalse(indice.buscar("acordo", 10).isEmpty(), "Pagamentos de outros empréstimos devem continuar");
+    }
+
+    /**
+     * Testa que a sintaxe inválida ou apenas palavras vazias não geram erro.
+     */
+    @Test
+    @DisplayName("Não deve falhar com sintaxe inválida ou apenas palavras vazias")
+    void buscar_ComSintaxeInvalida_NaoDeveFalhar() throws IOException {
+        assertEquals(List.of("beneficiario:1"), chaves(indice.buscar("\"conceição", 10)), "Aspas sem par devem ser ignoradas");
+        assertTrue(indice.buscar("de para com", 10).isEmpty(), "Apenas palavras vazias não devem encontrar nada");
+        assertEquals(List.of("beneficiario:2"), chaves(indice.buscar("sou*", 10)), "Deve buscar por prefixo");
+    }
+
+    private static List<String> chaves(List<ResultadoBuscaDTO> resultados) {
+        return resultados.stream().map(resultado -> resultado.getTipo() + ":" + resultado.getId()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.gerenciadoremprestimos.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import br.com.gerenciadoremprestimos.GerenciadorEmprestimosApplication;
+
+/**
+ * Classe de teste das migrações (db/migration) contra as entidades.
+ *
+ * Os demais testes usam o H2 com ddl-auto: create-drop e o Flyway desligado, de modo que nenhuma migração é
+ * conferida com o mapeamento. Aqui a aplicação sobe em um PostgreSQL com migracao.aplicar=true e
+ * ddl-auto: validate, que falha se alguma coluna ou tabela das entidades não existir no esquema migrado. Sem Docker
+ * os testes são ignorados.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class EsquemaMigracoesTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    /**
+     * Testa as migrações em um banco vazio.
+     */
+    @Test
+    @DisplayName("Deve criar pelas migrações um esquema que valida com as entidades")
+    void migrar_BancoVazio_DeveValidarEntidades() {
+        String url = criarBanco("vazio");
+
+        try (ConfigurableApplicationContext contexto = subir(url)) {
+            assertEquals(0, contexto.getBean(Flyway.class).info().pending().length, "Todas as migrações devem ser aplicadas");
+        }
+    }
+
+    /**
+     * Testa a atualização de um banco criado pela versão publicada, que é marcado na versão 1 (baseline) e recebe
+     * apenas as migrações seguintes.
+     */
+    @Test
+    @DisplayName("Deve atualizar o esquema da versão publicada para um esquema que valida com as entidades")
+    void migrar_EsquemaPublicado_DeveValidarEntidades() {
+        String url = criarBanco("publicado");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource(url));
+
+        try (ConfigurableApplicationContext contexto = subir(url)) {
+            MigrationInfo[] aplicadas = contexto.getBean(Flyway.class).info().applied();
+            assertEquals("<< Flyway Baseline >>", aplicadas[0].getDescription(), "O banco existente deve ser marcado na versão 1");
+            assertEquals(0, contexto.getBean(Flyway.class).info().pending().length, "As migrações seguintes devem ser aplicadas");
+        }
+    }
+
+    /**
+     * Testa que trocar ou limpar a imagem do beneficiário remove do banco o objeto grande anterior.
+     */
+    @Test
+    @DisplayName("Deve remover o objeto grande da imagem substituída ou descartada")
+    void atualizarImagem_DeveRemoverObjetoGrandeAnterior() {
+        String url = criarBanco("objetos");
+        Flyway.configure().dataSource(dataSource(url)).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource(url));
+
+        long original = jdbcTemplate.queryForObject("SELECT lo_from_bytea(0, '\\x0102')", Long.class);
+        long novo = jdbcTemplate.queryForObject("SELECT lo_from_bytea(0, '\\x0304')", Long.class);
+        jdbcTemplate.update("INSERT INTO beneficiario (id, nome, numero_telefone, imagem) VALUES (1, 'Maria', '11999999999', ?)", original);
+
+        jdbcTemplate.update("UPDATE beneficiario SET imagem = ? WHERE id = 1", novo);
+        assertEquals(0, objetosGrandes(jdbcTemplate, original), "A imagem substituída deve ser removida");
+
+        jdbcTemplate.update("UPDATE beneficiario SET imagem = NULL WHERE id = 1");
+        assertEquals(0, objetosGrandes(jdbcTemplate, novo), "A imagem descartada deve ser removida");
+    }
+
+    private static int objetosGrandes(JdbcTemplate jdbcTemplate, long oid) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_largeobject_metadata WHERE oid = ?::oid", Integer.class, oid);
+    }
+
+    private static ConfigurableApplicationContext subir(String url) {
+        return new SpringApplicationBuilder(GerenciadorEmprestimosApplication.class)
+                .properties("spring.datasource.url=" + url,
+                            "spring.datasource.username=" + POSTGRES.getUsername(),
+                            "spring.datasource.password=" + POSTGRES.getPassword(),
+                            "spring.jpa.hibernate.ddl-auto=validate",
+                            "spring.jpa.show-sql=false",
+                            "migracao.aplicar=true",
+                            "server.port=0",
+                            "diario.habilitado=false",
+                            "arquivamento.habilitado=false",
+                            "juros.habilitado=false",
+                            "busca.diretorio=")
+                .run();
+    }
+
+    private static String criarBanco(String nome) {
+        new JdbcTemplate(dataSource(POSTGRES.getJdbcUrl())).execute("CREATE DATABASE " + nome);
+        return POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + nome);
+    }
+
+    private static DriverManagerDataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
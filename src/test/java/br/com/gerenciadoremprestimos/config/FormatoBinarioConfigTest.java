@@ -0,0 +1,83 @@
+package br.com.gerenciadoremprestimos.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+
+/**
+ * Classe de teste para os formatos binários: compara o conteúdo e o tamanho de uma página de 10 mil pagamentos em
+ * JSON, CBOR e Smile. O tempo de serialização é medido no FormatoBinarioBenchmark (src/jmh).
+ */
+class FormatoBinarioConfigTest {
+
+    private static final int QUANTIDADE_PAGAMENTOS = 10_000;
+
+    private final FormatoBinarioConfig config = new FormatoBinarioConfig();
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    private List<PagamentoResponseDTO> pagamentos;
+
+    @BeforeEach
+    void setUp() {
+        json  = Jackson2ObjectMapperBuilder.json().build();
+        cbor  = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+        smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+        LocalDateTime agora = LocalDateTime.of(2024, 5, 1, 10, 30);
+        pagamentos = new ArrayList<>(QUANTIDADE_PAGAMENTOS);
+        for (long i = 1; i <= QUANTIDADE_PAGAMENTOS; i++) {
+            BeneficiarioResponseDTO beneficiario = new BeneficiarioResponseDTO(i % 100, "Beneficiário " + (i % 100), "81999990000",
+                                                                               agora, agora, 0L, null);
+            EmprestimoResponseDTO emprestimo = new EmprestimoResponseDTO(i % 1000, agora, agora.plusMonths(1), 1000.0, 30.0, false,
+                                                                         beneficiario, agora, agora, 1L, "Observação do empréstimo");
+            pagamentos.add(new PagamentoResponseDTO(i, agora.plusDays(i % 30), 130.0 + i % 7, TipoPagamento.JUROS, emprestimo,
+                                                    agora, agora, 0L, null));
+        }
+    }
+
+    /**
+     * Testa que os três formatos produzem o mesmo conteúdo.
+     */
+    @Test
+    @DisplayName("Deve serializar e ler de volta o mesmo conteúdo em JSON, CBOR e Smile")
+    void serializar_DeveManterConteudoEmTodosOsFormatos() throws Exception {
+        TypeReference<List<PagamentoResponseDTO>> tipo = new TypeReference<>() {};
+
+        assertEquals(pagamentos, json.readValue(json.writeValueAsBytes(pagamentos), tipo), "O JSON deve preservar o conteúdo");
+        assertEquals(pagamentos, cbor.readValue(cbor.writeValueAsBytes(pagamentos), tipo), "O CBOR deve preservar o conteúdo");
+        assertEquals(pagamentos, smile.readValue(smile.writeValueAsBytes(pagamentos), tipo), "O Smile deve preservar o conteúdo");
+    }
+
+    /**
+     * Compara o tamanho da mesma página nos três formatos.
+     */
+    @Test
+    @DisplayName("Deve gerar respostas binárias menores que o JSON")
+    void serializar_DeveGerarFormatosBinariosMenores() throws Exception {
+        int tamanhoJson  = json.writeValueAsBytes(pagamentos).length;
+        int tamanhoCbor  = cbor.writeValueAsBytes(pagamentos).length;
+        int tamanhoSmile = smile.writeValueAsBytes(pagamentos).length;
+
+        assertTrue(tamanhoCbor < tamanhoJson, "O CBOR deve ser menor que o JSON");
+        assertTrue(tamanhoSmile < tamanhoJson, "O Smile deve ser menor que o JSON");
+    }
+}
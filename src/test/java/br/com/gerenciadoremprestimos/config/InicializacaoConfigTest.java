@@ -0,0 +1,71 @@
+package br.com.gerenciadoremprestimos.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Classe de teste para a inicialização tardia do InicializacaoConfig.
+ */
+class InicializacaoConfigTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        registrar("documentacao", "org.springdoc.webmvc.api.OpenApiWebMvcResource", null);
+        registrar("configuracaoDocumentacao", "org.springdoc.core.configuration.SpringDocConfiguration", null);
+        registrar("beanDeclaradoNaDocumentacao", null, "configuracaoDocumentacao");
+        registrar("emprestimoService", "br.com.gerenciadoremprestimos.service.EmprestimoService", null);
+        registrar("springdocSemPonto", "org.springdocextra.Componente", null);
+    }
+
+    /**
+     * Testa que apenas os beans dos pacotes configurados passam a ser criados no primeiro uso.
+     */
+    @Test
+    @DisplayName("Deve marcar como tardios apenas os beans dos pacotes configurados")
+    void inicializacaoTardia_DeveMarcarBeansDosPacotesConfigurados() {
+        MockEnvironment environment = new MockEnvironment().withProperty("inicializacao.pacotes-tardios[0]", "org.springdoc");
+
+        InicializacaoConfig.inicializacaoTardia(environment).postProcessBeanFactory(beanFactory);
+
+        assertTrue(lazy("documentacao"), "Bean do pacote configurado deve ser tardio");
+        assertTrue(lazy("configuracaoDocumentacao"), "Configuração do pacote configurado deve ser tardia");
+        assertTrue(lazy("beanDeclaradoNaDocumentacao"), "Bean declarado por configuração do pacote deve ser tardio");
+        assertFalse(lazy("emprestimoService"), "Beans da API devem continuar sendo criados na subida");
+        assertFalse(lazy("springdocSemPonto"), "Pacote com prefixo parecido não deve ser tardio");
+    }
+
+    /**
+     * Testa que sem pacotes configurados nada é alterado.
+     */
+    @Test
+    @DisplayName("Não deve alterar nenhum bean sem pacotes configurados")
+    void inicializacaoTardia_SemPacotes_NaoDeveAlterarBeans() {
+        InicializacaoConfig.inicializacaoTardia(new MockEnvironment()).postProcessBeanFactory(beanFactory);
+
+        assertFalse(lazy("documentacao"), "Nenhum bean deve ser tardio");
+    }
+
+    private void registrar(String nome, String classe, String fabrica) {
+        GenericBeanDefinition definicao = new GenericBeanDefinition();
+        definicao.setBeanClassName(classe);
+        if (fabrica != null) {
+            definicao.setFactoryBeanName(fabrica);
+            definicao.setFactoryMethodName(nome);
+        }
+        beanFactory.registerBeanDefinition(nome, definicao);
+    }
+
+    private boolean lazy(String nome) {
+        return beanFactory.getBeanDefinition(nome).isLazyInit();
+    }
+}
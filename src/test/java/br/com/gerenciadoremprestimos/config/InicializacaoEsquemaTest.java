@@ -0,0 +1,130 @@
+package br.com.gerenciadoremprestimos.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Classe de teste da estratégia de migração usada na inicialização ({@link MigracaoConfig}).
+ *
+ * Cada teste usa um banco H2 em memória próprio e migrações gravadas em um diretório temporário, com a mesma
+ * configuração de baseline do application.yml.
+ */
+class InicializacaoEsquemaTest {
+
+    private static final String V1 = "CREATE TABLE beneficiario (id BIGINT NOT NULL PRIMARY KEY, nome VARCHAR(100));\n";
+    private static final String V2 = "CREATE TABLE emprestimo (id BIGINT NOT NULL PRIMARY KEY, beneficiario_id BIGINT);\n";
+
+    private final MigracaoConfig config = new MigracaoConfig();
+
+    @TempDir
+    Path diretorio;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        gravarMigracao("V1__esquema_inicial.sql", V1);
+        gravarMigracao("V2__emprestimo.sql", V2);
+    }
+
+    /**
+     * Testa que a subida padrão não altera o esquema e falha quando há migração pendente.
+     */
+    @Test
+    @DisplayName("Deve falhar na subida padrão quando houver migração pendente, sem alterar o esquema")
+    void subidaPadrao_ComMigracaoPendente_DeveFalhar() {
+        FlywayMigrationStrategy estrategia = config.estrategiaMigracao(false, true);
+
+        assertThrows(FlywayException.class, () -> estrategia.migrate(flyway()), "A validação deve acusar a migração pendente");
+        assertEquals(0, quantidadeTabelas("BENEFICIARIO"), "A subida padrão não deve criar tabelas");
+    }
+
+    /**
+     * Testa a aplicação das migrações com migracao.aplicar=true e a validação nas subidas seguintes.
+     */
+    @Test
+    @DisplayName("Deve aplicar as migrações com migracao.aplicar=true e validar nas subidas seguintes")
+    void aplicar_DeveMigrarEValidarNasSubidasSeguintes() {
+        config.estrategiaMigracao(true, true).migrate(flyway());
+
+        assertEquals(1, quantidadeTabelas("BENEFICIARIO"), "A V1 deve ser aplicada");
+        assertEquals(1, quantidadeTabelas("EMPRESTIMO"), "A V2 deve ser aplicada");
+        assertDoesNotThrow(() -> config.estrategiaMigracao(false, true).migrate(flyway()),
+                "A subida seguinte deve validar sem erros");
+    }
+
+    /**
+     * Testa que uma migração alterada depois de aplicada impede a subida.
+     */
+    @Test
+    @DisplayName("Deve falhar na subida quando uma migração aplicada for alterada")
+    void subidaPadrao_ComMigracaoAlterada_DeveFalhar() throws Exception {
+        config.estrategiaMigracao(true, true).migrate(flyway());
+        gravarMigracao("V2__emprestimo.sql", V2.replace("beneficiario_id BIGINT", "beneficiario_id BIGINT NOT NULL"));
+
+        assertThrows(FlywayException.class, () -> config.estrategiaMigracao(false, true).migrate(flyway()),
+                "A validação deve acusar a alteração do checksum");
+    }
+
+    /**
+     * Testa que um banco criado antes das migrações é marcado na versão 1 e recebe apenas as seguintes.
+     */
+    @Test
+    @DisplayName("Deve marcar o banco existente na versão 1 e aplicar apenas as migrações seguintes")
+    void aplicar_BancoExistente_DeveAplicarApenasMigracoesSeguintes() {
+        jdbcTemplate.execute(V1);
+
+        config.estrategiaMigracao(true, true).migrate(flyway());
+
+        assertEquals(1, quantidadeTabelas("EMPRESTIMO"), "A V2 deve ser aplicada sobre o banco existente");
+        assertEquals(2, flyway().info().applied().length, "O histórico deve ter o baseline e a V2");
+        assertEquals(0, flyway().info().pending().length, "Não deve haver migração pendente");
+    }
+
+    /**
+     * Testa que com migracao.validar=false o histórico não é verificado.
+     */
+    @Test
+    @DisplayName("Não deve validar nem migrar com migracao.validar=false")
+    void semValidacao_NaoDeveVerificarHistorico() {
+        assertDoesNotThrow(() -> config.estrategiaMigracao(false, false).migrate(flyway()),
+                "Sem validação a migração pendente não deve impedir a subida");
+        assertEquals(0, quantidadeTabelas("BENEFICIARIO"), "Nenhuma migração deve ser aplicada");
+    }
+
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("filesystem:" + diretorio.toAbsolutePath())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private void gravarMigracao(String nome, String conteudo) throws Exception {
+        Files.writeString(diretorio.resolve(nome), conteudo, StandardCharsets.UTF_8);
+    }
+
+    private int quantidadeTabelas(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?", Integer.class, tabela);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.gerenciadoremprestimos.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.context.support.StaticMessageSource;
+
+/**
+ * Classe de teste para o MessageSourceComCache.
+ */
+class MessageSourceComCacheTest {
+
+    private static final Locale LOCALE = Locale.getDefault();
+
+    private MessageSourceComCache messageSource;
+
+    @BeforeEach
+    void setUp() {
+        StaticMessageSource mensagensComuns = new StaticMessageSource();
+        mensagensComuns.addMessage("teste.aspas", LOCALE, "O ID ''{0}'' não existe");
+        mensagensComuns.addMessage("teste.formato", LOCALE, "Total: {0,number,#}");
+
+        messageSource = new MessageSourceComCache();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setParentMessageSource(mensagensComuns);
+    }
+
+    /**
+     * Testa a montagem de mensagens simples com e sem parâmetros.
+     */
+    @Test
+    @DisplayName("Deve montar as mensagens simples substituindo os parâmetros")
+    void getMessage_DeveSubstituirParametros() {
+        assertEquals("Empréstimo não encontrado com ID: 12345", messageSource.getMessage("emprestimo.naoExiste", new Object[] {"12345"}, LOCALE));
+        assertEquals("Empréstimo não encontrado com ID: 7", messageSource.getMessage("emprestimo.naoExiste", new Object[] {7L}, LOCALE),
+                     "A segunda chamada deve usar a mensagem em cache");
+        assertEquals("O Arquivo deve ser uma imagem!", messageSource.getMessage("beneficiario.arquivoDeveSerImagem", null, LOCALE));
+    }
+
+    /**
+     * Testa que mensagens com aspas ou formatos continuam formatadas pelo MessageFormat.
+     */
+    @Test
+    @DisplayName("Deve usar o MessageFormat para mensagens com aspas ou formatos")
+    void getMessage_DeveManterFormatacaoPadrao() {
+        assertEquals("O ID '5' não existe", messageSource.getMessage("teste.aspas", new Object[] {5}, LOCALE));
+        assertEquals("Total: 1234", messageSource.getMessage("teste.formato", new Object[] {1234}, LOCALE));
+    }
+
+    /**
+     * Testa que números são formatados conforme o idioma, com o mesmo resultado da implementação padrão.
+     */
+    @Test
+    @DisplayName("Deve formatar números conforme o idioma, como a implementação padrão")
+    void getMessage_ArgumentoNumerico_DeveFormatarComoImplementacaoPadrao() {
+        ReloadableResourceBundleMessageSource padrao = new ReloadableResourceBundleMessageSource();
+        padrao.setBasename("classpath:messages");
+        padrao.setDefaultEncoding("UTF-8");
+
+        for (Locale locale : new Locale[] {Locale.forLanguageTag("pt-BR"), Locale.US}) {
+            for (Object argumento : new Object[] {1234567L, 1500.5, "1234567"}) {
+                Object[] args = {argumento};
+                assertEquals(padrao.getMessage("pagamento.naoExiste", args, locale), messageSource.getMessage("pagamento.naoExiste", args, locale),
+                             "A mensagem deve ser igual à da implementação padrão para " + argumento + " em " + locale);
+            }
+        }
+        assertEquals("Pagamento não encontrado com ID: 1.234.567",
+                     messageSource.getMessage("pagamento.naoExiste", new Object[] {1234567L}, Locale.forLanguageTag("pt-BR")));
+    }
+
+    /**
+     * Testa a busca de um código inexistente.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o código não existir")
+    void getMessage_CodigoInexistente_DeveLancarExcecao() {
+        assertThrows(NoSuchMessageException.class, () -> messageSource.getMessage("codigo.inexistente", null, LOCALE));
+    }
+}
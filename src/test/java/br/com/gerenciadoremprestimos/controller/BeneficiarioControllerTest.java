@@ -205,4 +205,54 @@ public class BeneficiarioControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    /**
+     * Teste para verificar o resumo da carteira de um beneficiário.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/{id}/resumo - Deve retornar o resumo do beneficiário")
+    void resumo_DeveRetornarResumoDoBeneficiario() throws Exception {
+        mockMvc.perform(get(BASE_URL.concat("/{id}/resumo"), beneficiario.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beneficiarioId").value(beneficiario.getId()))
+                .andExpect(jsonPath("$.nome").value(BeneficiarioUtil.NOME_BENEF))
+                .andExpect(jsonPath("$.quantidadeEmprestimos").value(0));
+    }
+
+    /**
+     * Teste para verificar o resumo paginado de todos os beneficiários.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/resumo - Deve retornar a página de resumos")
+    void resumoDeTodos_DeveRetornarPaginaDeResumos() throws Exception {
+        mockMvc.perform(get(BASE_URL.concat("/resumo"))
+                .param("pagina", "0")
+                .param("tamanho", "10")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(greaterThanOrEqualTo(1))));
+    }
+
+    /**
+     * Teste para verificar que um tamanho de página fora do intervalo permitido é rejeitado.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/resumo - Deve retornar 400 para tamanho de página inválido")
+    void resumoDeTodos_DeveRetornarBadRequestParaTamanhoInvalido() throws Exception {
+        mockMvc.perform(get(BASE_URL.concat("/resumo"))
+                .param("pagina", "0")
+                .param("tamanho", "0")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("O tamanho da página deve estar entre 1 e 100"));
+
+        mockMvc.perform(get(BASE_URL.concat("/resumo"))
+                .param("pagina", "-1")
+                .param("tamanho", "10")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
 }
@@ -214,6 +214,54 @@ public class EmprestimoControllerTest {
                 .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
     }
 
+    /**
+     * Teste para verificar a requisição condicional de um empréstimo com a ETag retornada na primeira busca.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/{id} - Deve retornar NotModified quando a ETag não mudou")
+    void buscarPorId_ComEtagAtual_NotModified() throws Exception {
+        String etag = mockMvc.perform(get(BASE_URL.concat("/{id}"), emprestimo.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token) )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BASE_URL.concat("/{id}"), emprestimo.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get(BASE_URL.concat("/{id}"), emprestimo.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"desatualizada\""))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Teste para verificar os cabeçalhos de validação da listagem de empréstimos.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve retornar ETag e Last-Modified na listagem")
+    void buscarTodos_ComEtagAtual_NotModified() throws Exception {
+        String etag = mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token) )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
     /**
      * Teste para verificar a remoção de um empréstimo.
      *
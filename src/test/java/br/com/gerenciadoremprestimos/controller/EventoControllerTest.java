@@ -0,0 +1,225 @@
+package br.com.gerenciadoremprestimos.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.service.EventoService;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o EventoController.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EventoControllerTest {
+
+    private static final String BASE_URL = "/api/eventos";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventoService eventoService;
+
+    private String token;
+
+    /**
+     * Configura o ambiente de teste antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        token = TestUtils.obterToken(mockMvc, objectMapper);
+    }
+
+    /**
+     * Teste para verificar o envio de uma alteração a um cliente inscrito.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve enviar as alterações aos clientes inscritos")
+    void inscrever_DeveReceberAlteracoes() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        aguardarConteudo(resultado, "event:conectado");
+
+        Emprestimo emprestimo = EmprestimoUtil.criarEmprestimo(BeneficiarioUtil.criarBeneficiarioPadrao(), TestUtils.VALOR2000, EmprestimoUtil.PORCENTAGEM30,
+                EmprestimoUtil.DATA_EMPRESTIMO1, EmprestimoUtil.DATA_EMPRESTIMO1.plusMonths(1L), false);
+        ReflectionTestUtils.setField(emprestimo, "id", 7L);
+        Pagamento pagamento = PagamentoUtil.criarPagamento(emprestimo, TestUtils.VALOR1000, PagamentoUtil.DATA_PAGAMENTO1, TipoPagamento.JUROS);
+        ReflectionTestUtils.setField(pagamento, "id", 70L);
+
+        eventoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, pagamento, null));
+
+        aguardarConteudo(resultado, "event:alteracao");
+        String conteudo = resultado.getResponse().getContentAsString();
+        assertTrue(conteudo.contains("\"tipo\":\"pagamento\""), "O evento deve informar o tipo da entidade");
+        assertTrue(conteudo.contains("\"entidadeId\":70"), "O evento deve informar o ID do pagamento");
+        assertTrue(conteudo.contains("\"emprestimoId\":7"), "O evento deve informar o empréstimo do pagamento");
+    }
+
+    /**
+     * Teste para verificar que alterações confirmadas por várias threads chegam ao cliente na ordem dos IDs e sem
+     * lacunas.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve enviar as alterações concorrentes em ordem e sem lacunas")
+    void inscrever_AlteracoesConcorrentes_DeveReceberTodasEmOrdem() throws Exception {
+        int threads = 8;
+        int alteracoesPorThread = 50;
+
+        MvcResult resultado = mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        aguardarConteudo(resultado, "event:conectado");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long base = t * 1_000L;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < alteracoesPorThread; i++) {
+                        Beneficiario beneficiario = BeneficiarioUtil.criarBeneficiarioPadrao();
+                        ReflectionTestUtils.setField(beneficiario, "id", base + i);
+                        eventoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, beneficiario, null));
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> ids = aguardarAlteracoes(resultado, threads * alteracoesPorThread);
+        assertEquals(threads * alteracoesPorThread, ids.size(), "Todas as alterações devem ser enviadas");
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(ids.get(i - 1) + 1, ids.get(i), "Os IDs devem ser enviados em ordem e sem lacunas");
+        }
+    }
+
+    /**
+     * Teste para verificar a retomada com um ID de evento de outra execução.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve solicitar recarga quando o último evento não estiver disponível")
+    void inscrever_UltimoEventoIndisponivel_DeveEnviarReinicio() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        aguardarConteudo(resultado, "event:reinicio");
+    }
+
+    /**
+     * Teste para verificar a inscrição com ID de evento inválido.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve retornar BadRequest quando o último evento for inválido")
+    void inscrever_UltimoEventoInvalido_BadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Teste para verificar a inscrição com ID de evento maior que o maior long.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve retornar BadRequest quando o último evento não couber em um long")
+    void inscrever_UltimoEventoForaDoLimite_BadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("Last-Event-ID", "99999999999999999999"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> aguardarAlteracoes(MvcResult resultado, int quantidade) throws Exception {
+        long limite = System.currentTimeMillis() + 5_000;
+        List<Long> ids = idsDasAlteracoes(resultado.getResponse().getContentAsString());
+        while (ids.size() < quantidade && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            ids = idsDasAlteracoes(resultado.getResponse().getContentAsString());
+        }
+        return ids;
+    }
+
+    private List<Long> idsDasAlteracoes(String conteudo) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = Pattern.compile("id:(\\d+)\\nevent:alteracao").matcher(conteudo);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private void aguardarConteudo(MvcResult resultado, String esperado) throws Exception {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!resultado.getResponse().getContentAsString().contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(resultado.getResponse().getContentAsString().contains(esperado), "O fluxo deve conter " + esperado);
+    }
+}
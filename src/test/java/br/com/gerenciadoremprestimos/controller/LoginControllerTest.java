@@ -7,16 +7,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.gerenciadoremprestimos.dto.AtualizacaoTokenRequestDTO;
 import br.com.gerenciadoremprestimos.dto.LoginRequestDTO;
+import br.com.gerenciadoremprestimos.dto.TokenResponseDTO;
+import br.com.gerenciadoremprestimos.model.TokenRevogado;
+import br.com.gerenciadoremprestimos.repository.TokenRevogadoRepository;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -34,6 +46,9 @@ public class LoginControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
     private LoginRequestDTO requestDTO;
 
     private final String BASE_URL = "/login";
@@ -54,10 +69,16 @@ public class LoginControllerTest {
     @Test
     @DisplayName("Teste de integração do endpoint " + BASE_URL + " - login com sucesso")
     void login_ComSucesso() throws Exception {
-        mockMvc.perform(post(BASE_URL)
+        MvcResult result = mockMvc.perform(post(BASE_URL)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.tokenAtualizacao").isNotEmpty());
     }
 
     /**
@@ -70,9 +91,101 @@ public class LoginControllerTest {
     void login_ComFalha() throws Exception {
         requestDTO.setSenha("-99999");
 
-        mockMvc.perform(post(BASE_URL)
+        MvcResult result = mockMvc.perform(post(BASE_URL)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Teste para verificar a renovação dos tokens com o token de atualização.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/atualizar - Deve renovar os tokens uma única vez por token de atualização")
+    void atualizar_DeveRenovarTokensUmaUnicaVez() throws Exception {
+        TokenResponseDTO tokens = login();
+        String corpo = objectMapper.writeValueAsString(new AtualizacaoTokenRequestDTO(tokens.getTokenAtualizacao()));
+
+        mockMvc.perform(post(BASE_URL + "/atualizar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.tokenAtualizacao").isNotEmpty());
+
+        mockMvc.perform(post(BASE_URL + "/atualizar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post(BASE_URL + "/atualizar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AtualizacaoTokenRequestDTO(tokens.getToken()))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Teste para verificar a recusa de um token de atualização já usado em outra instância, cuja revogação ainda
+     * não foi carregada nesta.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/atualizar - Deve recusar o token de atualização revogado por outra instância")
+    void atualizar_TokenRevogadoEmOutraInstancia_Unauthorized() throws Exception {
+        TokenResponseDTO tokens = login();
+        DecodedJWT jwt = JWT.decode(tokens.getTokenAtualizacao());
+        tokenRevogadoRepository.saveAndFlush(new TokenRevogado(jwt.getId(), jwt.getExpiresAtAsInstant()));
+
+        mockMvc.perform(post(BASE_URL + "/atualizar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AtualizacaoTokenRequestDTO(tokens.getTokenAtualizacao()))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Teste para verificar a revogação dos tokens no logout.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/sair - Deve revogar os tokens da sessão")
+    void sair_DeveRevogarTokens() throws Exception {
+        TokenResponseDTO tokens = login();
+
+        mockMvc.perform(get("/api/pagamento")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post(BASE_URL + "/sair")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AtualizacaoTokenRequestDTO(tokens.getTokenAtualizacao()))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/pagamento")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getToken()))
                 .andExpect(status().isForbidden());
-    }    
+
+        mockMvc.perform(post(BASE_URL + "/atualizar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AtualizacaoTokenRequestDTO(tokens.getTokenAtualizacao()))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private TokenResponseDTO login() throws Exception {
+        MvcResult result = mockMvc.perform(post(BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andReturn();
+
+        String conteudo = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(conteudo, TokenResponseDTO.class);
+    }
 }
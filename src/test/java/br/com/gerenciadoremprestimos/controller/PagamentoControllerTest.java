@@ -12,10 +12,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 
 import br.com.gerenciadoremprestimos.dto.PagamentoRequestDTO;
+import br.com.gerenciadoremprestimos.dto.PagamentoResponseDTO;
+import br.com.gerenciadoremprestimos.idempotencia.FiltroIdempotencia;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 import br.com.gerenciadoremprestimos.model.Pagamento;
@@ -30,9 +38,13 @@ import br.com.gerenciadoremprestimos.utils.TestUtils;
 import jakarta.transaction.Transactional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Classe de teste para o PagamentoController.
@@ -142,6 +154,48 @@ public class PagamentoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    /**
+     * Teste para verificar a repetição de um pagamento com a mesma chave de idempotência.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve repetir a resposta sem duplicar o pagamento com a mesma Idempotency-Key")
+    void inserir_MesmaChaveDeIdempotencia_NaoDeveDuplicarPagamento() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String corpo = objectMapper.writeValueAsString(requestDTO);
+        long quantidadeAntes = pagamentoRepository.count();
+
+        String primeira = mockMvc.perform(post(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(FiltroIdempotencia.CABECALHO, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(FiltroIdempotencia.CABECALHO_REPETIDA))
+                .andReturn().getResponse().getContentAsString();
+
+        String repetida = mockMvc.perform(post(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(FiltroIdempotencia.CABECALHO, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(FiltroIdempotencia.CABECALHO_REPETIDA, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(primeira, repetida, "A repetição deve receber a mesma resposta");
+        assertEquals(quantidadeAntes + 1, pagamentoRepository.count(), "Apenas um pagamento deve ser criado");
+
+        requestDTO.setValorPago(TestUtils.VALOR3000);
+        mockMvc.perform(post(BASE_URL)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(FiltroIdempotencia.CABECALHO, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     /**
      * Teste para verificar a atualização de um pagamento.
      *
@@ -214,6 +268,59 @@ public class PagamentoControllerTest {
                 .andExpect(jsonPath("$.tipoPagamento").value(pagamento.getTipoPagamento().toString()));
     }
 
+    /**
+     * Teste para verificar que a ETag do pagamento muda quando o empréstimo incluído na resposta é alterado.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/{id} - Deve retornar o pagamento quando o empréstimo foi alterado")
+    void buscarPorId_ComEmprestimoAlterado_DeveRetornarPagamento() throws Exception {
+        String etag = mockMvc.perform(get(BASE_URL.concat("/{id}"), pagamento.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token) )
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BASE_URL.concat("/{id}"), pagamento.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        emprestimo.setQuitado(true);
+        emprestimoRepository.saveAndFlush(emprestimo);
+
+        mockMvc.perform(get(BASE_URL.concat("/{id}"), pagamento.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emprestimo.quitado").value(true));
+    }
+
+    /**
+     * Teste para verificar a busca de um pagamento em CBOR.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + "/{id} - Deve retornar o pagamento em CBOR quando solicitado")
+    void buscarPorId_AcceptCbor_DeveRetornarPagamentoEmCbor() throws Exception {
+        byte[] conteudo = mockMvc.perform(get(BASE_URL.concat("/{id}"), pagamento.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PagamentoResponseDTO responseDTO = new CBORMapper().findAndRegisterModules().readValue(conteudo, PagamentoResponseDTO.class);
+
+        assertEquals(pagamento.getId(), responseDTO.getId(), "O ID deve ser o do pagamento");
+        assertEquals(emprestimo.getId(), responseDTO.getEmprestimo().getId(), "O empréstimo deve ser incluído na resposta");
+        assertEquals(pagamento.getDataPagamento(), responseDTO.getDataPagamento(), "As datas devem ser preservadas");
+    }
+
     /**
      * Teste para verificar a busca de todos os pagamentos.
      *
@@ -226,7 +333,77 @@ public class PagamentoControllerTest {
         mockMvc.perform(get(BASE_URL)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + token) )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
+                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$[0]", hasKey("observacao")));
+    }
+
+    /**
+     * Teste para verificar a busca de todos os pagamentos com seleção de campos e sem expandir o empréstimo.
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve retornar apenas os campos selecionados")
+    void buscarTodos_ComSelecaoDeCampos_DeveRetornarCamposSelecionados() throws Exception {
+        mockMvc.perform(get(BASE_URL)
+                .param("fields", "valorPago,emprestimo")
+                .param("expand", "")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == %d)].valorPago", pagamento.getId()).value(pagamento.getValorPago()))
+                .andExpect(jsonPath("$[?(@.id == %d)].emprestimo.id", pagamento.getId()).value(emprestimo.getId()))
+                .andExpect(jsonPath("$[0].tipoPagamento").doesNotExist())
+                .andExpect(jsonPath("$[0].emprestimo.valorEmprestimo").doesNotExist());
+
+        mockMvc.perform(get(BASE_URL)
+                .param("fields", "valorPago,emprestimo,emprestimo.quitado,emprestimo.beneficiario")
+                .param("expand", "emprestimo")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == %d)].emprestimo.quitado", pagamento.getId()).value(false))
+                .andExpect(jsonPath("$[?(@.id == %d)].emprestimo.beneficiario.id", pagamento.getId()).value(beneficiario.getId()))
+                .andExpect(jsonPath("$[0].emprestimo.valorEmprestimo").doesNotExist())
+                .andExpect(jsonPath("$[0].emprestimo.beneficiario.nome").doesNotExist());
+    }
+
+    /**
+     * Compara o tamanho da tela de pagamentos do mês (5.000 pagamentos) com a listagem completa e com a seleção de
+     * campos. A latência de cada variante é medida no PagamentosDoMesBenchmark (src/jmh).
+     *
+     * @throws Exception se ocorrer um erro ao executar a solicitação.
+     */
+    @Transactional
+    @Test
+    @DisplayName("Teste de integração do endpoint " + BASE_URL + " - Deve reduzir a resposta da tela de pagamentos do mês")
+    void buscarTodos_PagamentosDoMes_DeveReduzirResposta() throws Exception {
+        List<Pagamento> pagamentos = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            pagamentos.add(PagamentoUtil.criarPagamento(emprestimo, TestUtils.VALOR1000, PagamentoUtil.DATA_PAGAMENTO1.plusDays(i % 20), TipoPagamento.JUROS));
+        }
+        pagamentoRepository.saveAll(pagamentos);
+        pagamentoRepository.flush();
+
+        int completa = tamanhoDaResposta(null, null);
+        int selecao  = tamanhoDaResposta("dataPagamento,valorPago,tipoPagamento,emprestimo,emprestimo.beneficiario,emprestimo.beneficiario.nome",
+                                         "emprestimo.beneficiario");
+        int ids      = tamanhoDaResposta("id", "");
+
+        assertTrue(selecao < completa, "A resposta com seleção de campos deve ser menor que a completa");
+        assertTrue(ids < selecao, "A resposta somente com IDs deve ser a menor");
+    }
+
+    private int tamanhoDaResposta(String fields, String expand) throws Exception {
+        MockHttpServletRequestBuilder requisicao = get(BASE_URL).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (fields != null) {
+            requisicao.param("fields", fields);
+        }
+        if (expand != null) {
+            requisicao.param("expand", expand);
+        }
+        return mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
     }
 
     /**
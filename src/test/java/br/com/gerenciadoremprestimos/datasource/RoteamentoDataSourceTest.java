@@ -0,0 +1,130 @@
+package br.com.gerenciadoremprestimos.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.gerenciadoremprestimos.datasource.RoteamentoDataSource.Replica;
+
+/**
+ * Classe de teste para o RoteamentoDataSource, usando dois bancos H2 em memória como primário e réplica.
+ */
+class RoteamentoDataSourceTest {
+
+    private DriverManagerDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transacaoEscrita;
+    private TransactionTemplate transacaoLeitura;
+    private RoteamentoDataSource roteamento;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primario = criarBanco("primario");
+        replica = criarBanco("replica");
+        criarAtraso(replica, 0);
+
+        roteamento = new RoteamentoDataSource(primario, List.of(new Replica("replica-1", replica)),
+                                              Duration.ofSeconds(10), "SELECT SEGUNDOS FROM ATRASO");
+        roteamento.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        transacaoEscrita = new TransactionTemplate(transactionManager);
+        transacaoLeitura = new TransactionTemplate(transactionManager);
+        transacaoLeitura.setReadOnly(true);
+    }
+
+    /**
+     * Testa que transações somente leitura vão para a réplica e as demais para o primário.
+     */
+    @Test
+    @DisplayName("Deve enviar leituras para a réplica e escritas para o primário")
+    void determinarDestino_DeveSepararLeituraEEscrita() {
+        assertEquals("replica", bancoAtual(transacaoLeitura), "A transação somente leitura deve usar a réplica");
+        assertEquals("primario", bancoAtual(transacaoEscrita), "A transação de escrita deve usar o primário");
+        assertEquals("primario", jdbcTemplate.queryForObject("SELECT NOME FROM BANCO", String.class),
+                     "Fora de transação deve ser usado o primário");
+    }
+
+    /**
+     * Testa o retorno ao primário quando a réplica está atrasada e a volta para a réplica após a recuperação.
+     */
+    @Test
+    @DisplayName("Deve voltar ao primário enquanto a réplica estiver atrasada")
+    void verificarReplicas_DeveIgnorarReplicaAtrasada() {
+        criarAtraso(replica, 60);
+        roteamento.verificarReplicas();
+        assertEquals("primario", bancoAtual(transacaoLeitura), "A réplica atrasada não deve receber leituras");
+
+        criarAtraso(replica, 1);
+        roteamento.verificarReplicas();
+        assertEquals("replica", bancoAtual(transacaoLeitura), "A réplica recuperada deve voltar a receber leituras");
+    }
+
+    /**
+     * Testa o retorno ao primário quando a réplica está inacessível.
+     */
+    @Test
+    @DisplayName("Deve voltar ao primário quando a réplica estiver inacessível")
+    void verificarReplicas_DeveIgnorarReplicaInacessivel() {
+        new JdbcTemplate(replica).execute("DROP TABLE ATRASO");
+        roteamento.verificarReplicas();
+
+        assertEquals("primario", bancoAtual(transacaoLeitura), "A réplica com falha na verificação não deve receber leituras");
+    }
+
+    /**
+     * Testa que o encerramento do roteamento fecha os pools das réplicas.
+     */
+    @Test
+    @DisplayName("Deve fechar os pools das réplicas no encerramento")
+    void destroy_DeveFecharPoolsDasReplicas() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        RoteamentoDataSource roteamentoComPool = new RoteamentoDataSource(replica, List.of(new Replica("replica-1", pool)),
+                                                                          Duration.ofSeconds(10), "SELECT SEGUNDOS FROM ATRASO");
+        roteamentoComPool.afterPropertiesSet();
+
+        roteamentoComPool.destroy();
+
+        assertTrue(pool.isClosed(), "O pool da réplica deve ser fechado");
+    }
+
+    private String bancoAtual(TransactionTemplate transacao) {
+        return transacao.execute(status -> jdbcTemplate.queryForObject("SELECT NOME FROM BANCO", String.class));
+    }
+
+    private static DriverManagerDataSource criarBanco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS BANCO");
+        jdbc.execute("CREATE TABLE BANCO (NOME VARCHAR(20))");
+        jdbc.update("INSERT INTO BANCO VALUES (?)", nome);
+        return dataSource;
+    }
+
+    private static void criarAtraso(DataSource dataSource, int segundos) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS ATRASO");
+        jdbc.execute("CREATE TABLE ATRASO (SEGUNDOS INT)");
+        jdbc.update("INSERT INTO ATRASO VALUES (?)", segundos);
+    }
+}
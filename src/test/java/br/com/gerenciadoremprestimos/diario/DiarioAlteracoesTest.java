@@ -0,0 +1,206 @@
+package br.com.gerenciadoremprestimos.diario;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.gerenciadoremprestimos.diario.RegistroDiario.TipoEntidade;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+
+/**
+ * Classe de teste para o DiarioAlteracoes e o LeitorDiario.
+ * O custo por registro é medido no DiarioAlteracoesBenchmark (src/jmh).
+ */
+class DiarioAlteracoesTest {
+
+    private static final int TAMANHO_SEGMENTO = 4 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Testa a gravação e a leitura dos registros.
+     */
+    @Test
+    @DisplayName("Deve ler os registros na ordem em que foram incluídos")
+    void registrar_DeveLerRegistrosIncluidos() throws Exception {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            diario.registrar(Operacao.INSERCAO, TipoEntidade.BENEFICIARIO, 10L, 0L, dados("inserido"));
+            diario.registrar(Operacao.ATUALIZACAO, TipoEntidade.BENEFICIARIO, 10L, 1L, dados("atualizado"));
+            diario.sincronizar();
+
+            List<RegistroDiario> registros = lerTodos();
+            assertEquals(2, registros.size(), "Os dois registros devem ser lidos");
+            assertEquals(Operacao.ATUALIZACAO, registros.get(1).getOperacao());
+            assertEquals(1L, registros.get(1).getVersao());
+            assertArrayEquals(dados("atualizado"), registros.get(1).getDados(), "Os dados devem ser preservados");
+        }
+    }
+
+    /**
+     * Testa a troca de segmento e a continuação da sequência após reabrir o diário.
+     */
+    @Test
+    @DisplayName("Deve trocar de segmento e continuar a sequência ao reabrir o diário")
+    void registrar_DeveTrocarSegmentoEContinuarAoReabrir() throws Exception {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            for (long i = 1; i <= 100; i++) {
+                diario.registrar(Operacao.INSERCAO, TipoEntidade.PAGAMENTO, i, 0L, dados("pagamento " + i));
+            }
+        }
+        assertTrue(FormatoRegistro.listarSegmentos(diretorio).size() > 1, "Os registros devem ocupar mais de um segmento");
+
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            assertEquals(100L, diario.ultimaSequencia(), "A sequência deve continuar do último registro");
+            assertEquals(101L, diario.registrar(Operacao.REMOCAO, TipoEntidade.PAGAMENTO, 1L, 0L, dados("")));
+        }
+
+        List<RegistroDiario> registros = lerTodos();
+        assertEquals(101, registros.size(), "Todos os registros devem ser lidos");
+        for (int i = 0; i < registros.size(); i++) {
+            assertEquals(i + 1L, registros.get(i).getSequencia(), "As sequências devem ser consecutivas");
+        }
+    }
+
+    /**
+     * Testa a recuperação após uma escrita interrompida no fim do segmento.
+     */
+    @Test
+    @DisplayName("Deve ignorar o registro incompleto e continuar a partir do último válido")
+    void abrir_RegistroIncompleto_DeveContinuarDoUltimoValido() throws Exception {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            diario.registrar(Operacao.INSERCAO, TipoEntidade.EMPRESTIMO, 1L, 0L, dados("completo"));
+            diario.registrar(Operacao.INSERCAO, TipoEntidade.EMPRESTIMO, 2L, 0L, dados("interrompido"));
+        }
+
+        // Corrompe o último byte de dados do segundo registro, simulando uma escrita parcial
+        int fimSegundo = FormatoRegistro.CABECALHO_SEGMENTO + FormatoRegistro.tamanho(dados("completo").length)
+                + FormatoRegistro.tamanho(dados("interrompido").length);
+        try (RandomAccessFile arquivo = new RandomAccessFile(FormatoRegistro.listarSegmentos(diretorio).get(0).toFile(), "rw")) {
+            arquivo.seek(fimSegundo - 5);
+            arquivo.write(0);
+        }
+
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            assertEquals(1L, diario.ultimaSequencia(), "Apenas o primeiro registro é válido");
+            diario.registrar(Operacao.INSERCAO, TipoEntidade.EMPRESTIMO, 3L, 0L, dados("novo"));
+        }
+
+        List<RegistroDiario> registros = lerTodos();
+        assertEquals(2, registros.size(), "O registro interrompido deve ser descartado");
+        assertEquals(3L, registros.get(1).getId(), "O novo registro deve ocupar o lugar do interrompido");
+    }
+
+    /**
+     * Testa a reprodução e a compactação do diário.
+     */
+    @Test
+    @DisplayName("Deve reproduzir o estado das entidades e mantê-lo após a compactação")
+    void compactar_DeveManterUltimoEstadoDasEntidades() throws Exception {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            for (int rodada = 0; rodada < 20; rodada++) {
+                for (long id = 1; id <= 5; id++) {
+                    diario.registrar(rodada == 0 ? Operacao.INSERCAO : Operacao.ATUALIZACAO, TipoEntidade.EMPRESTIMO, id, rodada,
+                                     dados("empréstimo " + id + " rodada " + rodada));
+                }
+            }
+            diario.registrar(Operacao.REMOCAO, TipoEntidade.EMPRESTIMO, 5L, 19L, dados(""));
+            diario.registrar(Operacao.INSERCAO, TipoEntidade.PAGAMENTO, 1L, 0L, dados("último"));
+        }
+
+        LeitorDiario leitor = new LeitorDiario(diretorio);
+        Map<String, RegistroDiario> antes = leitor.reproduzir(Long.MAX_VALUE);
+        assertEquals(5, antes.size(), "Quatro empréstimos e um pagamento devem existir");
+        assertArrayEquals(dados("empréstimo 1 rodada 19"), antes.get("EMPRESTIMO:1").getDados());
+
+        long descartados = leitor.compactar();
+        assertTrue(descartados > 0, "A compactação deve descartar registros substituídos");
+        assertEquals(2, FormatoRegistro.listarSegmentos(diretorio).size(), "Devem restar o segmento compactado e o último");
+
+        Map<String, RegistroDiario> depois = leitor.reproduzir(Long.MAX_VALUE);
+        assertEquals(antes.keySet(), depois.keySet(), "A compactação não deve alterar o estado reproduzido");
+        assertEquals(antes.get("EMPRESTIMO:2").getSequencia(), depois.get("EMPRESTIMO:2").getSequencia());
+
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            assertEquals(102L, diario.ultimaSequencia(), "A sequência deve continuar após a compactação");
+        }
+    }
+
+    /**
+     * Testa uma sequência longa de inclusões, com sincronizações intercaladas e muitas trocas de segmento.
+     */
+    @Test
+    @DisplayName("Deve manter todos os registros ao trocar de segmento muitas vezes")
+    void registrar_ComMuitasTrocasDeSegmento_DeveManterTodosOsRegistros() throws Exception {
+        byte[] dados = new byte[160];
+        int quantidade = 20_000;
+
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, 64 * 1024)) {
+            for (int i = 0; i < quantidade; i++) {
+                diario.registrar(Operacao.ATUALIZACAO, TipoEntidade.PAGAMENTO, i, 1L, dados);
+                if (i % 1_000 == 0) {
+                    diario.sincronizar();
+                }
+            }
+        }
+        assertTrue(FormatoRegistro.listarSegmentos(diretorio).size() > 10, "Os registros devem ocupar vários segmentos");
+
+        List<RegistroDiario> registros = lerTodos();
+        assertEquals(quantidade, registros.size(), "Todos os registros devem ser lidos");
+        for (int i = 0; i < registros.size(); i++) {
+            assertEquals(i + 1L, registros.get(i).getSequencia(), "As sequências devem ser consecutivas");
+            assertEquals(i, registros.get(i).getId(), "Os registros devem estar na ordem de inclusão");
+        }
+    }
+
+    /**
+     * Testa a gravação pela thread de escrita do RegistradorDiario, com a fila menor que a quantidade de alterações.
+     */
+    @Test
+    @DisplayName("Deve gravar as alterações publicadas na ordem em que foram recebidas")
+    void registradorDiario_DeveGravarAlteracoesNaOrdem() throws Exception {
+        int quantidade = 1_000;
+
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            RegistradorDiario registrador = new RegistradorDiario(diario, 16);
+            for (long i = 1; i <= quantidade; i++) {
+                Beneficiario beneficiario = BeneficiarioUtil.criarBeneficiarioPadrao();
+                ReflectionTestUtils.setField(beneficiario, "id", i);
+                registrador.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, beneficiario, null));
+            }
+            registrador.close();
+        }
+
+        List<RegistroDiario> registros = lerTodos();
+        assertEquals(quantidade, registros.size(), "Nenhuma alteração deve ser descartada com a fila cheia");
+        for (int i = 0; i < registros.size(); i++) {
+            assertEquals(i + 1L, registros.get(i).getId(), "As alterações devem ser gravadas na ordem de publicação");
+            assertEquals(TipoEntidade.BENEFICIARIO, registros.get(i).getTipo());
+        }
+    }
+
+    private List<RegistroDiario> lerTodos() throws Exception {
+        List<RegistroDiario> registros = new ArrayList<>();
+        new LeitorDiario(diretorio).ler(0, registros::add);
+        return registros;
+    }
+
+    private static byte[] dados(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
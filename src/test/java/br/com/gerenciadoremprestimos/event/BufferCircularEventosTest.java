@@ -0,0 +1,62 @@
+package br.com.gerenciadoremprestimos.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.gerenciadoremprestimos.dto.EventoAlteracaoDTO;
+
+/**
+ * Classe de teste para o BufferCircularEventos.
+ */
+class BufferCircularEventosTest {
+
+    private static final long PRIMEIRO_ID = 1_000L;
+
+    private BufferCircularEventos buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new BufferCircularEventos(4, PRIMEIRO_ID);
+    }
+
+    /**
+     * Testa a retomada a partir de um evento ainda presente no buffer.
+     */
+    @Test
+    @DisplayName("Deve retornar os eventos posteriores ao último recebido")
+    void posteriores_DeveRetornarEventosPosteriores() {
+        for (int i = 0; i < 3; i++) {
+            buffer.adicionar(new EventoAlteracaoDTO());
+        }
+
+        List<EventoAlteracaoDTO> posteriores = buffer.posteriores(PRIMEIRO_ID);
+        assertEquals(2, posteriores.size(), "Devem ser retornados os dois eventos posteriores");
+        assertEquals(PRIMEIRO_ID + 1, posteriores.get(0).getId());
+        assertEquals(PRIMEIRO_ID + 2, posteriores.get(1).getId());
+        assertTrue(buffer.posteriores(buffer.ultimoId()).isEmpty(), "Não há eventos após o último");
+        assertEquals(3, buffer.posteriores(PRIMEIRO_ID - 1).size(), "Antes do primeiro evento todos devem ser retornados");
+    }
+
+    /**
+     * Testa a retomada a partir de um evento já descartado ou desconhecido.
+     */
+    @Test
+    @DisplayName("Deve indicar recarga quando o último evento recebido já foi descartado")
+    void posteriores_EventoDescartado_DeveRetornarNulo() {
+        for (int i = 0; i < 10; i++) {
+            buffer.adicionar(new EventoAlteracaoDTO());
+        }
+
+        assertNull(buffer.posteriores(PRIMEIRO_ID + 2), "O evento seguinte já foi descartado");
+        assertEquals(4, buffer.posteriores(PRIMEIRO_ID + 5).size(), "Os quatro últimos eventos devem estar disponíveis");
+        assertNull(buffer.posteriores(1L), "ID anterior ao buffer (de outra execução) deve exigir recarga");
+        assertNull(buffer.posteriores(PRIMEIRO_ID + 50), "ID posterior ao último evento deve exigir recarga");
+    }
+}
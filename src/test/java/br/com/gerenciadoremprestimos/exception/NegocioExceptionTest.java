@@ -0,0 +1,53 @@
+package br.com.gerenciadoremprestimos.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Classe de teste das exceções de negócio.
+ */
+class NegocioExceptionTest {
+
+    /**
+     * Testa o status, a mensagem e a ausência da pilha de chamadas.
+     */
+    @Test
+    @DisplayName("Deve criar a exceção com status e mensagem, sem pilha de chamadas")
+    void criar_DeveManterStatusEMensagemSemPilha() {
+        NegocioException exception = new RecursoNaoEncontradoException("Empréstimo não encontrado com ID: 1");
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode(), "O status deve ser NOT_FOUND");
+        assertEquals("Empréstimo não encontrado com ID: 1", exception.getReason(), "A mensagem deve ser mantida");
+        assertEquals(0, exception.getStackTrace().length, "A exceção não deve capturar a pilha de chamadas");
+        assertEquals(HttpStatus.BAD_REQUEST, new RequisicaoInvalidaException("ID inválido").getStatusCode(), "O status deve ser BAD_REQUEST");
+    }
+
+    /**
+     * Testa o status de cada exceção de negócio e o cabeçalho Retry-After da exceção de serviço indisponível.
+     */
+    @Test
+    @DisplayName("Deve criar cada exceção de negócio com o seu status, sem pilha de chamadas")
+    void criar_DeveDefinirStatusDeCadaExcecao() {
+        NegocioException[] excecoes = {
+            new RequisicaoInvalidaException("ID inválido"),
+            new RecursoNaoEncontradoException("Empréstimo não encontrado com ID: 1"),
+            new NaoAutorizadoException("Token inválido"),
+            new VersaoDivergenteException("Registro alterado por outro usuário"),
+            new ServicoIndisponivelException("Tente novamente", 5)
+        };
+        HttpStatus[] status = {
+            HttpStatus.BAD_REQUEST, HttpStatus.NOT_FOUND, HttpStatus.UNAUTHORIZED, HttpStatus.PRECONDITION_FAILED,
+            HttpStatus.SERVICE_UNAVAILABLE
+        };
+
+        for (int i = 0; i < excecoes.length; i++) {
+            assertEquals(status[i], excecoes[i].getStatusCode(), "Status inesperado para " + excecoes[i].getClass().getSimpleName());
+            assertEquals(0, excecoes[i].getStackTrace().length, "A exceção não deve capturar a pilha de chamadas");
+        }
+        assertEquals("5", excecoes[4].getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "O Retry-After deve ser informado em segundos");
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.gerenciadoremprestimos.idempotencia;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.gerenciadoremprestimos.idempotencia.ArmazenamentoIdempotencia.Situacao;
+import br.com.gerenciadoremprestimos.model.ChaveIdempotencia;
+import br.com.gerenciadoremprestimos.repository.ChaveIdempotenciaRepository;
+
+/**
+ * Classe de teste para o ArmazenamentoIdempotencia.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class ArmazenamentoIdempotenciaTest {
+
+    private static final String CHAVE = "chave";
+    private static final String HASH = "hash";
+
+    @Mock
+    private ChaveIdempotenciaRepository repository;
+
+    private ArmazenamentoIdempotencia armazenamento;
+
+    @BeforeEach
+    void setUp() {
+        armazenamento = new ArmazenamentoIdempotencia(repository, new IdempotenciaProperties());
+    }
+
+    /**
+     * Testa a repetição da resposta a partir da memória, sem acesso ao banco.
+     */
+    @Test
+    @DisplayName("Deve repetir a resposta concluída a partir da memória")
+    void reservar_ChaveConcluida_DeveRepetirResposta() {
+        when(repository.findById(CHAVE)).thenReturn(Optional.empty());
+        byte[] corpo = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(Situacao.NOVA, armazenamento.reservar(CHAVE, HASH).getSituacao());
+        armazenamento.concluir(CHAVE, HASH, 201, "application/json", corpo);
+
+        ArmazenamentoIdempotencia.Reserva reserva = armazenamento.reservar(CHAVE, HASH);
+        assertEquals(Situacao.CONCLUIDA, reserva.getSituacao(), "A segunda requisição deve receber a resposta armazenada");
+        assertEquals(201, reserva.getResposta().getStatus());
+        assertArrayEquals(corpo, reserva.getResposta().getCorpo());
+        assertEquals(Situacao.CONTEUDO_DIFERENTE, armazenamento.reservar(CHAVE, "outro").getSituacao(),
+                "A mesma chave com outro conteúdo deve ser recusada");
+        verify(repository, times(1)).findById(CHAVE);
+    }
+
+    /**
+     * Testa a leitura da resposta gravada na tabela, por exemplo após um reinício.
+     */
+    @Test
+    @DisplayName("Deve repetir a resposta gravada na tabela")
+    void reservar_ChaveGravada_DeveRepetirResposta() {
+        ChaveIdempotencia registro = new ChaveIdempotencia(CHAVE, HASH, LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+        registro.setConcluida(true);
+        registro.setStatus(201);
+
+        when(repository.findById(CHAVE)).thenReturn(Optional.of(registro));
+
+        assertEquals(Situacao.CONCLUIDA, armazenamento.reservar(CHAVE, HASH).getSituacao());
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Testa que a chave de uma requisição que não terminou continua reservada enquanto a reserva estiver vigente.
+     */
+    @Test
+    @DisplayName("Deve recusar a chave em processamento enquanto a reserva estiver vigente")
+    void reservar_ReservaVigente_DeveRetornarEmAndamento() {
+        ChaveIdempotencia registro = new ChaveIdempotencia(CHAVE, HASH, LocalDateTime.now(), LocalDateTime.now().plusHours(24));
+        registro.setBloqueadoAte(LocalDateTime.now().plusMinutes(1));
+
+        when(repository.findById(CHAVE)).thenReturn(Optional.of(registro));
+
+        assertEquals(Situacao.EM_ANDAMENTO, armazenamento.reservar(CHAVE, HASH).getSituacao());
+        verify(repository, never()).assumir(anyString(), any(), any(), any());
+    }
+
+    /**
+     * Testa que uma nova tentativa assume a chave quando a reserva terminou sem conclusão, por exemplo porque a
+     * instância que a processava parou.
+     */
+    @Test
+    @DisplayName("Deve assumir a chave não concluída quando a reserva tiver terminado")
+    void reservar_ReservaTerminada_DeveAssumirChave() {
+        ChaveIdempotencia registro = new ChaveIdempotencia(CHAVE, HASH, LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusHours(24));
+        registro.setBloqueadoAte(LocalDateTime.now().minusMinutes(4));
+
+        when(repository.findById(CHAVE)).thenReturn(Optional.of(registro));
+        when(repository.assumir(eq(CHAVE), any(), any(), any())).thenReturn(1);
+
+        assertEquals(Situacao.NOVA, armazenamento.reservar(CHAVE, HASH).getSituacao(), "A nova tentativa deve assumir a chave");
+        assertEquals(Situacao.EM_ANDAMENTO, armazenamento.reservar(CHAVE, HASH).getSituacao(),
+                "A chave assumida deve ficar reservada para a nova tentativa");
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Testa a liberação da chave quando a requisição termina com erro interno.
+     */
+    @Test
+    @DisplayName("Deve liberar a chave quando a resposta for um erro interno")
+    void concluir_ErroInterno_DeveLiberarChave() {
+        when(repository.findById(CHAVE)).thenReturn(Optional.empty());
+
+        armazenamento.reservar(CHAVE, HASH);
+        armazenamento.concluir(CHAVE, HASH, 500, null, new byte[0]);
+
+        verify(repository).deleteById(CHAVE);
+        verify(repository, never()).concluir(anyString(), any(), any(), any(), any());
+        assertEquals(Situacao.NOVA, armazenamento.reservar(CHAVE, HASH).getSituacao(), "A chave deve poder ser usada novamente");
+    }
+
+    /**
+     * Testa a chegada simultânea da mesma chave: apenas uma requisição deve ser processada.
+     *
+     * @throws Exception se ocorrer um erro ao aguardar as tarefas.
+     */
+    @Test
+    @DisplayName("Deve reservar a chave para apenas uma de várias requisições simultâneas")
+    void reservar_RequisicoesSimultaneas_ApenasUmaProcessada() throws Exception {
+        when(repository.findById(CHAVE)).thenReturn(Optional.empty());
+
+        int quantidade = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(quantidade);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Situacao>> resultados = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return armazenamento.reservar(CHAVE, HASH).getSituacao();
+                }));
+            }
+            largada.countDown();
+
+            int novas = 0;
+            for (Future<Situacao> resultado : resultados) {
+                Situacao situacao = resultado.get();
+                if (situacao == Situacao.NOVA) {
+                    novas++;
+                } else {
+                    assertEquals(Situacao.EM_ANDAMENTO, situacao);
+                }
+            }
+            assertEquals(1, novas, "Apenas uma requisição deve reservar a chave");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
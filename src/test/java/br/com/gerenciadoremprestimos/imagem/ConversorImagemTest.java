@@ -0,0 +1,102 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para o ConversorImagem.
+ */
+class ConversorImagemTest {
+
+    private static final int DIMENSAO_MAXIMA = 1024;
+
+    /**
+     * Testa que uma imagem grande é lida por amostragem e reduzida mantendo a proporção.
+     */
+    @Test
+    @DisplayName("Deve ler por amostragem e reduzir a imagem à dimensão máxima")
+    void lerERedimensionar_DeveReduzirMantendoProporcao() throws IOException {
+        byte[] png = criarPng(4200, 2800, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage lida = ConversorImagem.ler(new ByteArrayInputStream(png), DIMENSAO_MAXIMA);
+        assertEquals(1050, lida.getWidth(), "Deve ler uma a cada quatro colunas");
+        assertTrue(lida.getWidth() >= DIMENSAO_MAXIMA, "A amostragem não deve ficar abaixo da dimensão máxima");
+
+        BufferedImage reduzida = ConversorImagem.redimensionar(lida, DIMENSAO_MAXIMA);
+        assertEquals(DIMENSAO_MAXIMA, reduzida.getWidth(), "A maior dimensão deve ser a máxima");
+        assertEquals(683, reduzida.getHeight(), "Deve manter a proporção");
+    }
+
+    /**
+     * Testa que imagens menores não são ampliadas e que a transparência é trocada por branco.
+     */
+    @Test
+    @DisplayName("Não deve ampliar imagens pequenas e deve trocar a transparência por branco")
+    void redimensionar_ImagemPequena_NaoDeveAmpliar() {
+        BufferedImage rgb = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        assertSame(rgb, ConversorImagem.redimensionar(rgb, DIMENSAO_MAXIMA), "Imagem RGB pequena deve ser mantida");
+
+        BufferedImage transparente = new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage convertida = ConversorImagem.redimensionar(transparente, DIMENSAO_MAXIMA);
+        assertEquals(300, convertida.getWidth(), "Não deve ampliar a imagem");
+        assertEquals(BufferedImage.TYPE_INT_RGB, convertida.getType(), "Deve converter para RGB");
+        assertEquals(0xFFFFFF, convertida.getRGB(10, 10) & 0xFFFFFF, "A área transparente deve ficar branca");
+    }
+
+    /**
+     * Testa que a compressão gera um JPEG legível e menor que o original sem compressão.
+     */
+    @Test
+    @DisplayName("Deve comprimir em JPEG")
+    void comprimir_DeveGerarJpeg() throws IOException {
+        BufferedImage imagem = ConversorImagem.redimensionar(
+                ImageIO.read(new ByteArrayInputStream(criarPng(800, 600, BufferedImage.TYPE_INT_RGB))), DIMENSAO_MAXIMA);
+
+        byte[] jpeg = ConversorImagem.comprimir(imagem, 0.85f);
+
+        assertEquals((byte) 0xFF, jpeg[0], "Deve começar com a assinatura do JPEG");
+        assertEquals((byte) 0xD8, jpeg[1], "Deve começar com a assinatura do JPEG");
+        BufferedImage lida = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertNotNull(lida, "O resultado deve ser uma imagem legível");
+        assertEquals(800, lida.getWidth(), "Deve manter a largura");
+        assertTrue(jpeg.length < 800 * 600 * 3, "Deve ser menor que a imagem sem compressão");
+    }
+
+    /**
+     * Testa que um conteúdo em formato não suportado não gera erro.
+     */
+    @Test
+    @DisplayName("Deve retornar nulo para formato não suportado")
+    void ler_FormatoNaoSuportado_DeveRetornarNulo() throws IOException {
+        assertNull(ConversorImagem.ler(new ByteArrayInputStream("texto".getBytes(StandardCharsets.UTF_8)), DIMENSAO_MAXIMA));
+    }
+
+    /**
+     * Cria uma imagem PNG com um degradê, para que a compressão tenha conteúdo real.
+     */
+    static byte[] criarPng(int largura, int altura, int tipo) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, tipo);
+        for (int x = 0; x < largura; x++) {
+            for (int y = 0; y < altura; y++) {
+                imagem.setRGB(x, y, 0xFF000000 | (x % 256) << 16 | (y % 256) << 8 | ((x + y) % 256));
+            }
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+
+/**
+ * Classe de teste para o DetectorImagem.
+ */
+class DetectorImagemTest {
+
+    private final DetectorImagem detector = new DetectorImagem();
+
+    /**
+     * Testa que o conteúdo continua completo depois da identificação e que o hash corresponde a ele.
+     */
+    @Test
+    @DisplayName("Deve identificar a imagem e devolver o conteúdo completo com o hash")
+    void abrir_DeveIdentificarImagemEManterConteudo() throws Exception {
+        byte[] conteudo = BeneficiarioUtil.criarImagemPng(3 * DetectorImagem.TAMANHO_CABECALHO + 17);
+
+        try (ImagemRecebida imagem = detector.abrir(new ByteArrayInputStream(conteudo))) {
+            assertEquals("image/png", imagem.getTipo(), "Deve identificar o formato pela assinatura");
+            assertTrue(imagem.isImagem(), "Deve ser reconhecido como imagem");
+            assertArrayEquals(conteudo, imagem.getConteudo().readAllBytes(), "Deve ler o conteúdo a partir do primeiro byte");
+
+            String esperado = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+            assertEquals(esperado, imagem.hash(), "O hash deve corresponder ao conteúdo completo");
+            assertEquals(esperado, imagem.hash(), "O hash não deve mudar entre as chamadas");
+        }
+    }
+
+    /**
+     * Testa que um arquivo de texto não é aceito como imagem.
+     */
+    @Test
+    @DisplayName("Não deve reconhecer um arquivo de texto como imagem")
+    void abrir_ArquivoTexto_NaoDeveSerImagem() throws IOException {
+        byte[] conteudo = "apenas texto".getBytes(StandardCharsets.UTF_8);
+
+        try (ImagemRecebida imagem = detector.abrir(new ByteArrayInputStream(conteudo))) {
+            assertFalse(imagem.isImagem(), "Texto não deve ser reconhecido como imagem");
+        }
+    }
+
+    /**
+     * Testa que a identificação lê apenas o cabeçalho, sem consumir o restante do arquivo.
+     */
+    @Test
+    @DisplayName("Deve ler apenas o cabeçalho para identificar o formato")
+    void abrir_DeveLerApenasOCabecalho() throws IOException {
+        byte[] conteudo = BeneficiarioUtil.criarImagemPng(1024 * 1024);
+        int[] lidos = new int[1];
+        InputStream entrada = new ByteArrayInputStream(conteudo) {
+            @Override
+            public synchronized int read(byte[] destino, int inicio, int tamanho) {
+                int quantidade = super.read(destino, inicio, tamanho);
+                lidos[0] += Math.max(quantidade, 0);
+                return quantidade;
+            }
+        };
+
+        try (ImagemRecebida imagem = detector.abrir(entrada)) {
+            assertTrue(imagem.isImagem(), "Deve ser reconhecido como imagem");
+            assertTrue(lidos[0] <= DetectorImagem.TAMANHO_CABECALHO, "Deve ler no máximo o cabeçalho antes do consumo");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.gerenciadoremprestimos.imagem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Imagem;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.ImagemRepository;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Classe de teste para o ProcessamentoImagens.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class ProcessamentoImagensTest {
+
+    private static final String HASH_ORIGINAL = "a".repeat(64);
+
+    @Mock
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Mock
+    private ImagemRepository imagemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProcessamentoImagens processamento;
+
+    private Beneficiario beneficiario;
+
+    private byte[] original;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        processamento = new ProcessamentoImagens(beneficiarioRepository, imagemRepository, new ImagemProperties(),
+                                                 transactionManager, meterRegistry);
+
+        original = ConversorImagemTest.criarPng(2500, 1000, BufferedImage.TYPE_INT_RGB);
+        beneficiario = BeneficiarioUtil.criarBeneficiarioPadrao();
+        ReflectionTestUtils.setField(beneficiario, "id", 1L);
+        beneficiario.setImagem(BlobProxy.generateProxy(original));
+        beneficiario.setImagemHash(HASH_ORIGINAL);
+        when(beneficiarioRepository.findById(1L)).thenReturn(Optional.of(beneficiario));
+    }
+
+    @AfterEach
+    void tearDown() {
+        processamento.finalizar();
+    }
+
+    /**
+     * Testa o processamento completo: a imagem reduzida é gravada e o original é descartado.
+     */
+    @Test
+    @DisplayName("Deve gravar a imagem processada e descartar o original")
+    void processar_DeveGravarImagemProcessada() {
+        when(beneficiarioRepository.imagensProcessadas(any(), any())).thenReturn(List.of());
+        when(imagemRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(imagemRepository.saveAndFlush(any())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        processamento.processar(1L, HASH_ORIGINAL);
+
+        ArgumentCaptor<Imagem> captor = ArgumentCaptor.forClass(Imagem.class);
+        verify(imagemRepository).saveAndFlush(captor.capture());
+        Imagem imagem = captor.getValue();
+        assertEquals(ConversorImagem.TIPO, imagem.getTipo(), "Deve gravar em JPEG");
+        assertEquals(1024, imagem.getLargura(), "Deve reduzir à dimensão máxima");
+        assertEquals(410, imagem.getAltura(), "Deve manter a proporção");
+        assertSame(imagem, beneficiario.getImagemProcessada(), "O beneficiário deve apontar para a imagem processada");
+        assertNull(beneficiario.getImagem(), "O original deve ser descartado");
+
+        assertEquals(original.length, meterRegistry.counter("imagem.bytes.recebidos").count(), "Deve contar o original descartado");
+        assertEquals(imagem.getTamanho(), meterRegistry.counter("imagem.bytes.gravados").count(), "Deve contar os bytes gravados");
+        assertEquals(1, meterRegistry.timer("imagem.etapa", "etapa", "compressao").count(), "Deve medir cada etapa");
+    }
+
+    /**
+     * Testa que a imagem recém-enviada é lida em transações de escrita, roteadas ao banco principal, e não na
+     * réplica, que pode ainda não ter o envio.
+     */
+    @Test
+    @DisplayName("Deve ler a imagem enviada no banco principal")
+    void processar_DeveLerNoBancoPrincipal() {
+        when(beneficiarioRepository.imagensProcessadas(any(), any())).thenReturn(List.of());
+        when(imagemRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(imagemRepository.saveAndFlush(any())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        processamento.processar(1L, HASH_ORIGINAL);
+
+        ArgumentCaptor<TransactionDefinition> captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(captor.capture());
+        assertEquals(3, captor.getAllValues().size(), "A consulta, a leitura e a gravação devem ter transação própria");
+        captor.getAllValues().forEach(definicao -> assertFalse(definicao.isReadOnly(), "Nenhuma transação deve ir à réplica"));
+    }
+
+    /**
+     * Testa que a economia de armazenamento só é contada depois do commit que remove o original.
+     */
+    @Test
+    @DisplayName("Não deve contar os bytes descartados quando a gravação não for confirmada")
+    void processar_FalhaNoCommit_NaoDeveContarBytes() {
+        Imagem existente = new Imagem();
+        existente.setHash("b".repeat(64));
+        when(beneficiarioRepository.imagensProcessadas(any(), any())).thenReturn(List.of(existente.getHash()));
+        when(imagemRepository.findById(existente.getHash())).thenReturn(Optional.of(existente));
+        // a consulta da imagem já processada é confirmada; a gravação não
+        doNothing().doThrow(new TransactionSystemException("Falha no commit")).when(transactionManager).commit(any());
+
+        assertThrows(TransactionSystemException.class, () -> processamento.processar(1L, HASH_ORIGINAL));
+
+        assertEquals(0, meterRegistry.counter("imagem.bytes.recebidos").count(), "O original não foi removido");
+    }
+
+    /**
+     * Testa o reaproveitamento da imagem processada de outro beneficiário que enviou a mesma foto.
+     */
+    @Test
+    @DisplayName("Deve reaproveitar a imagem processada da mesma foto sem processar de novo")
+    void processar_MesmaFoto_DeveReaproveitar() {
+        Imagem existente = new Imagem();
+        existente.setHash("b".repeat(64));
+        when(beneficiarioRepository.imagensProcessadas(any(), any())).thenReturn(List.of(existente.getHash()));
+        when(imagemRepository.findById(existente.getHash())).thenReturn(Optional.of(existente));
+
+        processamento.processar(1L, HASH_ORIGINAL);
+
+        verify(imagemRepository, never()).saveAndFlush(any());
+        assertSame(existente, beneficiario.getImagemProcessada(), "Deve apontar para a imagem existente");
+        assertNull(beneficiario.getImagem(), "O original deve ser descartado");
+        assertEquals(1, meterRegistry.counter("imagem.reaproveitadas").count(), "Deve contar o reaproveitamento");
+        assertEquals(0, meterRegistry.counter("imagem.bytes.gravados").count(), "Nada deve ser gravado");
+    }
+
+    /**
+     * Testa que uma imagem substituída durante o processamento não é sobrescrita.
+     */
+    @Test
+    @DisplayName("Não deve alterar o beneficiário que recebeu outra imagem")
+    void processar_ImagemSubstituida_NaoDeveAlterar() {
+        when(beneficiarioRepository.imagensProcessadas(any(), any())).thenReturn(List.of());
+        beneficiario.setImagemHash("c".repeat(64));
+
+        processamento.processar(1L, HASH_ORIGINAL);
+
+        verify(imagemRepository, never()).saveAndFlush(any());
+        assertNull(beneficiario.getImagemProcessada(), "Não deve associar a imagem antiga");
+    }
+}
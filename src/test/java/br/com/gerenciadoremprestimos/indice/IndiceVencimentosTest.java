@@ -0,0 +1,70 @@
+package br.com.gerenciadoremprestimos.indice;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para o IndiceVencimentos.
+ */
+class IndiceVencimentosTest {
+
+    private static final long DIA = LocalDate.of(2024, 5, 1).toEpochDay();
+
+    private IndiceVencimentos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceVencimentos();
+        indice.adicionar(3L, DIA + 7);
+        indice.adicionar(1L, DIA);
+        indice.adicionar(2L, DIA);
+        indice.adicionar(4L, DIA - 10);
+    }
+
+    /**
+     * Testa a busca por intervalo, que deve vir ordenada por vencimento e ID.
+     */
+    @Test
+    @DisplayName("Deve retornar os empréstimos do intervalo ordenados por vencimento")
+    void buscar_DeveRetornarIdsDoIntervaloOrdenados() {
+        assertArrayEquals(new long[] {1L, 2L}, indice.buscar(DIA, DIA));
+        assertArrayEquals(new long[] {1L, 2L, 3L}, indice.buscar(DIA, DIA + 7));
+        assertArrayEquals(new long[] {4L}, indice.buscar(0, DIA - 1));
+        assertArrayEquals(new long[0], indice.buscar(DIA + 8, DIA + 100));
+    }
+
+    /**
+     * Testa que inclusões repetidas não duplicam entradas e que a remoção exige o dia correto.
+     */
+    @Test
+    @DisplayName("Deve ignorar inclusões repetidas e remover pelo dia de vencimento")
+    void adicionarERemover_DeveManterIndiceConsistente() {
+        indice.adicionar(1L, DIA);
+        assertEquals(4, indice.quantidade(), "Inclusão repetida não deve duplicar a entrada");
+
+        indice.remover(1L, DIA + 1);
+        assertEquals(4, indice.quantidade(), "Remoção com dia diferente não deve alterar o índice");
+
+        indice.remover(1L, DIA);
+        assertArrayEquals(new long[] {2L}, indice.buscar(DIA, DIA));
+    }
+
+    /**
+     * Testa a substituição completa do conteúdo, usada na carga inicial.
+     */
+    @Test
+    @DisplayName("Deve substituir o conteúdo do índice por chaves fora de ordem")
+    void substituir_DeveOrdenarAsChaves() {
+        long[] chaves = {IndiceVencimentos.chave(9L, DIA + 1), IndiceVencimentos.chave(8L, DIA), 0L};
+        indice.substituir(chaves, 2);
+
+        assertEquals(2, indice.quantidade(), "O índice deve conter apenas as chaves válidas");
+        assertArrayEquals(new long[] {8L, 9L}, indice.buscar(DIA, DIA + 1));
+    }
+}
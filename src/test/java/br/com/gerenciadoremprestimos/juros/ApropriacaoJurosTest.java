@@ -0,0 +1,192 @@
+package br.com.gerenciadoremprestimos.juros;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.DiaJuros;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.JurosAtraso;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.model.ParticaoJuros;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.DiaJurosRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.JurosAtrasoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.repository.ParticaoJurosRepository;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o ApropriacaoJuros. Os empréstimos vencem em 2014 para que a apropriação não alcance os
+ * dados criados pelos demais testes, e cada partição tem um único ID para que cada empréstimo fique em uma.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ApropriacaoJurosTest {
+
+    private static final LocalDateTime DATA_EMPRESTIMO = LocalDateTime.of(2014, 3, 1, 0, 0);
+    private static final LocalDate DIA = LocalDate.of(2014, 7, 1);
+
+    @Autowired
+    private ApropriacaoJuros apropriacao;
+
+    @Autowired
+    private JurosProperties properties;
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private JurosAtrasoRepository jurosAtrasoRepository;
+
+    @Autowired
+    private ParticaoJurosRepository particaoJurosRepository;
+
+    @Autowired
+    private DiaJurosRepository diaJurosRepository;
+
+    private long tamanhoParticao;
+    private Emprestimo vencido;
+    private Emprestimo vencidoSemPagamento;
+    private Emprestimo aVencer;
+    private Emprestimo quitado;
+
+    @BeforeEach
+    void setUp() {
+        tamanhoParticao = properties.getTamanhoParticao();
+        properties.setTamanhoParticao(1);
+
+        jurosAtrasoRepository.deleteAll();
+        particaoJurosRepository.deleteAll();
+        diaJurosRepository.deleteAll();
+
+        Beneficiario beneficiario = beneficiarioRepository.save(BeneficiarioUtil.criarBeneficiarioPadrao());
+        vencido = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR1000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DATA_EMPRESTIMO.plusMonths(1), false));
+        pagamentoRepository.save(PagamentoUtil.criarPagamento(vencido, 200.0, DATA_EMPRESTIMO.plusDays(15), TipoPagamento.JUROS));
+        vencidoSemPagamento = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR2000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DATA_EMPRESTIMO.plusMonths(2), false));
+        aVencer = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR3000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DIA.atStartOfDay(), false));
+        quitado = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR3000,
+                EmprestimoUtil.PORCENTAGEM20, DATA_EMPRESTIMO, DATA_EMPRESTIMO.plusMonths(1), true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setTamanhoParticao(tamanhoParticao);
+
+        // Quita os empréstimos criados para que não entrem na apropriação dos testes seguintes
+        for (Emprestimo emprestimo : List.of(vencido, vencidoSemPagamento, aVencer)) {
+            emprestimo.setQuitado(true);
+        }
+        emprestimoRepository.saveAll(List.of(vencido, vencidoSemPagamento, aVencer));
+    }
+
+    /**
+     * Testa que apenas os empréstimos vencidos e não quitados recebem juros, sobre o saldo devedor.
+     */
+    @Test
+    @DisplayName("Deve apropriar juros sobre o saldo devedor dos empréstimos vencidos")
+    void apropriar_DeveApropriarJurosDosVencidos() {
+        assertEquals(2, apropriacao.apropriar(DIA), "Apenas os dois empréstimos vencidos devem receber juros");
+
+        List<JurosAtraso> juros = jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(vencido.getId());
+        assertEquals(1, juros.size(), "Deve haver um registro por dia");
+        assertEquals(1000.0, juros.get(0).getSaldo(), "O saldo é o valor com a porcentagem menos o recebido");
+        assertEquals(arredondar(1000.0 * properties.getTaxaDiaria() / 100), juros.get(0).getValor(), "Juros da taxa diária sobre o saldo");
+        assertEquals(2400.0, jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(vencidoSemPagamento.getId()).get(0).getSaldo());
+
+        assertTrue(jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(aVencer.getId()).isEmpty(), "Empréstimo que vence no dia não está em atraso");
+        assertTrue(jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(quitado.getId()).isEmpty(), "Empréstimo quitado não recebe juros");
+    }
+
+    /**
+     * Testa que uma nova execução do mesmo dia não apropria de novo e que cada dia gera o seu registro.
+     */
+    @Test
+    @DisplayName("Não deve apropriar o mesmo dia duas vezes")
+    void apropriar_MesmoDia_NaoDeveDuplicar() {
+        apropriacao.apropriar(DIA);
+
+        assertEquals(0, apropriacao.apropriar(DIA), "As partições concluídas não devem ser apropriadas de novo");
+        assertEquals(1, jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(vencido.getId()).size());
+
+        apropriacao.apropriar(DIA.plusDays(1));
+        assertEquals(arredondar(2 * arredondar(1000.0 * properties.getTaxaDiaria() / 100)),
+                     arredondar(jurosAtrasoRepository.totalPorEmprestimo(vencido.getId())), "Deve acumular um registro por dia");
+    }
+
+    /**
+     * Testa a retomada de uma execução interrompida a partir das partições que não foram concluídas.
+     */
+    @Test
+    @DisplayName("Deve retomar a apropriação apenas nas partições pendentes")
+    void apropriar_ExecucaoInterrompida_DeveRetomarPendentes() {
+        long particao = vencido.getId();
+        particaoJurosRepository.save(new ParticaoJuros(DIA, particao, particao, particao + 1, 0, LocalDateTime.now()));
+
+        assertEquals(1, apropriacao.apropriar(DIA), "Apenas a partição pendente deve ser apropriada");
+
+        assertTrue(jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(vencido.getId()).isEmpty(), "A partição concluída não deve ser refeita");
+        assertEquals(1, jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(vencidoSemPagamento.getId()).size(),
+                     "A partição pendente deve ser apropriada");
+    }
+
+    /**
+     * Testa que os dias em que a apropriação não foi executada (aplicação parada no horário) são apropriados na
+     * execução seguinte, a partir do último dia concluído.
+     */
+    @Test
+    @DisplayName("Deve apropriar todos os dias seguintes ao último dia concluído")
+    void apropriarPendentes_DiasNaoExecutados_DeveApropriarTodos() {
+        diaJurosRepository.save(new DiaJuros(DIA.minusDays(1), LocalDateTime.now()));
+
+        assertEquals(8, apropriacao.apropriarPendentes(DIA.plusDays(2)),
+                     "Os dois vencidos no primeiro dia e os três vencidos nos dois dias seguintes devem receber juros");
+
+        assertEquals(List.of(DIA, DIA.plusDays(1), DIA.plusDays(2)),
+                     jurosAtrasoRepository.findByEmprestimoIdOrderByDataAsc(vencido.getId()).stream().map(JurosAtraso::getData).toList(),
+                     "Cada dia não executado deve ser apropriado");
+        assertEquals(DIA.plusDays(2), diaJurosRepository.ultimoDia(), "O último dia apropriado deve ser registrado");
+        assertEquals(0, apropriacao.apropriarPendentes(DIA.plusDays(2)), "Sem dias pendentes nada deve ser apropriado");
+    }
+
+    /**
+     * Testa que um dia com partição pendente não é registrado como concluído.
+     */
+    @Test
+    @DisplayName("Não deve registrar como concluído o dia com partição pendente")
+    void apropriar_ParticaoComFalha_NaoDeveConcluirDia() {
+        jurosAtrasoRepository.save(new JurosAtraso(vencido.getId(), DIA, 1000.0, properties.getTaxaDiaria(), 0.33));
+
+        assertEquals(1, apropriacao.apropriar(DIA), "Apenas a partição sem conflito deve ser apropriada");
+        assertTrue(diaJurosRepository.findById(DIA).isEmpty(), "O dia não deve ser registrado como concluído");
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
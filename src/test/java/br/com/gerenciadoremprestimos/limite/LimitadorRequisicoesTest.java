@@ -0,0 +1,134 @@
+package br.com.gerenciadoremprestimos.limite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para o LimitadorRequisicoes e o BaldeTokens.
+ * O custo por requisição é medido no LimitadorRequisicoesBenchmark (src/jmh).
+ */
+class LimitadorRequisicoesTest {
+
+    /**
+     * Testa a rajada máxima e a reposição dos tokens.
+     */
+    @Test
+    @DisplayName("Deve permitir a rajada da capacidade e repor os tokens à vazão configurada")
+    void consumir_DeveRespeitarCapacidadeEVazao() {
+        long agora = 0;
+        BaldeTokens balde = new BaldeTokens(5, 10, agora);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, balde.consumir(agora), "As requisições da rajada devem ser permitidas");
+        }
+        long espera = balde.consumir(agora);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), espera, "Com 10 por segundo o próximo token sai em 100 ms");
+
+        assertEquals(0, balde.consumir(agora + espera), "Após a espera um token deve estar disponível");
+        assertTrue(balde.consumir(agora + espera) > 0, "Apenas um token deve ter sido reposto");
+        assertTrue(balde.isOcioso(agora + TimeUnit.SECONDS.toNanos(10), TimeUnit.SECONDS.toNanos(5)));
+    }
+
+    /**
+     * Testa o consumo simultâneo do mesmo balde: nenhum token pode ser consumido duas vezes.
+     *
+     * @throws Exception se ocorrer um erro ao aguardar as tarefas.
+     */
+    @Test
+    @DisplayName("Deve consumir exatamente a capacidade com várias threads no mesmo instante")
+    void consumir_ThreadsSimultaneas_NaoDeveExcederCapacidade() throws Exception {
+        long agora = System.nanoTime();
+        BaldeTokens balde = new BaldeTokens(1_000, 1, agora);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int permitidas = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (balde.consumir(agora) == 0) {
+                            permitidas++;
+                        }
+                    }
+                    return permitidas;
+                }));
+            }
+            largada.countDown();
+
+            int total = 0;
+            for (Future<Integer> resultado : resultados) {
+                total += resultado.get();
+            }
+            assertEquals(1_000, total, "Devem ser permitidas exatamente as requisições da capacidade");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Testa a separação dos baldes por usuário e por grupo e o descarte dos baldes ociosos.
+     */
+    @Test
+    @DisplayName("Deve limitar cada usuário em cada grupo e descartar os baldes ociosos")
+    void consumir_DeveSepararUsuariosEGrupos() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades(2, 1, Duration.ZERO));
+
+        assertEquals(0, limitador.consumir("/api/pagamento", "ana"));
+        assertEquals(0, limitador.consumir("/api/pagamento/1", "ana"));
+        assertTrue(limitador.consumir("/api/pagamento", "ana") > 0, "A terceira requisição da Ana deve ser recusada");
+        assertEquals(0, limitador.consumir("/api/pagamento", "bruno"), "O balde do Bruno é independente");
+        assertEquals(0, limitador.consumir("/api/emprestimo", "ana"), "O grupo de empréstimos tem balde próprio");
+        assertEquals(0, limitador.consumir("/api/beneficiario", "ana"), "Rotas fora dos grupos não são limitadas");
+        assertEquals(3, limitador.quantidadeBaldes());
+
+        limitador.removerOciosos();
+        assertEquals(3, limitador.quantidadeBaldes(), "Baldes usados agora não estão cheios, não devem ser descartados");
+    }
+
+    /**
+     * Testa que cada usuário recebe um balde por grupo de rotas, reutilizado nas requisições seguintes.
+     */
+    @Test
+    @DisplayName("Deve manter um balde por usuário e grupo com 10 mil usuários")
+    void consumir_DezMilUsuarios_DeveReutilizarOsBaldes() {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes(propriedades(1_000_000, 1_000, Duration.ofMinutes(10)));
+
+        String[] usuarios = new String[10_000];
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = "usuario" + i;
+        }
+        String[] caminhos = { "/api/pagamento", "/api/emprestimo/1" };
+
+        for (int r = 0; r < 4; r++) {
+            for (int i = 0; i < usuarios.length; i++) {
+                assertEquals(0L, limitador.consumir(caminhos[(i + r) & 1], usuarios[i]), "Nenhuma requisição deve ser recusada");
+            }
+        }
+
+        assertEquals(20_000, limitador.quantidadeBaldes(), "Cada usuário deve ter um balde por grupo");
+    }
+
+    private static LimiteRequisicoesProperties propriedades(int capacidade, double porSegundo, Duration tempoOcioso) {
+        LimiteRequisicoesProperties properties = new LimiteRequisicoesProperties();
+        properties.setTempoOcioso(tempoOcioso);
+        properties.getGrupos().add(new LimiteRequisicoesProperties.Grupo("pagamento", List.of("/api/pagamento"), capacidade, porSegundo));
+        properties.getGrupos().add(new LimiteRequisicoesProperties.Grupo("emprestimo", List.of("/api/emprestimo"), capacidade, porSegundo));
+        return properties;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.gerenciadoremprestimos.previsao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para o MotorPrevisaoRecebimento.
+ */
+class MotorPrevisaoRecebimentoTest {
+
+    private static final long DIA = LocalDate.of(2024, 5, 1).toEpochDay();
+
+    private MotorPrevisaoRecebimento motor;
+
+    @BeforeEach
+    void setUp() {
+        motor = new MotorPrevisaoRecebimento();
+    }
+
+    /**
+     * Testa a soma do valor esperado (valor + juros - recebido) por intervalo de dias.
+     */
+    @Test
+    @DisplayName("Deve somar o valor esperado dos empréstimos que vencem no intervalo")
+    void somar_DeveRetornarValorEsperadoDoIntervalo() {
+        motor.registrarEmprestimo(1L, DIA, 100_000L, 30.0);
+        motor.registrarEmprestimo(2L, DIA + 10, 200_000L, 20.0);
+        motor.registrarPagamento(1L, 30_000L);
+
+        assertEquals(100_000L, motor.somar(DIA, DIA), "O primeiro empréstimo deve esperar 1300,00 - 300,00");
+        assertEquals(340_000L, motor.somar(DIA, DIA + 10), "O intervalo deve somar os dois empréstimos");
+        assertEquals(0L, motor.somar(DIA + 11, DIA + 100), "Não há vencimentos após o segundo empréstimo");
+    }
+
+    /**
+     * Testa a atualização e a remoção de empréstimos.
+     */
+    @Test
+    @DisplayName("Deve refletir a atualização da data e a remoção de empréstimos")
+    void registrarEmprestimo_DeveMoverValorAoAtualizarData() {
+        motor.registrarEmprestimo(1L, DIA, 100_000L, 0.0);
+        motor.registrarEmprestimo(1L, DIA + 7, 100_000L, 0.0);
+
+        assertEquals(0L, motor.somar(DIA, DIA + 6), "O valor deve sair do dia antigo");
+        assertEquals(100_000L, motor.somar(DIA + 7, DIA + 7), "O valor deve estar no novo dia");
+
+        motor.removerEmprestimo(1L);
+
+        assertEquals(0L, motor.somar(0, MotorPrevisaoRecebimento.CAPACIDADE_DIAS), "Não deve restar valor após a remoção");
+        assertEquals(0, motor.quantidade(), "Não deve restar empréstimo após a remoção");
+    }
+
+    /**
+     * Testa o agrupamento por períodos consecutivos.
+     */
+    @Test
+    @DisplayName("Deve somar o valor esperado por semana")
+    void somarPorPeriodo_DeveAgruparPorSemana() {
+        motor.registrarEmprestimo(1L, DIA, 100_000L, 0.0);
+        motor.registrarEmprestimo(2L, DIA + 6, 100_000L, 0.0);
+        motor.registrarEmprestimo(3L, DIA + 7, 50_000L, 0.0);
+
+        assertArrayEquals(new long[] {200_000L, 50_000L, 0L}, motor.somarPorPeriodo(DIA, 7, 3));
+    }
+
+    /**
+     * Carrega 1 milhão de empréstimos em aberto e confere que a previsão diária de um ano continua consistente
+     * com a soma total. O tempo das consultas com esse volume é medido no MotorPrevisaoRecebimentoBenchmark
+     * (src/jmh).
+     */
+    @Test
+    @DisplayName("Deve manter a previsão consistente com 1 milhão de empréstimos em aberto")
+    void somarPorPeriodo_ComUmMilhaoDeEmprestimos() {
+        Random random = new Random(42);
+        long total = 0;
+
+        for (long id = 1; id <= 1_000_000L; id++) {
+            long valor = 10_000L + random.nextInt(1_000_000);
+            motor.registrarEmprestimo(id, DIA + random.nextInt(365), valor, 0.0);
+            total += valor;
+        }
+
+        long[] porDia = motor.somarPorPeriodo(DIA, 1, 365);
+
+        long soma = 0;
+        for (long valor : porDia) {
+            soma += valor;
+        }
+
+        assertEquals(total, soma, "A soma diária deve ser igual ao total carregado");
+        assertEquals(1_000_000, motor.quantidade(), "Devem existir 1 milhão de empréstimos em aberto");
+    }
+}
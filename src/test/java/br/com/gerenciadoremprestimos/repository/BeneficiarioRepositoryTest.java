@@ -7,14 +7,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
 import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 
 /**
@@ -27,6 +38,12 @@ public class BeneficiarioRepositoryTest {
     @Autowired
     private BeneficiarioRepository beneficiarioRepository;
 
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
     /**
      * Configura o ambiente de teste antes de cada teste.
      */
@@ -74,6 +91,45 @@ public class BeneficiarioRepositoryTest {
         validarBeneficiarios(beneficiarios, 1);
     }
 
+    /**
+     * Testa o resumo da carteira de um beneficiário com dois empréstimos em aberto e um pagamento.
+     * Deve retornar 3000,00 emprestado, 1000,00 recebido e 2700,00 de saldo devedor.
+     */
+    @Test
+    @DisplayName("Teste do resumo da carteira de um beneficiário com empréstimos e pagamentos")
+    public void resumoPorBeneficiario_DeveRetornarValoresAgrupados(){
+        Beneficiario beneficiario = beneficiarioRepository.findByNomeContainingIgnoreCase(BeneficiarioUtil.NOME_LAURA).get(0);
+        EmprestimoUtil.criarListaEmprestimo(emprestimoRepository, beneficiario);
+
+        Emprestimo emprestimo = emprestimoRepository.findByBeneficiario(beneficiario).get(0);
+        pagamentoRepository.save(PagamentoUtil.criarPagamento(emprestimo, TestUtils.VALOR1000, PagamentoUtil.DATA_PAGAMENTO1, TipoPagamento.JUROS));
+
+        Optional<ResumoBeneficiarioResponseDTO> resumo = beneficiarioRepository.resumoPorBeneficiario(beneficiario.getId());
+
+        Double valorLiquido = TestUtils.VALOR1000 + (EmprestimoUtil.PORCENTAGEM30 / 100 * TestUtils.VALOR1000)
+                            + TestUtils.VALOR2000 + (EmprestimoUtil.PORCENTAGEM20 / 100 * TestUtils.VALOR2000);
+
+        assertTrue(resumo.isPresent(), "O resumo do beneficiário deve existir");
+        assertEquals(2L, resumo.get().getQuantidadeEmprestimos(), "O beneficiário deve ter 2 empréstimos");
+        assertEquals(2L, resumo.get().getQuantidadeEmAberto(), "O beneficiário deve ter 2 empréstimos em aberto");
+        assertEquals(TestUtils.VALOR3000, resumo.get().getValorEmprestado(), "O valor emprestado deve ser 3000");
+        assertEquals(TestUtils.VALOR1000, resumo.get().getValorRecebido(), "O valor recebido deve ser 1000");
+        assertEquals(valorLiquido - TestUtils.VALOR1000, resumo.get().getSaldoDevedor(), "O saldo devedor deve ser o esperado");
+    }
+
+    /**
+     * Testa o resumo paginado de todos os beneficiários, incluindo os que não possuem empréstimos.
+     */
+    @Test
+    @DisplayName("Teste do resumo paginado de todos os beneficiários")
+    public void resumoDeTodos_DeveRetornarTodosOsBeneficiarios(){
+        Page<ResumoBeneficiarioResponseDTO> resumos = beneficiarioRepository.resumoDeTodos(PageRequest.of(0, 10));
+
+        assertEquals(4, resumos.getTotalElements(), "Devem existir 4 beneficiários no resumo");
+        assertEquals(0L, resumos.getContent().get(0).getQuantidadeEmprestimos(), "Beneficiários sem empréstimos devem ter quantidade zero");
+        assertEquals(0.0, resumos.getContent().get(0).getSaldoDevedor(), "Beneficiários sem empréstimos devem ter saldo zero");
+    }
+
     /**
      * Valida a lista de beneficiários retornada pela pesquisa.
      * @param beneficiarios a lista de beneficiários
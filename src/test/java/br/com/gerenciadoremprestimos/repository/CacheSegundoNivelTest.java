@@ -0,0 +1,118 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Usuario;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Classe de teste do cache de segundo nível de Beneficiario e Usuario.
+ *
+ * Os testes rodam fora da transação padrão do DataJpaTest porque o cache só é atualizado no commit.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTest {
+
+    private static final String LOGIN = "cache.teste";
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        entityManagerFactory.getCache().evictAll();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        beneficiarioRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    /**
+     * Testa que a atualização e a exclusão de um beneficiário refletem no cache após o commit.
+     */
+    @Test
+    @DisplayName("Deve atualizar e remover o beneficiário do cache ao alterar ou excluir")
+    void beneficiario_DeveInvalidarCacheAoAlterarEExcluir() {
+        Long id = beneficiarioRepository.save(BeneficiarioUtil.criarBeneficiarioPadrao()).getId();
+
+        buscarBeneficiario(id);
+        assertTrue(entityManagerFactory.getCache().contains(Beneficiario.class, id), "O beneficiário deve estar no cache");
+
+        long acertos = estatisticas.getSecondLevelCacheHitCount();
+        buscarBeneficiario(id);
+        assertEquals(acertos + 1, estatisticas.getSecondLevelCacheHitCount(), "A segunda busca deve ser atendida pelo cache");
+
+        transacao.executeWithoutResult(status -> {
+            Beneficiario beneficiario = beneficiarioRepository.findById(id).orElseThrow();
+            beneficiario.setNome(BeneficiarioUtil.NOME_LAURA);
+        });
+
+        assertEquals(BeneficiarioUtil.NOME_LAURA, buscarBeneficiario(id).getNome(), "O cache deve refletir a alteração");
+
+        beneficiarioRepository.deleteById(id);
+
+        assertFalse(entityManagerFactory.getCache().contains(Beneficiario.class, id), "O beneficiário excluído deve sair do cache");
+        assertTrue(beneficiarioRepository.findById(id).isEmpty(), "O beneficiário excluído não deve ser encontrado");
+    }
+
+    /**
+     * Testa a busca por login pelo cache de identificadores naturais e a atualização da senha.
+     */
+    @Test
+    @DisplayName("Deve buscar o usuário pelo login no cache e refletir a troca de senha")
+    void usuario_DeveUsarCacheDeLoginERefletirAlteracao() {
+        usuarioRepository.save(new Usuario(LOGIN, "senha-antiga", "ROLE_USER"));
+
+        usuarioRepository.findByLogin(LOGIN);
+        long acertos = estatisticas.getNaturalIdCacheHitCount();
+        usuarioRepository.findByLogin(LOGIN);
+        assertEquals(acertos + 1, estatisticas.getNaturalIdCacheHitCount(), "A busca por login deve ser atendida pelo cache");
+
+        transacao.executeWithoutResult(status -> usuarioRepository.findByLogin(LOGIN).orElseThrow().setPassword("senha-nova"));
+
+        assertEquals("senha-nova", usuarioRepository.findByLogin(LOGIN).orElseThrow().getPassword(),
+                     "O cache deve refletir a nova senha");
+        assertTrue(usuarioRepository.findByLogin("inexistente").isEmpty(), "Login inexistente não deve ser encontrado");
+    }
+
+    private Beneficiario buscarBeneficiario(Long id) {
+        return transacao.execute(status -> beneficiarioRepository.findById(id).orElseThrow());
+    }
+}
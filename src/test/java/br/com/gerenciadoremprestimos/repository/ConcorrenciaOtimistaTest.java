@@ -0,0 +1,152 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Classe de teste do controle de concorrência otimista (coluna versao).
+ *
+ * Os testes rodam fora da transação padrão do DataJpaTest para que cada transação seja confirmada de fato.
+ * O teste de contenção atualiza a mesma linha em paralelo com versão + nova tentativa e com bloqueio pessimista
+ * (SELECT ... FOR UPDATE), e verifica que nenhuma atualização é perdida em ambos.
+ * A vazão de cada estratégia é medida no ConcorrenciaBenchmark (src/jmh).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConcorrenciaOtimistaTest {
+
+    private static final int THREADS = 4;
+    private static final int ATUALIZACOES_POR_THREAD = 25;
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transacao;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        Beneficiario beneficiario = beneficiarioRepository.save(BeneficiarioUtil.criarBeneficiarioPadrao());
+        id = emprestimoRepository.save(EmprestimoUtil.criarEmprestimo(beneficiario, 0.0, EmprestimoUtil.PORCENTAGEM30,
+                EmprestimoUtil.DATA_EMPRESTIMO1, EmprestimoUtil.DATA_EMPRESTIMO2, false)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emprestimoRepository.deleteAll();
+        beneficiarioRepository.deleteAll();
+    }
+
+    /**
+     * Testa que a gravação de uma cópia desatualizada é rejeitada em vez de sobrescrever a alteração anterior.
+     */
+    @Test
+    @DisplayName("Deve rejeitar a gravação de um empréstimo alterado por outra transação")
+    void salvar_ComVersaoDesatualizada_DeveLancarExcecao() {
+        Emprestimo copiaDesatualizada = emprestimoRepository.findById(id).orElseThrow();
+
+        transacao.executeWithoutResult(status -> emprestimoRepository.findById(id).orElseThrow().setValorEmprestimo(TestUtils.VALOR1000));
+
+        copiaDesatualizada.setValorEmprestimo(TestUtils.VALOR2000);
+        assertThrows(OptimisticLockingFailureException.class, () -> emprestimoRepository.save(copiaDesatualizada));
+
+        Emprestimo atual = emprestimoRepository.findById(id).orElseThrow();
+        assertEquals(TestUtils.VALOR1000, atual.getValorEmprestimo(), "A alteração confirmada não deve ser sobrescrita");
+        assertEquals(1L, atual.getVersao(), "A versão deve ser incrementada a cada atualização");
+    }
+
+    /**
+     * Testa a atualização concorrente da mesma linha com controle otimista e com bloqueio pessimista.
+     */
+    @Test
+    @DisplayName("Não deve perder atualizações concorrentes com controle otimista nem com bloqueio pessimista")
+    void atualizacoesConcorrentes_NaoDevemSerPerdidas() throws Exception {
+        int total = THREADS * ATUALIZACOES_POR_THREAD;
+
+        executarConcorrente(() -> {
+            while (true) {
+                try {
+                    transacao.executeWithoutResult(status -> incrementar(emprestimoRepository.findById(id).orElseThrow()));
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    // outra thread gravou primeiro: lê a versão nova e tenta de novo
+                }
+            }
+        });
+
+        Emprestimo aposOtimista = emprestimoRepository.findById(id).orElseThrow();
+        assertEquals((double) total, aposOtimista.getValorEmprestimo(), "Nenhuma atualização otimista deve ser perdida");
+        assertEquals((long) total, aposOtimista.getVersao(), "Cada atualização confirmada deve incrementar a versão uma vez");
+
+        executarConcorrente(() -> transacao.executeWithoutResult(
+                status -> incrementar(entityManager.find(Emprestimo.class, id, LockModeType.PESSIMISTIC_WRITE))));
+
+        Emprestimo aposPessimista = emprestimoRepository.findById(id).orElseThrow();
+        assertEquals(2.0 * total, aposPessimista.getValorEmprestimo(), "Nenhuma atualização com bloqueio pessimista deve ser perdida");
+        assertEquals(2L * total, aposPessimista.getVersao(), "Cada atualização confirmada deve incrementar a versão uma vez");
+    }
+
+    private static void incrementar(Emprestimo emprestimo) {
+        emprestimo.setValorEmprestimo(emprestimo.getValorEmprestimo() + 1);
+    }
+
+    private static void executarConcorrente(Runnable atualizacao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < ATUALIZACOES_POR_THREAD; i++) {
+                        atualizacao.run();
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
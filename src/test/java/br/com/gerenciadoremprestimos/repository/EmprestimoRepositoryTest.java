@@ -4,12 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import br.com.gerenciadoremprestimos.dto.ValorAReceberMensalDTO;
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
 import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
 import br.com.gerenciadoremprestimos.utils.TestUtils;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -149,4 +155,49 @@ public class EmprestimoRepositoryTest {
         Double totalBruto = emprestimoRepository.valorTotalBrutoAReceberPorMes(TestUtils.ANO, TestUtils.MES - 1);
         assertNull(totalBruto, "O valor total bruto a receber deve ser nulo para meses sem empréstimos");
     }
+
+    /**
+     * Testa a soma de valor emprestado agrupada por mês dentro do ano.
+     * Deve retornar um único mês com o valor de 3000,00.
+     */
+    @Test
+    @DisplayName("Teste de soma de valor total emprestado agrupada por mês.")
+    public void valorTotalEmprestadoAgrupadoPorMes_RetornaValorCorreto() {
+        List<ValorMensalDTO> valores = emprestimoRepository.valorTotalEmprestadoAgrupadoPorMes(
+                LocalDateTime.of(TestUtils.ANO, 1, 1, 0, 0), LocalDateTime.of(TestUtils.ANO + 1, 1, 1, 0, 0));
+
+        assertEquals(1, valores.size(), "Deve existir apenas um mês com empréstimos");
+        assertEquals(TestUtils.ANO, valores.get(0).getAno(), "O ano deve ser o esperado");
+        assertEquals(TestUtils.MES, valores.get(0).getMes(), "O mês deve ser o esperado");
+        assertEquals(TestUtils.VALOR3000, valores.get(0).getValor(), "O valor total emprestado deve ser 3000");
+    }
+
+    /**
+     * Testa a soma dos valores bruto e líquido a receber agrupada por mês dentro do ano.
+     */
+    @Test
+    @DisplayName("Teste de soma de valores bruto e líquido a receber agrupada por mês.")
+    public void valorTotalAReceberAgrupadoPorMes_RetornaValorCorreto() {
+        List<ValorAReceberMensalDTO> valores = emprestimoRepository.valorTotalAReceberAgrupadoPorMes(
+                LocalDateTime.of(TestUtils.ANO, 1, 1, 0, 0), LocalDateTime.of(TestUtils.ANO + 1, 1, 1, 0, 0));
+
+        Double expectedTotalBruto = (EmprestimoUtil.PORCENTAGEM30 / 100 * TestUtils.VALOR1000) + (EmprestimoUtil.PORCENTAGEM20 / 100 * TestUtils.VALOR2000);
+
+        assertEquals(1, valores.size(), "Deve existir apenas um mês com valores a receber");
+        assertEquals(TestUtils.MES + 1, valores.get(0).getMes(), "O mês deve ser o mês de pagamento");
+        assertEquals(expectedTotalBruto, valores.get(0).getValorBruto(), "O valor total bruto a receber deve ser o esperado");
+        assertEquals(TestUtils.VALOR3000 + expectedTotalBruto, valores.get(0).getValorLiquido(), "O valor total líquido a receber deve ser o esperado");
+    }
+
+    /**
+     * Deve retornar uma lista vazia para períodos sem empréstimos.
+     */
+    @Test
+    @DisplayName("Teste de soma agrupada por mês em período sem empréstimos.")
+    public void valorTotalEmprestadoAgrupadoPorMes_RetornaVazio() {
+        List<ValorMensalDTO> valores = emprestimoRepository.valorTotalEmprestadoAgrupadoPorMes(
+                LocalDateTime.of(TestUtils.ANO - 1, 1, 1, 0, 0), LocalDateTime.of(TestUtils.ANO, 1, 1, 0, 0));
+
+        assertTrue(valores.isEmpty(), "A lista deve estar vazia para períodos sem empréstimos");
+    }
 }
@@ -0,0 +1,160 @@
+package br.com.gerenciadoremprestimos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Classe de teste das consultas somente leitura dos repositórios, com 10 mil linhas. A memória e a CPU de cada modo
+ * de leitura são medidas no LeituraSomenteLeituraBenchmark (src/jmh).
+ *
+ * Os testes rodam fora da transação padrão do DataJpaTest para comparar transações de escrita e somente leitura.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LeituraSomenteLeituraTest {
+
+    private static final int LINHAS = 10_000;
+    private static final int BENEFICIARIOS = 100;
+
+    @Autowired
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Autowired
+    private EmprestimoRepository emprestimoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transacao;
+    private TransactionTemplate transacaoSomenteLeitura;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        transacaoSomenteLeitura = new TransactionTemplate(transactionManager);
+        transacaoSomenteLeitura.setReadOnly(true);
+
+        transacao.executeWithoutResult(status -> {
+            List<Beneficiario> beneficiarios = new ArrayList<>();
+            for (int i = 0; i < BENEFICIARIOS; i++) {
+                beneficiarios.add(BeneficiarioUtil.criarBeneficiario(BeneficiarioUtil.NOME_BENEF + " " + i,
+                                                                     BeneficiarioUtil.FONE_BENEF, null));
+            }
+            beneficiarioRepository.saveAll(beneficiarios);
+
+            LocalDateTime data = EmprestimoUtil.DATA_EMPRESTIMO1;
+            List<Emprestimo> emprestimos = new ArrayList<>();
+            for (int i = 0; i < LINHAS; i++) {
+                emprestimos.add(EmprestimoUtil.criarEmprestimo(beneficiarios.get(i % BENEFICIARIOS), TestUtils.VALOR1000,
+                        EmprestimoUtil.PORCENTAGEM20, data, data.plusMonths(1L), i % 2 == 0));
+            }
+            emprestimoRepository.saveAll(emprestimos);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        emprestimoRepository.deleteAllInBatch();
+        beneficiarioRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Testa que a listagem sem contexto traz as relações e não deixa entidades gerenciadas.
+     */
+    @Test
+    @DisplayName("Deve listar com as relações carregadas e sem entidades no contexto de persistência")
+    void listarSemContexto_DeveTrazerRelacoesSemGerenciarEntidades() {
+        transacaoSomenteLeitura.executeWithoutResult(status -> {
+            List<Emprestimo> emprestimos = emprestimoRepository.listarSemContexto();
+
+            assertEquals(LINHAS, emprestimos.size(), "Todos os empréstimos devem ser listados");
+            assertTrue(Hibernate.isInitialized(emprestimos.get(0).getBeneficiario()), "O beneficiário deve vir na consulta");
+            assertNotNull(emprestimos.get(0).getBeneficiario().getNome(), "O beneficiário deve vir preenchido");
+            assertEquals(0, entidadesGerenciadas(), "Nenhuma entidade deve ficar no contexto de persistência");
+        });
+    }
+
+    /**
+     * Testa que a busca somente leitura, mesmo dentro de uma transação de escrita, não grava alterações.
+     */
+    @Test
+    @DisplayName("Não deve gravar alterações em entidade buscada como somente leitura")
+    void buscarSomenteLeitura_NaoDeveGravarAlteracoes() {
+        Long id = emprestimoRepository.findAll().get(0).getId();
+
+        transacao.executeWithoutResult(status -> {
+            Emprestimo emprestimo = emprestimoRepository.buscarSomenteLeitura(id).orElseThrow();
+            assertTrue(entityManager.unwrap(Session.class).isReadOnly(emprestimo), "O empréstimo deve ser somente leitura");
+            emprestimo.setValorEmprestimo(TestUtils.VALOR3000);
+        });
+
+        assertEquals(TestUtils.VALOR1000, emprestimoRepository.findById(id).orElseThrow().getValorEmprestimo(),
+                     "A alteração não deve ser gravada");
+        assertTrue(emprestimoRepository.buscarSomenteLeitura(TestUtils.ID_INEXISTENTE).isEmpty(),
+                   "ID inexistente não deve ser encontrado");
+    }
+
+    /**
+     * Testa o que cada modo de leitura mantém no contexto de persistência ao listar 10 mil empréstimos (com 100
+     * beneficiários).
+     */
+    @Test
+    @DisplayName("Deve manter no contexto apenas o necessário em cada modo de leitura")
+    void listar_DeveGerenciarEntidadesConformeOModo() {
+        transacao.executeWithoutResult(status -> {
+            List<Emprestimo> emprestimos = emprestimoRepository.findAll();
+            assertEquals(LINHAS, emprestimos.size(), "Todos os empréstimos devem ser lidos");
+            assertEquals(LINHAS + BENEFICIARIOS, entidadesGerenciadas(), "A transação de escrita deve gerenciar todas as entidades");
+            assertFalse(entityManager.unwrap(Session.class).isReadOnly(emprestimos.get(0)),
+                        "Na transação de escrita a entidade deve ser alterável");
+        });
+
+        transacaoSomenteLeitura.executeWithoutResult(status -> {
+            List<Emprestimo> emprestimos = emprestimoRepository.findAll();
+            assertEquals(LINHAS, emprestimos.size(), "Todos os empréstimos devem ser lidos");
+            assertTrue(entityManager.unwrap(Session.class).isReadOnly(emprestimos.get(0)),
+                       "Na transação somente leitura a entidade não deve guardar o estado para comparação");
+        });
+
+        transacaoSomenteLeitura.executeWithoutResult(status -> {
+            assertEquals(LINHAS, emprestimoRepository.listarSemContexto().size(), "Todos os empréstimos devem ser lidos");
+            assertEquals(0, entidadesGerenciadas(), "A sessão sem estado não deve gerenciar entidades");
+        });
+    }
+
+    private long entidadesGerenciadas() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
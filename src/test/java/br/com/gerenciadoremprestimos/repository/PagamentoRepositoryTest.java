@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.model.Emprestimo;
 import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
@@ -12,6 +13,9 @@ import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
 import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
 import br.com.gerenciadoremprestimos.utils.TestUtils;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -121,4 +125,19 @@ public class PagamentoRepositoryTest {
         Double totalRecebido = pagamentoRepository.valorTotalRecebidoPorMes(TestUtils.ANO, TestUtils.MES - 1);
         assertNull(totalRecebido, "O valor total recebido deve ser nulo para meses sem pagamentos");
     }
+
+    /**
+     * Testa a soma do valor recebido agrupada por mês dentro do ano.
+     * Deve retornar um único mês com o valor de 3000,00.
+     */
+    @Test
+    @DisplayName("Testa a soma do valor recebido agrupada por mês.")
+    public void valorTotalRecebidoAgrupadoPorMes_RetornaValorCorreto() {
+        List<ValorMensalDTO> valores = pagamentoRepository.valorTotalRecebidoAgrupadoPorMes(
+                LocalDateTime.of(TestUtils.ANO, 1, 1, 0, 0), LocalDateTime.of(TestUtils.ANO + 1, 1, 1, 0, 0));
+
+        assertEquals(1, valores.size(), "Deve existir apenas um mês com pagamentos");
+        assertEquals(TestUtils.MES, valores.get(0).getMes(), "O mês deve ser o esperado");
+        assertEquals(TestUtils.VALOR3000, valores.get(0).getValor(), "O valor total recebido no mês deve ser 3000");
+    }
 }
@@ -0,0 +1,44 @@
+package br.com.gerenciadoremprestimos.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para o CodificadorSenhaAdaptativo.
+ */
+class CodificadorSenhaAdaptativoTest {
+
+    /**
+     * Testa o pedido de recálculo quando o custo configurado muda nos dois sentidos.
+     */
+    @Test
+    @DisplayName("Deve pedir o recálculo da senha quando o custo gravado for diferente do configurado")
+    void upgradeEncoding_CustoDiferente_DeveRecalcular() {
+        CodificadorSenhaAdaptativo custo4 = new CodificadorSenhaAdaptativo(4);
+        CodificadorSenhaAdaptativo custo5 = new CodificadorSenhaAdaptativo(5);
+
+        String hashCusto4 = custo4.encode("123");
+        String hashCusto5 = custo5.encode("123");
+
+        assertFalse(custo4.upgradeEncoding(hashCusto4), "O hash com o custo configurado não deve ser recalculado");
+        assertTrue(custo5.upgradeEncoding(hashCusto4), "O hash com custo menor deve ser recalculado");
+        assertTrue(custo4.upgradeEncoding(hashCusto5), "O hash com custo maior deve ser recalculado");
+        assertTrue(custo5.matches("123", hashCusto4), "A senha antiga deve continuar válida até ser recalculada");
+    }
+
+    /**
+     * Testa valores que não são hashes do BCrypt.
+     */
+    @Test
+    @DisplayName("Não deve pedir o recálculo de valores que não são hashes do BCrypt")
+    void upgradeEncoding_HashInvalido_NaoDeveRecalcular() {
+        CodificadorSenhaAdaptativo codificador = new CodificadorSenhaAdaptativo(4);
+
+        assertFalse(codificador.upgradeEncoding(null));
+        assertFalse(codificador.upgradeEncoding(""));
+        assertFalse(codificador.upgradeEncoding("123"));
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.gerenciadoremprestimos.security;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para o FiltroBloom.
+ */
+class FiltroBloomTest {
+
+    private static final int CAPACIDADE = 10_000;
+
+    /**
+     * Testa a ausência de falsos negativos e a taxa de falsos positivos com a capacidade atingida.
+     */
+    @Test
+    @DisplayName("Não deve ter falsos negativos e deve respeitar a taxa de falsos positivos")
+    void podeConter_DeveRespeitarTaxaDeFalsosPositivos() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, 0.01);
+
+        List<String> adicionados = new ArrayList<>();
+        for (int i = 0; i < CAPACIDADE; i++) {
+            String jti = UUID.randomUUID().toString();
+            adicionados.add(jti);
+            filtro.adicionar(jti);
+        }
+
+        for (String jti : adicionados) {
+            assertTrue(filtro.podeConter(jti), "Todo valor adicionado deve ser encontrado");
+        }
+
+        int falsosPositivos = 0;
+        int consultas = 100_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filtro.podeConter(UUID.randomUUID().toString())) {
+                falsosPositivos++;
+            }
+        }
+        double taxa = (double) falsosPositivos / consultas;
+        assertTrue(taxa < 0.02, "A taxa de falsos positivos deve ficar próxima de 1%, foi " + taxa);
+    }
+
+    /**
+     * Testa inclusões feitas por várias threads ao mesmo tempo, que disputam as mesmas palavras do vetor de bits.
+     *
+     * @throws Exception se ocorrer um erro ao aguardar as tarefas.
+     */
+    @Test
+    @DisplayName("Não deve perder inclusões feitas por várias threads")
+    void adicionar_InclusoesConcorrentes_NaoDevePerderValores() throws Exception {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, 0.01);
+        int threads = 8;
+
+        List<List<String>> valores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<String> daThread = new ArrayList<>();
+            for (int i = 0; i < CAPACIDADE / threads; i++) {
+                daThread.add(UUID.randomUUID().toString());
+            }
+            valores.add(daThread);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (List<String> daThread : valores) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    daThread.forEach(filtro::adicionar);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (List<String> daThread : valores) {
+            for (String jti : daThread) {
+                assertTrue(filtro.podeConter(jti), "Nenhuma inclusão concorrente deve ser perdida");
+            }
+        }
+    }
+}
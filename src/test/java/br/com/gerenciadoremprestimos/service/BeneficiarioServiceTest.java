@@ -2,6 +2,8 @@ package br.com.gerenciadoremprestimos.service;
 
 import br.com.gerenciadoremprestimos.dto.BeneficiarioRequestDTO;
 import br.com.gerenciadoremprestimos.dto.BeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.event.ImagemEnviadaEvent;
+import br.com.gerenciadoremprestimos.imagem.DetectorImagem;
 import br.com.gerenciadoremprestimos.mapper.BeneficiarioMapper;
 import br.com.gerenciadoremprestimos.model.Beneficiario;
 import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
@@ -14,13 +16,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +57,12 @@ class BeneficiarioServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DetectorImagem detectorImagem = new DetectorImagem();
+
     private Beneficiario beneficiario;
     private Beneficiario beneficiario2;
     private Beneficiario beneficiario3;
@@ -93,7 +108,7 @@ class BeneficiarioServiceTest {
         when(beneficiarioRepository.findById(anyLong())).thenReturn(Optional.of(beneficiario));
         when(beneficiarioMapper.paraDto(any())).thenReturn(responseDTO);
 
-        BeneficiarioResponseDTO result = beneficiarioService.atualizar(TestUtils.ID_VALIDO, requestDTO);
+        BeneficiarioResponseDTO result = beneficiarioService.atualizar(TestUtils.ID_VALIDO, requestDTO, null);
 
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(responseDTO);
@@ -108,7 +123,7 @@ class BeneficiarioServiceTest {
     @DisplayName("Deve lançar exceção BadRequest ao atualizar um beneficiário com ID inválido")
     void atualizar_DeveLancarExcecao_BadRequest() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, 
-            () -> beneficiarioService.atualizar(TestUtils.ID_INVALIDO, new BeneficiarioRequestDTO()));
+            () -> beneficiarioService.atualizar(TestUtils.ID_INVALIDO, new BeneficiarioRequestDTO(), null));
 
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
@@ -123,7 +138,7 @@ class BeneficiarioServiceTest {
         when(messageSource.getMessage(anyString(), any(), any())).thenReturn("Mensagem de erro");
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, 
-            () -> beneficiarioService.atualizar(TestUtils.ID_VALIDO, new BeneficiarioRequestDTO()));
+            () -> beneficiarioService.atualizar(TestUtils.ID_VALIDO, new BeneficiarioRequestDTO(), null));
 
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
@@ -178,7 +193,7 @@ class BeneficiarioServiceTest {
     @Test
     @DisplayName("Deve retornar uma lista de beneficiários")
     void buscarTodos_DeveRetornarListaDeBeneficiarios() {
-        when(beneficiarioRepository.findAll()).thenReturn(Arrays.asList(beneficiario));
+        when(beneficiarioRepository.listarSemContexto()).thenReturn(Arrays.asList(beneficiario));
         when(beneficiarioMapper.paraDto(any())).thenReturn(responseDTO);
 
         List<BeneficiarioResponseDTO> result = beneficiarioService.buscarTodos();
@@ -188,7 +203,7 @@ class BeneficiarioServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0)).isEqualTo(responseDTO);
 
-        verify(beneficiarioRepository, times(1)).findAll();
+        verify(beneficiarioRepository, times(1)).listarSemContexto();
     }
 
     /**
@@ -197,7 +212,7 @@ class BeneficiarioServiceTest {
     @Test
     @DisplayName("Deve retornar um beneficiário pelo ID")
     void buscarPorId_DeveRetornarBeneficiarioPeloId() {
-        when(beneficiarioRepository.findById(anyLong())).thenReturn(Optional.of(beneficiario));
+        when(beneficiarioRepository.buscarSomenteLeitura(anyLong())).thenReturn(Optional.of(beneficiario));
         when(beneficiarioMapper.paraDto(any())).thenReturn(responseDTO);
 
         BeneficiarioResponseDTO result = beneficiarioService.buscarPorId(TestUtils.ID_VALIDO);
@@ -205,7 +220,7 @@ class BeneficiarioServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(responseDTO);
 
-        verify(beneficiarioRepository, times(1)).findById(anyLong());
+        verify(beneficiarioRepository, times(1)).buscarSomenteLeitura(anyLong());
     }
 
     /**
@@ -214,12 +229,12 @@ class BeneficiarioServiceTest {
     @Test
     @DisplayName("Deve lançar exceção ao buscar um beneficiário inexistente")
     void buscarPorId_BeneficiarioNaoEncontrado_DeveLancarExcecao() {
-        when(beneficiarioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(beneficiarioRepository.buscarSomenteLeitura(anyLong())).thenReturn(Optional.empty());
         when(messageSource.getMessage(anyString(), any(), any())).thenReturn("Mensagem de erro");
 
         assertThrows(ResponseStatusException.class, () -> beneficiarioService.buscarPorId(TestUtils.ID_VALIDO));
 
-        verify(beneficiarioRepository, times(1)).findById(anyLong());
+        verify(beneficiarioRepository, times(1)).buscarSomenteLeitura(anyLong());
     }
 
     /**
@@ -245,4 +260,46 @@ class BeneficiarioServiceTest {
         verify(beneficiarioRepository, times(1)).findByNomeContainingIgnoreCase(any());
         verify(beneficiarioMapper, times(4)).paraDto(any(Beneficiario.class));
     }
+
+    /**
+     * Teste para verificar a gravação da imagem a partir do arquivo recebido, com o hash do conteúdo.
+     */
+    @Test
+    @DisplayName("Deve gravar a imagem e o hash do conteúdo")
+    void salvarImagem_DeveGravarImagemEHash() throws Exception {
+        byte[] conteudo = BeneficiarioUtil.criarImagemPng(20_000);
+        ReflectionTestUtils.setField(beneficiario, "id", 1L);
+        when(beneficiarioRepository.findById(anyLong())).thenReturn(Optional.of(beneficiario));
+        byte[][] gravado = new byte[1][];
+        when(beneficiarioRepository.saveAndFlush(any())).thenAnswer(invocacao -> {
+            Beneficiario salvo = invocacao.getArgument(0);
+            gravado[0] = salvo.getImagem().getBinaryStream().readAllBytes();
+            return salvo;
+        });
+
+        beneficiarioService.salvarImagem(TestUtils.ID_VALIDO, new MockMultipartFile("file", "foto.png", "image/png", conteudo));
+
+        assertArrayEquals(conteudo, gravado[0], "Deve gravar o conteúdo completo, a partir do primeiro byte");
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        verify(beneficiarioRepository, times(1)).atualizarHashImagem(1L, hash);
+        verify(eventPublisher, times(1)).publishEvent(any(ImagemEnviadaEvent.class));
+    }
+
+    /**
+     * Teste para verificar que um arquivo que não é imagem é recusado, mesmo com a extensão de imagem.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o arquivo não for uma imagem")
+    void salvarImagem_ArquivoNaoImagem_DeveLancarExcecao_BadRequest() {
+        when(beneficiarioRepository.findById(anyLong())).thenReturn(Optional.of(beneficiario));
+        MockMultipartFile arquivo = new MockMultipartFile("file", "foto.png", "image/png",
+                                                          "apenas texto".getBytes(StandardCharsets.UTF_8));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> beneficiarioService.salvarImagem(TestUtils.ID_VALIDO, arquivo));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(beneficiarioRepository, never()).saveAndFlush(any());
+        verify(beneficiarioRepository, never()).atualizarHashImagem(anyLong(), anyString());
+    }
 }
@@ -0,0 +1,185 @@
+package br.com.gerenciadoremprestimos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.gerenciadoremprestimos.busca.BuscaProperties;
+import br.com.gerenciadoremprestimos.busca.IndiceBusca;
+import br.com.gerenciadoremprestimos.dto.ResultadoBuscaDTO;
+import br.com.gerenciadoremprestimos.event.EmprestimosArquivadosEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.exception.RequisicaoInvalidaException;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o BuscaService.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class BuscaServiceTest {
+
+    private static final long ESPERA = 1000L;
+
+    @Mock
+    private IndiceBusca indice;
+
+    @Mock
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Mock
+    private EmprestimoRepository emprestimoRepository;
+
+    @Mock
+    private PagamentoRepository pagamentoRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BuscaProperties properties = new BuscaProperties();
+
+    @InjectMocks
+    private BuscaService buscaService;
+
+    private Beneficiario beneficiario;
+
+    @BeforeEach
+    void setUp() {
+        beneficiario = BeneficiarioUtil.criarBeneficiarioPadrao();
+        ReflectionTestUtils.setField(beneficiario, "id", 1L);
+        beneficiario.setObservacao(BeneficiarioUtil.OBS_BENEF);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buscaService.finalizar();
+    }
+
+    /**
+     * Testa a busca com o limite padrão.
+     */
+    @Test
+    @DisplayName("Deve buscar no índice com o limite padrão")
+    void buscar_DeveUsarLimitePadrao() throws IOException {
+        List<ResultadoBuscaDTO> resultados = List.of(new ResultadoBuscaDTO(IndiceBusca.TIPO_BENEFICIARIO, 1L, 1.0f, null, null));
+        when(indice.buscar("erick", properties.getLimitePadrao())).thenReturn(resultados);
+
+        assertEquals(resultados, buscaService.buscar("erick", null), "Deve retornar os resultados do índice");
+    }
+
+    /**
+     * Testa a validação do texto e do limite da busca.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção com texto vazio ou limite fora do intervalo")
+    void buscar_ComParametrosInvalidos_DeveLancarExcecao() throws IOException {
+        when(messageSource.getMessage(anyString(), any(), any())).thenReturn("Mensagem de erro");
+
+        assertThrows(RequisicaoInvalidaException.class, () -> buscaService.buscar(" ", null));
+        assertThrows(RequisicaoInvalidaException.class, () -> buscaService.buscar(null, null));
+        assertThrows(RequisicaoInvalidaException.class, () -> buscaService.buscar("erick", 0));
+        assertThrows(RequisicaoInvalidaException.class, () -> buscaService.buscar("erick", properties.getLimiteMaximo() + 1));
+        verify(indice, never()).buscar(anyString(), anyInt());
+    }
+
+    /**
+     * Testa que uma falha durante a montagem descarta o que foi indexado, sem confirmar um índice parcial.
+     */
+    @Test
+    @DisplayName("Deve descartar a montagem do índice que falhar no meio")
+    void reconstruir_ComFalha_DeveDescartarMontagem() throws IOException {
+        when(beneficiarioRepository.documentosBusca()).thenThrow(new IllegalStateException("Falha na consulta"));
+
+        buscaService.reconstruir();
+
+        verify(indice, timeout(ESPERA)).descartar();
+        InOrder ordem = inOrder(indice);
+        ordem.verify(indice).confirmar();
+        ordem.verify(indice).limpar();
+        ordem.verify(indice).descartar();
+        ordem.verify(indice, never()).confirmar();
+    }
+
+    /**
+     * Testa que a alteração de um beneficiário atualiza o índice com o nome e a observação.
+     */
+    @Test
+    @DisplayName("Deve atualizar o índice ao alterar um beneficiário")
+    void aoAlterarEntidade_Beneficiario_DeveAtualizarIndice() throws IOException {
+        buscaService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, beneficiario, null));
+
+        verify(indice, timeout(ESPERA)).atualizar(IndiceBusca.TIPO_BENEFICIARIO, 1L, BeneficiarioUtil.NOME_BENEF,
+                                                  BeneficiarioUtil.OBS_BENEF, null);
+    }
+
+    /**
+     * Testa que o pagamento é indexado com o seu empréstimo e removido pela chave.
+     */
+    @Test
+    @DisplayName("Deve indexar o pagamento com o empréstimo e removê-lo na exclusão")
+    void aoAlterarEntidade_Pagamento_DeveIndexarComEmprestimo() throws IOException {
+        Emprestimo emprestimo = new Emprestimo();
+        ReflectionTestUtils.setField(emprestimo, "id", 10L);
+        Pagamento pagamento = PagamentoUtil.criarPagamento(emprestimo, TestUtils.VALOR1000, PagamentoUtil.DATA_PAGAMENTO1, TipoPagamento.TOTAL);
+        ReflectionTestUtils.setField(pagamento, "id", 20L);
+        pagamento.setObservacao("Pago em dinheiro");
+
+        buscaService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, pagamento, null));
+        buscaService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.REMOCAO, pagamento, null));
+
+        verify(indice, timeout(ESPERA)).atualizar(eq(IndiceBusca.TIPO_PAGAMENTO), eq(20L), isNull(), eq("Pago em dinheiro"), eq(10L));
+        verify(indice, timeout(ESPERA)).remover(IndiceBusca.TIPO_PAGAMENTO, 20L);
+    }
+
+    /**
+     * Testa que os empréstimos arquivados saem do índice.
+     */
+    @Test
+    @DisplayName("Deve remover do índice os empréstimos arquivados")
+    void aoArquivarEmprestimos_DeveRemoverDoIndice() throws IOException {
+        buscaService.aoArquivarEmprestimos(new EmprestimosArquivadosEvent(List.of(10L, 11L)));
+
+        verify(indice, timeout(ESPERA)).removerEmprestimos(List.of(10L, 11L));
+    }
+}
@@ -18,9 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
@@ -62,6 +64,9 @@ class EmprestimoServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Beneficiario beneficiario;
     private Emprestimo emprestimo;
     private EmprestimoRequestDTO requestDTO;
@@ -137,7 +142,7 @@ class EmprestimoServiceTest {
         when(emprestimoMapper.paraDto(any())).thenReturn(responseDTO);
         when(emprestimoRepository.save(any())).thenReturn(emprestimo);
 
-        EmprestimoResponseDTO result = emprestimoService.atualizar(TestUtils.ID_VALIDO, requestDTO);
+        EmprestimoResponseDTO result = emprestimoService.atualizar(TestUtils.ID_VALIDO, requestDTO, null);
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertEquals(responseDTO, result, "O resultado deve ser igual ao esperado");
@@ -155,7 +160,7 @@ class EmprestimoServiceTest {
         String id = "";
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            emprestimoService.atualizar(id, requestDTO);
+            emprestimoService.atualizar(id, requestDTO, null);
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
@@ -174,7 +179,7 @@ class EmprestimoServiceTest {
         when(messageSource.getMessage(eq("emprestimo.naoExiste"), any(Object[].class), any(Locale.class))).thenReturn(mensagemErro);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            emprestimoService.atualizar(String.valueOf(TestUtils.ID_INEXISTENTE), requestDTO);
+            emprestimoService.atualizar(String.valueOf(TestUtils.ID_INEXISTENTE), requestDTO, null);
         });
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode(), "A exceção deve ter o status NOT_FOUND");
@@ -183,6 +188,43 @@ class EmprestimoServiceTest {
         verify(emprestimoRepository, never()).save(any());
     }
 
+    /**
+     * Testa a atualização de um empréstimo com If-Match de uma versão anterior.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando a versão informada no If-Match estiver desatualizada")
+    void atualizar_DeveLancarExcecaoQuandoVersaoDivergente_PreconditionFailed() {
+        ReflectionTestUtils.setField(emprestimo, "versao", 2L);
+        when(beneficiarioService.obterBeneficiario(anyString())).thenReturn(beneficiario);
+        when(emprestimoRepository.findById(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(emprestimo));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            emprestimoService.atualizar(TestUtils.ID_VALIDO, requestDTO, "\"1\"");
+        });
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode(), "A exceção deve ter o status PRECONDITION_FAILED");
+        verify(emprestimoRepository, never()).save(any());
+    }
+
+    /**
+     * Testa a atualização de um empréstimo com If-Match igual à ETag retornada na consulta.
+     */
+    @Test
+    @DisplayName("Deve atualizar o empréstimo quando o If-Match corresponder à versão atual")
+    void atualizar_DeveAtualizarQuandoVersaoCorresponde() {
+        ReflectionTestUtils.setField(emprestimo, "versao", 2L);
+        when(beneficiarioService.obterBeneficiario(anyString())).thenReturn(beneficiario);
+        when(emprestimoRepository.findById(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(emprestimo));
+        when(emprestimoMapper.paraEntidadeAtualizar(any(Emprestimo.class), any(EmprestimoRequestDTO.class), any(Beneficiario.class))).thenReturn(emprestimo);
+        when(emprestimoMapper.paraDto(any())).thenReturn(responseDTO);
+
+        EmprestimoResponseDTO result = emprestimoService.atualizar(TestUtils.ID_VALIDO, requestDTO, "W/\"1-2-k3x9\"");
+
+        assertEquals(responseDTO, result, "O resultado deve ser igual ao esperado");
+        verify(emprestimoRepository, times(1)).save(emprestimo);
+        verify(emprestimoRepository, times(1)).flush();
+    }
+
     /**
      * Testa a remoção de um empréstimo com sucesso.
      */
@@ -238,13 +280,13 @@ class EmprestimoServiceTest {
     @Test
     @DisplayName("Deve retornar uma lista vazia quando não houver empréstimos")
     void buscarTodos_ComRepositorioVazio() {
-        when(emprestimoRepository.findAll()).thenReturn(Collections.emptyList());
+        when(emprestimoRepository.listarSemContexto()).thenReturn(Collections.emptyList());
 
         List<EmprestimoResponseDTO> result = emprestimoService.buscarTodos();
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertTrue(result.isEmpty(), "A lista de resultados deve estar vazia");
-        verify(emprestimoRepository, times(1)).findAll();
+        verify(emprestimoRepository, times(1)).listarSemContexto();
         verify(emprestimoMapper, never()).paraDto(any());
     }
 
@@ -254,13 +296,13 @@ class EmprestimoServiceTest {
     @Test
     @DisplayName("Deve retornar uma lista com todos os empréstimos")
     void buscarTodos_ComVariosEmprestimos() {
-        when(emprestimoRepository.findAll()).thenReturn(emprestimos);
+        when(emprestimoRepository.listarSemContexto()).thenReturn(emprestimos);
 
         List<EmprestimoResponseDTO> result = emprestimoService.buscarTodos();
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertEquals(emprestimos.size(), result.size(), "O tamanho da lista de resultados deve ser igual ao número de empréstimos");
-        verify(emprestimoRepository, times(1)).findAll();
+        verify(emprestimoRepository, times(1)).listarSemContexto();
         verify(emprestimoMapper, times(emprestimos.size())).paraDto(any());
     }
 
@@ -270,13 +312,13 @@ class EmprestimoServiceTest {
     @Test
     @DisplayName("Deve lançar exceção quando o repositório retornar nulo")
     void buscarTodos_ComRepositorioRetornandoNulo() {
-        when(emprestimoRepository.findAll()).thenReturn(null);
+        when(emprestimoRepository.listarSemContexto()).thenReturn(null);
 
         assertThrows(NullPointerException.class, () -> {
             emprestimoService.buscarTodos();
         });
 
-        verify(emprestimoRepository, times(1)).findAll();
+        verify(emprestimoRepository, times(1)).listarSemContexto();
         verify(emprestimoMapper, never()).paraDto(any());
     }
 
@@ -286,14 +328,14 @@ class EmprestimoServiceTest {
     @Test
     @DisplayName("Deve buscar um empréstimo por ID com sucesso")
     void buscarPorId_ComIdValido() {
-        when(emprestimoRepository.findById(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(emprestimo));
+        when(emprestimoRepository.buscarSomenteLeitura(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(emprestimo));
         when(emprestimoMapper.paraDto(emprestimo)).thenReturn(responseDTO);
 
         EmprestimoResponseDTO result = emprestimoService.buscarPorId(TestUtils.ID_VALIDO);
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertEquals(responseDTO, result, "O resultado deve ser igual ao esperado");
-        verify(emprestimoRepository, times(1)).findById(Long.valueOf(TestUtils.ID_VALIDO));
+        verify(emprestimoRepository, times(1)).buscarSomenteLeitura(Long.valueOf(TestUtils.ID_VALIDO));
         verify(emprestimoMapper, times(1)).paraDto(emprestimo);
     }
 
@@ -308,7 +350,7 @@ class EmprestimoServiceTest {
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
-        verify(emprestimoRepository, never()).findById(any());
+        verify(emprestimoRepository, never()).buscarSomenteLeitura(any());
         verify(emprestimoMapper, never()).paraDto(any());
     }
 
@@ -325,7 +367,7 @@ class EmprestimoServiceTest {
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
-        verify(emprestimoRepository, never()).findById(any());
+        verify(emprestimoRepository, never()).buscarSomenteLeitura(any());
         verify(emprestimoMapper, never()).paraDto(any());
     }
 }
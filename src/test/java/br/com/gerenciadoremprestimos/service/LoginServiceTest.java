@@ -0,0 +1,118 @@
+package br.com.gerenciadoremprestimos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.gerenciadoremprestimos.dto.LoginRequestDTO;
+import br.com.gerenciadoremprestimos.dto.TokenResponseDTO;
+import br.com.gerenciadoremprestimos.exception.ServicoIndisponivelException;
+import br.com.gerenciadoremprestimos.model.Usuario;
+import br.com.gerenciadoremprestimos.security.LoginProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Classe de teste para o LoginService.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class LoginServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() {
+        LoginProperties properties = new LoginProperties();
+        properties.setThreads(1);
+        properties.setFila(1);
+
+        meterRegistry = new SimpleMeterRegistry();
+        loginService = new LoginService(authenticationManager, tokenService, messageSource, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginService.finalizar();
+    }
+
+    /**
+     * Testa o login concluído no pool de login.
+     *
+     * @throws Exception se ocorrer um erro ao aguardar o login.
+     */
+    @Test
+    @DisplayName("Deve gerar o token no pool de login e registrar o tempo de verificação")
+    void autenticar_DeveGerarToken() throws Exception {
+        Usuario usuario = new Usuario();
+        when(authenticationManager.authenticate(any())).thenReturn(new UsernamePasswordAuthenticationToken(usuario, null));
+        TokenResponseDTO tokens = new TokenResponseDTO("token", "tokenAtualizacao");
+        when(tokenService.gerarTokens(usuario)).thenReturn(tokens);
+
+        assertEquals(tokens, loginService.autenticar(new LoginRequestDTO("login", "senha")).get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("login.hash").timer().count(), "O tempo de verificação deve ser registrado");
+    }
+
+    /**
+     * Testa a recusa do login com o pool ocupado e a fila cheia.
+     *
+     * @throws Exception se ocorrer um erro ao aguardar o login.
+     */
+    @Test
+    @DisplayName("Deve recusar o login com 503 quando a fila estiver cheia")
+    void autenticar_FilaCheia_ServiceUnavailable() throws Exception {
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            iniciado.countDown();
+            liberar.await();
+            return new UsernamePasswordAuthenticationToken(new Usuario(), null);
+        });
+
+        LoginRequestDTO login = new LoginRequestDTO("login", "senha");
+        CompletableFuture<TokenResponseDTO> emVerificacao = loginService.autenticar(login);
+        iniciado.await(5, TimeUnit.SECONDS);
+        CompletableFuture<TokenResponseDTO> naFila = loginService.autenticar(login);
+
+        ServicoIndisponivelException exception = assertThrows(ServicoIndisponivelException.class, () -> {
+            loginService.autenticar(login);
+        });
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode(), "A exceção deve ter o status SERVICE_UNAVAILABLE");
+        assertEquals("1", exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "Deve sugerir nova tentativa em 1 segundo");
+        assertEquals(1.0, meterRegistry.get("login.rejeitados").counter().count());
+
+        liberar.countDown();
+        emVerificacao.get(5, TimeUnit.SECONDS);
+        naFila.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
@@ -69,6 +70,9 @@ class PagamentoServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Emprestimo emprestimo;
     private Pagamento pagamento;
     private Beneficiario beneficiario;
@@ -143,7 +147,7 @@ class PagamentoServiceTest {
         when(pagamentoMapper.paraDto(any())).thenReturn(responseDTO);
         when(pagamentoRepository.save(any())).thenReturn(pagamento);
 
-        PagamentoResponseDTO result = pagamentoService.atualizar(TestUtils.ID_VALIDO, requestDTO);
+        PagamentoResponseDTO result = pagamentoService.atualizar(TestUtils.ID_VALIDO, requestDTO, null);
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertEquals(responseDTO, result, "O resultado deve ser igual ao esperado");
@@ -161,7 +165,7 @@ class PagamentoServiceTest {
         String id = "";
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            pagamentoService.atualizar(id, requestDTO);
+            pagamentoService.atualizar(id, requestDTO, null);
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
@@ -180,7 +184,7 @@ class PagamentoServiceTest {
         when(messageSource.getMessage(eq("pagamento.naoExiste"), any(Object[].class), any(Locale.class))).thenReturn(mensagemErro);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            pagamentoService.atualizar(String.valueOf(TestUtils.ID_INEXISTENTE), requestDTO);
+            pagamentoService.atualizar(String.valueOf(TestUtils.ID_INEXISTENTE), requestDTO, null);
         });
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode(), "A exceção deve ter o status NOT_FOUND");
@@ -244,13 +248,13 @@ class PagamentoServiceTest {
     @Test
     @DisplayName("Deve retornar uma lista vazia quando não houver pagamentos")
     public void buscarTodos_ComRepositorioVazio() {
-        when(pagamentoRepository.findAll()).thenReturn(Collections.emptyList());
+        when(pagamentoRepository.listarSemContexto()).thenReturn(Collections.emptyList());
 
         List<PagamentoResponseDTO> result = pagamentoService.buscarTodos();
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertTrue(result.isEmpty(), "O resultado deve ser uma lista vazia");
-        verify(pagamentoRepository, times(1)).findAll();
+        verify(pagamentoRepository, times(1)).listarSemContexto();
         verify(pagamentoMapper, never()).paraDto(any());
     }
 
@@ -260,13 +264,13 @@ class PagamentoServiceTest {
     @Test
     @DisplayName("Deve retornar todos os pagamentos")
     public void buscarTodos_ComVariosPagamentos() {
-        when(pagamentoRepository.findAll()).thenReturn(pagamentos);
+        when(pagamentoRepository.listarSemContexto()).thenReturn(pagamentos);
 
         List<PagamentoResponseDTO> result = pagamentoService.buscarTodos();
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertEquals(pagamentos.size(), result.size(), "O tamanho da lista deve ser igual ao número de pagamentos");
-        verify(pagamentoRepository, times(1)).findAll();
+        verify(pagamentoRepository, times(1)).listarSemContexto();
         verify(emprestimoMapper, times(pagamentos.size())).paraDto(any());
     }
 
@@ -276,13 +280,13 @@ class PagamentoServiceTest {
     @Test
     @DisplayName("Deve lançar exceção quando o repositório retornar nulo")
     public void buscarTodos_ComRepositorioRetornandoNulo() {
-        when(pagamentoRepository.findAll()).thenReturn(null);
+        when(pagamentoRepository.listarSemContexto()).thenReturn(null);
 
         assertThrows(NullPointerException.class, () -> {
             pagamentoService.buscarTodos();
         });
 
-        verify(pagamentoRepository, times(1)).findAll();
+        verify(pagamentoRepository, times(1)).listarSemContexto();
         verify(pagamentoMapper, never()).paraDto(any());
     }
 
@@ -292,14 +296,14 @@ class PagamentoServiceTest {
     @Test
     @DisplayName("Deve buscar um pagamento por ID válido")
     void buscarPorId_ComIdValido() {
-        when(pagamentoRepository.findById(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(pagamento));
+        when(pagamentoRepository.buscarSomenteLeitura(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(pagamento));
         when(pagamentoMapper.paraDto(pagamento)).thenReturn(responseDTO);
 
         PagamentoResponseDTO result = pagamentoService.buscarPorId(TestUtils.ID_VALIDO);
 
         assertNotNull(result, "O resultado não deve ser nulo");
         assertEquals(responseDTO, result, "O resultado deve ser igual ao esperado");
-        verify(pagamentoRepository, times(1)).findById(Long.valueOf(TestUtils.ID_VALIDO));
+        verify(pagamentoRepository, times(1)).buscarSomenteLeitura(Long.valueOf(TestUtils.ID_VALIDO));
         verify(pagamentoMapper, times(1)).paraDto(pagamento);
     }
 
@@ -314,7 +318,7 @@ class PagamentoServiceTest {
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
-        verify(pagamentoRepository, never()).findById(any());
+        verify(pagamentoRepository, never()).buscarSomenteLeitura(any());
         verify(pagamentoMapper, never()).paraDto(any());
     }
 
@@ -331,7 +335,7 @@ class PagamentoServiceTest {
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
-        verify(pagamentoRepository, never()).findById(any());
+        verify(pagamentoRepository, never()).buscarSomenteLeitura(any());
         verify(pagamentoMapper, never()).paraDto(any());
     }
 }
@@ -0,0 +1,158 @@
+package br.com.gerenciadoremprestimos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.gerenciadoremprestimos.dto.EmprestimoEmAbertoDTO;
+import br.com.gerenciadoremprestimos.dto.PrevisaoRecebimentoResponseDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o PrevisaoRecebimentoService.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class PrevisaoRecebimentoServiceTest {
+
+    @Mock
+    private EmprestimoRepository emprestimoRepository;
+
+    @Mock
+    private PagamentoRepository pagamentoRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private PrevisaoRecebimentoService previsaoRecebimentoService;
+
+    /**
+     * Testa a previsão diária a partir dos empréstimos carregados.
+     */
+    @Test
+    @DisplayName("Deve prever o recebimento no dia de vencimento e separar o valor vencido")
+    void previsao_DeveAgruparPorDiaESepararVencido() {
+        LocalDateTime amanha = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime ontem = LocalDate.now().minusDays(1).atStartOfDay();
+
+        when(emprestimoRepository.emprestimosEmAberto()).thenReturn(Stream.of(
+            new EmprestimoEmAbertoDTO(1L, amanha, TestUtils.VALOR1000, EmprestimoUtil.PORCENTAGEM30, 300.0),
+            new EmprestimoEmAbertoDTO(2L, ontem, TestUtils.VALOR2000, 0.0, 0.0)));
+
+        previsaoRecebimentoService.carregar();
+        PrevisaoRecebimentoResponseDTO previsao = previsaoRecebimentoService.previsao(1, "DIA");
+
+        assertEquals(TestUtils.VALOR2000, previsao.getValorVencido(), "O valor vencido deve ser o do empréstimo de ontem");
+        assertEquals(0.0, previsao.getPeriodos().get(0).getValor(), "Não há vencimentos hoje");
+        assertEquals(TestUtils.VALOR1000, previsao.getPeriodos().get(1).getValor(), "Amanhã deve receber 1300,00 - 300,00");
+    }
+
+    /**
+     * Testa a remoção de um empréstimo quitado da previsão.
+     */
+    @Test
+    @DisplayName("Deve remover da previsão o empréstimo quitado")
+    void aoAlterarEntidade_DeveRemoverEmprestimoQuitado() {
+        when(emprestimoRepository.emprestimosEmAberto()).thenReturn(Stream.empty());
+        previsaoRecebimentoService.carregar();
+
+        Emprestimo emprestimo = EmprestimoUtil.criarEmprestimo(BeneficiarioUtil.criarBeneficiarioPadrao(), TestUtils.VALOR1000, 0.0,
+                LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(2).atStartOfDay(), false);
+        ReflectionTestUtils.setField(emprestimo, "id", 1L);
+
+        previsaoRecebimentoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, emprestimo, null));
+        assertEquals(TestUtils.VALOR1000, previsaoRecebimentoService.previsao(1, "SEMANA").getPeriodos().get(0).getValor());
+
+        emprestimo.setQuitado(true);
+        previsaoRecebimentoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, emprestimo, null));
+        assertEquals(0.0, previsaoRecebimentoService.previsao(1, "SEMANA").getPeriodos().get(0).getValor());
+    }
+
+    /**
+     * Testa as alterações confirmadas enquanto a carga inicial ainda está lendo os empréstimos.
+     */
+    @Test
+    @DisplayName("Deve reaplicar ao final da carga as alterações recebidas durante ela, sem contar o pagamento duas vezes")
+    void carregar_DeveReaplicarAlteracoesRecebidasDuranteACarga() {
+        LocalDateTime amanha = LocalDate.now().plusDays(1).atStartOfDay();
+
+        Emprestimo emprestimo = EmprestimoUtil.criarEmprestimo(BeneficiarioUtil.criarBeneficiarioPadrao(), TestUtils.VALOR1000,
+                EmprestimoUtil.PORCENTAGEM30, LocalDate.now().atStartOfDay(), amanha, false);
+        ReflectionTestUtils.setField(emprestimo, "id", 1L);
+        Emprestimo novo = EmprestimoUtil.criarEmprestimo(BeneficiarioUtil.criarBeneficiarioPadrao(), TestUtils.VALOR2000, 0.0,
+                LocalDate.now().atStartOfDay(), amanha, false);
+        ReflectionTestUtils.setField(novo, "id", 2L);
+        Pagamento pagamento = PagamentoUtil.criarPagamento(emprestimo, 300.0, LocalDate.now().atStartOfDay(), TipoPagamento.JUROS);
+
+        // A consulta da carga já enxerga o pagamento, cujo evento chega enquanto ela é lida
+        when(emprestimoRepository.emprestimosEmAberto()).thenReturn(Stream.of(
+            new EmprestimoEmAbertoDTO(1L, amanha, TestUtils.VALOR1000, EmprestimoUtil.PORCENTAGEM30, 300.0))
+            .peek(e -> {
+                previsaoRecebimentoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, pagamento, null));
+                previsaoRecebimentoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, novo, null));
+            }));
+        when(pagamentoRepository.valorTotalRecebidoPorEmprestimo(emprestimo)).thenReturn(300.0);
+
+        previsaoRecebimentoService.carregar();
+        PrevisaoRecebimentoResponseDTO previsao = previsaoRecebimentoService.previsao(1, "DIA");
+
+        assertEquals(TestUtils.VALOR3000, previsao.getPeriodos().get(1).getValor(),
+                "Amanhã deve receber 1300,00 - 300,00 do primeiro empréstimo e 2000,00 do empréstimo incluído durante a carga");
+    }
+
+    /**
+     * Testa a consulta antes da carga inicial.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção enquanto a previsão não estiver carregada")
+    void previsao_DeveLancarExcecaoAntesDaCarga_ServiceUnavailable() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            previsaoRecebimentoService.previsao(1, "DIA");
+        });
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode(), "A exceção deve ter o status SERVICE_UNAVAILABLE");
+    }
+
+    /**
+     * Testa a consulta com agrupamento inválido.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o agrupamento for inválido")
+    void previsao_DeveLancarExcecaoQuandoAgrupamentoInvalido_BadRequest() {
+        when(emprestimoRepository.emprestimosEmAberto()).thenReturn(Stream.empty());
+        previsaoRecebimentoService.carregar();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            previsaoRecebimentoService.previsao(1, "ANO");
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.gerenciadoremprestimos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.gerenciadoremprestimos.arquivamento.ArquivamentoEmprestimos;
+import br.com.gerenciadoremprestimos.dto.ResumoMensalResponseDTO;
+import br.com.gerenciadoremprestimos.dto.ValorAReceberMensalDTO;
+import br.com.gerenciadoremprestimos.dto.ValorMensalDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Pagamento;
+import br.com.gerenciadoremprestimos.model.Pagamento.TipoPagamento;
+import br.com.gerenciadoremprestimos.repository.EmprestimoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoArquivadoRepository;
+import br.com.gerenciadoremprestimos.repository.PagamentoRepository;
+import br.com.gerenciadoremprestimos.utils.PagamentoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o RelatorioService.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class RelatorioServiceTest {
+
+    @Mock
+    private EmprestimoRepository emprestimoRepository;
+
+    @Mock
+    private PagamentoRepository pagamentoRepository;
+
+    @Mock
+    private EmprestimoArquivadoRepository emprestimoArquivadoRepository;
+
+    @Mock
+    private PagamentoArquivadoRepository pagamentoArquivadoRepository;
+
+    @Mock
+    private ArquivamentoEmprestimos arquivamento;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private RelatorioService relatorioService;
+
+    private static final String MES_INICIAL = TestUtils.ANO + "-01";
+    private static final String MES_FINAL   = TestUtils.ANO + "-12";
+
+    /**
+     * Testa a montagem da série mensal a partir das consultas agrupadas.
+     */
+    @Test
+    @DisplayName("Deve retornar um resumo por mês do período com os valores agrupados")
+    void serieMensal_DeveRetornarUmResumoPorMes() {
+        when(emprestimoRepository.valorTotalEmprestadoAgrupadoPorMes(any(), any()))
+            .thenReturn(List.of(new ValorMensalDTO(TestUtils.ANO, TestUtils.MES, TestUtils.VALOR3000)));
+        when(emprestimoRepository.valorTotalAReceberAgrupadoPorMes(any(), any()))
+            .thenReturn(List.of(new ValorAReceberMensalDTO(TestUtils.ANO, TestUtils.MES + 1, 700.0, 3700.0)));
+        when(pagamentoRepository.valorTotalRecebidoAgrupadoPorMes(any(), any()))
+            .thenReturn(List.of(new ValorMensalDTO(TestUtils.ANO, TestUtils.MES, TestUtils.VALOR1000)));
+
+        List<ResumoMensalResponseDTO> serie = relatorioService.serieMensal(MES_INICIAL, MES_FINAL);
+
+        assertEquals(12, serie.size(), "A série deve conter um resumo por mês");
+
+        ResumoMensalResponseDTO maio = serie.get(TestUtils.MES - 1);
+        assertEquals(TestUtils.VALOR3000, maio.getValorEmprestado(), "O valor emprestado deve ser o esperado");
+        assertEquals(TestUtils.VALOR1000, maio.getValorRecebido(), "O valor recebido deve ser o esperado");
+
+        ResumoMensalResponseDTO junho = serie.get(TestUtils.MES);
+        assertEquals(700.0, junho.getValorBrutoAReceber(), "O valor bruto a receber deve ser o esperado");
+        assertEquals(3700.0, junho.getValorLiquidoAReceber(), "O valor líquido a receber deve ser o esperado");
+
+        assertEquals(0.0, serie.get(0).getValorEmprestado(), "Meses sem movimento devem vir zerados");
+    }
+
+    /**
+     * Testa que os valores arquivados são somados quando o período alcança o arquivo.
+     */
+    @Test
+    @DisplayName("Deve somar os empréstimos e pagamentos arquivados quando o período alcança o arquivo")
+    void serieMensal_DeveSomarArquivoQuandoPeriodoAlcancaArquivo() {
+        when(emprestimoRepository.valorTotalEmprestadoAgrupadoPorMes(any(), any()))
+            .thenReturn(List.of(new ValorMensalDTO(TestUtils.ANO, TestUtils.MES, TestUtils.VALOR1000)));
+        when(emprestimoRepository.valorTotalAReceberAgrupadoPorMes(any(), any())).thenReturn(Collections.emptyList());
+        when(pagamentoRepository.valorTotalRecebidoAgrupadoPorMes(any(), any())).thenReturn(Collections.emptyList());
+        when(arquivamento.precisaDoArquivo(any())).thenReturn(true);
+        when(emprestimoArquivadoRepository.valorTotalEmprestadoAgrupadoPorMes(any(), any()))
+            .thenReturn(List.of(new ValorMensalDTO(TestUtils.ANO, TestUtils.MES, TestUtils.VALOR2000)));
+        when(pagamentoArquivadoRepository.valorTotalRecebidoAgrupadoPorMes(any(), any()))
+            .thenReturn(List.of(new ValorMensalDTO(TestUtils.ANO, TestUtils.MES, TestUtils.VALOR1000)));
+
+        ResumoMensalResponseDTO maio = relatorioService.serieMensal(MES_INICIAL, MES_FINAL).get(TestUtils.MES - 1);
+
+        assertEquals(TestUtils.VALOR3000, maio.getValorEmprestado(), "O valor emprestado deve somar o arquivo");
+        assertEquals(TestUtils.VALOR1000, maio.getValorRecebido(), "O valor recebido deve vir do arquivo");
+    }
+
+    /**
+     * Testa que o arquivo não é consultado quando o período não o alcança.
+     */
+    @Test
+    @DisplayName("Não deve consultar o arquivo quando o período é posterior aos dados arquivados")
+    void serieMensal_NaoDeveConsultarArquivoQuandoPeriodoRecente() {
+        mockConsultasVazias();
+
+        relatorioService.serieMensal(MES_INICIAL, MES_FINAL);
+
+        verify(emprestimoArquivadoRepository, never()).valorTotalEmprestadoAgrupadoPorMes(any(), any());
+        verify(pagamentoArquivadoRepository, never()).valorTotalRecebidoAgrupadoPorMes(any(), any());
+    }
+
+    /**
+     * Testa que meses fechados são servidos do cache na segunda consulta.
+     */
+    @Test
+    @DisplayName("Não deve consultar novamente o banco para meses fechados já calculados")
+    void serieMensal_DeveUsarCacheParaMesesFechados() {
+        mockConsultasVazias();
+
+        relatorioService.serieMensal(MES_INICIAL, MES_FINAL);
+        relatorioService.serieMensal(MES_INICIAL, MES_FINAL);
+
+        verify(emprestimoRepository, times(1)).valorTotalEmprestadoAgrupadoPorMes(any(), any());
+        verify(pagamentoRepository, times(1)).valorTotalRecebidoAgrupadoPorMes(any(), any());
+    }
+
+    /**
+     * Testa que uma alteração retroativa invalida o mês afetado.
+     */
+    @Test
+    @DisplayName("Deve recalcular o mês fechado após uma alteração retroativa")
+    void serieMensal_DeveRecalcularMesAposAlteracao() {
+        mockConsultasVazias();
+
+        relatorioService.serieMensal(MES_INICIAL, MES_FINAL);
+
+        Pagamento pagamento = PagamentoUtil.criarPagamento(null, TestUtils.VALOR1000, PagamentoUtil.DATA_PAGAMENTO1, TipoPagamento.TOTAL);
+        relatorioService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, pagamento, null));
+
+        relatorioService.serieMensal(MES_INICIAL, MES_FINAL);
+
+        verify(pagamentoRepository, times(2)).valorTotalRecebidoAgrupadoPorMes(any(), any());
+    }
+
+    /**
+     * Testa a consulta com mês em formato inválido.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o mês for inválido")
+    void serieMensal_DeveLancarExcecaoQuandoMesInvalido_BadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            relatorioService.serieMensal("2024-13", MES_FINAL);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
+        verify(emprestimoRepository, never()).valorTotalEmprestadoAgrupadoPorMes(any(), any());
+    }
+
+    /**
+     * Testa a consulta com o mês final anterior ao inicial.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o período for inválido")
+    void serieMensal_DeveLancarExcecaoQuandoPeriodoInvalido_BadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            relatorioService.serieMensal(MES_FINAL, MES_INICIAL);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
+        verify(emprestimoRepository, never()).valorTotalEmprestadoAgrupadoPorMes(any(), any());
+    }
+
+    /**
+     * Testa a consulta com período maior que o limite de meses.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o período ultrapassar o limite de meses")
+    void serieMensal_DeveLancarExcecaoQuandoPeriodoLongo_BadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            relatorioService.serieMensal("-999999-01", "+999999-12");
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
+        verify(emprestimoRepository, never()).valorTotalEmprestadoAgrupadoPorMes(any(), any());
+    }
+
+    private void mockConsultasVazias() {
+        when(emprestimoRepository.valorTotalEmprestadoAgrupadoPorMes(any(), any())).thenReturn(Collections.emptyList());
+        when(emprestimoRepository.valorTotalAReceberAgrupadoPorMes(any(), any())).thenReturn(Collections.emptyList());
+        when(pagamentoRepository.valorTotalRecebidoAgrupadoPorMes(any(), any())).thenReturn(Collections.emptyList());
+    }
+}
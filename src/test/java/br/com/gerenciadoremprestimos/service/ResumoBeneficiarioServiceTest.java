@@ -0,0 +1,153 @@
+package br.com.gerenciadoremprestimos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.gerenciadoremprestimos.arquivamento.ArquivamentoEmprestimos;
+import br.com.gerenciadoremprestimos.dto.ResumoArquivadoDTO;
+import br.com.gerenciadoremprestimos.dto.ResumoBeneficiarioResponseDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.model.Beneficiario;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.repository.BeneficiarioRepository;
+import br.com.gerenciadoremprestimos.repository.EmprestimoArquivadoRepository;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o ResumoBeneficiarioService.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class ResumoBeneficiarioServiceTest {
+
+    @Mock
+    private BeneficiarioRepository beneficiarioRepository;
+
+    @Mock
+    private EmprestimoArquivadoRepository emprestimoArquivadoRepository;
+
+    @Mock
+    private ArquivamentoEmprestimos arquivamento;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private ResumoBeneficiarioService resumoBeneficiarioService;
+
+    private ResumoBeneficiarioResponseDTO resumo;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resumoBeneficiarioService, "cacheHabilitado", true);
+        resumo = new ResumoBeneficiarioResponseDTO(Long.valueOf(TestUtils.ID_VALIDO), BeneficiarioUtil.NOME_BENEF, 1L, 1L,
+                                                   TestUtils.VALOR1000, TestUtils.VALOR1000, 0.0);
+    }
+
+    /**
+     * Testa que o resumo é servido do cache na segunda consulta.
+     */
+    @Test
+    @DisplayName("Deve consultar o banco apenas uma vez para o mesmo beneficiário")
+    void resumoPorBeneficiario_DeveUsarCache() {
+        when(beneficiarioRepository.resumoPorBeneficiario(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(resumo));
+
+        resumoBeneficiarioService.resumoPorBeneficiario(TestUtils.ID_VALIDO);
+        ResumoBeneficiarioResponseDTO result = resumoBeneficiarioService.resumoPorBeneficiario(TestUtils.ID_VALIDO);
+
+        assertEquals(resumo, result, "O resultado deve ser igual ao esperado");
+        verify(beneficiarioRepository, times(1)).resumoPorBeneficiario(Long.valueOf(TestUtils.ID_VALIDO));
+    }
+
+    /**
+     * Testa que os empréstimos arquivados entram no resumo sem alterar o saldo devedor.
+     */
+    @Test
+    @DisplayName("Deve somar os empréstimos arquivados ao resumo do beneficiário")
+    void resumoPorBeneficiario_DeveSomarArquivo() {
+        Long id = Long.valueOf(TestUtils.ID_VALIDO);
+        when(beneficiarioRepository.resumoPorBeneficiario(id)).thenReturn(Optional.of(resumo));
+        when(arquivamento.possuiArquivo()).thenReturn(true);
+        when(emprestimoArquivadoRepository.resumoPorBeneficiarios(any()))
+            .thenReturn(List.of(new ResumoArquivadoDTO(id, 2L, TestUtils.VALOR2000, TestUtils.VALOR2000)));
+
+        ResumoBeneficiarioResponseDTO result = resumoBeneficiarioService.resumoPorBeneficiario(TestUtils.ID_VALIDO);
+
+        assertEquals(3L, result.getQuantidadeEmprestimos(), "A quantidade deve incluir os empréstimos arquivados");
+        assertEquals(1L, result.getQuantidadeEmAberto(), "A quantidade em aberto não deve mudar");
+        assertEquals(TestUtils.VALOR3000, result.getValorEmprestado(), "O valor emprestado deve incluir o arquivo");
+        assertEquals(TestUtils.VALOR3000, result.getValorRecebido(), "O valor recebido deve incluir o arquivo");
+    }
+
+    /**
+     * Testa que a alteração de um empréstimo do beneficiário invalida o resumo em cache.
+     */
+    @Test
+    @DisplayName("Deve consultar novamente o banco após alteração em empréstimo do beneficiário")
+    void resumoPorBeneficiario_DeveInvalidarCacheAposAlteracao() {
+        when(beneficiarioRepository.resumoPorBeneficiario(Long.valueOf(TestUtils.ID_VALIDO))).thenReturn(Optional.of(resumo));
+
+        Beneficiario beneficiario = BeneficiarioUtil.criarBeneficiarioPadrao();
+        ReflectionTestUtils.setField(beneficiario, "id", Long.valueOf(TestUtils.ID_VALIDO));
+        Emprestimo emprestimo = EmprestimoUtil.criarEmprestimo(beneficiario, TestUtils.VALOR1000, EmprestimoUtil.PORCENTAGEM30, EmprestimoUtil.DATA_EMPRESTIMO1, EmprestimoUtil.DATA_EMPRESTIMO1.plusMonths(1L), false);
+
+        resumoBeneficiarioService.resumoPorBeneficiario(TestUtils.ID_VALIDO);
+        resumoBeneficiarioService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.INSERCAO, emprestimo, null));
+        resumoBeneficiarioService.resumoPorBeneficiario(TestUtils.ID_VALIDO);
+
+        verify(beneficiarioRepository, times(2)).resumoPorBeneficiario(Long.valueOf(TestUtils.ID_VALIDO));
+    }
+
+    /**
+     * Testa o resumo de um beneficiário inexistente.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o beneficiário não for encontrado")
+    void resumoPorBeneficiario_DeveLancarExcecaoQuandoNaoEncontrado_NotFound() {
+        when(beneficiarioRepository.resumoPorBeneficiario(TestUtils.ID_INEXISTENTE)).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            resumoBeneficiarioService.resumoPorBeneficiario(String.valueOf(TestUtils.ID_INEXISTENTE));
+        });
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode(), "A exceção deve ter o status NOT_FOUND");
+    }
+
+    /**
+     * Testa o resumo com ID inválido.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando o ID do beneficiário for inválido")
+    void resumoPorBeneficiario_DeveLancarExcecaoQuandoIdInvalido_BadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            resumoBeneficiarioService.resumoPorBeneficiario(TestUtils.ID_INVALIDO);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
+        verify(beneficiarioRepository, never()).resumoPorBeneficiario(any());
+    }
+}
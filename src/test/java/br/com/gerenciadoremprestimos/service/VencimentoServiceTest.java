@@ -0,0 +1,153 @@
+package br.com.gerenciadoremprestimos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.gerenciadoremprestimos.dto.EmprestimoResponseDTO;
+import br.com.gerenciadoremprestimos.dto.VencimentoDTO;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent;
+import br.com.gerenciadoremprestimos.event.EntidadeAlteradaEvent.Operacao;
+import br.com.gerenciadoremprestimos.mapper.EmprestimoMapper;
+import br.com.gerenciadoremprestimos.model.Emprestimo;
+import br.com.gerenciadoremprestimos.repository.EmprestimoRepository;
+import br.com.gerenciadoremprestimos.utils.BeneficiarioUtil;
+import br.com.gerenciadoremprestimos.utils.EmprestimoUtil;
+import br.com.gerenciadoremprestimos.utils.TestUtils;
+
+/**
+ * Classe de teste para o VencimentoService.
+ */
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class VencimentoServiceTest {
+
+    @Mock
+    private EmprestimoRepository emprestimoRepository;
+
+    @Mock
+    private EmprestimoMapper emprestimoMapper;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private VencimentoService vencimentoService;
+
+    private Emprestimo emprestimo;
+
+    @BeforeEach
+    void setUp() {
+        emprestimo = EmprestimoUtil.criarEmprestimo(BeneficiarioUtil.criarBeneficiarioPadrao(), TestUtils.VALOR1000, EmprestimoUtil.PORCENTAGEM30,
+                EmprestimoUtil.DATA_EMPRESTIMO1, EmprestimoUtil.DATA_EMPRESTIMO1.plusMonths(1L), false);
+        ReflectionTestUtils.setField(emprestimo, "id", 1L);
+    }
+
+    /**
+     * Testa que, antes da carga do índice, a consulta é feita pelo repositório.
+     */
+    @Test
+    @DisplayName("Deve consultar o repositório enquanto o índice não estiver carregado")
+    void buscarVencimentos_DeveUsarRepositorioAntesDaCarga() {
+        when(emprestimoRepository.findByDataPagamentoBetween(any(), any())).thenReturn(List.of(emprestimo));
+        when(emprestimoMapper.paraDto(emprestimo)).thenReturn(new EmprestimoResponseDTO());
+
+        List<EmprestimoResponseDTO> result = vencimentoService.buscarVencimentos("2024-06-01", "2024-06-30");
+
+        assertEquals(1, result.size(), "Deve retornar o empréstimo em aberto do período");
+        verify(emprestimoRepository, times(1)).findByDataPagamentoBetween(any(), any());
+    }
+
+    /**
+     * Testa a consulta pelo índice após a carga e a atualização por evento de quitação.
+     */
+    @Test
+    @DisplayName("Deve consultar o índice após a carga e remover o empréstimo quitado")
+    void buscarVencimentos_DeveUsarIndiceAposCarga() {
+        when(emprestimoRepository.vencimentosEmAberto()).thenReturn(Stream.of(new VencimentoDTO(1L, emprestimo.getDataPagamento())));
+        when(emprestimoRepository.findAllById(List.of(1L))).thenReturn(List.of(emprestimo));
+        when(emprestimoMapper.paraDto(emprestimo)).thenReturn(new EmprestimoResponseDTO());
+
+        vencimentoService.carregar();
+        assertEquals(1, vencimentoService.buscarVencimentos("2024-06-01", "2024-06-01").size(), "O índice deve conter o empréstimo");
+
+        emprestimo.setQuitado(true);
+        vencimentoService.aoAlterarEntidade(new EntidadeAlteradaEvent(Operacao.ATUALIZACAO, emprestimo, null));
+
+        assertEquals(0, vencimentoService.buscarVencimentos("2024-06-01", "2024-06-01").size(), "O empréstimo quitado deve sair do índice");
+        verify(emprestimoRepository, never()).findByDataPagamentoBetween(any(), any());
+    }
+
+    /**
+     * Testa a busca de vencidos pelo índice.
+     */
+    @Test
+    @DisplayName("Deve retornar os empréstimos vencidos a partir do índice")
+    void buscarVencidos_DeveUsarIndiceAposCarga() {
+        when(emprestimoRepository.vencimentosEmAberto()).thenReturn(Stream.of(
+                new VencimentoDTO(1L, emprestimo.getDataPagamento()),
+                new VencimentoDTO(2L, LocalDate.now().plusDays(1).atStartOfDay())));
+        when(emprestimoRepository.findAllById(List.of(1L))).thenReturn(List.of(emprestimo));
+        when(emprestimoMapper.paraDto(emprestimo)).thenReturn(new EmprestimoResponseDTO());
+
+        vencimentoService.carregar();
+
+        assertEquals(1, vencimentoService.buscarVencidos().size(), "Apenas o empréstimo com vencimento passado deve ser retornado");
+        verify(emprestimoRepository, never()).findByDataPagamentoBeforeAndQuitado(any(), anyBoolean());
+    }
+
+    /**
+     * Testa que muitos vencidos são buscados em lotes, sem ultrapassar o limite de parâmetros do banco.
+     */
+    @Test
+    @DisplayName("Deve buscar os empréstimos vencidos em lotes")
+    void buscarVencidos_MuitosVencidos_DeveBuscarEmLotes() {
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        when(emprestimoRepository.vencimentosEmAberto()).thenReturn(LongStream.rangeClosed(1, 2_500)
+                .mapToObj(id -> new VencimentoDTO(id, ontem.atStartOfDay())));
+        when(emprestimoRepository.findAllById(anyCollection())).thenReturn(List.of(emprestimo));
+        when(emprestimoMapper.paraDto(emprestimo)).thenReturn(new EmprestimoResponseDTO());
+
+        vencimentoService.carregar();
+        vencimentoService.buscarVencidos();
+
+        verify(emprestimoRepository, times(3)).findAllById(anyCollection());
+    }
+
+    /**
+     * Testa a consulta com data inválida.
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando a data for inválida")
+    void buscarVencimentos_DeveLancarExcecaoQuandoDataInvalida_BadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            vencimentoService.buscarVencimentos("01/06/2024", "2024-06-30");
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode(), "A exceção deve ter o status BAD_REQUEST");
+    }
+}
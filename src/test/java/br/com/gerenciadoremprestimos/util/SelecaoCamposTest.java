@@ -0,0 +1,58 @@
+package br.com.gerenciadoremprestimos.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe de teste para a SelecaoCampos.
+ */
+class SelecaoCamposTest {
+
+    /**
+     * Testa a seleção sem parâmetros.
+     */
+    @Test
+    @DisplayName("Deve retornar a seleção completa quando não houver parâmetros")
+    void de_SemParametros_DeveRetornarSelecaoCompleta() {
+        SelecaoCampos selecao = SelecaoCampos.de(null, null);
+
+        assertSame(SelecaoCampos.COMPLETA, selecao, "Sem parâmetros a seleção deve ser a completa");
+        assertTrue(selecao.expande("emprestimo.beneficiario"), "Todas as relações devem ser expandidas");
+        assertTrue(selecao.inclui("valorPago"), "Todos os campos devem ser incluídos");
+    }
+
+    /**
+     * Testa a expansão de relações aninhadas.
+     */
+    @Test
+    @DisplayName("Deve expandir as relações intermediárias de uma relação aninhada")
+    void de_ExpansaoAninhada_DeveExpandirRelacoesIntermediarias() {
+        SelecaoCampos selecao = SelecaoCampos.de(null, "emprestimo.beneficiario");
+
+        assertTrue(selecao.expande("emprestimo"), "O empréstimo deve ser expandido");
+        assertTrue(selecao.relativa("emprestimo").expande("beneficiario"), "O beneficiário deve ser expandido a partir do empréstimo");
+        assertFalse(SelecaoCampos.de(null, "").expande("emprestimo"), "Expansão vazia não deve expandir relações");
+    }
+
+    /**
+     * Testa a seleção de campos por objeto.
+     */
+    @Test
+    @DisplayName("Deve filtrar apenas os campos dos objetos que tiveram campos selecionados")
+    void inclui_DeveFiltrarPorObjeto() {
+        SelecaoCampos selecao = SelecaoCampos.de("valorPago, emprestimo, emprestimo.valorEmprestimo", "emprestimo");
+
+        assertTrue(selecao.inclui("valorPago"), "O campo selecionado deve ser incluído");
+        assertFalse(selecao.inclui("dataPagamento"), "O campo não selecionado deve ser removido");
+
+        SelecaoCampos emprestimo = selecao.relativa("emprestimo");
+        assertTrue(emprestimo.inclui("valorEmprestimo"), "O campo selecionado do empréstimo deve ser incluído");
+        assertFalse(emprestimo.inclui("porcentagem"), "O campo não selecionado do empréstimo deve ser removido");
+        assertTrue(emprestimo.relativa("beneficiario").inclui("nome"), "Sem campos selecionados o beneficiário deve ser completo");
+        assertFalse(emprestimo.expande("beneficiario"), "O beneficiário não foi expandido");
+    }
+}
@@ -12,6 +12,8 @@ public class BeneficiarioUtil {
     public static final String NOME_BENEF               = "Erick Marques";
     public static final String FONE_BENEF               = "081988888888";
     public static final String OBS_BENEF                = "Observação de teste";
+
+    private static final byte[] ASSINATURA_PNG          = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
     
     public static void criarListaBeneficiario(BeneficiarioRepository repository){
         repository.save(criarBeneficiarioPadrao());
@@ -20,6 +22,18 @@ public class BeneficiarioUtil {
         repository.save(criarBeneficiario("LAURA ANDRADE", "081955554444", "OBS TESTE"));
     }
 
+    /**
+     * Conteúdo de uma imagem PNG: a assinatura do formato seguida de bytes variados até o tamanho informado.
+     */
+    public static byte[] criarImagemPng(int tamanho) {
+        byte[] imagem = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            imagem[i] = (byte) (i * 31);
+        }
+        System.arraycopy(ASSINATURA_PNG, 0, imagem, 0, ASSINATURA_PNG.length);
+        return imagem;
+    }
+
     public static Beneficiario criarBeneficiarioPadrao(){
         Beneficiario beneficiario = new Beneficiario();
         beneficiario.setNome(NOME_BENEF);
@@ -31,8 +31,11 @@ public class TestUtils {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(new LoginRequestDTO("erick_marques", "123"))))
                     .andReturn();
-            
-            String token = result.getResponse().getContentAsString();
+
+            // O login é concluído de forma assíncrona, no pool de login
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+
+            String token = objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
 
             return token;
         } catch (Exception e) {